@@ -0,0 +1,134 @@
+package com.helpunker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Wall-clock time for a fresh JVM to start the application (test profile, in-memory H2) and refresh its context, one
+ * child process per shot. {@code aot} and {@code aot-cds} need the AOT-generated classes, so run them with
+ * {@code -Pfast-startup,benchmark}. {@code aot-cds} packs the class directories into jars (CDS only archives classes
+ * loaded from jars) and records a dynamic archive with a training run before measuring, like {@code infra/Dockerfile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class StartupBenchmark {
+
+    private static final String AOT_INITIALIZER = "com.helpunker.HelpUnkerApplication__ApplicationContextInitializer";
+
+    @Param({"jit", "aot", "aot-cds"})
+    public String mode;
+
+    private List<String> command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String classpath = System.getProperty("java.class.path");
+        List<String> jvmArgs = new ArrayList<>();
+        if (mode.startsWith("aot")) {
+            try {
+                Class.forName(AOT_INITIALIZER, false, getClass().getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new IllegalStateException("AOT classes not found; run with -Pfast-startup,benchmark", ex);
+            }
+            jvmArgs.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.endsWith("cds")) {
+            Path workDir = Files.createTempDirectory("startup-cds");
+            classpath = jarDirectories(classpath, workDir);
+            Path archive = workDir.resolve("application.jsa");
+            List<String> training = new ArrayList<>(jvmArgs);
+            training.add("-XX:ArchiveClassesAtExit=" + archive);
+            run(command(training, classpath));
+            jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command = command(jvmArgs, classpath);
+    }
+
+    @Benchmark
+    public int start() throws Exception {
+        return run(command);
+    }
+
+    private static List<String> command(List<String> jvmArgs, String classpath) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-Dlogging.config=classpath:logback-benchmark.xml");
+        command.add("-cp");
+        command.add(classpath);
+        command.add(HelpUnkerApplication.class.getName());
+        command.add("--spring.profiles.active=test");
+        command.add("--server.port=0");
+        return command;
+    }
+
+    private static int run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Application exited with " + exitCode + ": " + String.join(" ", command));
+        }
+        return exitCode;
+    }
+
+    private static String jarDirectories(String classpath, Path workDir) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = workDir.resolve("classes-" + entries.size() + ".jar");
+                writeJar(path, jar);
+                entries.add(jar.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void writeJar(Path directory, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+                Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    out.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                    Files.copy(file, (OutputStream) out);
+                    out.closeEntry();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+}
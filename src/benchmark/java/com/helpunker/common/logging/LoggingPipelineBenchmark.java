@@ -0,0 +1,129 @@
+package com.helpunker.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+/**
+ * Time a request thread spends in one {@code log.info} call with the production appender chain: a gzip-rolling file
+ * appender written synchronously ({@code sync}) versus behind {@link InstrumentedAsyncAppender} with the pattern
+ * ({@code async}) or JSON ({@code async-json}) encoder. Sampled so that the tail (size-triggered gzip rollover, disk
+ * stalls) is visible next to the mean. Drops in the async modes are reported after each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class LoggingPipelineBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "async", "async-json"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private InstrumentedAsyncAppender asyncAppender;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path directory = Files.createDirectories(Path.of("target", "benchmark-logs", mode));
+        context = new LoggerContext();
+        context.setName("benchmark-" + mode);
+
+        RollingFileAppender<ILoggingEvent> file = new RollingFileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(directory.resolve("app.log").toString());
+        file.setEncoder(mode.equals("async-json") ? jsonEncoder() : patternEncoder());
+
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy = new SizeAndTimeBasedRollingPolicy<>();
+        policy.setContext(context);
+        policy.setParent(file);
+        policy.setFileNamePattern(directory.resolve("app.%d{yyyy-MM-dd}.%i.log.gz").toString());
+        policy.setMaxFileSize(FileSize.valueOf("10MB"));
+        policy.setMaxHistory(1);
+        policy.setTotalSizeCap(FileSize.valueOf("200MB"));
+        policy.start();
+        file.setRollingPolicy(policy);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (!mode.equals("sync")) {
+            asyncAppender = new InstrumentedAsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC_FILE");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(1024);
+            asyncAppender.addAppender(file);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        logger = context.getLogger(RequestResponseLoggingFilter.class);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        MDC.put(LoggingContextFilter.REQUEST_ID_KEY, "7b0c8f8e-3f8a-4b7e-9d55-0a3c2f1e9b11");
+        MDC.put(LoggingContextFilter.USER_ID_KEY, "1f0e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+        MDC.put(LoggingContextFilter.LATENCY_KEY, "12");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (asyncAppender != null) {
+            System.out.printf("%n[%s] dropped log events: %d%n", mode, asyncAppender.getDroppedCount());
+        }
+        MDC.clear();
+        context.stop();
+    }
+
+    @Benchmark
+    public void logExchange() {
+        logger.info("HTTP {} {} from {} -> status {} ({} ms) | requestBody={} | responseBody={}",
+                "POST", "/requests", "10.0.0.7", 201, 12,
+                "{\"title\":\"Buy groceries\",\"details\":\"2L milk, bread, eggs\"}",
+                "{\"id\":\"7b0c8f8e-3f8a-4b7e-9d55-0a3c2f1e9b11\",\"status\":\"OPEN\"}");
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.setApplication("help-unker");
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,132 @@
+package com.helpunker.common.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+/**
+ * Request-thread overhead of the HTTP logging filter per exchange, before ({@code legacy}: full content caching and
+ * synchronous logging) and after ({@code bounded}: bounded tees, off-thread formatting) the rework. The servlet writes
+ * a JSON body of {@code responseBytes} bytes; {@code none} measures the bare chain for reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class RequestResponseLoggingFilterBenchmark {
+
+    @Param({"none", "legacy", "bounded"})
+    public String filter;
+
+    @Param({"512", "65536"})
+    public int responseBytes;
+
+    private final MockServletContext servletContext = new MockServletContext();
+    private Filter target;
+    private HttpExchangeLogWriter logWriter;
+    private HttpServlet servlet;
+    private byte[] requestBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] body = new byte[responseBytes];
+        Arrays.fill(body, (byte) 'x');
+        body[0] = '"';
+        body[body.length - 1] = '"';
+        requestBody = "{\"title\":\"Buy groceries\",\"details\":\"2L milk, bread, eggs\"}".getBytes(StandardCharsets.UTF_8);
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.getInputStream().readAllBytes();
+                response.setStatus(200);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(body);
+            }
+        };
+
+        switch (filter) {
+            case "legacy" -> target = new LegacyRequestResponseLoggingFilter();
+            case "bounded" -> {
+                HttpLoggingProperties properties = new HttpLoggingProperties();
+                logWriter = new HttpExchangeLogWriter(properties, new SimpleMeterRegistry());
+                target = new RequestResponseLoggingFilter(properties, logWriter);
+            }
+            default -> target = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (logWriter != null) {
+            logWriter.destroy();
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse exchange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "POST", "/requests");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(requestBody);
+        MockHttpServletResponse response = new DiscardingResponse();
+        FilterChain chain = target == null ? new MockFilterChain(servlet) : new MockFilterChain(servlet, target);
+        chain.doFilter(request, response);
+        return response;
+    }
+
+    /** Response whose body goes nowhere, so the mock's own buffering does not dominate the measurement. */
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
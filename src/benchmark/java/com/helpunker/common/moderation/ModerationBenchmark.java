@@ -0,0 +1,99 @@
+package com.helpunker.common.moderation;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request cost of the inline moderation check: the shipped rules plus {@code rules} generated keyword rules, run
+ * over the title and details of a typical request. {@code compiled} is the automaton used on the create path;
+ * {@code regexPerRule} is the naive alternative of one case-insensitive word-boundary regex per keyword, for scale.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ModerationBenchmark {
+
+    private static final String TEXT = """
+            Weekly groceries for my mother
+            Hello, my mother lives alone at Block 123 Ang Mo Kio Avenue 3 and needs someone to pick up rice, eggs,
+            vegetables and her prescription from the pharmacy on Saturday morning. She walks with a cane, so please
+            carry the bags up to the 7th floor. She will pay cash when you arrive. Thank you very much for helping!""";
+
+    @Param({"1000", "10000"})
+    public int rules;
+
+    private CompiledRuleset ruleset;
+    private Pattern[] regexes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<ModerationRule> all = new ArrayList<>();
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/moderation/rules.txt"), StandardCharsets.UTF_8)) {
+            all.addAll(ModerationRules.parse(reader));
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < rules; i++) {
+            String keyword = word(random) + (random.nextInt(3) == 0 ? " " + word(random) : "");
+            all.add(new ModerationRule(
+                    "generated." + i, "generated", ModerationRule.Action.FLAG, ModerationRule.Kind.KEYWORD, keyword));
+        }
+        ruleset = CompiledRuleset.compile(all);
+        regexes = all.stream()
+                .map(rule -> rule.kind() == ModerationRule.Kind.REGEX
+                        ? Pattern.compile(rule.pattern(), Pattern.CASE_INSENSITIVE)
+                        : Pattern.compile("\\b" + Pattern.quote(rule.pattern()) + "\\b", Pattern.CASE_INSENSITIVE))
+                .toArray(Pattern[]::new);
+    }
+
+    @Benchmark
+    public ModerationResult compiled() {
+        return ruleset.evaluate(TEXT);
+    }
+
+    @Benchmark
+    public int regexPerRule() {
+        int fired = 0;
+        for (Pattern regex : regexes) {
+            if (regex.matcher(TEXT).find()) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /** Pronounceable nonsense words of 5 to 9 letters, so generated rules share prefixes but rarely hit the text. */
+    private static String word(SplittableRandom random) {
+        String consonants = "bcdfghklmnprstvz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        int length = 5 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            String letters = i % 2 == 0 ? consonants : vowels;
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.helpunker.helprequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.entity.RequestPhoto;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.user.User;
+import com.helpunker.user.UserRole;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Representative entities and the application's Jackson configuration, shared by the help request benchmarks. */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static HelpRequest helpRequest(int photoCount) {
+        User elderly = User.builder()
+                .id(UUID.randomUUID())
+                .displayName("Mrs. Tan")
+                .role(UserRole.ELDERLY)
+                .build();
+        OffsetDateTime createdAt = OffsetDateTime.of(2025, 3, 14, 9, 30, 0, 0, ZoneOffset.UTC);
+        HelpRequest request = HelpRequest.builder()
+                .id(UUID.randomUUID())
+                .elderly(elderly)
+                .title("Buy groceries")
+                .details("2L milk, a loaf of wholemeal bread and a dozen eggs from the market near block 123")
+                .status(RequestStatus.OPEN)
+                .category("groceries")
+                .locationLat(new BigDecimal("1.352083"))
+                .locationLng(new BigDecimal("103.819836"))
+                .address("Blk 123 Ang Mo Kio Ave 3, #05-67")
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+        for (int i = 0; i < photoCount; i++) {
+            request.addPhoto(RequestPhoto.builder()
+                    .id(UUID.randomUUID())
+                    .url("https://cdn.helpunker.example/photos/" + UUID.randomUUID() + ".jpg")
+                    .contentType("image/jpeg")
+                    .build());
+        }
+        return request;
+    }
+
+    /** Same module set and defaults as the {@code ObjectMapper} Spring Boot builds for the application. */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
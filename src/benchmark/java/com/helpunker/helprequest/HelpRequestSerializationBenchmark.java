@@ -0,0 +1,45 @@
+package com.helpunker.helprequest;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.mapper.HelpRequestMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Jackson serialization of a single {@link HelpRequestResponse} with the application's mapper configuration. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class HelpRequestSerializationBenchmark {
+
+    @Param({"0", "10"})
+    public int photos;
+
+    private ObjectWriter writer;
+    private HelpRequestResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = BenchmarkFixtures.objectMapper().writerFor(HelpRequestResponse.class);
+        response = new HelpRequestMapper().toResponse(BenchmarkFixtures.helpRequest(photos));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
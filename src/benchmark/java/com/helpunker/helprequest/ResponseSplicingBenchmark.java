@@ -0,0 +1,97 @@
+package com.helpunker.helprequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.helpunker.common.json.JsonFragment;
+import com.helpunker.common.json.SplicedJson;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.mapper.HelpRequestMapper;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building the body of a 20-item {@code GET /requests} page: {@code jackson*} maps the entities and serializes the page
+ * (then gzips it), {@code spliced*} assembles it from cached {@link JsonFragment}s as the controller does on cache
+ * hits. The setup prints the body sizes, since spliced gzip compresses each item on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ResponseSplicingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private HelpRequestMapper mapper;
+    private ObjectWriter pageWriter;
+    private List<HelpRequest> requests;
+    private List<JsonFragment> fragments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        mapper = new HelpRequestMapper();
+        pageWriter = objectMapper.writer();
+        ObjectWriter itemWriter = objectMapper.writerFor(HelpRequestResponse.class);
+        requests = new ArrayList<>();
+        fragments = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            HelpRequest request = BenchmarkFixtures.helpRequest(i % 3);
+            requests.add(request);
+            fragments.add(JsonFragment.of(itemWriter.writeValueAsBytes(mapper.toResponse(request))));
+        }
+        System.out.printf("%nbytes: json=%d spliced=%d json+gzip=%d spliced+gzip=%d%n",
+                jackson().length, spliced().length, jacksonGzip().length, splicedGzip().length);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws Exception {
+        List<HelpRequestResponse> content = requests.stream().map(mapper::toResponse).toList();
+        return pageWriter.writeValueAsBytes(new PagedResponse<>(content, 0, PAGE_SIZE, 1000, 50));
+    }
+
+    @Benchmark
+    public byte[] jacksonGzip() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(jackson());
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] spliced() {
+        return this.page().toByteArray(false);
+    }
+
+    @Benchmark
+    public byte[] splicedGzip() {
+        return this.page().toByteArray(true);
+    }
+
+    private SplicedJson page() {
+        SplicedJson body = new SplicedJson().literal("{\"content\":[");
+        for (int i = 0; i < fragments.size(); i++) {
+            body.literal(i == 0 ? "" : ",").fragment(fragments.get(i)).literal("}");
+        }
+        return body.literal("],\"page\":0,\"size\":20,\"totalElements\":1000,\"totalPages\":50}");
+    }
+}
@@ -0,0 +1,141 @@
+package com.helpunker.helprequest.mapper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.helpunker.helprequest.BenchmarkFixtures;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.dto.response.RequestPhotoResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * JSON against the compact CBOR encoding of a {@code GET /requests} page: encode and decode time, plus the body sizes
+ * (plain and gzip) printed once per trial. The page is a radius search result around one area, newest first, with the
+ * mix of categories, photos and distances the board sees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class CompactEncodingBenchmark {
+
+    private static final String[] CATEGORIES = {"groceries", "transport", "medical", "companionship", "household"};
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter jsonWriter;
+    private ObjectReader jsonReader;
+    private CompactRequestCodec codec;
+    private Page<HelpRequestResponse> page;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        jsonWriter = objectMapper.writer();
+        jsonReader = objectMapper.readerFor(new TypeReference<PagedResponse<HelpRequestResponse>>() { });
+        codec = new CompactRequestCodec();
+        page = new PageImpl<>(page(pageSize), PageRequest.of(0, pageSize), 10L * pageSize);
+        json = this.encodeJson();
+        cbor = this.encodeCbor();
+        System.out.printf("%n%d items: json %d B (gzip %d B), cbor %d B (gzip %d B)%n",
+                pageSize, json.length, gzip(json), cbor.length, gzip(cbor));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(new PagedResponse<>(
+                page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages()));
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() {
+        return codec.encodePage(page);
+    }
+
+    @Benchmark
+    public PagedResponse<HelpRequestResponse> decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public PagedResponse<HelpRequestResponse> decodeCbor() {
+        return codec.decodePage(cbor);
+    }
+
+    private static List<HelpRequestResponse> page(int size) {
+        Random random = new Random(42);
+        OffsetDateTime newest = OffsetDateTime.of(2025, 3, 14, 18, 0, 0, 0, ZoneOffset.UTC);
+        List<UUID> elderly = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, size / 4); i++) {
+            elderly.add(UUID.randomUUID());
+        }
+        List<HelpRequestResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            OffsetDateTime createdAt = newest.minusSeconds(i * 240L + random.nextInt(180));
+            List<RequestPhotoResponse> photos = new ArrayList<>();
+            for (int p = 0; p < (i % 3 == 0 ? 1 : 0); p++) {
+                UUID photoId = UUID.randomUUID();
+                String url = "https://cdn.helpunker.example/photos/" + UUID.randomUUID() + ".jpg";
+                photos.add(new RequestPhotoResponse(photoId, url, "image/jpeg", url.replace(".jpg", "-thumb.jpg")));
+            }
+            items.add(new HelpRequestResponse(
+                    UUID.randomUUID(),
+                    "Need help with " + CATEGORIES[i % CATEGORIES.length] + " #" + i,
+                    "2L milk, a loaf of wholemeal bread and a dozen eggs from the market near block " + (100 + i),
+                    i % 4 == 0 ? RequestStatus.ASSIGNED : RequestStatus.OPEN,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    BigDecimal.valueOf(1_352_083 + random.nextInt(20_000) - 10_000, 6),
+                    BigDecimal.valueOf(103_819_836 + random.nextInt(20_000) - 10_000, 6),
+                    "Blk " + (100 + i) + " Ang Mo Kio Ave 3, #05-" + (10 + i),
+                    elderly.get(random.nextInt(elderly.size())),
+                    createdAt,
+                    createdAt.plusSeconds(random.nextInt(600)),
+                    photos,
+                    null,
+                    List.of(),
+                    Math.round(random.nextDouble() * 3000d) / 1000d));
+        }
+        return items;
+    }
+
+    private static int gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.size();
+    }
+}
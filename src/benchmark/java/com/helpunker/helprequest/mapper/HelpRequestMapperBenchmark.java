@@ -0,0 +1,44 @@
+package com.helpunker.helprequest.mapper;
+
+import com.helpunker.helprequest.BenchmarkFixtures;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.entity.HelpRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Entity-to-response mapping cost as the number of attached photos grows. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class HelpRequestMapperBenchmark {
+
+    @Param({"0", "1", "10", "50"})
+    public int photos;
+
+    private final HelpRequestMapper mapper = new HelpRequestMapper();
+    private HelpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request = BenchmarkFixtures.helpRequest(photos);
+    }
+
+    @Benchmark
+    public HelpRequestResponse toResponse() {
+        return mapper.toResponse(request);
+    }
+}
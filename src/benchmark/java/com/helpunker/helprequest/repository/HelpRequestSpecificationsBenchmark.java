@@ -0,0 +1,86 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.entity.RequestPhoto;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.user.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Cost of building the board search predicate, the part of every {@code GET /requests} that runs before any SQL is
+ * rendered: creating the specification and turning it into a Hibernate criteria predicate for a fresh query, as Spring
+ * Data does per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class HelpRequestSpecificationsBenchmark {
+
+    private static final double LAT = 1.352083d;
+    private static final double LNG = 103.819836d;
+
+    private final UUID elderlyId = UUID.randomUUID();
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(HelpRequest.class)
+                .addAnnotatedClass(RequestPhoto.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:specifications;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.dialect", H2Dialect.class.getName())
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate nearLocation() {
+        return toPredicate(HelpRequestSpecifications.nearLocation(LAT, LNG, 3.0d));
+    }
+
+    @Benchmark
+    public Predicate searchSpecification() {
+        Specification<HelpRequest> specification = Specification.where(HelpRequestSpecifications.hasStatus(RequestStatus.OPEN))
+                .and(HelpRequestSpecifications.ownedBy(elderlyId))
+                .and(HelpRequestSpecifications.nearLocation(LAT, LNG, 3.0d));
+        return toPredicate(specification);
+    }
+
+    private Predicate toPredicate(Specification<HelpRequest> specification) {
+        CriteriaQuery<HelpRequest> query = criteriaBuilder.createQuery(HelpRequest.class);
+        Root<HelpRequest> root = query.from(HelpRequest.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,106 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.HelpUnkerApplication;
+import com.helpunker.user.User;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * 1,000 requests created through {@link HelpRequestService#createRequest} one by one (one transaction, user lookup,
+ * merge and board event each) against a single {@link HelpRequestService#createRequests} call, on the test profile's
+ * in-memory H2 with the application's JDBC batching settings. Each request carries two photos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class BulkCreateBenchmark {
+
+    private static final int REQUESTS = 1_000;
+    private static final int ELDERLY_USERS = 50;
+
+    private ConfigurableApplicationContext context;
+    private HelpRequestService requestService;
+    private List<CreateHelpRequestCommand> commands;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HelpUnkerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.config=classpath:logback-benchmark.xml")
+                .run();
+        new ResourceDatabasePopulator(new ClassPathResource("h2-defaults.sql")).execute(context.getBean(DataSource.class));
+        requestService = context.getBean(HelpRequestService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<UUID> elderly = new ArrayList<>();
+        for (int i = 0; i < ELDERLY_USERS; i++) {
+            elderly.add(userRepository.save(User.builder()
+                            .id(UUID.randomUUID())
+                            .displayName("elderly " + i)
+                            .role(UserRole.ELDERLY)
+                            .build())
+                    .getId());
+        }
+        commands = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            commands.add(new CreateHelpRequestCommand(
+                    elderly.get(i % ELDERLY_USERS),
+                    "Groceries " + i,
+                    "Two bags from the corner shop",
+                    "shopping",
+                    BigDecimal.valueOf(1.35),
+                    BigDecimal.valueOf(103.82),
+                    null,
+                    List.of(
+                            new CreateHelpRequestCommand.Photo("https://cdn.example/p/" + i + "-1.jpg", "image/jpeg"),
+                            new CreateHelpRequestCommand.Photo("https://cdn.example/p/" + i + "-2.jpg", "image/jpeg"))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleCreates() {
+        int created = 0;
+        for (CreateHelpRequestCommand command : commands) {
+            requestService.createRequest(command);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int bulkCreate() {
+        return requestService.createRequests(commands).size();
+    }
+}
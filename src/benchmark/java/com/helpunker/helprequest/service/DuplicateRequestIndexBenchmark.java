@@ -0,0 +1,96 @@
+package com.helpunker.helprequest.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost the duplicate check adds to {@code createRequest}: fingerprinting the new request and probing the index, for an
+ * index holding {@code entries} recent requests from 10k users. {@code busyUser} probes as a user who already has the
+ * bucket cap of requests in the same cell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class DuplicateRequestIndexBenchmark {
+
+    private static final String[] WORDS = {
+        "groceries", "milk", "bread", "medicine", "pharmacy", "walk", "park", "doctor", "appointment", "ride",
+        "laundry", "cleaning", "kitchen", "garden", "shopping", "market", "eggs", "rice", "fish", "prescription"
+    };
+
+    @Param({"10000", "200000"})
+    public int entries;
+
+    private DuplicateRequestIndex index;
+    private UUID busyUser;
+    private String title;
+    private String details;
+    private BigDecimal lat;
+    private BigDecimal lng;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DuplicateDetectionProperties properties = new DuplicateDetectionProperties();
+        properties.setMaxEntries(entries + properties.getMaxPerBucket());
+        index = new DuplicateRequestIndex(properties, null, null, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        UUID[] users = new UUID[10_000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = UUID.randomUUID();
+        }
+        lat = new BigDecimal("1.352100");
+        lng = new BigDecimal("103.819800");
+        Instant now = Instant.now();
+        for (int i = 0; i < entries; i++) {
+            BigDecimal entryLat = lat.add(BigDecimal.valueOf(random.nextInt(-50_000, 50_000), 6));
+            BigDecimal entryLng = lng.add(BigDecimal.valueOf(random.nextInt(-50_000, 50_000), 6));
+            index.add(index.fingerprint(users[random.nextInt(users.length)], sentence(random, 3), sentence(random, 12),
+                    entryLat, entryLng), UUID.randomUUID(), now);
+        }
+        busyUser = UUID.randomUUID();
+        for (int i = 0; i < properties.getMaxPerBucket(); i++) {
+            index.add(index.fingerprint(busyUser, sentence(random, 3), sentence(random, 12), lat, lng),
+                    UUID.randomUUID(), now);
+        }
+        title = sentence(random, 3);
+        details = sentence(random, 12);
+    }
+
+    @Benchmark
+    public Optional<UUID> busyUser() {
+        return index.findDuplicate(index.fingerprint(busyUser, title, details, lat, lng));
+    }
+
+    @Benchmark
+    public Optional<UUID> newUser() {
+        return index.findDuplicate(index.fingerprint(UUID.randomUUID(), title, details, lat, lng));
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sentence.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sentence.toString();
+    }
+}
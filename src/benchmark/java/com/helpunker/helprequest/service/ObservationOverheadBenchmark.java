@@ -0,0 +1,93 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.observability.ObservedMethodInterceptor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Cost added to one service call by the metrics instrumentation, measured against a target that does no work so that
+ * only the instrumentation shows up. {@code observed} goes through the same {@link ObservedMethodInterceptor} proxy and Prometheus
+ * histogram configuration the application uses for {@code HelpRequestService}; {@code timer} is the plain
+ * {@link Timer} recording done around each SSE fan-out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ObservationOverheadBenchmark {
+
+    @Param({"none", "observed", "timer"})
+    public String instrumentation;
+
+    private Target target;
+    private Timer timer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        });
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        Target plain = new Target();
+        if ("observed".equals(instrumentation)) {
+            ProxyFactory factory = new ProxyFactory(plain);
+            factory.setProxyTargetClass(true);
+            factory.addAdvice(new ObservedMethodInterceptor(() -> observationRegistry));
+            target = (Target) factory.getProxy();
+        } else {
+            target = plain;
+        }
+        timer = Timer.builder("helpunker.sse.fanout").tag("stream", "board").register(meterRegistry);
+    }
+
+    @Benchmark
+    public long call() {
+        if ("timer".equals(instrumentation)) {
+            long start = System.nanoTime();
+            long result = target.work(start);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }
+        return target.work(System.nanoTime());
+    }
+
+    @Observed(name = "helpunker.requests.service")
+    public static class Target {
+
+        public long work(long seed) {
+            return seed * 31;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.helpunker.helprequest.sse;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.helpunker.helprequest.BenchmarkFixtures;
+import com.helpunker.helprequest.mapper.CompactRequestCodec;
+import com.helpunker.helprequest.mapper.HelpRequestMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Time for {@link BoardEventPublisher#publishBoardEvent} to deliver one event to every board subscriber. Each emitter
+ * encodes the event the way the MVC message converters would (text parts as UTF-8, the payload through Jackson) into a
+ * stream that discards the bytes, so the measurement covers the per-subscriber encoding work but no socket I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class BoardEventPublisherBenchmark {
+
+    @Param({"1", "1000", "10000"})
+    public int emitters;
+
+    private BoardEventPublisher publisher;
+    private RequestEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        publisher = new BoardEventPublisher(
+                BenchmarkFixtures.objectMapper(), new CompactRequestCodec(), new SimpleMeterRegistry());
+        ObjectWriter writer = BenchmarkFixtures.objectMapper().writer();
+        for (int i = 0; i < emitters; i++) {
+            publisher.registerBoardEmitter(new EncodingEmitter(writer));
+        }
+        event = new RequestEvent(
+                RequestEventType.REQUEST_CREATED, new HelpRequestMapper().toResponse(BenchmarkFixtures.helpRequest(1)));
+    }
+
+    @Benchmark
+    public void publishBoardEvent() {
+        publisher.publishBoardEvent(event);
+    }
+
+    private static final class EncodingEmitter extends SseEmitter {
+
+        private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+        private final ObjectWriter writer;
+
+        private EncodingEmitter(ObjectWriter writer) {
+            super(0L);
+            this.writer = writer;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    DISCARD.write(text.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    writer.writeValue(DISCARD, part.getData());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.helpunker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Holds open {@code /stream/board} subscriptions, each read line by line on its own virtual thread, and measures how
+ * long a created request takes to reach every subscriber. Created requests carry their load-test sequence number in
+ * the title ({@code lt-<n> ...}); {@link #created(long)} remembers when each was sent.
+ */
+final class BoardSubscribers {
+
+    static final String TITLE_PREFIX = "lt-";
+    private static final String TITLE_MARKER = "\"title\":\"" + TITLE_PREFIX;
+
+    private final HttpClient client;
+    private final URI boardUri;
+    private final Map<Long, Long> sentAt = new ConcurrentHashMap<>();
+    private final Recorder lag = new Recorder(3);
+    private final LongAdder connected = new LongAdder();
+    private final LongAdder failedToConnect = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private volatile boolean closing;
+
+    BoardSubscribers(HttpClient client, URI baseUri) {
+        this.client = client;
+        this.boardUri = baseUri.resolve("/stream/board");
+    }
+
+    /** Opens {@code count} subscriptions at roughly {@code perSecond} and waits until they are all established. */
+    void connect(int count, int perSecond, Duration timeout) throws InterruptedException {
+        long pauseNanos = perSecond <= 0 ? 0L : TimeUnit.SECONDS.toNanos(1) / perSecond;
+        for (int i = 0; i < count; i++) {
+            Thread.ofVirtual().name("sse-" + i).start(this::subscribe);
+            if (pauseNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(pauseNanos);
+            }
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (connected.sum() + failedToConnect.sum() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    void created(long sequence) {
+        sentAt.put(sequence, System.nanoTime());
+    }
+
+    /** Waits until no event has been delivered for {@code quietPeriod}, so late deliveries still count. */
+    void awaitQuiet(Duration quietPeriod, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long last = delivered.sum();
+        while (System.nanoTime() < deadline) {
+            TimeUnit.NANOSECONDS.sleep(quietPeriod.toNanos());
+            long now = delivered.sum();
+            if (now == last) {
+                return;
+            }
+            last = now;
+        }
+    }
+
+    void reset() {
+        lag.reset();
+        delivered.reset();
+    }
+
+    void close() {
+        closing = true;
+    }
+
+    Map<String, Double> snapshot(double createsObserved) {
+        Histogram histogram = lag.getIntervalHistogram();
+        long connections = connected.sum();
+        double expected = createsObserved * connections;
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("sse.connected", (double) connections);
+        metrics.put("sse.connect-failures", (double) failedToConnect.sum());
+        metrics.put("sse.disconnected", (double) disconnected.sum());
+        metrics.put("sse.delivered", (double) delivered.sum());
+        metrics.put("sse.delivery-ratio", expected == 0 ? 1.0d : Math.min(1.0d, delivered.sum() / expected));
+        metrics.put("sse.lag.p50-ms", percentileMillis(histogram, 50.0d));
+        metrics.put("sse.lag.p99-ms", percentileMillis(histogram, 99.0d));
+        metrics.put("sse.lag.p999-ms", percentileMillis(histogram, 99.9d));
+        metrics.put("sse.lag.max-ms", histogram.getMaxValue() / 1000.0d);
+        return metrics;
+    }
+
+    private void subscribe() {
+        HttpRequest request = HttpRequest.newBuilder(boardUri)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        } catch (Exception ex) {
+            failedToConnect.increment();
+            return;
+        }
+        if (response.statusCode() != 200) {
+            failedToConnect.increment();
+            response.body().close();
+            return;
+        }
+        connected.increment();
+        try (Stream<String> lines = response.body()) {
+            lines.forEach(this::onLine);
+        } catch (RuntimeException ex) {
+            // connection reset; counted below unless the run is shutting down
+        }
+        if (!closing) {
+            disconnected.increment();
+        }
+    }
+
+    private void onLine(String line) {
+        if (!line.startsWith("data:")) {
+            return;
+        }
+        int marker = line.indexOf(TITLE_MARKER);
+        if (marker < 0) {
+            return;
+        }
+        long received = System.nanoTime();
+        int start = marker + TITLE_MARKER.length();
+        int end = start;
+        while (end < line.length() && Character.isDigit(line.charAt(end))) {
+            end++;
+        }
+        if (end == start) {
+            return;
+        }
+        Long sent = sentAt.get(Long.parseLong(line, start, end, 10));
+        if (sent != null) {
+            lag.recordValue(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(received - sent)));
+            delivered.increment();
+        }
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0.0d : histogram.getValueAtPercentile(percentile) / 1000.0d;
+    }
+}
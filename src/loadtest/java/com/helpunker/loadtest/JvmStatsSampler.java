@@ -0,0 +1,151 @@
+package com.helpunker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Samples the server's heap and GC meters from {@code /actuator/prometheus} once per second, so the numbers describe
+ * the application JVM whether it runs embedded or in a container.
+ */
+final class JvmStatsSampler {
+
+    private static final double MB = 1024.0d * 1024.0d;
+
+    private final HttpClient client;
+    private final HttpRequest scrape;
+    private volatile boolean running;
+    private volatile Sample first;
+    private volatile Sample last;
+    private volatile double peakHeapBytes;
+    private volatile double peakGcPauseSeconds;
+    private Thread thread;
+
+    JvmStatsSampler(HttpClient client, URI baseUri) {
+        this.client = client;
+        this.scrape = HttpRequest.newBuilder(baseUri.resolve("/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+    }
+
+    void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("loadtest-jvm-sampler").daemon().start(() -> {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(1000L);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /** Restarts the window, used at the end of the warm-up. */
+    void reset() {
+        first = null;
+        peakHeapBytes = 0.0d;
+        peakGcPauseSeconds = 0.0d;
+        sample();
+    }
+
+    Map<String, Double> stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join();
+        }
+        sample();
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        if (first == null || last == null) {
+            metrics.put("jvm.available", 0.0d);
+            return metrics;
+        }
+        double seconds = (last.nanos - first.nanos) / 1.0e9d;
+        metrics.put("jvm.heap.peak-mb", peakHeapBytes / MB);
+        metrics.put("jvm.heap.end-mb", last.heapUsed / MB);
+        metrics.put("jvm.heap.max-mb", last.heapMax / MB);
+        metrics.put("jvm.gc.pause-count", last.gcPauseCount - first.gcPauseCount);
+        metrics.put("jvm.gc.pause-total-ms", (last.gcPauseSeconds - first.gcPauseSeconds) * 1000.0d);
+        metrics.put("jvm.gc.pause-max-ms", peakGcPauseSeconds * 1000.0d);
+        metrics.put("jvm.alloc-mb-per-s", seconds <= 0 ? 0.0d : (last.allocated - first.allocated) / MB / seconds);
+        return metrics;
+    }
+
+    private void sample() {
+        String body;
+        try {
+            HttpResponse<String> response = client.send(scrape, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return;
+            }
+            body = response.body();
+        } catch (Exception ex) {
+            return;
+        }
+        Sample sample = parse(body);
+        if (first == null) {
+            first = sample;
+        }
+        last = sample;
+        peakHeapBytes = Math.max(peakHeapBytes, sample.heapUsed);
+        peakGcPauseSeconds = Math.max(peakGcPauseSeconds, sample.gcPauseMax);
+    }
+
+    private static Sample parse(String exposition) {
+        double heapUsed = 0;
+        double heapMax = 0;
+        double gcCount = 0;
+        double gcSeconds = 0;
+        double gcMax = 0;
+        double allocated = 0;
+        for (String line : exposition.split("\n")) {
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            int nameEnd = line.indexOf('{');
+            int valueStart = line.lastIndexOf('}') + 1;
+            if (nameEnd < 0) {
+                nameEnd = line.indexOf(' ');
+                valueStart = nameEnd;
+            }
+            String name = line.substring(0, nameEnd);
+            String[] rest = line.substring(valueStart).trim().split("\\s+");
+            double value;
+            try {
+                value = Double.parseDouble(rest[0]);
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            boolean heap = line.contains("area=\"heap\"");
+            switch (name) {
+                case "jvm_memory_used_bytes" -> heapUsed += heap ? value : 0;
+                case "jvm_memory_max_bytes" -> heapMax += heap && value > 0 ? value : 0;
+                case "jvm_gc_pause_seconds_count" -> gcCount += value;
+                case "jvm_gc_pause_seconds_sum" -> gcSeconds += value;
+                case "jvm_gc_pause_seconds_max" -> gcMax = Math.max(gcMax, value);
+                case "jvm_gc_memory_allocated_bytes_total" -> allocated += value;
+                default -> {
+                }
+            }
+        }
+        return new Sample(System.nanoTime(), heapUsed, heapMax, gcCount, gcSeconds, gcMax, allocated);
+    }
+
+    private record Sample(
+            long nanos,
+            double heapUsed,
+            double heapMax,
+            double gcPauseCount,
+            double gcPauseSeconds,
+            double gcPauseMax,
+            double allocated) {
+    }
+}
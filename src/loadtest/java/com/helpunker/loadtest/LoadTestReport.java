@@ -0,0 +1,79 @@
+package com.helpunker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Flat metric map plus the verdict against the threshold file. Threshold keys are a metric name followed by
+ * {@code .max} or {@code .min}, e.g. {@code poll.p99-ms.max=250}; a threshold naming an unknown metric fails the run
+ * so that typos do not pass silently.
+ */
+final class LoadTestReport {
+
+    private final Map<String, Double> metrics = new LinkedHashMap<>();
+    private final List<String> violations = new ArrayList<>();
+
+    void putAll(Map<String, Double> values) {
+        metrics.putAll(values);
+    }
+
+    boolean evaluate(Properties thresholds) {
+        for (String key : new TreeSet<>(thresholds.stringPropertyNames())) {
+            int separator = key.lastIndexOf('.');
+            String metric = key.substring(0, Math.max(0, separator));
+            String bound = key.substring(separator + 1);
+            double limit = Double.parseDouble(thresholds.getProperty(key).trim());
+            Double actual = metrics.get(metric);
+            if (actual == null) {
+                violations.add(key + ": no such metric");
+            } else if ("max".equals(bound) && actual > limit) {
+                violations.add(String.format("%s: %.3f > %.3f", metric, actual, limit));
+            } else if ("min".equals(bound) && actual < limit) {
+                violations.add(String.format("%s: %.3f < %.3f", metric, actual, limit));
+            } else if (!"max".equals(bound) && !"min".equals(bound)) {
+                violations.add(key + ": threshold must end in .max or .min");
+            }
+        }
+        return violations.isEmpty();
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        out.println("Load test results");
+        out.println("-----------------");
+        metrics.forEach((name, value) -> out.printf("%-28s %14.3f%n", name, value));
+        out.println();
+        if (violations.isEmpty()) {
+            out.println("PASSED: all thresholds met");
+        } else {
+            out.println("FAILED:");
+            violations.forEach(violation -> out.println("  " + violation));
+        }
+    }
+
+    void write(Path file, LoadTestSettings settings) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("settings", settings);
+        document.put("metrics", metrics);
+        document.put("passed", violations.isEmpty());
+        document.put("violations", violations);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), document);
+    }
+}
@@ -0,0 +1,127 @@
+package com.helpunker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the three production traffic shapes at once against one instance: volunteers polling the board near a
+ * random point, elderly users posting requests, and a crowd of board SSE subscribers. After a warm-up it measures for
+ * the configured duration, prints and writes a report, and exits non-zero when a threshold is missed.
+ *
+ * <pre>
+ * ./mvnw -Ploadtest verify                                          # embedded app on H2
+ * ./mvnw -Ploadtest verify -Dloadtest.args="target=http://localhost:8080 sse.subscribers=5000"
+ * </pre>
+ */
+public final class LoadTestRunner {
+
+    private static final double KM_PER_DEGREE = 111.0d;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load(args);
+        LoadTestReport report = new LoadTestReport();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        try (TargetApplication target = TargetApplication.start(settings)) {
+            URI baseUri = target.baseUri();
+            System.out.printf("Load testing %s for %ss after %ss warm-up%n",
+                    baseUri, settings.duration().toSeconds(), settings.warmup().toSeconds());
+
+            BoardSubscribers subscribers = new BoardSubscribers(client, baseUri);
+            subscribers.connect(settings.subscribers(), settings.subscriberConnectRate(), Duration.ofMinutes(2));
+
+            ScenarioStats pollStats = new ScenarioStats("poll");
+            ScenarioStats createStats = new ScenarioStats("create");
+            OpenLoopDriver poll = new OpenLoopDriver("poll", client, settings.pollRate(), settings.maxInFlight(),
+                    pollStats, id -> pollRequest(settings, baseUri), id -> { });
+            OpenLoopDriver create = new OpenLoopDriver("create", client, settings.createRate(), settings.maxInFlight(),
+                    createStats, id -> createRequest(settings, baseUri, target.elderlyIds(), id), subscribers::created);
+            JvmStatsSampler sampler = new JvmStatsSampler(client, baseUri);
+
+            sampler.start();
+            poll.start();
+            create.start();
+
+            Thread.sleep(settings.warmup().toMillis());
+            pollStats.reset();
+            createStats.reset();
+            subscribers.reset();
+            sampler.reset();
+
+            Thread.sleep(settings.duration().toMillis());
+            poll.stop(settings.requestTimeout().toSeconds(), TimeUnit.SECONDS);
+            create.stop(settings.requestTimeout().toSeconds(), TimeUnit.SECONDS);
+            subscribers.awaitQuiet(Duration.ofSeconds(1), settings.requestTimeout());
+
+            Map<String, Double> creates = createStats.snapshot();
+            report.putAll(pollStats.snapshot());
+            report.putAll(creates);
+            report.putAll(subscribers.snapshot(creates.get("create.requests")));
+            report.putAll(sampler.stop());
+            subscribers.close();
+        } finally {
+            client.shutdownNow();
+            executor.shutdownNow();
+        }
+
+        boolean passed = report.evaluate(settings.thresholdProperties());
+        report.print(System.out);
+        report.write(Path.of(settings.report()), settings);
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static HttpRequest pollRequest(LoadTestSettings settings, URI baseUri) {
+        double[] point = randomPoint(settings);
+        String query = String.format(Locale.ROOT, "/requests?status=OPEN&near=%.6f,%.6f&radiusKm=%s&size=20",
+                point[0], point[1], settings.radiusKm());
+        return HttpRequest.newBuilder(baseUri.resolve(query))
+                .timeout(settings.requestTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest createRequest(LoadTestSettings settings, URI baseUri, List<UUID> elderlyIds, long id) {
+        double[] point = randomPoint(settings);
+        UUID elderlyId = elderlyIds.get(ThreadLocalRandom.current().nextInt(elderlyIds.size()));
+        String body = String.format(Locale.ROOT,
+                "{\"title\":\"%s%d groceries\",\"details\":\"2L milk, bread and eggs\",\"category\":\"groceries\","
+                        + "\"locationLat\":%.6f,\"locationLng\":%.6f,\"address\":\"Blk %d\"}",
+                BoardSubscribers.TITLE_PREFIX, id, point[0], point[1], id % 1000);
+        return HttpRequest.newBuilder(baseUri.resolve("/requests"))
+                .timeout(settings.requestTimeout())
+                .header("Content-Type", "application/json")
+                .header("X-User-Id", elderlyId.toString())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /** A point uniformly spread over a square of {@code spreadKm} around the configured centre. */
+    private static double[] randomPoint(LoadTestSettings settings) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double halfSpread = settings.spreadKm() / 2.0d / KM_PER_DEGREE;
+        double lat = settings.centerLat() + random.nextDouble(-halfSpread, halfSpread);
+        double lng = settings.centerLng()
+                + random.nextDouble(-halfSpread, halfSpread) / Math.max(0.01d, Math.cos(Math.toRadians(lat)));
+        return new double[] {lat, lng};
+    }
+}
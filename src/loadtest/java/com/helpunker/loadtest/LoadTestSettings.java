@@ -0,0 +1,96 @@
+package com.helpunker.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Scenario settings. Defaults come from {@code loadtest.properties} on the classpath; every key can be overridden by a
+ * {@code key=value} program argument (passed through {@code -Dloadtest.args="..."} by the Maven profile).
+ */
+record LoadTestSettings(
+        String target,
+        Duration warmup,
+        Duration duration,
+        int elderlyUsers,
+        double centerLat,
+        double centerLng,
+        double spreadKm,
+        double radiusKm,
+        double pollRate,
+        double createRate,
+        int maxInFlight,
+        int subscribers,
+        int subscriberConnectRate,
+        Duration requestTimeout,
+        String jdbcUrl,
+        String jdbcUser,
+        @JsonIgnore String jdbcPassword,
+        String thresholds,
+        String report) {
+
+    static final String EMBEDDED = "embedded";
+
+    static LoadTestSettings load(String[] args) {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Arguments must be key=value, got: " + arg);
+            }
+            properties.setProperty(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+
+        return new LoadTestSettings(
+                properties.getProperty("target", EMBEDDED),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("warmup-seconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("duration-seconds", "30"))),
+                Integer.parseInt(properties.getProperty("elderly-users", "200")),
+                Double.parseDouble(properties.getProperty("center-lat", "1.3521")),
+                Double.parseDouble(properties.getProperty("center-lng", "103.8198")),
+                Double.parseDouble(properties.getProperty("spread-km", "10")),
+                Double.parseDouble(properties.getProperty("radius-km", "3")),
+                Double.parseDouble(properties.getProperty("poll.rate", "200")),
+                Double.parseDouble(properties.getProperty("create.rate", "10")),
+                Integer.parseInt(properties.getProperty("max-in-flight", "512")),
+                Integer.parseInt(properties.getProperty("sse.subscribers", "2000")),
+                Integer.parseInt(properties.getProperty("sse.connect-rate", "500")),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("request-timeout-seconds", "10"))),
+                properties.getProperty("jdbc.url", "jdbc:postgresql://localhost:5432/helpunker"),
+                properties.getProperty("jdbc.user", "helpunker"),
+                properties.getProperty("jdbc.password", "helpunker"),
+                properties.getProperty("thresholds", "classpath:loadtest-thresholds.properties"),
+                properties.getProperty("report", "target/loadtest-report.json"));
+    }
+
+    boolean embedded() {
+        return EMBEDDED.equalsIgnoreCase(target);
+    }
+
+    Properties thresholdProperties() {
+        Properties properties = new Properties();
+        try (InputStream input = thresholds.startsWith("classpath:")
+                ? LoadTestSettings.class.getResourceAsStream("/" + thresholds.substring("classpath:".length()))
+                : Files.newInputStream(Path.of(thresholds))) {
+            if (input == null) {
+                throw new IllegalStateException("Threshold file not found: " + thresholds);
+            }
+            properties.load(input);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return properties;
+    }
+}
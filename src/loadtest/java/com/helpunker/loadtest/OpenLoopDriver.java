@@ -0,0 +1,99 @@
+package com.helpunker.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Issues requests at a fixed arrival rate regardless of how fast the server answers (open model). Latency is measured
+ * from the moment a request was <em>scheduled</em>, not sent, so a stalled server shows up in the percentiles instead of
+ * silently lowering the offered load (coordinated omission). When {@code maxInFlight} requests are outstanding further
+ * arrivals are shed and counted as errors rather than queued.
+ */
+final class OpenLoopDriver {
+
+    private final String name;
+    private final HttpClient client;
+    private final double ratePerSecond;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final ScenarioStats stats;
+    private final LongFunction<HttpRequest> requests;
+    private final LongConsumer onScheduled;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean running;
+    private Thread thread;
+
+    OpenLoopDriver(
+            String name,
+            HttpClient client,
+            double ratePerSecond,
+            int maxInFlight,
+            ScenarioStats stats,
+            LongFunction<HttpRequest> requests,
+            LongConsumer onScheduled) {
+        this.name = name;
+        this.client = client;
+        this.ratePerSecond = ratePerSecond;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.stats = stats;
+        this.requests = requests;
+        this.onScheduled = onScheduled;
+    }
+
+    void start() {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform().name("loadtest-" + name).daemon().start(this::run);
+    }
+
+    /** Stops issuing requests and waits up to {@code timeout} for the outstanding ones to finish. */
+    void stop(long timeout, TimeUnit unit) throws InterruptedException {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        thread.join(unit.toMillis(timeout));
+        if (inFlight.tryAcquire(maxInFlight, timeout, unit)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+
+    private void run() {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long next = System.nanoTime();
+        while (running) {
+            long scheduled = next;
+            next += intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                stats.recordShed();
+                continue;
+            }
+            long id = sequence.incrementAndGet();
+            onScheduled.accept(id);
+            client.sendAsync(requests.apply(id), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        long latency = System.nanoTime() - scheduled;
+                        if (failure == null && response.statusCode() / 100 == 2) {
+                            stats.recordSuccess(latency);
+                        } else {
+                            stats.recordFailure(latency);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.helpunker.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/** Latency histogram (microsecond resolution) and outcome counters for one traffic shape. */
+final class ScenarioStats {
+
+    private final String name;
+    private final Recorder recorder = new Recorder(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private volatile long windowStartNanos = System.nanoTime();
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        recorder.recordValue(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        succeeded.increment();
+    }
+
+    void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        failed.increment();
+    }
+
+    /** The generator had too many requests outstanding and skipped one; counts against the error ratio. */
+    void recordShed() {
+        shed.increment();
+    }
+
+    /** Drops everything recorded so far, used at the end of the warm-up. */
+    void reset() {
+        recorder.reset();
+        succeeded.reset();
+        failed.reset();
+        shed.reset();
+        windowStartNanos = System.nanoTime();
+    }
+
+    Map<String, Double> snapshot() {
+        double seconds = (System.nanoTime() - windowStartNanos) / 1.0e9d;
+        Histogram histogram = recorder.getIntervalHistogram();
+        long ok = succeeded.sum();
+        long errors = failed.sum() + shed.sum();
+        long total = ok + errors;
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put(name + ".requests", (double) total);
+        metrics.put(name + ".throughput", ok / seconds);
+        metrics.put(name + ".error-ratio", total == 0 ? 0.0d : (double) errors / total);
+        metrics.put(name + ".p50-ms", percentileMillis(histogram, 50.0d));
+        metrics.put(name + ".p99-ms", percentileMillis(histogram, 99.0d));
+        metrics.put(name + ".p999-ms", percentileMillis(histogram, 99.9d));
+        metrics.put(name + ".max-ms", histogram.getMaxValue() / 1000.0d);
+        return metrics;
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0.0d : histogram.getValueAtPercentile(percentile) / 1000.0d;
+    }
+}
@@ -0,0 +1,88 @@
+package com.helpunker.loadtest;
+
+import com.helpunker.HelpUnkerApplication;
+import com.helpunker.user.User;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The system under test: either the application started in this JVM on a random port with the {@code loadtest}
+ * profile (H2), or an already running instance such as the one from {@code infra/docker-compose.yml}, in which case
+ * the elderly users that post requests are inserted over JDBC first.
+ */
+final class TargetApplication implements AutoCloseable {
+
+    private final URI baseUri;
+    private final List<UUID> elderlyIds;
+    private final ConfigurableApplicationContext context;
+
+    private TargetApplication(URI baseUri, List<UUID> elderlyIds, ConfigurableApplicationContext context) {
+        this.baseUri = baseUri;
+        this.elderlyIds = elderlyIds;
+        this.context = context;
+    }
+
+    static TargetApplication start(LoadTestSettings settings) throws SQLException {
+        if (settings.embedded()) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(HelpUnkerApplication.class)
+                    .profiles("loadtest")
+                    .run("--server.port=0");
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<User> users = new ArrayList<>(settings.elderlyUsers());
+            for (int i = 0; i < settings.elderlyUsers(); i++) {
+                users.add(User.builder()
+                        .id(UUID.randomUUID())
+                        .displayName("loadtest-elderly-" + i)
+                        .role(UserRole.ELDERLY)
+                        .build());
+            }
+            context.getBean(UserRepository.class).saveAll(users);
+            return new TargetApplication(
+                    URI.create("http://localhost:" + port), users.stream().map(User::getId).toList(), context);
+        }
+
+        List<UUID> ids = new ArrayList<>(settings.elderlyUsers());
+        try (Connection connection =
+                        DriverManager.getConnection(settings.jdbcUrl(), settings.jdbcUser(), settings.jdbcPassword());
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO users (id, display_name, role) VALUES (?, ?, CAST(? AS user_role))")) {
+            for (int i = 0; i < settings.elderlyUsers(); i++) {
+                UUID id = UUID.randomUUID();
+                insert.setObject(1, id);
+                insert.setString(2, "loadtest-elderly-" + i);
+                insert.setString(3, UserRole.ELDERLY.name());
+                insert.addBatch();
+                ids.add(id);
+            }
+            insert.executeBatch();
+        }
+        String target = settings.target().endsWith("/") ? settings.target() : settings.target() + "/";
+        return new TargetApplication(URI.create(target), ids, null);
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    List<UUID> elderlyIds() {
+        return elderlyIds;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.helpunker.analytics;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The segment events are appended to: a fixed-size memory-mapped file of row records, so an append is a few stores into
+ * the page cache and survives a crash of the JVM. The header holds the end of the written records, published with
+ * release semantics after each record so that readers mapping the same file only parse complete records, and the
+ * sink's cursor. On rollover the rows are rewritten as a {@link ColumnarSegment} and the file is deleted.
+ *
+ * <pre>
+ * header = magic:int version:int end:int reserved:int createdAt:long cursor:long          (32 bytes)
+ * record = type:byte at:long idMsb:long idLsb:long elapsed:long categoryLength:short category:utf8
+ * </pre>
+ *
+ * A category length of -1 stands for none.
+ */
+final class ActiveSegment {
+
+    static final String PREFIX = "active-";
+    static final String SUFFIX = ".log";
+
+    private static final int MAGIC = 0x4855414C;
+    private static final int VERSION = 1;
+    private static final int END = 8;
+    private static final int CREATED_AT = 16;
+    private static final int CURSOR = 24;
+    private static final int HEADER = 32;
+    private static final int FIXED = 1 + 4 * Long.BYTES + Short.BYTES;
+    private static final AnalyticsEventType[] TYPES = AnalyticsEventType.values();
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int end;
+
+    private ActiveSegment(long sequence, Path path, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.end = (int) INT.getAcquire(buffer, END);
+    }
+
+    /** Creates and maps a new segment file of {@code size} bytes in the directory. */
+    static ActiveSegment create(Path directory, long sequence, int size, long cursor) throws IOException {
+        Path path = directory.resolve(fileName(sequence));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, HEADER + FIXED + 256));
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(CREATED_AT, System.currentTimeMillis());
+        buffer.putLong(CURSOR, cursor);
+        INT.setRelease(buffer, END, HEADER);
+        return new ActiveSegment(sequence, path, buffer);
+    }
+
+    /** Maps an existing segment file, left behind by a previous run, for reading and appending. */
+    static ActiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            checkHeader(buffer, path);
+            return new ActiveSegment(sequenceOf(path), path, buffer);
+        }
+    }
+
+    /** The complete records of a segment file, read through a read-only mapping; safe while it is being appended to. */
+    static List<AnalyticsEvent> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(buffer, path);
+            return parse(buffer, (int) INT.getAcquire(buffer, END));
+        }
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /** Appends the event; {@code false} when it does not fit and the segment must be rolled over. */
+    boolean append(AnalyticsEvent event) {
+        byte[] category = event.category() == null ? null : event.category().getBytes(StandardCharsets.UTF_8);
+        int length = FIXED + (category == null ? 0 : category.length);
+        if (length > buffer.capacity() - end) {
+            return false;
+        }
+        int position = end;
+        buffer.put(position, (byte) event.type().ordinal());
+        buffer.putLong(position + 1, event.atMillis());
+        buffer.putLong(position + 9, event.requestId().getMostSignificantBits());
+        buffer.putLong(position + 17, event.requestId().getLeastSignificantBits());
+        buffer.putLong(position + 25, event.elapsedMillis());
+        buffer.putShort(position + 33, (short) (category == null ? -1 : category.length));
+        if (category != null) {
+            buffer.put(position + FIXED, category);
+        }
+        end = position + length;
+        INT.setRelease(buffer, END, end);
+        return true;
+    }
+
+    List<AnalyticsEvent> events() {
+        return parse(buffer, end);
+    }
+
+    boolean isEmpty() {
+        return end == HEADER;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long createdAt() {
+        return buffer.getLong(CREATED_AT);
+    }
+
+    long cursor() {
+        return buffer.getLong(CURSOR);
+    }
+
+    void cursor(long cursor) {
+        buffer.putLong(CURSOR, cursor);
+    }
+
+    /** Writes the mapped pages to the device. */
+    void force() {
+        buffer.force();
+    }
+
+    private static List<AnalyticsEvent> parse(ByteBuffer buffer, int end) {
+        List<AnalyticsEvent> events = new ArrayList<>();
+        int position = HEADER;
+        while (position + FIXED <= end) {
+            int categoryLength = buffer.getShort(position + 33);
+            int length = FIXED + Math.max(0, categoryLength);
+            if (position + length > end) {
+                break;
+            }
+            String category = null;
+            if (categoryLength >= 0) {
+                byte[] bytes = new byte[categoryLength];
+                buffer.get(position + FIXED, bytes);
+                category = new String(bytes, StandardCharsets.UTF_8);
+            }
+            events.add(new AnalyticsEvent(
+                    buffer.getLong(position + 1),
+                    TYPES[buffer.get(position)],
+                    new UUID(buffer.getLong(position + 9), buffer.getLong(position + 17)),
+                    category,
+                    buffer.getLong(position + 25)));
+            position += length;
+        }
+        return events;
+    }
+
+    private static void checkHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an active analytics segment: " + path);
+        }
+    }
+
+    private static String fileName(long sequence) {
+        return PREFIX + "%012d".formatted(sequence) + SUFFIX;
+    }
+}
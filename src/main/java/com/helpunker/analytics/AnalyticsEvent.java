@@ -0,0 +1,12 @@
+package com.helpunker.analytics;
+
+import java.util.UUID;
+
+/**
+ * One request lifecycle event as stored in the analytics segments. {@code elapsedMillis} is the time from the request's
+ * creation to the event (0 for {@link AnalyticsEventType#CREATED}), which time-to-accept and time-to-complete are
+ * computed from; {@code category} is {@code null} for uncategorized requests.
+ */
+public record AnalyticsEvent(
+        long atMillis, AnalyticsEventType type, UUID requestId, String category, long elapsedMillis) {
+}
@@ -0,0 +1,9 @@
+package com.helpunker.analytics;
+
+/** Request lifecycle events recorded by {@link AnalyticsSink}. Segments store the position, so values are only appended. */
+public enum AnalyticsEventType {
+    CREATED,
+    CANCELLED,
+    ACCEPTED,
+    COMPLETED
+}
@@ -0,0 +1,36 @@
+package com.helpunker.analytics;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.analytics")
+public class AnalyticsProperties {
+
+    private boolean enabled = true;
+
+    /** Directory of the segment files and the manifest; created on startup when missing. One instance per directory. */
+    private String directory = "data/analytics";
+
+    /** Size of the memory-mapped file events are appended to; a full one is sealed and a new one started. */
+    private DataSize activeSegmentSize = DataSize.ofMegabytes(8);
+
+    /** The active segment is sealed once it is this old, so it never holds more than this much recent history. */
+    private Duration rolloverInterval = Duration.ofHours(1);
+
+    /**
+     * Whether accepts and completions are read from {@code assignments}. They come from the shared database, so keep
+     * this on for one instance only; creates and cancels are recorded by the instance that made them.
+     */
+    private boolean pollAssignments = true;
+
+    /**
+     * How far behind the clock the assignments poll reads. An accept or completion is only seen if its transaction
+     * commits within this long of the timestamp it records; later commits fall behind the cursor and are missed.
+     */
+    private Duration pollLag = Duration.ofMinutes(1);
+}
@@ -0,0 +1,183 @@
+package com.helpunker.analytics;
+
+import com.helpunker.analytics.ColumnarSegment.Column;
+import com.helpunker.analytics.ColumnarSegment.Columns;
+import com.helpunker.helprequest.stats.LogLinearHistogram;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Time-windowed aggregations over an analytics directory, read from the segment files alone: the sealed segments in
+ * the manifest, memory-mapped with only the columns a query needs inflated and segments outside the window skipped by
+ * their time range, plus the active segments still being appended to. Nothing here touches the database, and a copy
+ * of the directory can be queried offline with {@code new AnalyticsQueries(Path.of("data/analytics"))}. Windows are
+ * half-open, {@code [from, to)}.
+ */
+public class AnalyticsQueries {
+
+    static final String UNCATEGORIZED = "uncategorized";
+
+    private final Path directory;
+    private final Map<String, ColumnarSegment> mapped = new ConcurrentHashMap<>();
+
+    public AnalyticsQueries(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Events of the type in the window per category, in category order; uncategorized requests count under
+     * {@value #UNCATEGORIZED}.
+     */
+    public Map<String, Long> countsByCategory(AnalyticsEventType type, Instant from, Instant to) {
+        Map<String, Long> counts = new TreeMap<>();
+        this.forEachSource(from, to, EnumSet.of(Column.TYPE, Column.CATEGORY), (columns, inWindow) -> {
+            for (int i = 0; i < columns.rows; i++) {
+                if (columns.types[i] == type && inWindow.test(columns, i)) {
+                    String category = columns.categories[i];
+                    counts.merge(category == null ? UNCATEGORIZED : category, 1L, Long::sum);
+                }
+            }
+        });
+        return counts;
+    }
+
+    /** Events in the window per type. */
+    public Map<AnalyticsEventType, Long> countsByType(Instant from, Instant to) {
+        Map<AnalyticsEventType, Long> counts = new EnumMap<>(AnalyticsEventType.class);
+        this.forEachSource(from, to, EnumSet.of(Column.TYPE), (columns, inWindow) -> {
+            for (int i = 0; i < columns.rows; i++) {
+                if (inWindow.test(columns, i)) {
+                    counts.merge(columns.types[i], 1L, Long::sum);
+                }
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Quantiles (0..1) of the time from creation to events of the type in the window, within the ~3% precision of
+     * {@link LogLinearHistogram}; empty when there are no such events.
+     */
+    public Map<Double, Duration> elapsedQuantiles(AnalyticsEventType type, Instant from, Instant to, double... quantiles) {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        this.forEachSource(from, to, EnumSet.of(Column.TYPE, Column.ELAPSED), (columns, inWindow) -> {
+            for (int i = 0; i < columns.rows; i++) {
+                if (columns.types[i] == type && inWindow.test(columns, i)) {
+                    histogram.record(columns.elapsed[i]);
+                }
+            }
+        });
+        Map<Double, Duration> result = new LinkedHashMap<>();
+        if (histogram.count() > 0) {
+            for (double quantile : quantiles) {
+                result.put(quantile, Duration.ofMillis(LogLinearHistogram.quantile(quantile, histogram)));
+            }
+        }
+        return result;
+    }
+
+    /** Time-to-complete quantiles of the requests completed in the window. */
+    public Map<Double, Duration> timeToComplete(Instant from, Instant to, double... quantiles) {
+        return this.elapsedQuantiles(AnalyticsEventType.COMPLETED, from, to, quantiles);
+    }
+
+    /** Hands every event in the window to the consumer, segment by segment in the order they were written. */
+    public void scan(Instant from, Instant to, Consumer<AnalyticsEvent> consumer) {
+        this.forEachSource(from, to, EnumSet.allOf(Column.class), (columns, inWindow) -> {
+            for (int i = 0; i < columns.rows; i++) {
+                if (inWindow.test(columns, i)) {
+                    consumer.accept(new AnalyticsEvent(
+                            columns.at[i], columns.types[i], new UUID(columns.ids[2 * i], columns.ids[2 * i + 1]),
+                            columns.categories[i], columns.elapsed[i]));
+                }
+            }
+        });
+    }
+
+    /**
+     * Decodes the columns of every segment overlapping the window, plus the time column unless the segment lies
+     * inside it. Active segments are read before the manifest: one sealed in between is then found in the manifest
+     * and its active copy skipped, so no event is missed or counted twice.
+     */
+    private void forEachSource(Instant from, Instant to, Set<Column> columns, SourceVisitor visitor) {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        RowFilter everyRow = (source, row) -> true;
+        RowFilter byTime = (source, row) -> source.at[row] >= fromMillis && source.at[row] < toMillis;
+        try {
+            Map<Long, List<AnalyticsEvent>> active = new TreeMap<>();
+            for (Path path : this.activeFiles()) {
+                try {
+                    active.put(ActiveSegment.sequenceOf(path), ActiveSegment.read(path));
+                } catch (NoSuchFileException ex) {
+                    // sealed meanwhile; the manifest read below has it
+                }
+            }
+            SegmentManifest manifest = SegmentManifest.read(directory);
+            Set<Long> sealed = new HashSet<>();
+            for (SegmentManifest.Segment segment : manifest.segments()) {
+                sealed.add(segment.sequence());
+                if (segment.maxAt() < fromMillis || segment.minAt() >= toMillis) {
+                    continue;
+                }
+                boolean inside = segment.minAt() >= fromMillis && segment.maxAt() < toMillis;
+                Set<Column> needed = EnumSet.copyOf(columns);
+                if (!inside) {
+                    needed.add(Column.AT);
+                }
+                visitor.visit(this.segment(segment.file()).read(needed), inside ? everyRow : byTime);
+            }
+            mapped.keySet().retainAll(manifest.segments().stream().map(SegmentManifest.Segment::file).toList());
+            active.forEach((sequence, events) -> {
+                if (!sealed.contains(sequence)) {
+                    visitor.visit(Columns.of(events), byTime);
+                }
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read analytics segments in " + directory, ex);
+        }
+    }
+
+    private ColumnarSegment segment(String file) throws IOException {
+        ColumnarSegment segment = mapped.get(file);
+        if (segment == null) {
+            segment = ColumnarSegment.open(directory.resolve(file));
+            mapped.put(file, segment);
+        }
+        return segment;
+    }
+
+    private List<Path> activeFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(ActiveSegment::isSegmentFile).sorted().toList();
+        }
+    }
+
+    private interface RowFilter {
+        boolean test(Columns columns, int row);
+    }
+
+    private interface SourceVisitor {
+        void visit(Columns columns, RowFilter inWindow);
+    }
+}
@@ -0,0 +1,204 @@
+package com.helpunker.analytics;
+
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.service.HelpRequestLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records request lifecycle events into the segment files of {@code app.analytics.directory}, so reporting runs on
+ * {@link AnalyticsQueries} instead of the live tables. Creates and cancels made by this instance are appended once
+ * their transaction commits. Accepts and completions are only recorded in {@code assignments}; they are read from
+ * there every {@code app.analytics.poll-interval}, from a cursor stored in the active segment with the events up to
+ * {@code app.analytics.poll-lag} ago, so rows written by transactions still open at poll time are picked up once they
+ * commit, as long as that is within the lag. The cursor moves past each millisecond once all of its events are
+ * appended: a failed append or a crash repeats at most the events of the millisecond it stopped in, and a restart
+ * resumes from there. The first poll starts from the present; older history is not imported. The active segment is
+ * sealed when full and every {@code app.analytics.rollover-interval}.
+ */
+@Component
+public class AnalyticsSink implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSink.class);
+
+    private static final String SELECT_ASSIGNMENTS = """
+            SELECT a.request_id, r.category, r.created_at, a.accepted_at, a.completed_at
+            FROM assignments a JOIN requests r ON r.id = a.request_id
+            WHERE (a.accepted_at > ? AND a.accepted_at <= ?) OR (a.completed_at > ? AND a.completed_at <= ?)""";
+
+    private final AnalyticsProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+    private final SegmentStore store;
+    private final Map<AnalyticsEventType, Counter> recorded = new EnumMap<>(AnalyticsEventType.class);
+    private final Counter rollovers;
+
+    public AnalyticsSink(
+            AnalyticsProperties properties, JdbcTemplate jdbcTemplate, ShardRouter shards, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        try {
+            this.store = properties.isEnabled()
+                    ? new SegmentStore(
+                            Path.of(properties.getDirectory()), (int) properties.getActiveSegmentSize().toBytes())
+                    : null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open analytics directory " + properties.getDirectory(), ex);
+        }
+        for (AnalyticsEventType type : AnalyticsEventType.values()) {
+            recorded.put(type, Counter.builder("helpunker.analytics.events")
+                    .description("Request lifecycle events appended to the analytics segments")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.rollovers = Counter.builder("helpunker.analytics.rollovers")
+                .description("Active analytics segments sealed into columnar segments")
+                .register(meterRegistry);
+    }
+
+    /** Records created and cancelled requests. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLifecycle(HelpRequestLifecycleEvent event) {
+        if (store == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<AnalyticsEvent> events = event.requests().stream()
+                .map(request -> switch (event.type()) {
+                    case CREATED -> new AnalyticsEvent(
+                            now, AnalyticsEventType.CREATED, request.getId(), request.getCategory(), 0);
+                    case CANCELLED -> new AnalyticsEvent(
+                            now, AnalyticsEventType.CANCELLED, request.getId(), request.getCategory(),
+                            elapsedSince(request, now));
+                })
+                .toList();
+        synchronized (this) {
+            this.write(events);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.analytics.poll-interval:PT1M}",
+            fixedDelayString = "${app.analytics.poll-interval:PT1M}")
+    public void scheduledPoll() {
+        if (store != null && properties.isPollAssignments()) {
+            this.pollAssignments();
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1M")
+    public synchronized void scheduledRollover() {
+        if (store == null) {
+            return;
+        }
+        try {
+            if (store.rolloverIfOlderThan(properties.getRolloverInterval())) {
+                rollovers.increment();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not seal the active analytics segment; retrying on the next run", ex);
+        }
+    }
+
+    /**
+     * Appends the accepts and completions recorded in {@code assignments} between the cursor and the poll lag, oldest
+     * first; returns how many were appended.
+     */
+    public synchronized int pollAssignments() {
+        if (store == null) {
+            return 0;
+        }
+        long horizon = System.currentTimeMillis() - properties.getPollLag().toMillis();
+        long cursor = store.cursor();
+        if (cursor == 0) {
+            store.cursor(horizon);
+            return 0;
+        }
+        if (horizon <= cursor) {
+            return 0;
+        }
+        Timestamp since = new Timestamp(cursor);
+        Timestamp until = new Timestamp(horizon);
+        List<AnalyticsEvent> events = new ArrayList<>();
+        shards.forEachShard(() -> jdbcTemplate.query(SELECT_ASSIGNMENTS, rs -> {
+            UUID requestId = rs.getObject("request_id", UUID.class);
+            String category = rs.getString("category");
+            long createdAt = rs.getTimestamp("created_at").getTime();
+            Timestamp acceptedAt = rs.getTimestamp("accepted_at");
+            Timestamp completedAt = rs.getTimestamp("completed_at");
+            if (acceptedAt != null && acceptedAt.after(since) && !acceptedAt.after(until)) {
+                events.add(new AnalyticsEvent(acceptedAt.getTime(), AnalyticsEventType.ACCEPTED, requestId, category,
+                        acceptedAt.getTime() - createdAt));
+            }
+            if (completedAt != null && completedAt.after(since) && !completedAt.after(until)) {
+                events.add(new AnalyticsEvent(completedAt.getTime(), AnalyticsEventType.COMPLETED, requestId, category,
+                        completedAt.getTime() - createdAt));
+            }
+        }, since, until, since, until));
+        events.sort(Comparator.comparingLong(AnalyticsEvent::atMillis));
+        for (int i = 0; i < events.size(); i++) {
+            AnalyticsEvent event = events.get(i);
+            if (!this.write(List.of(event))) {
+                return i;
+            }
+            if (i + 1 == events.size() || events.get(i + 1).atMillis() > event.atMillis()) {
+                store.cursor(event.atMillis());
+            }
+        }
+        store.cursor(horizon);
+        return events.size();
+    }
+
+    /** Seals the active segment now. */
+    public synchronized void rollover() throws IOException {
+        if (store != null) {
+            store.rollover();
+            rollovers.increment();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /** Appends the events, logging instead of failing when a rollover cannot be written; returns whether all were. */
+    private boolean write(List<AnalyticsEvent> events) {
+        try {
+            for (AnalyticsEvent event : events) {
+                store.append(event);
+                recorded.get(event.type()).increment();
+            }
+            return true;
+        } catch (IOException ex) {
+            log.warn("Could not append {} analytics events", events.size(), ex);
+            return false;
+        }
+    }
+
+    private static long elapsedSince(HelpRequest request, long now) {
+        return request.getCreatedAt() == null ? 0 : now - request.getCreatedAt().toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,324 @@
+package com.helpunker.analytics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A sealed segment: the rows of one {@link ActiveSegment} stored column by column, each column deflated on its own,
+ * in an immutable file that readers memory-map. A query inflates only the columns it needs, straight from the
+ * mapping, and the time range in the header and the manifest lets it skip segments outside its window entirely.
+ *
+ * <pre>
+ * header   = magic:int version:int rows:int minAt:long maxAt:long (rawLength:int compressedLength:int) per column
+ * AT       = per row the zigzag varint difference from the previous row's epoch milliseconds (from minAt for the first)
+ * TYPE     = per row one byte, the position in {@link AnalyticsEventType}
+ * ID       = per row 16 bytes
+ * CATEGORY = varint dictionary size, (varint length, utf8) per entry, then per row a varint: 0 for none, else 1 + entry
+ * ELAPSED  = per row a zigzag varint, milliseconds
+ * </pre>
+ */
+final class ColumnarSegment {
+
+    static final String PREFIX = "segment-";
+    static final String SUFFIX = ".col";
+
+    private static final int MAGIC = 0x48554153;
+    private static final int VERSION = 1;
+    private static final Column[] COLUMNS = Column.values();
+    private static final int HEADER = 3 * Integer.BYTES + 2 * Long.BYTES + COLUMNS.length * 2 * Integer.BYTES;
+    private static final AnalyticsEventType[] TYPES = AnalyticsEventType.values();
+
+    enum Column {
+        AT,
+        TYPE,
+        ID,
+        CATEGORY,
+        ELAPSED
+    }
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rows;
+    private final long minAt;
+
+    private ColumnarSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.rows = buffer.getInt(8);
+        this.minAt = buffer.getLong(12);
+    }
+
+    static ColumnarSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not an analytics segment: " + path);
+            }
+            return new ColumnarSegment(path, buffer);
+        }
+    }
+
+    static String fileName(long sequence) {
+        return PREFIX + "%012d".formatted(sequence) + SUFFIX;
+    }
+
+    /**
+     * Writes the events as a segment file, through a temporary file that is synced and renamed into place; returns
+     * the manifest entry describing it.
+     */
+    static SegmentManifest.Segment write(Path directory, long sequence, List<AnalyticsEvent> events) throws IOException {
+        long minAt = events.stream().mapToLong(AnalyticsEvent::atMillis).min().orElse(0);
+        long maxAt = events.stream().mapToLong(AnalyticsEvent::atMillis).max().orElse(0);
+        byte[][] raw = new byte[COLUMNS.length][];
+        ByteArrayOutputStream at = new ByteArrayOutputStream(events.size() * 2);
+        byte[] types = new byte[events.size()];
+        ByteBuffer ids = ByteBuffer.allocate(events.size() * 16);
+        ByteArrayOutputStream codes = new ByteArrayOutputStream(events.size());
+        ByteArrayOutputStream elapsed = new ByteArrayOutputStream(events.size() * 3);
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        long previous = minAt;
+        for (int i = 0; i < events.size(); i++) {
+            AnalyticsEvent event = events.get(i);
+            writeVarint(at, zigzag(event.atMillis() - previous));
+            previous = event.atMillis();
+            types[i] = (byte) event.type().ordinal();
+            ids.putLong(event.requestId().getMostSignificantBits()).putLong(event.requestId().getLeastSignificantBits());
+            int code = 0;
+            if (event.category() != null) {
+                code = dictionary.computeIfAbsent(event.category(), key -> {
+                    entries.add(key);
+                    return entries.size();
+                });
+            }
+            writeVarint(codes, code);
+            writeVarint(elapsed, zigzag(event.elapsedMillis()));
+        }
+        ByteArrayOutputStream category = new ByteArrayOutputStream(codes.size() + entries.size() * 16);
+        writeVarint(category, entries.size());
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            writeVarint(category, bytes.length);
+            category.writeBytes(bytes);
+        }
+        codes.writeTo(category);
+        raw[Column.AT.ordinal()] = at.toByteArray();
+        raw[Column.TYPE.ordinal()] = types;
+        raw[Column.ID.ordinal()] = ids.array();
+        raw[Column.CATEGORY.ordinal()] = category.toByteArray();
+        raw[Column.ELAPSED.ordinal()] = elapsed.toByteArray();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        header.putInt(MAGIC).putInt(VERSION).putInt(events.size()).putLong(minAt).putLong(maxAt);
+        byte[][] compressed = new byte[COLUMNS.length][];
+        long size = HEADER;
+        for (int i = 0; i < COLUMNS.length; i++) {
+            compressed[i] = deflate(raw[i]);
+            header.putInt(raw[i].length).putInt(compressed[i].length);
+            size += compressed[i].length;
+        }
+        header.flip();
+
+        String name = fileName(sequence);
+        Path target = directory.resolve(name);
+        Path temporary = Files.createTempFile(directory, ".segment-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = new ByteBuffer[COLUMNS.length + 1];
+                buffers[0] = header;
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    buffers[i + 1] = ByteBuffer.wrap(compressed[i]);
+                }
+                while (buffers[COLUMNS.length].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return new SegmentManifest.Segment(sequence, name, events.size(), minAt, maxAt, size);
+    }
+
+    /** Inflates and decodes the requested columns; the others stay {@code null} in the result. */
+    Columns read(Set<Column> columns) {
+        Columns result = new Columns(rows);
+        if (columns.contains(Column.AT)) {
+            result.at = new long[rows];
+            ByteBuffer at = this.inflate(Column.AT);
+            long previous = minAt;
+            for (int i = 0; i < rows; i++) {
+                previous += unzigzag(readVarint(at));
+                result.at[i] = previous;
+            }
+        }
+        if (columns.contains(Column.TYPE)) {
+            result.types = new AnalyticsEventType[rows];
+            ByteBuffer types = this.inflate(Column.TYPE);
+            for (int i = 0; i < rows; i++) {
+                result.types[i] = TYPES[types.get(i)];
+            }
+        }
+        if (columns.contains(Column.ID)) {
+            result.ids = new long[rows * 2];
+            ByteBuffer ids = this.inflate(Column.ID);
+            for (int i = 0; i < rows * 2; i++) {
+                result.ids[i] = ids.getLong();
+            }
+        }
+        if (columns.contains(Column.CATEGORY)) {
+            ByteBuffer category = this.inflate(Column.CATEGORY);
+            String[] entries = new String[(int) readVarint(category) + 1];
+            for (int i = 1; i < entries.length; i++) {
+                byte[] bytes = new byte[(int) readVarint(category)];
+                category.get(bytes);
+                entries[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            result.categories = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                result.categories[i] = entries[(int) readVarint(category)];
+            }
+        }
+        if (columns.contains(Column.ELAPSED)) {
+            result.elapsed = new long[rows];
+            ByteBuffer elapsed = this.inflate(Column.ELAPSED);
+            for (int i = 0; i < rows; i++) {
+                result.elapsed[i] = unzigzag(readVarint(elapsed));
+            }
+        }
+        return result;
+    }
+
+    private ByteBuffer inflate(Column column) {
+        int offset = HEADER;
+        for (int i = 0; i < column.ordinal(); i++) {
+            offset += buffer.getInt(28 + i * 8 + 4);
+        }
+        int rawLength = buffer.getInt(28 + column.ordinal() * 8);
+        int compressedLength = buffer.getInt(28 + column.ordinal() * 8 + 4);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offset, compressedLength));
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("Truncated column " + column + " in " + path);
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt column " + column + " in " + path, ex);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decoded columns of one segment; a column that was not requested is {@code null}. Ids are stored as
+     * most/least significant bit pairs.
+     */
+    static final class Columns {
+
+        final int rows;
+        long[] at;
+        AnalyticsEventType[] types;
+        long[] ids;
+        String[] categories;
+        long[] elapsed;
+
+        Columns(int rows) {
+            this.rows = rows;
+        }
+
+        /** Columns of events that have not been sealed yet. */
+        static Columns of(List<AnalyticsEvent> events) {
+            Columns columns = new Columns(events.size());
+            columns.at = new long[events.size()];
+            columns.types = new AnalyticsEventType[events.size()];
+            columns.ids = new long[events.size() * 2];
+            columns.categories = new String[events.size()];
+            columns.elapsed = new long[events.size()];
+            for (int i = 0; i < events.size(); i++) {
+                AnalyticsEvent event = events.get(i);
+                columns.at[i] = event.atMillis();
+                columns.types[i] = event.type();
+                columns.ids[2 * i] = event.requestId().getMostSignificantBits();
+                columns.ids[2 * i + 1] = event.requestId().getLeastSignificantBits();
+                columns.categories[i] = event.category();
+                columns.elapsed[i] = event.elapsedMillis();
+            }
+            return columns;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.helpunker.analytics;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code manifest.json} of an analytics directory: the sealed segments in order with their row counts and time ranges,
+ * the next segment sequence and the sink's cursor as of the last seal. It is rewritten through a temporary file and
+ * an atomic rename after each seal, so readers never see a segment that is not completely written.
+ */
+record SegmentManifest(int version, long nextSequence, long cursor, List<Segment> segments) {
+
+    static final String FILE = "manifest.json";
+
+    private static final int VERSION = 1;
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    static SegmentManifest read(Path directory) throws IOException {
+        try {
+            return MAPPER.readValue(Files.readAllBytes(directory.resolve(FILE)), SegmentManifest.class);
+        } catch (NoSuchFileException ex) {
+            return new SegmentManifest(VERSION, 1, 0, List.of());
+        }
+    }
+
+    SegmentManifest with(Segment segment, long nextSequence, long cursor) {
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        return new SegmentManifest(VERSION, nextSequence, cursor, List.copyOf(updated));
+    }
+
+    void write(Path directory) throws IOException {
+        Path temporary = Files.createTempFile(directory, ".manifest-", ".tmp");
+        try {
+            Files.write(temporary, MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(this));
+            try {
+                Files.move(temporary, directory.resolve(FILE),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, directory.resolve(FILE), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /** A sealed segment file; {@code minAt} and {@code maxAt} are the epoch milliseconds of its oldest and newest event. */
+    record Segment(long sequence, String file, int rows, long minAt, long maxAt, long bytes) {
+    }
+}
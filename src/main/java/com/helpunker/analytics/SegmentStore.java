@@ -0,0 +1,131 @@
+package com.helpunker.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The writing side of an analytics directory: appends events to its {@link ActiveSegment} and seals that into a
+ * {@link ColumnarSegment} when it is full or old enough. Opening the store locks the directory against other writers,
+ * seals the active segments a previous run left behind and starts a new one, so events appended before a crash are
+ * kept. Not thread-safe; {@link AnalyticsSink} serializes calls.
+ */
+final class SegmentStore implements Closeable {
+
+    private static final String LOCK_FILE = ".lock";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private SegmentManifest manifest;
+    private ActiveSegment active;
+
+    SegmentStore(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(this.directory);
+        this.lockChannel = FileChannel.open(
+                this.directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            this.lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            lockChannel.close();
+            throw new IllegalStateException("Analytics directory already in use: " + this.directory, ex);
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Analytics directory already in use: " + this.directory);
+        }
+        this.manifest = SegmentManifest.read(this.directory);
+        this.recover();
+        this.active = ActiveSegment.create(this.directory, manifest.nextSequence(), segmentBytes, manifest.cursor());
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    void append(AnalyticsEvent event) throws IOException {
+        if (!active.append(event)) {
+            this.rollover();
+            if (!active.append(event)) {
+                throw new IllegalArgumentException("Analytics event larger than a segment: " + event);
+            }
+        }
+    }
+
+    long cursor() {
+        return active.cursor();
+    }
+
+    /** Stores the sink's position in its source; kept with the events so both survive a restart together. */
+    void cursor(long cursor) {
+        active.cursor(cursor);
+    }
+
+    /** Seals the active segment if it holds events and was started at least {@code age} ago. */
+    boolean rolloverIfOlderThan(Duration age) throws IOException {
+        if (active.isEmpty() || System.currentTimeMillis() - active.createdAt() < age.toMillis()) {
+            return false;
+        }
+        this.rollover();
+        return true;
+    }
+
+    /** Seals the active segment, records it in the manifest and starts the next one. */
+    void rollover() throws IOException {
+        if (active.isEmpty()) {
+            return;
+        }
+        ActiveSegment sealed = active;
+        this.seal(sealed);
+        active = ActiveSegment.create(directory, manifest.nextSequence(), segmentBytes, manifest.cursor());
+    }
+
+    /** Flushes the active segment and releases the directory; it is sealed by the next store opened on it. */
+    @Override
+    public void close() throws IOException {
+        active.force();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private void seal(ActiveSegment segment) throws IOException {
+        List<AnalyticsEvent> events = segment.events();
+        long next = Math.max(manifest.nextSequence(), segment.sequence() + 1);
+        long cursor = Math.max(manifest.cursor(), segment.cursor());
+        if (events.isEmpty()) {
+            manifest = new SegmentManifest(manifest.version(), next, cursor, manifest.segments());
+        } else {
+            manifest = manifest.with(ColumnarSegment.write(directory, segment.sequence(), events), next, cursor);
+        }
+        manifest.write(directory);
+        Files.deleteIfExists(segment.path());
+    }
+
+    private void recover() throws IOException {
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(directory)) {
+            leftovers = files.filter(ActiveSegment::isSegmentFile)
+                    .sorted()
+                    .toList();
+        }
+        for (Path path : leftovers) {
+            long sequence = ActiveSegment.sequenceOf(path);
+            if (manifest.segments().stream().anyMatch(segment -> segment.sequence() == sequence)) {
+                Files.delete(path);
+            } else {
+                this.seal(ActiveSegment.open(path));
+            }
+        }
+    }
+}
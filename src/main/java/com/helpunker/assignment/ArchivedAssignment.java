@@ -0,0 +1,49 @@
+package com.helpunker.assignment;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/** The assignment of an archived request, moved together with it. Read-only. */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "assignments_archive")
+public class ArchivedAssignment {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "request_id", nullable = false)
+    private UUID requestId;
+
+    @Column(name = "request_created_at", nullable = false)
+    private OffsetDateTime requestCreatedAt;
+
+    @Column(name = "volunteer_id", nullable = false)
+    private UUID volunteerId;
+
+    @Column(name = "accepted_at")
+    private OffsetDateTime acceptedAt;
+
+    @Column(name = "arrived_at")
+    private OffsetDateTime arrivedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(name = "cancelled_at")
+    private OffsetDateTime cancelledAt;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    private long version;
+}
@@ -0,0 +1,85 @@
+package com.helpunker.common.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency-driven AIMD concurrency limit.
+ *
+ * <p>The limiter keeps an estimate of the no-load latency (the smallest latency seen since the last baseline reset).
+ * While samples stay within {@code latencyTolerance} times that baseline and the limit is actually being used, the
+ * limit grows by one; as soon as latency rises above it, the limit is cut multiplicatively. Callers that find all
+ * permits taken are rejected immediately instead of queueing behind a saturated connection pool.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final int baselineResetSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private long baselineNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+    private int samplesSinceBackoff;
+
+    public AdaptiveConcurrencyLimiter(AdmissionProperties.Concurrency properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.latencyTolerance = Math.max(1.0d, properties.getLatencyTolerance());
+        this.backoffRatio = Math.min(0.99d, Math.max(0.1d, properties.getBackoffRatio()));
+        this.baselineResetSamples = Math.max(1, properties.getBaselineResetSamples());
+        this.limit = Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()));
+        this.samplesSinceBackoff = limit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightAtCompletion);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtCompletion) {
+        if (++samplesSinceReset >= baselineResetSamples) {
+            samplesSinceReset = 0;
+            baselineNanos = latencyNanos;
+        } else if (latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        }
+
+        int current = limit;
+        if (samplesSinceBackoff < Integer.MAX_VALUE) {
+            samplesSinceBackoff++;
+        }
+        if (latencyNanos > baselineNanos * latencyTolerance) {
+            // Back off at most once per limit's worth of completions so one slow burst does not collapse the limit.
+            if (samplesSinceBackoff >= current) {
+                samplesSinceBackoff = 0;
+                limit = Math.max(minLimit, (int) (current * backoffRatio));
+            }
+        } else if (inFlightAtCompletion * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1);
+        }
+    }
+}
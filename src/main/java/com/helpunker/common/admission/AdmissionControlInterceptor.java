@@ -0,0 +1,153 @@
+package com.helpunker.common.admission;
+
+import com.helpunker.common.exception.RateLimitExceededException;
+import com.helpunker.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Applies per-user and per-IP token buckets and the shared adaptive concurrency limit to the endpoints configured
+ * under {@code app.admission.endpoints}. Rate-limited calls are rejected with 429, shed calls with 503.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String USER_HEADER = "X-User-Id";
+    private static final String PERMIT_START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permitStart";
+
+    private final List<EndpointGuard> guards;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public AdmissionControlInterceptor(
+            AdmissionProperties properties, AdaptiveConcurrencyLimiter concurrencyLimiter, MeterRegistry meterRegistry) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.guards = new ArrayList<>();
+        for (Map.Entry<String, AdmissionProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+            guards.add(new EndpointGuard(entry.getKey(), entry.getValue(), properties.getBuckets(), meterRegistry));
+        }
+        Gauge.builder("helpunker.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.admission.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently holding a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointGuard guard = this.findGuard(request);
+        if (guard == null) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        String userId = request.getHeader(USER_HEADER);
+        if (guard.userBuckets != null && StringUtils.hasText(userId)) {
+            long waitNanos = guard.userBuckets.tryAcquire(userId, now);
+            if (waitNanos > 0) {
+                guard.userRejections.increment();
+                throw new RateLimitExceededException("Too many requests for this user", toRetryAfterSeconds(waitNanos));
+            }
+        }
+        if (guard.ipBuckets != null) {
+            long waitNanos = guard.ipBuckets.tryAcquire(request.getRemoteAddr(), now);
+            if (waitNanos > 0) {
+                guard.ipRejections.increment();
+                throw new RateLimitExceededException("Too many requests from this address", toRetryAfterSeconds(waitNanos));
+            }
+        }
+
+        if (guard.concurrencyLimited) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                guard.concurrencyRejections.increment();
+                throw new ServiceOverloadedException("Service is temporarily overloaded, please retry shortly");
+            }
+            request.setAttribute(PERMIT_START_ATTRIBUTE, now);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(PERMIT_START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            request.removeAttribute(PERMIT_START_ATTRIBUTE);
+            concurrencyLimiter.release(System.nanoTime() - startNanos);
+        }
+    }
+
+    private EndpointGuard findGuard(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = null;
+        for (EndpointGuard guard : guards) {
+            if (!guard.method.equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI());
+            }
+            if (guard.pattern.matches(path)) {
+                return guard;
+            }
+        }
+        return null;
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static final class EndpointGuard {
+
+        private final String method;
+        private final PathPattern pattern;
+        private final StripedTokenBuckets userBuckets;
+        private final StripedTokenBuckets ipBuckets;
+        private final boolean concurrencyLimited;
+        private final Counter userRejections;
+        private final Counter ipRejections;
+        private final Counter concurrencyRejections;
+
+        private EndpointGuard(
+                String name,
+                AdmissionProperties.Endpoint endpoint,
+                AdmissionProperties.Buckets buckets,
+                MeterRegistry meterRegistry) {
+            this.method = endpoint.getMethod();
+            this.pattern = PathPatternParser.defaultInstance.parse(endpoint.getPath());
+            this.userBuckets = createBuckets(endpoint.getUser(), buckets);
+            this.ipBuckets = createBuckets(endpoint.getIp(), buckets);
+            this.concurrencyLimited = endpoint.isConcurrencyLimited();
+            this.userRejections = rejectionCounter(meterRegistry, name, "user_rate");
+            this.ipRejections = rejectionCounter(meterRegistry, name, "ip_rate");
+            this.concurrencyRejections = rejectionCounter(meterRegistry, name, "concurrency");
+        }
+
+        private static StripedTokenBuckets createBuckets(AdmissionProperties.Limit limit, AdmissionProperties.Buckets buckets) {
+            if (!limit.isEnabled()) {
+                return null;
+            }
+            return new StripedTokenBuckets(
+                    buckets.getStripes(), buckets.getMaxKeysPerStripe(), limit.getCapacity(), limit.getRefillPerSecond());
+        }
+
+        private static Counter rejectionCounter(MeterRegistry meterRegistry, String endpoint, String reason) {
+            return Counter.builder("helpunker.admission.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("endpoint", endpoint)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.helpunker.common.admission;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private Buckets buckets = new Buckets();
+
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Admission rules keyed by a short endpoint name (for example {@code search} or {@code create}). The name is used
+     * as the {@code endpoint} tag on rejection metrics.
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Buckets {
+
+        /** Number of independently locked stripes; rounded up to a power of two. */
+        private int stripes = 64;
+
+        /** Upper bound of tracked keys per stripe before idle buckets are evicted. */
+        private int maxKeysPerStripe = 4096;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        /** Latency multiple over the observed no-load latency at which the limit starts backing off. */
+        private double latencyTolerance = 2.0d;
+
+        /** Multiplicative decrease applied to the limit when latency exceeds the tolerance. */
+        private double backoffRatio = 0.9d;
+
+        /** Number of samples after which the no-load latency baseline is re-probed. */
+        private int baselineResetSamples = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+
+        private String method;
+
+        private String path;
+
+        private Limit user = new Limit();
+
+        private Limit ip = new Limit();
+
+        /** Whether calls to this endpoint take a permit from the shared adaptive concurrency limiter. */
+        private boolean concurrencyLimited = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /** Maximum burst size; zero disables the bucket. */
+        private int capacity;
+
+        private double refillPerSecond;
+
+        public boolean isEnabled() {
+            return capacity > 0 && refillPerSecond > 0;
+        }
+    }
+}
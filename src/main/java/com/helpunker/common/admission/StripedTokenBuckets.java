@@ -0,0 +1,106 @@
+package com.helpunker.common.admission;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * In-process token buckets keyed by an arbitrary string (user id, remote address).
+ *
+ * <p>Each bucket is tracked with the generic cell rate algorithm, so its whole state is a single {@code long}
+ * "theoretical arrival time" and no allocation happens on the hot path once a key has been seen. Keys are spread
+ * across independently locked stripes to keep contention low, and every stripe is bounded: once it is full, buckets
+ * that have fully refilled (and therefore carry no information) are evicted.
+ */
+public class StripedTokenBuckets {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxKeysPerStripe;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public StripedTokenBuckets(int stripeCount, int maxKeysPerStripe, int capacity, double refillPerSecond) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.maxKeysPerStripe = Math.max(1, maxKeysPerStripe);
+        this.emissionIntervalNanos = Math.max(1L, (long) (NANOS_PER_SECOND / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    /**
+     * Attempts to take one token for {@code key}.
+     *
+     * @return {@code 0} when the token was granted, otherwise the number of nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        synchronized (stripe) {
+            Cell cell = stripe.cells.get(key);
+            if (cell == null) {
+                if (stripe.cells.size() >= maxKeysPerStripe) {
+                    evictIdle(stripe, nowNanos);
+                }
+                cell = new Cell(nowNanos);
+                stripe.cells.put(key, cell);
+            }
+            long tat = Math.max(cell.theoreticalArrival, nowNanos);
+            long waitNanos = tat - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            cell.theoreticalArrival = tat + emissionIntervalNanos;
+            return 0L;
+        }
+    }
+
+    public int trackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.cells.size();
+            }
+        }
+        return total;
+    }
+
+    private void evictIdle(Stripe stripe, long nowNanos) {
+        Iterator<Map.Entry<String, Cell>> iterator = stripe.cells.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().theoreticalArrival <= nowNanos) {
+                iterator.remove();
+            }
+        }
+        if (stripe.cells.size() >= maxKeysPerStripe) {
+            // Every tracked key is actively throttled; drop one rather than growing without bound.
+            iterator = stripe.cells.entrySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        private final Map<String, Cell> cells = new HashMap<>();
+    }
+
+    private static final class Cell {
+        private long theoreticalArrival;
+
+        private Cell(long theoreticalArrival) {
+            this.theoreticalArrival = theoreticalArrival;
+        }
+    }
+}
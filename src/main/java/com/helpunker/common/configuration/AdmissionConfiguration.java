@@ -0,0 +1,41 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.admission.AdaptiveConcurrencyLimiter;
+import com.helpunker.common.admission.AdmissionControlInterceptor;
+import com.helpunker.common.admission.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfiguration implements WebMvcConfigurer {
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionConfiguration(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(properties.getConcurrency());
+    }
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        return new AdmissionControlInterceptor(properties, adaptiveConcurrencyLimiter, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this.admissionControlInterceptor(this.adaptiveConcurrencyLimiter()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.analytics.AnalyticsProperties;
+import com.helpunker.analytics.AnalyticsQueries;
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AnalyticsProperties.class)
+public class AnalyticsConfiguration {
+
+    @Bean
+    public AnalyticsQueries analyticsQueries(AnalyticsProperties properties) {
+        return new AnalyticsQueries(Path.of(properties.getDirectory()));
+    }
+}
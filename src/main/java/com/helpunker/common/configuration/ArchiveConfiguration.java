@@ -0,0 +1,11 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.helprequest.service.HelpRequestArchiveProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(HelpRequestArchiveProperties.class)
+public class ArchiveConfiguration {}
@@ -0,0 +1,9 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.helprequest.service.DuplicateDetectionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DuplicateDetectionProperties.class)
+public class DuplicateDetectionConfiguration {}
@@ -0,0 +1,9 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.helprequest.service.HelpRequestExportProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HelpRequestExportProperties.class)
+public class ExportConfiguration {}
@@ -0,0 +1,9 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.helprequest.feed.FeedProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FeedProperties.class)
+public class FeedConfiguration {}
@@ -0,0 +1,9 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.logging.HttpLoggingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HttpLoggingProperties.class)
+public class LoggingConfiguration {}
@@ -0,0 +1,38 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.moderation.DeepModerationCheck;
+import com.helpunker.common.moderation.DeepModerationExecutor;
+import com.helpunker.common.moderation.ModerationEngine;
+import com.helpunker.common.moderation.ModerationProperties;
+import com.helpunker.common.moderation.ObfuscationCheck;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+@Configuration
+@EnableConfigurationProperties(ModerationProperties.class)
+public class ModerationConfiguration {
+
+    @Bean
+    public ModerationEngine moderationEngine(
+            ModerationProperties properties, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        return new ModerationEngine(properties, resourceLoader, meterRegistry);
+    }
+
+    @Bean
+    public ObfuscationCheck obfuscationCheck() {
+        return new ObfuscationCheck();
+    }
+
+    @Bean
+    public DeepModerationExecutor deepModerationExecutor(
+            ModerationEngine moderationEngine,
+            ObjectProvider<DeepModerationCheck> checks,
+            ModerationProperties properties,
+            MeterRegistry meterRegistry) {
+        return new DeepModerationExecutor(moderationEngine, checks.orderedStream().toList(), properties, meterRegistry);
+    }
+}
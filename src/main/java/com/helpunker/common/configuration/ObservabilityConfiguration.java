@@ -0,0 +1,26 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.observability.ObservedMethodInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+@Configuration
+public class ObservabilityConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor observedAdvisor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Observed.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Observed.class));
+        return new DefaultPointcutAdvisor(pointcut, new ObservedMethodInterceptor(observationRegistry::getIfAvailable));
+    }
+}
@@ -0,0 +1,9 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.helprequest.service.RequestPhotoProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RequestPhotoProperties.class)
+public class PhotoConfiguration {}
@@ -0,0 +1,99 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.sharding.ShardMigrations;
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.common.sharding.ShardRoutingDataSource;
+import com.helpunker.common.sharding.ShardSchemaIntegrator;
+import com.helpunker.common.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration {
+
+    /**
+     * With {@code app.sharding.enabled}, replaces Boot's data source: shard 0 is still built from
+     * {@code spring.datasource}, the others from {@code app.sharding.shards}, and everything that injects a
+     * {@link DataSource} gets the router behind a lazy proxy (see {@link ShardRoutingDataSource}).
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    static class Routing {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        HikariDataSource defaultShardDataSource(DataSourceProperties properties) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        ShardRoutingDataSource shardRoutingDataSource(
+                HikariDataSource defaultShardDataSource,
+                ShardingProperties properties,
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            List<HikariDataSource> shards = new ArrayList<>();
+            for (ShardingProperties.Shard shard : properties.getShards()) {
+                HikariDataSource pool = new HikariDataSource();
+                pool.setPoolName(defaultShardDataSource.getPoolName() + "-" + shard.getName());
+                pool.setJdbcUrl(shard.getUrl());
+                pool.setUsername(shard.getUsername());
+                pool.setPassword(shard.getPassword());
+                pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+                meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+                shards.add(pool);
+            }
+            return new ShardRoutingDataSource(defaultShardDataSource, shards);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer shardSchemaCustomizer(ShardRouter router) {
+            IntegratorProvider integrators = () -> List.of(new ShardSchemaIntegrator(router.shardCount()));
+            return properties -> properties.put("hibernate.integrator_provider", integrators);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    @ConditionalOnProperty(prefix = "spring.liquibase", name = "enabled", matchIfMissing = true)
+    static class Migrations {
+
+        @Bean
+        ShardMigrations shardMigrations(
+                ShardRoutingDataSource shardRoutingDataSource,
+                ShardRouter router,
+                LiquibaseProperties liquibaseProperties,
+                ResourceLoader resourceLoader) {
+            return new ShardMigrations(shardRoutingDataSource, router, liquibaseProperties, resourceLoader);
+        }
+
+        @Bean
+        static EntityManagerFactoryDependsOnPostProcessor shardMigrationsBeforeJpa() {
+            return new EntityManagerFactoryDependsOnPostProcessor("shardMigrations");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.persistence.ChangelogFingerprintGuard;
+import java.util.List;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+@Configuration
+public class StartupConfiguration {
+
+    /**
+     * Marks beans contributed by the packages in {@code app.startup.lazy-bean-packages} (springdoc by default) as lazy,
+     * so that tooling nobody needs to serve production traffic is built on first use instead of on every start. Under
+     * AOT the flag is recorded in the generated bean definitions.
+     */
+    @Bean
+    static BeanFactoryPostProcessor lazyBeanPackagesPostProcessor(Environment environment) {
+        List<String> packages = List.of(environment.getProperty("app.startup.lazy-bean-packages", String[].class, new String[0]));
+        return beanFactory -> {
+            if (packages.isEmpty()) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String source = sourceClassName(definition);
+                if (source != null && packages.stream().anyMatch(source::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Lets Liquibase be skipped when {@code app.liquibase.skip-when-unchanged} is set and the current changelog has
+     * already been applied; see {@link ChangelogFingerprintGuard}. Read at runtime so it also applies under AOT.
+     */
+    @Bean
+    static ChangelogFingerprintGuard changelogFingerprintGuard(Environment environment) {
+        return new ChangelogFingerprintGuard(
+                environment.getProperty("app.liquibase.skip-when-unchanged", Boolean.class, false));
+    }
+
+    private static String sourceClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
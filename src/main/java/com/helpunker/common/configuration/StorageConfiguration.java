@@ -0,0 +1,27 @@
+package com.helpunker.common.configuration;
+
+import com.helpunker.common.storage.BlobResponder;
+import com.helpunker.common.storage.BlobStore;
+import com.helpunker.common.storage.LocalBlobStore;
+import com.helpunker.common.storage.StorageProperties;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.storage", name = "type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(StorageProperties properties) {
+        return new LocalBlobStore(Path.of(properties.getLocalRoot()));
+    }
+
+    @Bean
+    public BlobResponder blobResponder(StorageProperties properties) {
+        return new BlobResponder(properties.getCacheMaxAge());
+    }
+}
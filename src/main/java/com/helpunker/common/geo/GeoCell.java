@@ -0,0 +1,131 @@
+package com.helpunker.common.geo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-point coordinates and a 62-bit cell key for indexed radius search without PostGIS.
+ *
+ * <p>Coordinates are stored as microdegrees ({@code int}). Each axis is quantized to {@value #BITS} bits and the two are
+ * bit-interleaved, longitude first, exactly like a binary geohash: a key prefix of {@code 2k} bits names a cell of the
+ * {@code k}-level grid, and every point of that cell has a key in one contiguous range. A bounding box is therefore
+ * covered by a handful of key ranges that a B-tree on the key can scan directly.
+ */
+public final class GeoCell {
+
+    public static final int BITS = 31;
+
+    public static final double KM_PER_DEGREE = 111.195d;
+
+    private static final long LAT_SPAN = 180_000_001L;
+    private static final long LNG_SPAN = 360_000_001L;
+    private static final int MIN_LAT = -90_000_000;
+    private static final int MAX_LAT = 90_000_000;
+    private static final int MIN_LNG = -180_000_000;
+    private static final int MAX_LNG = 180_000_000;
+
+    private GeoCell() {
+    }
+
+    public static int toMicro(BigDecimal degrees) {
+        return degrees.movePointRight(6).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    public static int toMicro(double degrees) {
+        return (int) Math.round(degrees * 1_000_000d);
+    }
+
+    public static long key(int latMicro, int lngMicro) {
+        return interleave(quantizeLng(lngMicro), quantizeLat(latMicro));
+    }
+
+    /**
+     * Key ranges (inclusive {@code [min, max]} pairs, sorted and merged) whose cells together cover the box. Uses the
+     * finest grid level at which the box touches at most {@code maxCells} cells, so the ranges stay few and tight.
+     */
+    public static List<long[]> cover(int minLatMicro, int maxLatMicro, int minLngMicro, int maxLngMicro, int maxCells) {
+        int x0 = quantizeLng(minLngMicro);
+        int x1 = quantizeLng(maxLngMicro);
+        int y0 = quantizeLat(minLatMicro);
+        int y1 = quantizeLat(maxLatMicro);
+        int shift = 0;
+        while (shift < BITS && cellCount(x0 >>> shift, x1 >>> shift, y0 >>> shift, y1 >>> shift) > maxCells) {
+            shift++;
+        }
+
+        List<long[]> cells = new ArrayList<>();
+        for (int x = x0 >>> shift; x <= x1 >>> shift; x++) {
+            for (int y = y0 >>> shift; y <= y1 >>> shift; y++) {
+                long min = interleave(x, y) << (2 * shift);
+                cells.add(new long[] {min, min + (1L << (2 * shift)) - 1});
+            }
+        }
+        cells.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        List<long[]> ranges = new ArrayList<>(cells.size());
+        for (long[] cell : cells) {
+            long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last[1] + 1 == cell[0]) {
+                last[1] = cell[1];
+            } else {
+                ranges.add(cell);
+            }
+        }
+        return ranges;
+    }
+
+    /** Row of the point in the grid with {@code 2^level} rows; neighbouring cells differ by one. */
+    public static int row(int latMicro, int level) {
+        return quantizeLat(latMicro) >>> (BITS - level);
+    }
+
+    /** Column of the point in the grid with {@code 2^level} columns; neighbouring cells differ by one. */
+    public static int column(int lngMicro, int level) {
+        return quantizeLng(lngMicro) >>> (BITS - level);
+    }
+
+    /**
+     * Id of the cell at {@code column}, {@code row} of a grid level: the interleaved prefix shared by the keys of every
+     * point in it, i.e. {@code key >>> 2 * (BITS - level)}.
+     */
+    public static long cell(int column, int row) {
+        return interleave(column, row);
+    }
+
+    public static int clampLat(long latMicro) {
+        return (int) Math.max(MIN_LAT, Math.min(MAX_LAT, latMicro));
+    }
+
+    public static int clampLng(long lngMicro) {
+        return (int) Math.max(MIN_LNG, Math.min(MAX_LNG, lngMicro));
+    }
+
+    static int quantizeLat(int latMicro) {
+        return (int) (((long) clampLat(latMicro) - MIN_LAT << BITS) / LAT_SPAN);
+    }
+
+    static int quantizeLng(int lngMicro) {
+        return (int) (((long) clampLng(lngMicro) - MIN_LNG << BITS) / LNG_SPAN);
+    }
+
+    private static long cellCount(int x0, int x1, int y0, int y1) {
+        return (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+    }
+
+    private static long interleave(int x, int y) {
+        return spread(x) << 1 | spread(y);
+    }
+
+    /** Moves bit {@code i} of {@code value} to bit {@code 2i}. */
+    private static long spread(int value) {
+        long v = value & 0xFFFFFFFFL;
+        v = (v | v << 16) & 0x0000FFFF0000FFFFL;
+        v = (v | v << 8) & 0x00FF00FF00FF00FFL;
+        v = (v | v << 4) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | v << 2) & 0x3333333333333333L;
+        v = (v | v << 1) & 0x5555555555555555L;
+        return v;
+    }
+}
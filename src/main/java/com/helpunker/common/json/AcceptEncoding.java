@@ -0,0 +1,52 @@
+package com.helpunker.common.json;
+
+import java.util.Locale;
+
+/**
+ * Reads an {@code Accept-Encoding} header (RFC 9110 §12.5.3) for whether a gzip response is acceptable. Codings are
+ * matched case-insensitively and a {@code q} weight of zero refuses the coding; {@code *} stands for gzip when gzip is
+ * not listed itself.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {}
+
+    public static boolean acceptsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = weight(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? weight : Math.max(gzip, weight);
+            } else if (coding.equals("*")) {
+                wildcard = weight;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    /** The element's {@code q} parameter; missing or malformed weights count as 1. */
+    private static double weight(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1
+                    && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.helpunker.common.json;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * A serialized JSON object kept <em>open</em> (without its closing brace) so callers can append fields before closing
+ * it, together with the same bytes as raw deflate data ended by a sync flush. Sync-flushed deflate data is byte
+ * aligned and self-contained, so fragments compressed on their own can be concatenated into one gzip stream by
+ * {@link SplicedJson} without compressing them again. The deflate data is made the first time a gzip body needs it,
+ * so fragments only ever served plain are never compressed.
+ */
+public final class JsonFragment {
+
+    private static final int COMPRESSION_LEVEL = 6;
+
+    private final byte[] json;
+    private volatile byte[] deflated;
+
+    private JsonFragment(byte[] json) {
+        this.json = json;
+    }
+
+    /** Fragment of a complete serialized JSON object. */
+    public static JsonFragment of(byte[] object) {
+        if (object.length < 2 || object[object.length - 1] != '}') {
+            throw new IllegalArgumentException("Not a serialized JSON object");
+        }
+        byte[] open = new byte[object.length - 1];
+        System.arraycopy(object, 0, open, 0, open.length);
+        return new JsonFragment(open);
+    }
+
+    /** The object's bytes up to, not including, its closing brace. */
+    byte[] json() {
+        return json;
+    }
+
+    /** Deflate data of {@link #json()}; concurrent first calls may both compress, with identical results. */
+    byte[] deflated() {
+        byte[] result = deflated;
+        if (result == null) {
+            result = deflate(json);
+            deflated = result;
+        }
+        return result;
+    }
+
+    boolean isDeflated() {
+        return deflated != null;
+    }
+
+    /**
+     * Approximate heap footprint, for cache budgets. The deflate data is reserved at half the JSON whether it has been
+     * made yet or not, so the figure does not change while the fragment sits in a cache.
+     */
+    public int size() {
+        return json.length + json.length / 2 + 64;
+    }
+
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(COMPRESSION_LEVEL, true);
+        try {
+            deflater.setInput(content);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 2 + 16);
+            byte[] buffer = new byte[Math.max(64, content.length / 2)];
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                output.write(buffer, 0, written);
+            } while (written == buffer.length);
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
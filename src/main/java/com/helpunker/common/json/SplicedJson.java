@@ -0,0 +1,119 @@
+package com.helpunker.common.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A JSON body assembled from literal glue ({@code [}, commas, page fields) and cached {@link JsonFragment}s. Written
+ * plain, the pieces are copied in order. Written as gzip, fragments contribute their pre-compressed deflate data and
+ * the glue goes into stored (uncompressed) deflate blocks, so no byte of a cached fragment is compressed again; only
+ * the CRC-32 of the whole body is computed per response.
+ */
+public final class SplicedJson {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] FINAL_EMPTY_BLOCK = {1, 0, 0, (byte) 0xff, (byte) 0xff};
+    private static final int MAX_STORED_BLOCK = 0xffff;
+
+    private final List<Object> pieces = new ArrayList<>();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(64);
+
+    public SplicedJson literal(String text) {
+        return this.literal(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public SplicedJson literal(byte[] bytes) {
+        pending.write(bytes, 0, bytes.length);
+        return this;
+    }
+
+    /** Appends the fragment still open; follow it with a literal that closes it ({@code "}"}). */
+    public SplicedJson fragment(JsonFragment fragment) {
+        this.flushLiteral();
+        pieces.add(fragment);
+        return this;
+    }
+
+    /** A single object: the fragment closed as it was. */
+    public static SplicedJson object(JsonFragment fragment) {
+        return new SplicedJson().fragment(fragment).literal("}");
+    }
+
+    public byte[] toByteArray(boolean gzip) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(this.plainLength() / (gzip ? 3 : 1) + 64);
+        try {
+            this.writeTo(output, gzip);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return output.toByteArray();
+    }
+
+    public void writeTo(OutputStream output, boolean gzip) throws IOException {
+        this.flushLiteral();
+        if (!gzip) {
+            for (Object piece : pieces) {
+                output.write(piece instanceof JsonFragment fragment ? fragment.json() : (byte[]) piece);
+            }
+            return;
+        }
+        CRC32 crc = new CRC32();
+        long length = 0;
+        output.write(GZIP_HEADER);
+        for (Object piece : pieces) {
+            if (piece instanceof JsonFragment fragment) {
+                output.write(fragment.deflated());
+                crc.update(fragment.json());
+                length += fragment.json().length;
+            } else {
+                byte[] literal = (byte[]) piece;
+                writeStored(output, literal);
+                crc.update(literal);
+                length += literal.length;
+            }
+        }
+        output.write(FINAL_EMPTY_BLOCK);
+        writeIntLe(output, (int) crc.getValue());
+        writeIntLe(output, (int) length);
+    }
+
+    private void flushLiteral() {
+        if (pending.size() > 0) {
+            pieces.add(pending.toByteArray());
+            pending.reset();
+        }
+    }
+
+    private int plainLength() {
+        int length = pending.size();
+        for (Object piece : pieces) {
+            length += piece instanceof JsonFragment fragment ? fragment.json().length : ((byte[]) piece).length;
+        }
+        return length;
+    }
+
+    /** Non-final stored blocks; the stream is byte aligned after every sync-flushed fragment and stored block. */
+    private static void writeStored(OutputStream output, byte[] bytes) throws IOException {
+        for (int offset = 0; offset < bytes.length; offset += MAX_STORED_BLOCK) {
+            int length = Math.min(MAX_STORED_BLOCK, bytes.length - offset);
+            output.write(0);
+            output.write(length & 0xff);
+            output.write(length >>> 8);
+            output.write(~length & 0xff);
+            output.write((~length >>> 8) & 0xff);
+            output.write(bytes, offset, length);
+        }
+    }
+
+    private static void writeIntLe(OutputStream output, int value) throws IOException {
+        output.write(value & 0xff);
+        output.write((value >>> 8) & 0xff);
+        output.write((value >>> 16) & 0xff);
+        output.write((value >>> 24) & 0xff);
+    }
+}
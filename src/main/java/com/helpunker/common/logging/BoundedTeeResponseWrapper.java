@@ -0,0 +1,158 @@
+package com.helpunker.common.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import org.springframework.http.MediaType;
+
+/**
+ * Response wrapper that writes straight through to the client while copying at most {@code limit} bytes of the body
+ * aside for logging. Unlike {@code ContentCachingResponseWrapper} nothing is buffered, so streaming responses keep
+ * streaming and large bodies cost no more than the captured prefix. Capturing stops as soon as the response turns out
+ * to be an event stream or announces a body larger than {@code skipAboveLength}.
+ */
+class BoundedTeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final byte[] captured;
+    private final long skipAboveLength;
+    private int capturedLength;
+    private long totalLength;
+    private boolean capturing = true;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BoundedTeeResponseWrapper(HttpServletResponse response, int limit, long skipAboveLength) {
+        super(response);
+        this.captured = new byte[limit];
+        this.skipAboveLength = skipAboveLength;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            Charset charset = Charset.forName(getCharacterEncoding());
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        super.setContentLengthLong(len);
+        if (len > skipAboveLength) {
+            capturing = false;
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        this.setContentLengthLong(len);
+    }
+
+    boolean isCapturing() {
+        return capturing;
+    }
+
+    /**
+     * Pushes text still buffered in the writer through the tee. The filter calls it before every snapshot, so
+     * writer output is neither missing from the captured body nor from {@link #bodyLength()}.
+     */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    byte[] capturedBody() {
+        return Arrays.copyOf(captured, capturedLength);
+    }
+
+    long bodyLength() {
+        return totalLength;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        totalLength += length;
+        if (!capturing || capturedLength >= captured.length) {
+            return;
+        }
+        if (capturedLength == 0 && isEventStream()) {
+            capturing = false;
+            return;
+        }
+        int copied = Math.min(length, captured.length - capturedLength);
+        System.arraycopy(bytes, offset, captured, capturedLength, copied);
+        capturedLength += copied;
+    }
+
+    private boolean isEventStream() {
+        String contentType = getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final byte[] single = new byte[1];
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            single[0] = (byte) b;
+            capture(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.helpunker.common.logging;
+
+/**
+ * Immutable snapshot of one HTTP exchange, taken on the request thread and formatted later by
+ * {@link HttpExchangeLogWriter}. Bodies are already bounded to the configured payload length.
+ */
+record HttpExchange(
+        String requestId,
+        String userId,
+        String method,
+        String uri,
+        String queryString,
+        String remoteAddress,
+        int status,
+        long durationMillis,
+        byte[] requestBody,
+        long requestBodyLength,
+        String requestEncoding,
+        String requestContentType,
+        byte[] responseBody,
+        long responseBodyLength,
+        String responseEncoding,
+        String responseContentType,
+        boolean bodiesLogged) {
+}
@@ -0,0 +1,149 @@
+package com.helpunker.common.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Formats and logs {@link HttpExchange} snapshots on a single background thread so that request threads only pay for
+ * taking the snapshot. The hand-off queue is bounded; when it is full the exchange is dropped and counted rather than
+ * blocking the caller.
+ */
+@Component
+public class HttpExchangeLogWriter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
+    private static final List<String> READABLE_CONTENT_TYPES = List.of(
+            "application/json",
+            "application/problem+json",
+            "application/xml",
+            "text/plain",
+            "text/xml",
+            "application/x-www-form-urlencoded"
+    );
+
+    private final ThreadPoolExecutor executor;
+    private final Counter droppedExchanges;
+
+    public HttpExchangeLogWriter(HttpLoggingProperties properties, MeterRegistry meterRegistry) {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "http-exchange-log");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.droppedExchanges = Counter.builder("helpunker.http.logging.dropped")
+                .description("HTTP exchanges not logged because the formatter queue was full")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.http.logging.queued", queue, BlockingQueue::size)
+                .description("HTTP exchanges waiting to be formatted")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return log.isInfoEnabled();
+    }
+
+    void submit(HttpExchange exchange) {
+        try {
+            executor.execute(() -> write(exchange));
+        } catch (RejectedExecutionException ex) {
+            droppedExchanges.increment();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.SECONDS);
+    }
+
+    private void write(HttpExchange exchange) {
+        putIfPresent(LoggingContextFilter.REQUEST_ID_KEY, exchange.requestId());
+        putIfPresent(LoggingContextFilter.USER_ID_KEY, exchange.userId());
+        MDC.put(LoggingContextFilter.LATENCY_KEY, Long.toString(exchange.durationMillis()));
+        try {
+            this.logExchange(exchange);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void logExchange(HttpExchange exchange) {
+        String target = exchange.queryString() != null ? exchange.uri() + "?" + exchange.queryString() : exchange.uri();
+        if (!exchange.bodiesLogged()) {
+            log.info("HTTP {} {} from {} -> status {} ({} ms)",
+                    exchange.method(), target, exchange.remoteAddress(), exchange.status(), exchange.durationMillis());
+            return;
+        }
+        String requestBody = this.getPayload(exchange.requestBody(), exchange.requestBodyLength(),
+                exchange.requestEncoding(), exchange.requestContentType());
+        String responseBody = this.getPayload(exchange.responseBody(), exchange.responseBodyLength(),
+                exchange.responseEncoding(), exchange.responseContentType());
+        log.info("HTTP {} {} from {} -> status {} ({} ms) | requestBody={} | responseBody={}",
+                exchange.method(), target, exchange.remoteAddress(), exchange.status(), exchange.durationMillis(),
+                requestBody, responseBody);
+    }
+
+    private static void putIfPresent(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
+    }
+
+    private String getPayload(byte[] content, long totalLength, String encoding, String contentType) {
+        if (content == null) {
+            return "<skipped " + totalLength + " bytes>";
+        }
+        if (content.length == 0) {
+            return "<empty>";
+        }
+        if (!this.isReadableContentType(contentType)) {
+            return "<non-readable payload>";
+        }
+
+        String payload = new String(content, this.resolveCharset(encoding));
+        if (totalLength <= content.length) {
+            return payload;
+        }
+        return payload + "...(truncated)";
+    }
+
+    private boolean isReadableContentType(String contentType) {
+        if (!StringUtils.hasText(contentType)) {
+            return true;
+        }
+        String lowered = contentType.toLowerCase();
+        for (String readable : READABLE_CONTENT_TYPES) {
+            if (lowered.contains(readable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Charset resolveCharset(String encoding) {
+        if (!StringUtils.hasText(encoding)) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException ignored) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.helpunker.common.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.logging.http")
+public class HttpLoggingProperties {
+
+    private boolean enabled = true;
+
+    /** Fraction of exchanges (0.0 - 1.0) that are logged when no path rule overrides it. */
+    private double sampleRate = 1.0d;
+
+    private boolean logBodies = true;
+
+    /** Responses announcing a larger {@code Content-Length} are logged without their body. */
+    private long maxBodyCaptureSize = 64 * 1024L;
+
+    /** Capacity of the queue feeding the background log formatter; exchanges beyond it are dropped. */
+    private int queueCapacity = 2048;
+
+    /** Paths that bypass the filter completely (no wrapping, no timing). */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/stream/**", "/actuator/**"));
+
+    /** Per-path overrides, evaluated in order; the first matching rule wins. */
+    private List<PathRule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class PathRule {
+
+        private String pattern;
+
+        private String method;
+
+        private Double sampleRate;
+
+        private Boolean logBodies;
+    }
+}
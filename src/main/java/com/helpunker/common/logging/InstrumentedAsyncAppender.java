@@ -0,0 +1,33 @@
+package com.helpunker.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops. Below-WARN events are discarded once the remaining queue
+ * capacity falls under {@code discardingThreshold}; with {@code neverBlock} enabled any event is dropped when the queue
+ * is completely full. Both cases are counted so the loss is visible in metrics instead of silent.
+ */
+public class InstrumentedAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if ((remaining < getDiscardingThreshold() && isDiscardable(event)) || (remaining == 0 && isNeverBlock())) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getQueuedCount() {
+        return getNumberOfElementsInQueue();
+    }
+}
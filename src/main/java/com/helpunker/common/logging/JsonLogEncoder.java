@@ -0,0 +1,151 @@
+package com.helpunker.common.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * One-line JSON encoder for logback. Each thread reuses its own {@link StringBuilder}, the second-resolution part of
+ * the timestamp is cached, and only the fixed MDC keys below are emitted, so encoding an event allocates little beyond
+ * the final byte array.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final String[] MDC_FIELDS = {
+        LoggingContextFilter.REQUEST_ID_KEY, LoggingContextFilter.USER_ID_KEY, LoggingContextFilter.LATENCY_KEY
+    };
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private String application;
+
+    private volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, "");
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder builder = buffers.get();
+        builder.setLength(0);
+
+        builder.append("{\"ts\":\"");
+        appendTimestamp(builder, event.getTimeStamp());
+        builder.append("\",\"level\":\"").append(event.getLevel().levelStr).append('"');
+        if (application != null) {
+            appendField(builder, "app", application);
+        }
+        appendField(builder, "thread", event.getThreadName());
+        appendField(builder, "logger", event.getLoggerName());
+        appendField(builder, "msg", event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            for (String key : MDC_FIELDS) {
+                String value = mdc.get(key);
+                if (value == null) {
+                    continue;
+                }
+                if (key.equals(LoggingContextFilter.LATENCY_KEY) && isNumber(value)) {
+                    builder.append(",\"").append(key).append("\":").append(value);
+                } else {
+                    appendField(builder, key, value);
+                }
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            appendField(builder, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        builder.append("}\n");
+
+        if (builder.capacity() > 16 * 1024) {
+            buffers.remove();
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendTimestamp(StringBuilder builder, long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000L);
+        CachedSecond cached = cachedSecond;
+        if (cached.second != second) {
+            cached = new CachedSecond(second, SECOND_FORMAT.format(Instant.ofEpochSecond(second)));
+            cachedSecond = cached;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        builder.append(cached.formatted).append('.');
+        if (millis < 100) {
+            builder.append('0');
+        }
+        if (millis < 10) {
+            builder.append('0');
+        }
+        builder.append(millis).append('Z');
+    }
+
+    private static boolean isNumber(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendField(StringBuilder builder, String name, String value) {
+        builder.append(",\"").append(name).append("\":\"");
+        appendEscaped(builder, value);
+        builder.append('"');
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append("\\u00");
+                        builder.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private record CachedSecond(long second, String formatted) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.helpunker.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Puts the request id (taken from {@code X-Request-Id} or generated) and the calling user id into the MDC for the
+ * duration of the request, and echoes the request id back to the client.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoggingContextFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String USER_ID_KEY = "userId";
+    public static final String LATENCY_KEY = "latencyMs";
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+    private static final String REQUEST_ID_ATTRIBUTE = LoggingContextFilter.class.getName() + ".requestId";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(REQUEST_ID_ATTRIBUTE);
+        if (requestId == null) {
+            requestId = request.getHeader(REQUEST_ID_HEADER);
+            if (!StringUtils.hasText(requestId) || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+                requestId = UUID.randomUUID().toString();
+            }
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+            response.setHeader(REQUEST_ID_HEADER, requestId);
+        }
+        MDC.put(REQUEST_ID_KEY, requestId);
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (StringUtils.hasText(userId)) {
+            MDC.put(USER_ID_KEY, userId);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(USER_ID_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.helpunker.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes queue depth and drop counts of every {@link InstrumentedAsyncAppender} attached to a configured logger.
+ */
+@Component
+public class LoggingPipelineMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Map<InstrumentedAsyncAppender, Boolean> appenders = new IdentityHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof InstrumentedAsyncAppender appender) {
+                    appenders.put(appender, Boolean.TRUE);
+                }
+            }
+        }
+        for (InstrumentedAsyncAppender appender : appenders.keySet()) {
+            FunctionCounter.builder("helpunker.logging.events.dropped", appender, InstrumentedAsyncAppender::getDroppedCount)
+                    .description("Log events dropped by an asynchronous appender")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+            Gauge.builder("helpunker.logging.events.queued", appender, InstrumentedAsyncAppender::getQueuedCount)
+                    .description("Log events waiting in an asynchronous appender queue")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -4,112 +4,179 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.util.Set;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-@Slf4j
+/**
+ * Logs one line per HTTP exchange. Streaming endpoints and excluded paths are passed through untouched, bodies are
+ * captured through bounded tees (never fully cached), exchanges can be sampled globally or per path, and formatting
+ * happens on a background thread owned by {@link HttpExchangeLogWriter}.
+ */
 @Component
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
     private static final int MAX_PAYLOAD_LENGTH = 1000;
-    private static final Set<String> READABLE_CONTENT_TYPES = Set.of(
-            "application/json",
-            "application/xml",
-            "text/plain",
-            "text/xml",
-            "application/x-www-form-urlencoded"
-    );
+
+    private final HttpLoggingProperties properties;
+    private final HttpExchangeLogWriter logWriter;
+    private final List<PathPattern> excludedPaths;
+    private final List<CompiledRule> rules;
+
+    public RequestResponseLoggingFilter(HttpLoggingProperties properties, HttpExchangeLogWriter logWriter) {
+        this.properties = properties;
+        this.logWriter = logWriter;
+        this.excludedPaths = properties.getExcludedPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.rules = properties.getRules().stream().map(CompiledRule::new).toList();
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        if (isAsyncDispatch(request)) {
+        if (isAsyncDispatch(request) || !properties.isEnabled() || !logWriter.isEnabled() || this.isStreaming(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        if (this.isExcluded(path)) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        CompiledRule rule = this.findRule(request.getMethod(), path);
+        double sampleRate = rule != null && rule.sampleRate != null ? rule.sampleRate : properties.getSampleRate();
+        if (sampleRate < 1.0d && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean logBodies = rule != null && rule.logBodies != null ? rule.logBodies : properties.isLogBodies();
+        if (!logBodies) {
+            long start = System.nanoTime();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                logWriter.submit(this.snapshot(request, response, null, null, elapsedMillis(start)));
+            }
+            return;
+        }
+
         ContentCachingRequestWrapper requestWrapper = wrapRequest(request);
-        ContentCachingResponseWrapper responseWrapper = wrapResponse(response);
+        BoundedTeeResponseWrapper responseWrapper =
+                new BoundedTeeResponseWrapper(response, MAX_PAYLOAD_LENGTH, properties.getMaxBodyCaptureSize());
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         try {
             filterChain.doFilter(requestWrapper, responseWrapper);
         } finally {
-            long duration = System.currentTimeMillis() - start;
-            this.logExchange(requestWrapper, responseWrapper, duration);
-            responseWrapper.copyBodyToResponse();
+            responseWrapper.flushWriter();
+            logWriter.submit(this.snapshot(requestWrapper, responseWrapper, requestWrapper, responseWrapper, elapsedMillis(start)));
         }
     }
 
-    private void logExchange(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response, long duration) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
-        String queryString = request.getQueryString();
-        String target = queryString != null ? uri + "?" + queryString : uri;
-        String remoteAddress = request.getRemoteAddr();
-        int status = response.getStatus();
-        String requestBody = this.getPayload(request.getContentAsByteArray(), request.getCharacterEncoding(), request.getContentType());
-        String responseBody = this.getPayload(response.getContentAsByteArray(), response.getCharacterEncoding(), response.getContentType());
-
-        log.info("HTTP {} {} from {} -> status {} ({} ms) | requestBody={} | responseBody={}",
-                method, target, remoteAddress, status, duration, requestBody, responseBody);
+    private HttpExchange snapshot(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            ContentCachingRequestWrapper requestBody,
+            BoundedTeeResponseWrapper responseBody,
+            long duration) {
+        boolean bodiesLogged = requestBody != null && responseBody != null;
+        byte[] requestBytes = null;
+        byte[] responseBytes = null;
+        long responseLength = 0L;
+        if (bodiesLogged) {
+            requestBytes = requestBody.getContentAsByteArray();
+            responseLength = responseBody.bodyLength();
+            if (responseBody.isCapturing() && !request.isAsyncStarted()) {
+                responseBytes = responseBody.capturedBody();
+            }
+        }
+        long requestLength = request.getContentLengthLong();
+        return new HttpExchange(
+                MDC.get(LoggingContextFilter.REQUEST_ID_KEY),
+                MDC.get(LoggingContextFilter.USER_ID_KEY),
+                request.getMethod(),
+                request.getRequestURI(),
+                request.getQueryString(),
+                request.getRemoteAddr(),
+                response.getStatus(),
+                duration,
+                requestBytes,
+                requestLength < 0 && requestBytes != null ? requestBytes.length : requestLength,
+                request.getCharacterEncoding(),
+                request.getContentType(),
+                responseBytes,
+                responseLength,
+                response.getCharacterEncoding(),
+                response.getContentType(),
+                bodiesLogged);
     }
 
-    private ContentCachingRequestWrapper wrapRequest(HttpServletRequest request) {
-        if (request instanceof ContentCachingRequestWrapper wrapper) {
-            return wrapper;
-        }
-        return new ContentCachingRequestWrapper(request);
+    private boolean isStreaming(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
     }
 
-    private ContentCachingResponseWrapper wrapResponse(HttpServletResponse response) {
-        if (response instanceof ContentCachingResponseWrapper wrapper) {
-            return wrapper;
+    private boolean isExcluded(PathContainer path) {
+        for (PathPattern pattern : excludedPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
         }
-        return new ContentCachingResponseWrapper(response);
+        return false;
     }
 
-    private String getPayload(byte[] content, String encoding, String contentType) {
-        if (content == null || content.length == 0) {
-            return "<empty>";
-        }
-        if (!this.isReadableContentType(contentType)) {
-            return "<non-readable payload>";
+    private CompiledRule findRule(String method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
         }
+        return null;
+    }
 
-        Charset charset = this.resolveCharset(encoding);
-        String payload = new String(content, charset);
-        if (payload.length() <= MAX_PAYLOAD_LENGTH) {
-            return payload;
+    private ContentCachingRequestWrapper wrapRequest(HttpServletRequest request) {
+        if (request instanceof ContentCachingRequestWrapper wrapper) {
+            return wrapper;
         }
-        return payload.substring(0, MAX_PAYLOAD_LENGTH) + "...(truncated)";
+        return new ContentCachingRequestWrapper(request, MAX_PAYLOAD_LENGTH);
     }
 
-    private boolean isReadableContentType(String contentType) {
-        if (!StringUtils.hasText(contentType)) {
-            return true;
-        }
-        String lowered = contentType.toLowerCase();
-        return READABLE_CONTENT_TYPES.stream().anyMatch(lowered::contains);
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
-    private Charset resolveCharset(String encoding) {
-        if (!StringUtils.hasText(encoding)) {
-            return StandardCharsets.UTF_8;
+    private static final class CompiledRule {
+
+        private final PathPattern pattern;
+        private final String method;
+        private final Double sampleRate;
+        private final Boolean logBodies;
+
+        private CompiledRule(HttpLoggingProperties.PathRule rule) {
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.getPattern());
+            this.method = rule.getMethod();
+            this.sampleRate = rule.getSampleRate();
+            this.logBodies = rule.getLogBodies();
         }
-        try {
-            return Charset.forName(encoding);
-        } catch (IllegalArgumentException ignored) {
-            return StandardCharsets.UTF_8;
+
+        private boolean matches(String requestMethod, PathContainer path) {
+            return (!StringUtils.hasText(method) || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
         }
     }
 }
@@ -0,0 +1,164 @@
+package com.helpunker.common.moderation;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aho-Corasick automaton over a fixed set of keywords, compiled to a dense transition table so that scanning a text
+ * is one table lookup per character however many keywords there are. Matching is case-insensitive (upper-case
+ * characters share the class of their lower-case form) and, unless built for substrings, whole-word: a keyword only
+ * matches when it is not surrounded by letters or digits. A keyword ending in {@code *} matches as a word prefix
+ * ({@code scam*} also matches "scammer"). Runs of whitespace in keywords are treated as one space.
+ *
+ * <p>Characters that occur in no keyword map to class 0, which always leads back to the root, so the table only needs
+ * as many columns as the keywords have distinct characters.
+ */
+public final class AhoCorasick {
+
+    private static final int NONE = -1;
+
+    /** Receives each match: the index of the keyword and the position of its first character in the text. */
+    @FunctionalInterface
+    public interface MatchListener {
+
+        void onMatch(int keyword, int start);
+    }
+
+    private final char[] classes = new char[Character.MAX_VALUE + 1];
+    private final int alphabet;
+    private final int[] delta;
+    private final int[] output;
+    private final int[] dictionaryLink;
+    private final int[] lengths;
+    private final boolean[] prefixes;
+    private final boolean wholeWords;
+
+    /** Compiles whole-word keywords; the index of a keyword in the list is what {@link #match} reports. */
+    public AhoCorasick(List<String> keywords) {
+        this(keywords, true);
+    }
+
+    /** Compiles the keywords, matching them anywhere in the text when {@code wholeWords} is off. */
+    public AhoCorasick(List<String> keywords, boolean wholeWords) {
+        this.wholeWords = wholeWords;
+        int size = keywords.size();
+        String[] patterns = new String[size];
+        lengths = new int[size];
+        prefixes = new boolean[size];
+        int totalLength = 0;
+        for (int i = 0; i < size; i++) {
+            String keyword = keywords.get(i).strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            prefixes[i] = wholeWords && keyword.endsWith("*");
+            patterns[i] = prefixes[i] ? keyword.substring(0, keyword.length() - 1) : keyword;
+            if (patterns[i].isEmpty()) {
+                throw new IllegalArgumentException("Empty keyword at index " + i);
+            }
+            lengths[i] = patterns[i].length();
+            totalLength += lengths[i];
+        }
+
+        char next = 1;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (classes[c] == 0) {
+                    classes[c] = next++;
+                }
+            }
+        }
+        alphabet = next;
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char lower = Character.toLowerCase((char) c);
+            if (classes[c] == 0 && classes[lower] != 0) {
+                classes[c] = classes[lower];
+            } else if (classes[c] == 0 && Character.isWhitespace(c) && classes[' '] != 0) {
+                classes[c] = classes[' '];
+            }
+        }
+
+        int maxStates = totalLength + 1;
+        int[] table = new int[maxStates * alphabet];
+        Arrays.fill(table, NONE);
+        int[] out = new int[maxStates];
+        Arrays.fill(out, NONE);
+        int states = 1;
+        for (int p = 0; p < size; p++) {
+            int state = 0;
+            String pattern = patterns[p];
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = state * alphabet + classes[pattern.charAt(i)];
+                if (table[slot] == NONE) {
+                    table[slot] = states++;
+                }
+                state = table[slot];
+            }
+            if (out[state] == NONE) {
+                out[state] = p;
+            }
+        }
+
+        int[] fail = new int[states];
+        int[] link = new int[states];
+        Arrays.fill(link, NONE);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int a = 0; a < alphabet; a++) {
+            int child = table[a];
+            if (child == NONE) {
+                table[a] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int a = 0; a < alphabet; a++) {
+                int slot = state * alphabet + a;
+                int child = table[slot];
+                int fallback = table[fail[state] * alphabet + a];
+                if (child == NONE) {
+                    table[slot] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    link[child] = out[fallback] != NONE ? fallback : link[fallback];
+                    queue.add(child);
+                }
+            }
+        }
+
+        delta = Arrays.copyOf(table, states * alphabet);
+        output = Arrays.copyOf(out, states);
+        dictionaryLink = link;
+    }
+
+    public int size() {
+        return lengths.length;
+    }
+
+    /** Reports every occurrence of a keyword in {@code text}, in order of the end position. */
+    public void match(CharSequence text, MatchListener listener) {
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            state = delta[state * alphabet + classes[text.charAt(i)]];
+            int candidate = output[state] != NONE ? state : dictionaryLink[state];
+            while (candidate != NONE) {
+                int keyword = output[candidate];
+                int start = i - lengths[keyword] + 1;
+                if (!wholeWords || this.isWholeWord(text, keyword, start, i)) {
+                    listener.onMatch(keyword, start);
+                }
+                candidate = dictionaryLink[candidate];
+            }
+        }
+    }
+
+    private boolean isWholeWord(CharSequence text, int keyword, int start, int end) {
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        return prefixes[keyword] || end + 1 >= text.length() || !Character.isLetterOrDigit(text.charAt(end + 1));
+    }
+}
@@ -0,0 +1,201 @@
+package com.helpunker.common.moderation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * An immutable, ready-to-run rule set: every keyword rule in one {@link AhoCorasick} automaton, so the cost of a scan
+ * depends on the text length rather than the number of rules, and the regex rules behind a second automaton over
+ * their trigger literals, so a regex is only tried where its trigger occurs. Instances are swapped whole on reload,
+ * so a check always sees one consistent version.
+ */
+public final class CompiledRuleset {
+
+    public static final CompiledRuleset EMPTY = compile(List.of());
+
+    private final List<ModerationRule> rules;
+    private final AhoCorasick keywords;
+    /** Indices into {@link #rules} for each distinct keyword of the automaton. */
+    private final int[][] rulesByKeyword;
+    private final AhoCorasick triggers;
+    /** Indices into {@link #regexes} for each distinct trigger literal. */
+    private final int[][] regexesByTrigger;
+    /** Indices into {@link #regexes} of the regexes without triggers, searched for in the whole text. */
+    private final int[] unanchored;
+    private final Pattern[] regexes;
+    /** Index into {@link #rules} of each regex. */
+    private final int[] regexRules;
+
+    private CompiledRuleset(
+            List<ModerationRule> rules,
+            AhoCorasick keywords,
+            int[][] rulesByKeyword,
+            AhoCorasick triggers,
+            int[][] regexesByTrigger,
+            int[] unanchored,
+            Pattern[] regexes,
+            int[] regexRules) {
+        this.rules = rules;
+        this.keywords = keywords;
+        this.rulesByKeyword = rulesByKeyword;
+        this.triggers = triggers;
+        this.regexesByTrigger = regexesByTrigger;
+        this.unanchored = unanchored;
+        this.regexes = regexes;
+        this.regexRules = regexRules;
+    }
+
+    public static CompiledRuleset compile(List<ModerationRule> rules) {
+        Map<String, List<Integer>> byKeyword = new LinkedHashMap<>();
+        Map<String, List<Integer>> byTrigger = new LinkedHashMap<>();
+        List<Integer> unanchored = new ArrayList<>();
+        List<Pattern> regexes = new ArrayList<>();
+        List<Integer> regexRules = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            ModerationRule rule = rules.get(i);
+            if (rule.kind() == ModerationRule.Kind.KEYWORD) {
+                byKeyword.computeIfAbsent(normalize(rule.pattern()), key -> new ArrayList<>()).add(i);
+                continue;
+            }
+            int regex = regexes.size();
+            try {
+                regexes.add(Pattern.compile(rule.pattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+            } catch (PatternSyntaxException ex) {
+                throw new IllegalArgumentException("Rule " + rule.id() + ": " + ex.getDescription(), ex);
+            }
+            regexRules.add(i);
+            if (rule.triggers().isEmpty()) {
+                unanchored.add(regex);
+            }
+            for (String trigger : rule.triggers()) {
+                List<String> literals = "\\d".equals(trigger)
+                        ? List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9")
+                        : List.of(normalize(trigger));
+                literals.forEach(literal -> byTrigger.computeIfAbsent(literal, key -> new ArrayList<>()).add(regex));
+            }
+        }
+        return new CompiledRuleset(
+                List.copyOf(rules),
+                new AhoCorasick(List.copyOf(byKeyword.keySet())),
+                toArrays(byKeyword),
+                new AhoCorasick(List.copyOf(byTrigger.keySet()), false),
+                toArrays(byTrigger),
+                unanchored.stream().mapToInt(Integer::intValue).toArray(),
+                regexes.toArray(Pattern[]::new),
+                regexRules.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    public List<ModerationRule> rules() {
+        return rules;
+    }
+
+    /** Runs every rule against the text. */
+    public ModerationResult evaluate(CharSequence text) {
+        Scan scan = new Scan(text);
+        keywords.match(text, scan::keyword);
+        for (int regex : unanchored) {
+            if (regexes[regex].matcher(text).find()) {
+                scan.fire(regexRules[regex]);
+            }
+        }
+        if (regexesByTrigger.length > 0) {
+            triggers.match(text, scan::trigger);
+        }
+        return scan.result();
+    }
+
+    /** Runs only the keyword rules; regexes are left to the inline check. */
+    public ModerationResult evaluateKeywords(CharSequence text) {
+        Scan scan = new Scan(text);
+        keywords.match(text, scan::keyword);
+        return scan.result();
+    }
+
+    private static String normalize(String literal) {
+        return literal.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int[][] toArrays(Map<String, List<Integer>> indices) {
+        return indices.values().stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '+' || c == '-' || c == '_' || c == '@';
+    }
+
+    /** State of one evaluation; created per call so that a ruleset can be shared by any number of threads. */
+    private final class Scan {
+
+        private final CharSequence text;
+        private BitSet fired;
+        /** Token start each regex was last tried from; hits arrive in text order, so one slot per regex suffices. */
+        private int[] triedFrom;
+
+        Scan(CharSequence text) {
+            this.text = text;
+        }
+
+        void keyword(int keyword, int start) {
+            for (int rule : rulesByKeyword[keyword]) {
+                this.fire(rule);
+            }
+        }
+
+        void trigger(int trigger, int start) {
+            int tokenStart = start;
+            while (tokenStart > 0 && isTokenChar(text.charAt(tokenStart - 1))) {
+                tokenStart--;
+            }
+            for (int regex : regexesByTrigger[trigger]) {
+                if (fired != null && fired.get(regexRules[regex])) {
+                    continue;
+                }
+                if (triedFrom == null) {
+                    triedFrom = new int[regexes.length];
+                    Arrays.fill(triedFrom, -1);
+                }
+                if (triedFrom[regex] == tokenStart) {
+                    continue;
+                }
+                triedFrom[regex] = tokenStart;
+                Matcher matcher = regexes[regex].matcher(text)
+                        .region(tokenStart, text.length())
+                        .useTransparentBounds(true)
+                        .useAnchoringBounds(false);
+                if (matcher.lookingAt()) {
+                    this.fire(regexRules[regex]);
+                }
+            }
+        }
+
+        void fire(int rule) {
+            if (fired == null) {
+                fired = new BitSet(rules.size());
+            }
+            fired.set(rule);
+        }
+
+        ModerationResult result() {
+            if (fired == null) {
+                return ModerationResult.NONE;
+            }
+            List<ModerationRule> matched = new ArrayList<>(fired.cardinality());
+            fired.stream().forEach(index -> matched.add(rules.get(index)));
+            return new ModerationResult(List.copyOf(matched));
+        }
+    }
+}
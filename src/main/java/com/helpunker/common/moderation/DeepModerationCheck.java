@@ -0,0 +1,10 @@
+package com.helpunker.common.moderation;
+
+/**
+ * A moderation check too slow or too speculative to run while the client waits. Deep checks run on the
+ * {@link DeepModerationExecutor} after the request has been created and can only flag it.
+ */
+public interface DeepModerationCheck {
+
+    ModerationResult check(String text, CompiledRuleset ruleset);
+}
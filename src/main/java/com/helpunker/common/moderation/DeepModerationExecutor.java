@@ -0,0 +1,98 @@
+package com.helpunker.common.moderation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Runs the {@link DeepModerationCheck}s on a single background thread after a request has been created. The hand-off
+ * queue is bounded; when it is full the check is dropped and counted rather than blocking the caller, the same
+ * trade-off as the HTTP exchange log.
+ */
+public class DeepModerationExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeepModerationExecutor.class);
+
+    private final ModerationEngine engine;
+    private final List<DeepModerationCheck> checks;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+    private final MeterRegistry meterRegistry;
+
+    public DeepModerationExecutor(
+            ModerationEngine engine,
+            List<DeepModerationCheck> checks,
+            ModerationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.engine = engine;
+        this.checks = List.copyOf(checks);
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled() && properties.getDeep().isEnabled();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, properties.getDeep().getQueueCapacity()));
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "deep-moderation");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.dropped = Counter.builder("helpunker.moderation.deep.dropped")
+                .description("Deep moderation checks skipped because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.moderation.deep.queued", queue, BlockingQueue::size)
+                .description("Deep moderation checks waiting to run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the deep checks for a request's text; {@code onFired} is called on the background thread with the rules
+     * that fired, and not at all when none did.
+     */
+    public void submit(String title, String details, Consumer<ModerationResult> onFired) {
+        if (!enabled || checks.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> this.run(ModerationEngine.join(title, details), onFired));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.SECONDS);
+    }
+
+    private void run(String text, Consumer<ModerationResult> onFired) {
+        CompiledRuleset ruleset = engine.ruleset();
+        ModerationResult result = ModerationResult.NONE;
+        for (DeepModerationCheck check : checks) {
+            try {
+                result = result.merge(check.check(text, ruleset));
+            } catch (RuntimeException ex) {
+                log.warn("Deep moderation check {} failed", check.getClass().getSimpleName(), ex);
+            }
+        }
+        if (result.isClean()) {
+            return;
+        }
+        result.fired().forEach(rule -> meterRegistry.counter("helpunker.moderation.fired",
+                "category", rule.category(), "action", "DEEP_" + rule.action().name()).increment());
+        try {
+            onFired.accept(result);
+        } catch (RuntimeException ex) {
+            log.warn("Could not record deep moderation result {}", result.ruleIds(), ex);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.helpunker.common.moderation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Inline moderation for request text. Checks run against the current {@link CompiledRuleset}, read through a volatile
+ * field, so they never wait for a reload: a changed rules file is parsed and compiled on the scheduler thread and the
+ * new rule set replaces the old one in a single write. A rules file that fails to parse is logged and the previous
+ * rule set stays in force; only the first load at startup fails hard.
+ */
+public class ModerationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ModerationEngine.class);
+
+    private final ModerationProperties properties;
+    private final Resource rules;
+    private final Counter reloadFailures;
+    private final MeterRegistry meterRegistry;
+    private volatile CompiledRuleset ruleset;
+    private long lastModified;
+
+    public ModerationEngine(ModerationProperties properties, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rules = resourceLoader.getResource(properties.getRulesLocation());
+        this.meterRegistry = meterRegistry;
+        this.reloadFailures = Counter.builder("helpunker.moderation.reload.failures")
+                .description("Rules file changes rejected because they did not parse or compile")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.moderation.rules", this, engine -> engine.ruleset().size())
+                .description("Moderation rules in force")
+                .register(meterRegistry);
+        if (!this.reload()) {
+            throw new IllegalStateException("Could not load moderation rules from " + properties.getRulesLocation());
+        }
+    }
+
+    public CompiledRuleset ruleset() {
+        return ruleset;
+    }
+
+    /** Runs the inline rules over the title and details of a request. */
+    public ModerationResult check(String title, String details) {
+        if (!properties.isEnabled()) {
+            return ModerationResult.NONE;
+        }
+        ModerationResult result = ruleset.evaluate(join(title, details));
+        result.fired().forEach(rule -> meterRegistry.counter("helpunker.moderation.fired",
+                "category", rule.category(), "action", rule.action().name()).increment());
+        return result;
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.moderation.reload-interval:PT30S}",
+            fixedDelayString = "${app.moderation.reload-interval:PT30S}")
+    public void reloadIfModified() {
+        long modified = this.modifiedAt();
+        if (modified != lastModified) {
+            this.reload();
+        }
+    }
+
+    /** Reads and compiles the rules file and swaps it in; returns {@code false} and keeps the old rules on error. */
+    public synchronized boolean reload() {
+        long modified = this.modifiedAt();
+        try (Reader reader = new InputStreamReader(rules.getInputStream(), StandardCharsets.UTF_8)) {
+            List<ModerationRule> parsed = ModerationRules.parse(reader);
+            ruleset = CompiledRuleset.compile(parsed);
+            lastModified = modified;
+            log.info("Loaded {} moderation rules from {}", parsed.size(), properties.getRulesLocation());
+            return true;
+        } catch (IOException | IllegalArgumentException ex) {
+            lastModified = modified;
+            reloadFailures.increment();
+            log.error("Moderation rules in {} were not loaded; keeping the previous rules",
+                    properties.getRulesLocation(), ex);
+            return false;
+        }
+    }
+
+    static String join(String title, String details) {
+        if (details == null || details.isEmpty()) {
+            return title == null ? "" : title;
+        }
+        return title == null ? details : title + "\n" + details;
+    }
+
+    private long modifiedAt() {
+        try {
+            return rules.lastModified();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.helpunker.common.moderation;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.moderation")
+public class ModerationProperties {
+
+    private boolean enabled = true;
+
+    /** Rules file, any Spring resource location. A {@code file:} location can be edited in place and is reloaded. */
+    private String rulesLocation = "classpath:moderation/rules.txt";
+
+    /** How often the rules file is checked for changes. */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+
+    private Deep deep = new Deep();
+
+    @Getter
+    @Setter
+    public static class Deep {
+
+        private boolean enabled = true;
+
+        /** Pending deep checks; when full, further checks are dropped and counted rather than blocking the caller. */
+        private int queueCapacity = 1000;
+    }
+}
@@ -0,0 +1,35 @@
+package com.helpunker.common.moderation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Rules that fired for a text, in rule-file order. */
+public record ModerationResult(List<ModerationRule> fired) {
+
+    public static final ModerationResult NONE = new ModerationResult(List.of());
+
+    public boolean isClean() {
+        return fired.isEmpty();
+    }
+
+    public boolean blocked() {
+        return fired.stream().anyMatch(rule -> rule.action() == ModerationRule.Action.BLOCK);
+    }
+
+    public List<String> ruleIds() {
+        return fired.stream().map(ModerationRule::id).toList();
+    }
+
+    /** This result plus the rules of {@code other} that are not already in it. */
+    public ModerationResult merge(ModerationResult other) {
+        if (other.isClean()) {
+            return this;
+        }
+        if (this.isClean()) {
+            return other;
+        }
+        List<ModerationRule> merged = new ArrayList<>(fired);
+        other.fired.stream().filter(rule -> !merged.contains(rule)).forEach(merged::add);
+        return new ModerationResult(List.copyOf(merged));
+    }
+}
@@ -0,0 +1,36 @@
+package com.helpunker.common.moderation;
+
+import java.util.List;
+
+/**
+ * One moderation rule. {@link Kind#KEYWORD} rules are whole-word, case-insensitive phrases compiled together into one
+ * automaton; {@link Kind#REGEX} rules are Java regular expressions, meant for the few structured patterns (phone
+ * numbers, identity numbers) a keyword cannot express.
+ *
+ * <p>A regex with {@code triggers} is anchored: it is only tried, with {@code lookingAt}, from the start of each token
+ * (run of letters, digits and {@code .+-_@}) that contains one of the trigger literals, which the automaton finds in
+ * the same pass as the keywords. {@code \d} stands for any digit. A regex without triggers is searched for in the
+ * whole text, at a cost proportional to its length.
+ */
+public record ModerationRule(String id, String category, Action action, Kind kind, String pattern, List<String> triggers) {
+
+    public ModerationRule {
+        triggers = List.copyOf(triggers);
+    }
+
+    public ModerationRule(String id, String category, Action action, Kind kind, String pattern) {
+        this(id, category, action, kind, pattern, List.of());
+    }
+
+    public enum Action {
+        /** The request is accepted but carries the rule id for review. */
+        FLAG,
+        /** The request is rejected on create. Deep checks run after creation, so they can only flag. */
+        BLOCK
+    }
+
+    public enum Kind {
+        KEYWORD,
+        REGEX
+    }
+}
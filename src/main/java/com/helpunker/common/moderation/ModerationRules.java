@@ -0,0 +1,62 @@
+package com.helpunker.common.moderation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Parser for the line-based rules file. Each non-blank line that does not start with {@code #} is
+ * {@code <id> <category> <FLAG|BLOCK> <keyword|regex> <pattern>}, separated by whitespace; the pattern is the rest of
+ * the line and may contain spaces. For regex rules the pattern is preceded by the comma-separated trigger literals,
+ * or {@code *} for none: {@code pii.email pii FLAG regex @ [\w.+-]+@[\w-]+(?:\.[\w-]+)+}.
+ */
+public final class ModerationRules {
+
+    private ModerationRules() {
+    }
+
+    public static List<ModerationRule> parse(Reader source) throws IOException {
+        List<ModerationRule> rules = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\s+", 5);
+            if (fields.length < 5) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected <id> <category> <action> <kind> <pattern>");
+            }
+            if (!ids.add(fields[0])) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": duplicate rule id " + fields[0]);
+            }
+            try {
+                ModerationRule.Action action = ModerationRule.Action.valueOf(fields[2].toUpperCase(Locale.ROOT));
+                ModerationRule.Kind kind = ModerationRule.Kind.valueOf(fields[3].toUpperCase(Locale.ROOT));
+                String pattern = fields[4];
+                List<String> triggers = List.of();
+                if (kind == ModerationRule.Kind.REGEX) {
+                    String[] parts = pattern.split("\\s+", 2);
+                    if (parts.length < 2) {
+                        throw new IllegalArgumentException("expected <triggers> <regex>");
+                    }
+                    triggers = "*".equals(parts[0]) ? List.of() : List.of(parts[0].split(","));
+                    pattern = parts[1];
+                }
+                rules.add(new ModerationRule(fields[0], fields[1], action, kind, pattern, triggers));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+            }
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,96 @@
+package com.helpunker.common.moderation;
+
+/**
+ * Re-runs the keyword rules over a de-obfuscated copy of the text: common digit and symbol substitutions are mapped
+ * back to letters inside words ({@code fr33} to {@code free}), words spelled out letter by letter are joined
+ * ({@code g.i.f.t} to {@code gift}) and runs of whitespace collapse to one, the usual ways of slipping a phrase past a
+ * plain keyword match.
+ */
+public class ObfuscationCheck implements DeepModerationCheck {
+
+    @Override
+    public ModerationResult check(String text, CompiledRuleset ruleset) {
+        String normalized = normalize(text);
+        return normalized.equals(text) ? ModerationResult.NONE : ruleset.evaluateKeywords(normalized);
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int last = spelledOutEnd(text, i);
+            if (last > i) {
+                for (int j = i; j <= last; j += 2) {
+                    normalized.append(text.charAt(j));
+                }
+                i = last + 1;
+                continue;
+            }
+            boolean repeatedSpace = Character.isWhitespace(c)
+                    && !normalized.isEmpty() && Character.isWhitespace(normalized.charAt(normalized.length() - 1));
+            if (!repeatedSpace) {
+                normalized.append(c);
+            }
+            i++;
+        }
+
+        int wordStart = 0;
+        boolean hasLetter = false;
+        for (int j = 0; j <= normalized.length(); j++) {
+            char c = j < normalized.length() ? normalized.charAt(j) : ' ';
+            if (isWordish(c)) {
+                hasLetter |= Character.isLetter(c);
+                continue;
+            }
+            if (hasLetter) {
+                for (int k = wordStart; k < j; k++) {
+                    normalized.setCharAt(k, unleet(normalized.charAt(k)));
+                }
+            }
+            wordStart = j + 1;
+            hasLetter = false;
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Index of the last character of a word spelled out as at least three single characters joined by the same
+     * separator ({@code f r e e}, {@code o.t.p}) starting at {@code start}, or -1.
+     */
+    private static int spelledOutEnd(String text, int start) {
+        if (!isWordish(text.charAt(start)) || start > 0 && isWordish(text.charAt(start - 1))
+                || start + 2 >= text.length() || !isSeparator(text.charAt(start + 1))) {
+            return -1;
+        }
+        char separator = text.charAt(start + 1);
+        int last = start;
+        int letters = 1;
+        while (last + 2 < text.length() && text.charAt(last + 1) == separator && isWordish(text.charAt(last + 2))
+                && (last + 3 >= text.length() || !isWordish(text.charAt(last + 3)))) {
+            last += 2;
+            letters++;
+        }
+        return letters >= 3 ? last : -1;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-' || c == '_' || c == '*' || c == ' ';
+    }
+
+    private static boolean isWordish(char c) {
+        return Character.isLetterOrDigit(c) || c == '@' || c == '$';
+    }
+
+    private static char unleet(char c) {
+        return switch (c) {
+            case '0' -> 'o';
+            case '1' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            default -> c;
+        };
+    }
+}
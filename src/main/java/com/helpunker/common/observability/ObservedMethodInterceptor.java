@@ -0,0 +1,67 @@
+package com.helpunker.common.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Runs {@link Observed} methods inside an {@link Observation}, tagged with the class and method name like Micrometer's
+ * {@code ObservedAspect}. Used through a plain Spring AOP advisor instead of the AspectJ aspect, whose pointcut is
+ * matched with the AspectJ weaver against every bean at startup.
+ */
+public class ObservedMethodInterceptor implements MethodInterceptor {
+
+    private final Supplier<ObservationRegistry> registry;
+    private final Map<Method, Target> targets = new ConcurrentHashMap<>();
+    private volatile ObservationRegistry resolved;
+
+    public ObservedMethodInterceptor(Supplier<ObservationRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ObservationRegistry observationRegistry = resolved;
+        if (observationRegistry == null) {
+            observationRegistry = registry.get();
+            if (observationRegistry == null) {
+                return invocation.proceed();
+            }
+            resolved = observationRegistry;
+        }
+        if (observationRegistry.isNoop()) {
+            return invocation.proceed();
+        }
+        Target target = targets.computeIfAbsent(invocation.getMethod(), method -> resolve(method, invocation.getThis()));
+        return Observation.createNotStarted(target.name, observationRegistry)
+                .contextualName(target.contextualName)
+                .lowCardinalityKeyValue("class", target.className)
+                .lowCardinalityKeyValue("method", target.methodName)
+                .observeChecked(invocation::proceed);
+    }
+
+    private static Target resolve(Method method, Object bean) {
+        Class<?> targetClass = bean == null ? method.getDeclaringClass() : AopUtils.getTargetClass(bean);
+        Observed observed = AnnotatedElementUtils.findMergedAnnotation(method, Observed.class);
+        if (observed == null) {
+            observed = AnnotatedElementUtils.findMergedAnnotation(targetClass, Observed.class);
+        }
+        String name = observed != null && StringUtils.hasText(observed.name()) ? observed.name() : "method.observed";
+        String contextualName = observed != null && StringUtils.hasText(observed.contextualName())
+                ? observed.contextualName()
+                : targetClass.getSimpleName() + "#" + method.getName();
+        return new Target(name, contextualName, targetClass.getSimpleName(), method.getName());
+    }
+
+    private record Target(String name, String contextualName, String className, String methodName) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.helpunker.common.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers work that must only see committed data, such as handing request ids to another thread. */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /** Runs {@code action} once the current transaction commits, or right away outside of one. */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
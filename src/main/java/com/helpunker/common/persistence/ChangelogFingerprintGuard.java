@@ -0,0 +1,121 @@
+package com.helpunker.common.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Objects;
+import javax.sql.DataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StringUtils;
+
+/**
+ * Skips Liquibase on startup when the exact changelog (content, schema, contexts and labels) has already been applied
+ * to the database. Liquibase itself parses the whole changelog and compares every changeset checksum on each start;
+ * this guard replaces that with one indexed lookup in {@code schema_fingerprint}, and records the fingerprint after a
+ * successful update. Any problem reading the fingerprint (e.g. the table does not exist yet) simply lets Liquibase run.
+ */
+public class ChangelogFingerprintGuard implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangelogFingerprintGuard.class);
+
+    private final boolean enabled;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private String pendingFingerprint;
+
+    public ChangelogFingerprintGuard(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (!enabled || !(bean instanceof SpringLiquibase liquibase) || liquibase.getDataSource() == null) {
+            return bean;
+        }
+        try {
+            String fingerprint = fingerprint(liquibase);
+            if (isApplied(liquibase.getDataSource(), table(liquibase), fingerprint)) {
+                log.info("Liquibase skipped: changelog {} already applied (fingerprint {})",
+                        liquibase.getChangeLog(), fingerprint.substring(0, 12));
+                liquibase.setShouldRun(false);
+            } else {
+                pendingFingerprint = fingerprint;
+            }
+        } catch (IOException | SQLException ex) {
+            log.debug("Changelog fingerprint unavailable, running Liquibase", ex);
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (pendingFingerprint == null || !(bean instanceof SpringLiquibase liquibase)) {
+            return bean;
+        }
+        try (Connection connection = liquibase.getDataSource().getConnection();
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO " + table(liquibase) + " (fingerprint) VALUES (?)")) {
+            insert.setString(1, pendingFingerprint);
+            insert.executeUpdate();
+        } catch (SQLException ex) {
+            log.warn("Could not record changelog fingerprint; Liquibase will run again on next start", ex);
+        } finally {
+            pendingFingerprint = null;
+        }
+        return bean;
+    }
+
+    private String fingerprint(SpringLiquibase liquibase) throws IOException {
+        Resource changelog = resourceLoader.getResource(liquibase.getChangeLog());
+        MessageDigest digest = sha256();
+        try (InputStream input = changelog.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String settings = String.join("|",
+                Objects.toString(liquibase.getDefaultSchema(), ""),
+                Objects.toString(liquibase.getContexts(), ""),
+                Objects.toString(liquibase.getLabels(), ""));
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean isApplied(DataSource dataSource, String table, String fingerprint) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement query = connection.prepareStatement(
+                        "SELECT 1 FROM " + table + " WHERE fingerprint = ?")) {
+            query.setString(1, fingerprint);
+            try (ResultSet result = query.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    private static String table(SpringLiquibase liquibase) {
+        String schema = liquibase.getDefaultSchema();
+        return StringUtils.hasText(schema) ? schema + ".schema_fingerprint" : "schema_fingerprint";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
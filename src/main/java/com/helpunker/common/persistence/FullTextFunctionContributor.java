@@ -0,0 +1,72 @@
+package com.helpunker.common.persistence;
+
+import java.util.List;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * HQL/criteria functions over a PostgreSQL {@code search_vector tsvector} column, which entities do not map:
+ * {@code fts_match(anyColumn, text)} renders {@code search_vector @@ websearch_to_tsquery('english', text)} and
+ * {@code fts_rank(anyColumn, text)} the matching {@code ts_rank}. The first argument is any column of the searched
+ * table and only supplies the table alias, so the match stays on the indexed column rather than an expression.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH = "fts_match";
+    public static final String RANK = "fts_rank";
+
+    private static final String COLUMN = "search_vector";
+    private static final String CONFIG = "'english'";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        var types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+        contributions.getFunctionRegistry().register(
+                MATCH, new SearchVectorFunction(MATCH, "(%s @@ websearch_to_tsquery(" + CONFIG + ", ", "))",
+                        types.resolve(StandardBasicTypes.BOOLEAN)));
+        contributions.getFunctionRegistry().register(
+                RANK, new SearchVectorFunction(RANK, "ts_rank(%s, websearch_to_tsquery(" + CONFIG + ", ", "))",
+                        types.resolve(StandardBasicTypes.DOUBLE)));
+    }
+
+    private static final class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String prefix;
+        private final String suffix;
+
+        SearchVectorFunction(String name, String prefix, String suffix, BasicType<?> returnType) {
+            super(name,
+                    StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(returnType),
+                    StandardFunctionArgumentTypeResolvers.NULL);
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void render(
+                SqlAppender sqlAppender,
+                List<? extends SqlAstNode> arguments,
+                ReturnableType<?> returnType,
+                SqlAstTranslator<?> walker) {
+            ColumnReference column = arguments.get(0) instanceof Expression expression ? expression.getColumnReference() : null;
+            String qualifier = column == null ? null : column.getQualifier();
+            String vector = qualifier == null ? COLUMN : qualifier + "." + COLUMN;
+            sqlAppender.appendSql(prefix.formatted(vector));
+            arguments.get(1).accept(walker);
+            sqlAppender.appendSql(suffix);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.helpunker.common.sharding;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Runs the Liquibase changelog against shards 1..n on startup, with the settings Spring Boot uses for shard 0. Kept
+ * out of the {@code SpringLiquibase} beans on purpose: declaring one would switch off Boot's own migration of shard 0.
+ */
+public class ShardMigrations implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardMigrations.class);
+
+    private final ShardRoutingDataSource dataSource;
+    private final ShardRouter router;
+    private final LiquibaseProperties properties;
+    private final ResourceLoader resourceLoader;
+
+    public ShardMigrations(
+            ShardRoutingDataSource dataSource,
+            ShardRouter router,
+            LiquibaseProperties properties,
+            ResourceLoader resourceLoader) {
+        this.dataSource = dataSource;
+        this.router = router;
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        for (int shard = 1; shard < dataSource.shardCount(); shard++) {
+            SpringLiquibase liquibase = new SpringLiquibase();
+            liquibase.setDataSource(dataSource.shard(shard));
+            liquibase.setResourceLoader(resourceLoader);
+            liquibase.setChangeLog(properties.getChangeLog());
+            liquibase.setDefaultSchema(properties.getDefaultSchema());
+            liquibase.setContexts(properties.getContexts() == null ? null : String.join(",", properties.getContexts()));
+            liquibase.setLabelFilter(properties.getLabelFilter() == null ? null : String.join(",", properties.getLabelFilter()));
+            liquibase.setChangeLogParameters(properties.getParameters());
+            log.info("Migrating shard {} ({})", shard, router.name(shard));
+            liquibase.afterPropertiesSet();
+        }
+    }
+}
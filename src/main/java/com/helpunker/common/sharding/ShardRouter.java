@@ -0,0 +1,283 @@
+package com.helpunker.common.sharding;
+
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.geo.GeoDistance;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maps requests to shards and binds the shard the current thread works on.
+ *
+ * <p>A new request goes to the shard named by its explicit region, if it has one, else to the first shard with a
+ * region containing its coordinates, else to shard 0. Its id is a version 8 UUID whose first byte is that shard, so
+ * reads and updates by id route without a lookup; ids of any other version (rows from before sharding) belong to shard
+ * 0. A radius search only visits the shards whose regions overlap the search box, and shard 0 unless one region covers
+ * the whole box. Reference data such as users is kept on shard 0.
+ *
+ * <p>With sharding disabled there is just shard 0: binding is a no-op for the single data source and fan-outs run
+ * inline, so callers need no separate code path.
+ */
+@Component
+public class ShardRouter implements DisposableBean {
+
+    private final List<Region> regions = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final ThreadPoolExecutor executor;
+
+    public ShardRouter(ShardingProperties properties) {
+        names.add("default");
+        if (properties.isEnabled()) {
+            List<ShardingProperties.Shard> shards = properties.getShards();
+            if (shards.size() > 255) {
+                throw new IllegalStateException("At most 255 additional shards are supported");
+            }
+            for (int i = 0; i < shards.size(); i++) {
+                ShardingProperties.Shard shard = shards.get(i);
+                names.add(shard.getName() != null ? shard.getName() : "shard-" + (i + 1));
+                for (String region : shard.getRegions()) {
+                    regions.add(Region.parse(i + 1, region));
+                }
+            }
+        }
+        int threads = Math.max(1, properties.getFanOutThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public int shardCount() {
+        return names.size();
+    }
+
+    public String name(int shard) {
+        return names.get(shard);
+    }
+
+    public List<Integer> allShards() {
+        return IntStream.range(0, names.size()).boxed().toList();
+    }
+
+    /** Home shard of a request at the given coordinates; shard 0 without them. */
+    public int shardFor(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null || regions.isEmpty()) {
+            return 0;
+        }
+        int latMicro = GeoCell.toMicro(latitude);
+        int lngMicro = GeoCell.toMicro(longitude);
+        for (Region region : regions) {
+            if (region.contains(latMicro, lngMicro)) {
+                return region.shard();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Home shard of a new request in the explicit {@code region}, a shard name ({@code default} for shard 0), or by
+     * coordinates without one. A region must agree with the coordinates, if any, so that radius searches find the
+     * request.
+     *
+     * @throws IllegalArgumentException for an unknown region, or coordinates outside it
+     */
+    public int shardFor(String region, BigDecimal latitude, BigDecimal longitude) {
+        if (region == null) {
+            return this.shardFor(latitude, longitude);
+        }
+        int shard = names.indexOf(region);
+        if (shard < 0) {
+            throw new IllegalArgumentException("Unknown region: " + region);
+        }
+        if (latitude != null && longitude != null && this.shardFor(latitude, longitude) != shard) {
+            throw new IllegalArgumentException("Location is outside region " + region);
+        }
+        return shard;
+    }
+
+    /** Whether the current thread works on shard 0, where reference data such as users is kept. */
+    public boolean isOnReferenceShard() {
+        Integer current = ShardContext.current();
+        return current == null || current == 0;
+    }
+
+    /** Shards that can hold requests within {@code radiusKm} of the point, in shard order. */
+    public List<Integer> shardsNear(double latitude, double longitude, double radiusKm) {
+        if (regions.isEmpty()) {
+            return List.of(0);
+        }
+        GeoDistance origin = new GeoDistance(latitude, longitude);
+        double radiusMicro = GeoDistance.kmToMicro(radiusKm);
+        long latDelta = (long) Math.ceil(radiusMicro);
+        long lngDelta = (long) Math.ceil(radiusMicro / origin.cosLat());
+        Region box = new Region(
+                0,
+                GeoCell.clampLat(origin.latMicro() - latDelta),
+                GeoCell.clampLng(origin.lngMicro() - lngDelta),
+                GeoCell.clampLat(origin.latMicro() + latDelta),
+                GeoCell.clampLng(origin.lngMicro() + lngDelta));
+        TreeSet<Integer> shards = new TreeSet<>();
+        boolean covered = false;
+        for (Region region : regions) {
+            if (region.intersects(box)) {
+                shards.add(region.shard());
+                covered |= region.covers(box);
+            }
+        }
+        if (!covered) {
+            shards.add(0);
+        }
+        return List.copyOf(shards);
+    }
+
+    /** A new request id on {@code shard}: a version 8 UUID with the shard in its first byte and 114 random bits. */
+    public UUID newId(int shard) {
+        UUID random = UUID.randomUUID();
+        long msb = random.getMostSignificantBits() & 0x00FF_FFFF_FFFF_0FFFL | (long) shard << 56 | 0x8000L;
+        return new UUID(msb, random.getLeastSignificantBits());
+    }
+
+    /** Shard of an existing request id; shard 0 for ids not minted by {@link #newId} or naming an unknown shard. */
+    public int shardOf(UUID id) {
+        if (id.version() != 8) {
+            return 0;
+        }
+        int shard = (int) (id.getMostSignificantBits() >>> 56);
+        return shard < names.size() ? shard : 0;
+    }
+
+    /**
+     * Binds the current transaction to {@code shard} until it completes. Must be called before its first statement;
+     * binding an already bound transaction to another shard is an error, as its connection is on the first one.
+     */
+    public void bind(int shard) {
+        Integer current = ShardContext.current();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalStateException("Already bound to shard " + current + ", cannot switch to " + shard);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Binding a shard requires an active transaction");
+        }
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.set(null);
+            }
+        });
+    }
+
+    /** Runs {@code work}, which must open its own transactions, against {@code shard}. */
+    public <T> T call(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public void run(int shard, Runnable work) {
+        this.call(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Runs {@code work} against every shard in turn; for background jobs and warm-ups. */
+    public void forEachShard(Runnable work) {
+        for (int shard = 0; shard < names.size(); shard++) {
+            this.run(shard, work);
+        }
+    }
+
+    /**
+     * Runs {@code work} against each of {@code shards} in parallel and returns the results in the same order. Each call
+     * must open its own transaction. When the pool is busy the calling thread runs the remaining shards itself, so the
+     * fan-out degrades to sequential rather than queueing; the first failure is rethrown.
+     */
+    public <T> List<T> fanOut(Collection<Integer> shards, IntFunction<T> work) {
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            return List.of(this.call(shard, () -> work.apply(shard)));
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(executor.submit(() -> this.call(shard, () -> work.apply(shard))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while waiting for shards", ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.SECONDS);
+    }
+
+    private record Region(int shard, int minLat, int minLng, int maxLat, int maxLng) {
+
+        static Region parse(int shard, String box) {
+            String[] parts = box.split(",");
+            if (parts.length != 4) {
+                throw new IllegalStateException("Region must be minLat,minLng,maxLat,maxLng: " + box);
+            }
+            int[] micro = new int[4];
+            for (int i = 0; i < 4; i++) {
+                micro[i] = GeoCell.toMicro(Double.parseDouble(parts[i].strip()));
+            }
+            return new Region(shard, micro[0], micro[1], micro[2], micro[3]);
+        }
+
+        boolean contains(int latMicro, int lngMicro) {
+            return latMicro >= minLat && latMicro <= maxLat && lngMicro >= minLng && lngMicro <= maxLng;
+        }
+
+        boolean intersects(Region box) {
+            return box.minLat <= maxLat && box.maxLat >= minLat && box.minLng <= maxLng && box.maxLng >= minLng;
+        }
+
+        boolean covers(Region box) {
+            return box.minLat >= minLat && box.maxLat <= maxLat && box.minLng >= minLng && box.maxLng <= maxLng;
+        }
+    }
+}
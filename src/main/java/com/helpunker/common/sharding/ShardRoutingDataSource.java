@@ -0,0 +1,54 @@
+package com.helpunker.common.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections of the shard bound to the current thread by {@link ShardRouter}. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so that a transaction takes its connection
+ * at the first statement, after the service has bound the shard, rather than when it begins.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<HikariDataSource> owned;
+
+    /**
+     * @param primary shard 0, owned by the caller
+     * @param shards shards 1..n in order, closed with this data source
+     */
+    public ShardRoutingDataSource(DataSource primary, List<HikariDataSource> shards) {
+        this.owned = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(0, primary);
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i + 1, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /** The pool of shard {@code shard} (1..n), for per-shard schema migration. */
+    public DataSource shard(int shard) {
+        return owned.get(shard - 1);
+    }
+
+    public int shardCount() {
+        return owned.size() + 1;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() {
+        owned.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,43 @@
+package com.helpunker.common.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * Applies {@code spring.jpa.hibernate.ddl-auto} to shards 1..n as well. Hibernate only runs its schema tooling against
+ * the connection it starts on, which the routing data source hands out from shard 0; so {@code validate} would leave
+ * the other shards unchecked, and {@code update} (the test setup) would leave them without tables.
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+
+    public ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        for (int shard = 1; shard < shardCount; shard++) {
+            ShardContext.set(shard);
+            try {
+                SchemaManagementToolCoordinator.process(
+                        metadata,
+                        sessionFactory.getServiceRegistry(),
+                        sessionFactory.getProperties(),
+                        DelayedDropRegistryNotAvailableImpl.INSTANCE);
+            } finally {
+                ShardContext.set(null);
+            }
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
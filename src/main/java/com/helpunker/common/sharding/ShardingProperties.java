@@ -0,0 +1,43 @@
+package com.helpunker.common.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    /**
+     * Route requests to the databases in {@link #shards} by location. Shard 0 is always {@code spring.datasource}; it
+     * holds requests outside every region, requests without coordinates and the master copy of reference data.
+     */
+    private boolean enabled = false;
+
+    /** Additional shards, numbered from 1 in list order; the number is part of every request id, so only append. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Threads running per-shard queries of a fan-out; beyond them the calling thread runs its own share. */
+    private int fanOutThreads = 8;
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /** Boxes of {@code minLat,minLng,maxLat,maxLng} in degrees; a point in any of them belongs to this shard. */
+        private List<String> regions = new ArrayList<>();
+    }
+}
@@ -0,0 +1,143 @@
+package com.helpunker.common.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+
+/**
+ * Writes an immutable {@link StoredBlob} to an HTTP response: strong {@code ETag}, {@code Last-Modified} and a
+ * long-lived {@code Cache-Control: immutable}, conditional requests answered with 304, and a single byte range
+ * ({@code Range}/{@code If-Range}) answered with 206. Multi-range requests get the whole blob, which RFC 9110 allows.
+ * Blobs with a local {@link StoredBlob#path() file} are handed to Tomcat's sendfile when the connector offers it
+ * ({@code org.apache.tomcat.sendfile.support}): the file name and range go into request attributes and the connector
+ * writes the bytes from the page cache to the socket after the handler returns, without a heap copy. Anywhere else
+ * (other containers, blob stores without files, wrapped test requests) the bytes are copied through the response
+ * stream in {@value #COPY_BUFFER_SIZE}-byte chunks.
+ */
+public class BlobResponder {
+
+    private static final int COPY_BUFFER_SIZE = 16 * 1024;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final String cacheControl;
+
+    public BlobResponder(Duration cacheMaxAge) {
+        this.cacheControl = "public, max-age=" + cacheMaxAge.toSeconds() + ", immutable";
+    }
+
+    public void send(StoredBlob blob, String contentType, String etag, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long lastModified = blob.lastModified().toEpochMilli() / 1000 * 1000;
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (this.isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = blob.size();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && this.rangeApplies(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        throw new IllegalArgumentException("Range starts past the end: " + range);
+                    }
+                }
+            } catch (IllegalArgumentException ex) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (ranges.size() == 1) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count <= 0) {
+            return;
+        }
+        Path file = blob.path();
+        if (file != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (SeekableByteChannel channel = blob.open()) {
+            copy(channel.position(start), count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            List<String> tags = List.of(ifNoneMatch.trim().split("\\s*,\\s*"));
+            return tags.contains("*") || tags.contains(etag) || tags.contains("W/" + etag);
+        }
+        long ifModifiedSince = this.dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /** A range only applies when {@code If-Range}, if present, still names this representation. */
+    private boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        return this.dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+    }
+
+    private long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException ex) {
+            return -1;
+        }
+    }
+
+    private static void copy(SeekableByteChannel channel, long count, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(COPY_BUFFER_SIZE, count));
+        long remaining = count;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int read = channel.read(buffer);
+            if (read < 0) {
+                throw new IOException("Blob ended before " + count + " bytes were sent");
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            remaining -= read;
+        }
+    }
+}
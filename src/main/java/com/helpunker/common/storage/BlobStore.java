@@ -0,0 +1,24 @@
+package com.helpunker.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Storage for uploaded binary content, addressed by a relative key such as {@code photos/<id>.jpg}. Writes consume the
+ * stream as it arrives and become visible atomically once complete, so a reader never sees a partial blob. The local
+ * file system implementation is {@link LocalBlobStore}; another store is plugged in by setting {@code app.storage.type}
+ * and declaring a bean of this type.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores {@code content} under {@code key}, replacing any previous blob, and returns the number of bytes written.
+     * Fails with {@link BlobTooLargeException} once more than {@code maxBytes} have been read, leaving nothing behind.
+     */
+    long write(String key, InputStream content, long maxBytes) throws IOException;
+
+    Optional<StoredBlob> find(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.helpunker.common.storage;
+
+public class BlobTooLargeException extends RuntimeException {
+
+    public BlobTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,128 @@
+package com.helpunker.common.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BlobStore} on a local directory. A write streams into a temporary file next to the target and renames it
+ * into place, so concurrent readers see either the old blob or the complete new one. Blobs expose their file, which
+ * lets {@link BlobResponder} hand them to the container's sendfile, and are read through a {@link FileChannel}.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9_-]+(?:[./][A-Za-z0-9_-]+)*");
+
+    private final Path root;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create blob store directory " + this.root, ex);
+        }
+    }
+
+    @Override
+    public long write(String key, InputStream content, long maxBytes) throws IOException {
+        Path target = this.resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            long written = Files.copy(new LimitedInputStream(content, maxBytes), temporary,
+                    StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return written;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public Optional<StoredBlob> find(String key) throws IOException {
+        Path path = this.resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                    ? Optional.of(new LocalBlob(path, attributes.size(), attributes.lastModifiedTime().toInstant()))
+                    : Optional.empty();
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(this.resolve(key));
+    }
+
+    private Path resolve(String key) {
+        if (key == null || !VALID_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key);
+    }
+
+    private record LocalBlob(Path path, long size, Instant lastModified) implements StoredBlob {
+
+        @Override
+        public SeekableByteChannel open() throws IOException {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        }
+    }
+
+    /** Fails the copy as soon as the limit is crossed instead of after the whole body has been spooled. */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long read;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                this.count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                this.count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            if (read > maxBytes) {
+                throw new BlobTooLargeException("Upload exceeds the limit of " + maxBytes + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.helpunker.common.storage;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    /** Which {@link BlobStore} to create; another value leaves it to a bean declared elsewhere. */
+    private String type = "local";
+
+    /** Root directory of the {@link LocalBlobStore}; created on startup when missing. */
+    private String localRoot = "data/blobs";
+
+    /** {@code max-age} sent by {@link BlobResponder}; blobs are never rewritten under the same key. */
+    private Duration cacheMaxAge = Duration.ofDays(365);
+}
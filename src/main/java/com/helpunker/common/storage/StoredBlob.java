@@ -0,0 +1,21 @@
+package com.helpunker.common.storage;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/** A stored blob's metadata and a way to read it; a {@link java.nio.channels.FileChannel} when the store is local. */
+public interface StoredBlob {
+
+    /** The local file holding the blob, or {@code null} when it is not stored on this machine's file system. */
+    default Path path() {
+        return null;
+    }
+
+    long size();
+
+    Instant lastModified();
+
+    SeekableByteChannel open() throws IOException;
+}
@@ -1,29 +1,57 @@
 package com.helpunker.helprequest.controller;
 
 import com.helpunker.common.exception.BusinessRuleException;
+import com.helpunker.common.json.AcceptEncoding;
+import com.helpunker.common.json.SplicedJson;
+import com.helpunker.helprequest.dto.request.BulkCreateHelpRequestsRequest;
 import com.helpunker.helprequest.dto.request.CreateHelpRequestRequest;
+import com.helpunker.helprequest.dto.request.HomeAreaRequest;
+import com.helpunker.helprequest.dto.response.BoardRebuildResponse;
+import com.helpunker.helprequest.dto.response.BoardStatsResponse;
+import com.helpunker.helprequest.dto.response.BulkCreateHelpRequestsResponse;
 import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.HomeAreaResponse;
 import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.feed.HomeArea;
+import com.helpunker.helprequest.feed.VolunteerFeedService;
+import com.helpunker.helprequest.mapper.CompactRequestCodec;
+import com.helpunker.helprequest.service.BulkCreateOutcome;
+import com.helpunker.helprequest.service.HelpRequestExporter;
 import com.helpunker.helprequest.service.HelpRequestSearchCriteria;
 import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.helprequest.service.RequestJson;
 import com.helpunker.helprequest.service.CreateHelpRequestCommand;
 import com.helpunker.helprequest.entity.RequestStatus;
 import com.helpunker.helprequest.sse.BoardEventPublisher;
+import com.helpunker.helprequest.sse.StreamFormat;
+import com.helpunker.helprequest.stats.BoardStatistics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Size;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -31,12 +59,14 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -45,13 +75,33 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @Tag(name = "Help Requests", description = "Operations related to managing help requests")
 public class HelpRequestController {
 
+    private static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final String NEGOTIATED_VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
     private final HelpRequestService requestService;
     private final BoardEventPublisher eventPublisher;
+    private final HelpRequestExporter exporter;
+    private final BoardStatistics statistics;
+    private final VolunteerFeedService feedService;
+    private final CompactRequestCodec compactCodec;
+    private final Validator validator;
 
     public HelpRequestController(
-            HelpRequestService requestService, BoardEventPublisher eventPublisher) {
+            HelpRequestService requestService,
+            BoardEventPublisher eventPublisher,
+            HelpRequestExporter exporter,
+            BoardStatistics statistics,
+            VolunteerFeedService feedService,
+            CompactRequestCodec compactCodec,
+            Validator validator) {
         this.requestService = requestService;
         this.eventPublisher = eventPublisher;
+        this.exporter = exporter;
+        this.statistics = statistics;
+        this.feedService = feedService;
+        this.compactCodec = compactCodec;
+        this.validator = validator;
     }
 
     @PostMapping(value = "/requests", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -82,11 +132,66 @@ public class HelpRequestController {
         return ResponseEntity.created(location).body(response);
     }
 
-    @GetMapping(value = "/requests", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/requests/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Create help requests in bulk",
+            description = "Creates up to 1000 help requests on behalf of the given elderly users in one transaction. "
+                    + "Each item is validated on its own; rejected items are reported with their errors while the rest are created. "
+                    + "Partner organizations and admins only.")
+    public ResponseEntity<BulkCreateHelpRequestsResponse> createRequests(
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the partner organization or admin submitting the batch")
+                    @RequestHeader("X-User-Id")
+                    UUID actorId,
+            @Valid @RequestBody BulkCreateHelpRequestsRequest requestBody) {
+        requestService.assertPartnerOrAdmin(actorId);
+        List<BulkCreateHelpRequestsRequest.Item> items = requestBody.items();
+        List<BulkCreateHelpRequestsResponse.ItemResult> results = new ArrayList<>(items.size());
+        List<Integer> accepted = new ArrayList<>(items.size());
+        List<CreateHelpRequestCommand> commands = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            BulkCreateHelpRequestsRequest.Item item = items.get(index);
+            List<String> errors = this.validate(item);
+            if (errors.isEmpty()) {
+                accepted.add(index);
+                commands.add(this.toCommand(item.elderlyId(), item.request()));
+            } else {
+                results.add(new BulkCreateHelpRequestsResponse.ItemResult(index, null, errors));
+            }
+        }
+
+        List<BulkCreateOutcome> outcomes = commands.isEmpty() ? List.of() : requestService.createRequests(commands);
+        int created = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            BulkCreateOutcome outcome = outcomes.get(i);
+            if (outcome.created() != null) {
+                created++;
+                results.add(new BulkCreateHelpRequestsResponse.ItemResult(accepted.get(i), outcome.created(), List.of()));
+            } else {
+                results.add(new BulkCreateHelpRequestsResponse.ItemResult(accepted.get(i), null, List.of(outcome.error())));
+            }
+        }
+        results.sort(Comparator.comparingInt(BulkCreateHelpRequestsResponse.ItemResult::index));
+        return ResponseEntity.ok(new BulkCreateHelpRequestsResponse(created, items.size() - created, results));
+    }
+
+    @GetMapping(value = "/requests", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
             summary = "List help requests",
-            description = "Retrieves a paginated list of help requests using optional filters such as status, location and elderly ID.")
-    public ResponseEntity<PagedResponse<HelpRequestResponse>> listRequests(
+            description = "Retrieves a paginated list of help requests using optional filters such as status, location and elderly ID. Location searches return each request's distanceKm. "
+                    + "Clients that prefer application/cbor get the compact positional encoding described in CompactRequestCodec.")
+    @ApiResponse(
+            responseCode = "200",
+            content = {
+                @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        schema = @Schema(implementation = PagedResponse.class)),
+                @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE)
+            })
+    public ResponseEntity<byte[]> listRequests(
             @Parameter(description = "Filter by current request status")
                     @RequestParam(name = "status", required = false)
                     RequestStatus status,
@@ -99,46 +204,166 @@ public class HelpRequestController {
             @Parameter(description = "Radius in kilometres to use with the near parameter")
                     @RequestParam(name = "radiusKm", required = false)
                     Double radiusKm,
+            @Parameter(description = "Full-text search over title and details; words, \"quoted phrases\" and -exclusions")
+                    @RequestParam(name = "q", required = false)
+                    @Size(max = 200)
+                    String q,
             @Parameter(description = "Page number to retrieve", example = "0")
                     @RequestParam(name = "page", defaultValue = "0")
                     int page,
             @Parameter(description = "Number of elements per page", example = "20")
                     @RequestParam(name = "size", defaultValue = "20")
                     int size,
-            @Parameter(description = "Sort property and direction formatted as 'property,direction'", example = "createdAt,DESC")
-                    @RequestParam(name = "sort", defaultValue = "createdAt,DESC")
-                    String sort) {
+            @Parameter(
+                            description = "Sort property (createdAt, updatedAt, status, distance together with near, or relevance together with q) and direction formatted as 'property,direction'. Defaults to relevance when q is given, otherwise createdAt,DESC",
+                            example = "createdAt,DESC")
+                    @RequestParam(name = "sort", required = false)
+                    String sort,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        Pageable pageable = PageRequest.of(page, size, this.toSort(sort));
-        Double latitude = null;
-        Double longitude = null;
-        if (StringUtils.hasText(near)) {
-            String[] parts = near.split(",");
-            if (parts.length != 2) {
-                throw new BusinessRuleException("near parameter must be formatted as '<lat>,<lng>'");
-            }
-            try {
-                latitude = Double.parseDouble(parts[0]);
-                longitude = Double.parseDouble(parts[1]);
-            } catch (NumberFormatException ex) {
-                throw new BusinessRuleException("near parameter must contain valid decimal coordinates");
-            }
+        Pageable pageable = PageRequest.of(page, size, this.toSort(sort, StringUtils.hasText(q)));
+        if (this.prefersCbor(accept)) {
+            Page<HelpRequestResponse> pageResult = requestService.searchRequests(
+                    this.toCriteria(status, elderlyId, near, radiusKm, q), pageable);
+            return this.cbor(compactCodec.encodePage(pageResult), acceptEncoding);
         }
+        Page<RequestJson> pageResult = requestService.searchRequestJson(
+                this.toCriteria(status, elderlyId, near, radiusKm, q), pageable);
+        return this.json(this.pageJson(pageResult), acceptEncoding, NEGOTIATED_VARY);
+    }
 
-        Page<HelpRequestResponse> pageResult = requestService.searchRequests(
-                new HelpRequestSearchCriteria(status, elderlyId, latitude, longitude, radiusKm), pageable);
-        List<HelpRequestResponse> content = pageResult.getContent();
-        PagedResponse<HelpRequestResponse> response = new PagedResponse<>(
-                content, pageResult.getNumber(), pageResult.getSize(), pageResult.getTotalElements(), pageResult.getTotalPages());
-        return ResponseEntity.ok(response);
+    @PutMapping(value = "/feed/home-area", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Register a home area",
+            description = "Sets the area the volunteer's feed covers: open requests within radiusKm of the point.")
+    public ResponseEntity<HomeAreaResponse> registerHomeArea(
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the volunteer")
+                    @RequestHeader("X-User-Id")
+                    UUID volunteerId,
+            @Valid @RequestBody HomeAreaRequest requestBody) {
+        HomeArea area = feedService.registerHomeArea(
+                volunteerId, requestBody.locationLat(), requestBody.locationLng(), requestBody.radiusKm());
+        return ResponseEntity.ok(new HomeAreaResponse(
+                BigDecimal.valueOf(area.latMicro(), 6), BigDecimal.valueOf(area.lngMicro(), 6), area.radiusKm()));
+    }
+
+    @GetMapping(value = "/feed", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Volunteer feed",
+            description = "Open requests in the volunteer's home area, newest first, with distanceKm from home. Served "
+                    + "from a feed kept up to date on write; the first read after registering builds it.")
+    @ApiResponse(
+            responseCode = "200",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = PagedResponse.class)))
+    public ResponseEntity<byte[]> getFeed(
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the volunteer")
+                    @RequestHeader("X-User-Id")
+                    UUID volunteerId,
+            @Parameter(description = "Page number to retrieve", example = "0")
+                    @RequestParam(name = "page", defaultValue = "0")
+                    int page,
+            @Parameter(description = "Number of elements per page", example = "20")
+                    @RequestParam(name = "size", defaultValue = "20")
+                    int size,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Page<RequestJson> pageResult = feedService.readFeed(volunteerId, PageRequest.of(page, size));
+        return this.json(this.pageJson(pageResult), acceptEncoding, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Board statistics",
+            description = "Active requests per status, open requests per category, creates per minute and time-to-accept "
+                    + "quantiles, served from in-memory counters without querying the database. With near, also the "
+                    + "open requests in the grid cells around that point.")
+    public ResponseEntity<BoardStatsResponse> getStats(
+            @Parameter(description = "Count open requests around this coordinate pair, formatted as '<lat>,<lng>'")
+                    @RequestParam(name = "near", required = false)
+                    String near) {
+        HelpRequestSearchCriteria criteria = this.toCriteria(null, null, near, null, null);
+        return ResponseEntity.ok(statistics.snapshot(criteria.latitude(), criteria.longitude()));
+    }
+
+    @GetMapping(value = "/admin/requests/export", produces = NDJSON_VALUE)
+    @Operation(
+            summary = "Export help requests",
+            description = "Streams every help request matching the optional filters as newline-delimited JSON, oldest first. "
+                    + "The response is gzip-compressed when the client accepts it. Admin only.")
+    public ResponseEntity<StreamingResponseBody> exportRequests(
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the admin performing the export")
+                    @RequestHeader("X-User-Id")
+                    UUID actorId,
+            @Parameter(description = "Filter by current request status")
+                    @RequestParam(name = "status", required = false)
+                    RequestStatus status,
+            @Parameter(description = "Filter requests created by a specific elderly user")
+                    @RequestParam(name = "elderlyId", required = false)
+                    UUID elderlyId,
+            @Parameter(description = "Only export requests near this coordinate pair, formatted as '<lat>,<lng>'")
+                    @RequestParam(name = "near", required = false)
+                    String near,
+            @Parameter(description = "Radius in kilometres to use with the near parameter")
+                    @RequestParam(name = "radiusKm", required = false)
+                    Double radiusKm,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        HelpRequestSearchCriteria criteria = this.toCriteria(status, elderlyId, near, radiusKm, null);
+        requestService.assertAdmin(actorId);
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(output -> exporter.export(criteria, output, gzip));
+    }
+
+    @PostMapping(value = "/admin/board/rebuild")
+    @Operation(
+            summary = "Rebuild the board read model",
+            description = "Recreates the board_items read model from the requests table, for after writes that bypassed "
+                    + "the service. Admin only.")
+    public ResponseEntity<BoardRebuildResponse> rebuildBoard(
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the admin requesting the rebuild")
+                    @RequestHeader("X-User-Id")
+                    UUID actorId) {
+        return ResponseEntity.ok(new BoardRebuildResponse(requestService.rebuildBoard(actorId)));
     }
 
     @GetMapping(value = "/requests/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get request details", description = "Fetches a single help request by its identifier.")
-    public ResponseEntity<HelpRequestResponse> getRequest(
-            @Parameter(description = "Identifier of the help request") @PathVariable("id") UUID id) {
-        HelpRequestResponse response = requestService.getRequest(id);
-        return ResponseEntity.ok(response);
+    @Operation(
+            summary = "Get request details",
+            description = "Fetches a single help request by its identifier. The response is gzip-compressed when the "
+                    + "client accepts it.")
+    @ApiResponse(
+            responseCode = "200",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = HelpRequestResponse.class)))
+    public ResponseEntity<byte[]> getRequest(
+            @Parameter(description = "Identifier of the help request") @PathVariable("id") UUID id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return this.json(SplicedJson.object(requestService.getRequestJson(id)), acceptEncoding, HttpHeaders.ACCEPT_ENCODING);
     }
 
     @PostMapping(value = "/requests/{id}/cancel")
@@ -157,16 +382,106 @@ public class HelpRequestController {
     }
 
     @GetMapping(value = "/stream/board", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "Stream board updates", description = "Subscribes to server-sent events for overall board activity.")
-    public SseEmitter streamBoard() {
-        return eventPublisher.registerBoardEmitter();
+    @Operation(
+            summary = "Stream board updates",
+            description = "Subscribes to server-sent events for overall board activity. With format=cbor each data line "
+                    + "is the base64 compact encoding of the event's requests instead of JSON.")
+    public SseEmitter streamBoard(
+            @Parameter(description = "Event data encoding, json or cbor", example = "json")
+                    @RequestParam(name = "format", required = false)
+                    String format) {
+        return eventPublisher.registerBoardEmitter(StreamFormat.parse(format));
     }
 
     @GetMapping(value = "/stream/requests/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "Stream request updates", description = "Subscribes to server-sent events for a specific help request.")
+    @Operation(
+            summary = "Stream request updates",
+            description = "Subscribes to server-sent events for a specific help request. Supports format=cbor like the "
+                    + "board stream.")
     public SseEmitter streamRequest(
-            @Parameter(description = "Identifier of the help request") @PathVariable("id") UUID id) {
-        return eventPublisher.registerRequestEmitter(id);
+            @Parameter(description = "Identifier of the help request") @PathVariable("id") UUID id,
+            @Parameter(description = "Event data encoding, json or cbor", example = "json")
+                    @RequestParam(name = "format", required = false)
+                    String format) {
+        return eventPublisher.registerRequestEmitter(id, StreamFormat.parse(format));
+    }
+
+    /** A {@link PagedResponse} spliced from cached request JSON, each item with its distance appended. */
+    private SplicedJson pageJson(Page<RequestJson> pageResult) {
+        SplicedJson body = new SplicedJson().literal("{\"content\":[");
+        List<RequestJson> content = pageResult.getContent();
+        for (int i = 0; i < content.size(); i++) {
+            RequestJson item = content.get(i);
+            body.literal(i == 0 ? "" : ",").fragment(item.fragment());
+            body.literal(item.distanceKm() == null ? "}" : ",\"distanceKm\":" + item.distanceKm() + "}");
+        }
+        return body.literal("],\"page\":" + pageResult.getNumber()
+                + ",\"size\":" + pageResult.getSize()
+                + ",\"totalElements\":" + pageResult.getTotalElements()
+                + ",\"totalPages\":" + pageResult.getTotalPages() + "}");
+    }
+
+    /** Serialized JSON, gzip-compressed from the pre-compressed fragments when the client accepts it. */
+    private ResponseEntity<byte[]> json(SplicedJson body, String acceptEncoding, String vary) {
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, vary);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body.toByteArray(gzip));
+    }
+
+    private ResponseEntity<byte[]> cbor(byte[] body, String acceptEncoding) {
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.VARY, NEGOTIATED_VARY);
+        if (!gzip) {
+            return response.body(body);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(compressed.toByteArray());
+    }
+
+    /**
+     * Whether the client asked for CBOR over JSON: an explicit application/cbor that ranks higher than any explicit
+     * application/json. Wildcards alone and a missing header keep the JSON default.
+     */
+    private boolean prefersCbor(String accept) {
+        if (!StringUtils.hasText(accept) || !accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return false;
+        }
+        double cbor = 0;
+        double json = 0;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                cbor = Math.max(cbor, type.getQualityValue());
+            } else if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, type.getQualityValue());
+            }
+        }
+        return cbor > 0 && cbor > json;
+    }
+
+    private List<String> validate(BulkCreateHelpRequestsRequest.Item item) {
+        if (item == null || item.request() == null) {
+            return List.of("request: must not be null");
+        }
+        List<String> errors = new ArrayList<>();
+        if (item.elderlyId() == null) {
+            errors.add("elderlyId: must not be null");
+        }
+        for (ConstraintViolation<CreateHelpRequestRequest> violation : validator.validate(item.request())) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
     }
 
     private CreateHelpRequestCommand toCommand(UUID elderlyId, CreateHelpRequestRequest requestBody) {
@@ -183,10 +498,34 @@ public class HelpRequestController {
                 requestBody.locationLat(),
                 requestBody.locationLng(),
                 requestBody.address(),
-                photos);
+                photos,
+                requestBody.region());
+    }
+
+    private HelpRequestSearchCriteria toCriteria(
+            RequestStatus status, UUID elderlyId, String near, Double radiusKm, String text) {
+        Double latitude = null;
+        Double longitude = null;
+        if (StringUtils.hasText(near)) {
+            String[] parts = near.split(",");
+            if (parts.length != 2) {
+                throw new BusinessRuleException("near parameter must be formatted as '<lat>,<lng>'");
+            }
+            try {
+                latitude = Double.parseDouble(parts[0]);
+                longitude = Double.parseDouble(parts[1]);
+            } catch (NumberFormatException ex) {
+                throw new BusinessRuleException("near parameter must contain valid decimal coordinates");
+            }
+        }
+        return new HelpRequestSearchCriteria(status, elderlyId, latitude, longitude, radiusKm, text);
     }
 
-    private Sort toSort(String sort) {
+    /** Relevance is the text engine's own order, so it maps to an unsorted page; without text it means newest first. */
+    private Sort toSort(String sort, boolean textSearch) {
+        if (!StringUtils.hasText(sort) || sort.startsWith(RELEVANCE_SORT)) {
+            return textSearch ? Sort.unsorted() : Sort.by(Sort.Direction.DESC, "createdAt");
+        }
         String[] tokens = sort.split(",");
         String property = tokens[0];
         Sort.Direction direction = tokens.length > 1 ? Sort.Direction.fromString(tokens[1]) : Sort.Direction.ASC;
@@ -198,6 +537,7 @@ public class HelpRequestController {
             case "createdAt" -> "createdAt";
             case "updatedAt" -> "updatedAt";
             case "status" -> "status";
+            case HelpRequestService.DISTANCE_SORT -> HelpRequestService.DISTANCE_SORT;
             default -> "createdAt";
         };
     }
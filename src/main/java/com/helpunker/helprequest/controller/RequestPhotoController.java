@@ -0,0 +1,115 @@
+package com.helpunker.helprequest.controller;
+
+import com.helpunker.common.exception.ResourceNotFoundException;
+import com.helpunker.common.storage.BlobResponder;
+import com.helpunker.common.storage.BlobStore;
+import com.helpunker.common.storage.StoredBlob;
+import com.helpunker.helprequest.dto.response.RequestPhotoResponse;
+import com.helpunker.helprequest.service.PhotoFormat;
+import com.helpunker.helprequest.service.PhotoPaths;
+import com.helpunker.helprequest.service.RequestPhotoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping
+public class RequestPhotoController {
+
+    private final RequestPhotoService photoService;
+    private final BlobStore store;
+    private final BlobResponder blobResponder;
+
+    public RequestPhotoController(RequestPhotoService photoService, BlobStore store, BlobResponder blobResponder) {
+        this.photoService = photoService;
+        this.store = store;
+        this.blobResponder = blobResponder;
+    }
+
+    @PostMapping(
+            value = "/requests/{id}/photos",
+            consumes = {
+                MediaType.IMAGE_JPEG_VALUE,
+                MediaType.IMAGE_PNG_VALUE,
+                MediaType.IMAGE_GIF_VALUE,
+                MediaType.APPLICATION_OCTET_STREAM_VALUE
+            })
+    @Operation(
+            summary = "Upload a request photo",
+            description = "Adds a photo to the request from the raw image body, which is streamed straight to storage. "
+                    + "The format is detected from the content; a thumbnail is generated in the background. Owner only.")
+    public ResponseEntity<RequestPhotoResponse> uploadPhoto(
+            @PathVariable("id") UUID requestId,
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the elderly user who owns the request")
+                    @RequestHeader("X-User-Id")
+                    UUID uploaderId,
+            HttpServletRequest request)
+            throws IOException {
+        return this.created(photoService.upload(requestId, uploaderId, request.getInputStream()));
+    }
+
+    @PostMapping(value = "/requests/{id}/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Upload a request photo as a form",
+            description = "Same as the raw upload, with the image in the multipart part named 'file'. Owner only.")
+    public ResponseEntity<RequestPhotoResponse> uploadPhotoForm(
+            @PathVariable("id") UUID requestId,
+            @Parameter(
+                            in = ParameterIn.HEADER,
+                            name = "X-User-Id",
+                            required = true,
+                            description = "Identifier of the elderly user who owns the request")
+                    @RequestHeader("X-User-Id")
+                    UUID uploaderId,
+            @RequestPart("file") MultipartFile file)
+            throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return this.created(photoService.upload(requestId, uploaderId, content));
+        }
+    }
+
+    @RequestMapping(value = "/photos/{name:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    @Operation(
+            summary = "Get an uploaded photo",
+            description = "Serves an uploaded photo or thumbnail with long-lived caching headers, conditional requests "
+                    + "and single byte ranges.")
+    public void getPhoto(@PathVariable("name") String name, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        PhotoFormat format = PhotoPaths.formatOf(name);
+        StoredBlob blob = format == null ? null : store.find(PhotoPaths.key(name)).orElse(null);
+        if (blob == null) {
+            throw new ResourceNotFoundException("Photo not found: " + name);
+        }
+        blobResponder.send(blob, format.contentType(), "\"" + name + "\"", request, response);
+    }
+
+    private ResponseEntity<RequestPhotoResponse> created(RequestPhotoResponse photo) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(photo.url())
+                .build()
+                .toUri();
+        return ResponseEntity.created(location).body(photo);
+    }
+}
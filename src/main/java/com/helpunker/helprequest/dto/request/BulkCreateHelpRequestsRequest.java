@@ -0,0 +1,16 @@
+package com.helpunker.helprequest.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A batch of requests submitted on behalf of several elderly users. Items are validated one by one so that an invalid
+ * item is reported in the response instead of rejecting the whole batch.
+ */
+public record BulkCreateHelpRequestsRequest(@NotEmpty @Size(max = 1000) List<Item> items) {
+
+    public record Item(UUID elderlyId, CreateHelpRequestRequest request) {
+    }
+}
@@ -19,7 +19,8 @@ public record CreateHelpRequestRequest(
                 @DecimalMax(value = "180.0", message = "Longitude must be <= 180")
                 BigDecimal locationLng,
         @Size(max = 255) String address,
-        @Valid List<PhotoPayload> photos) {
+        @Valid List<PhotoPayload> photos,
+        @Size(max = 64) String region) {
 
     public record PhotoPayload(@NotBlank String url, @Size(max = 100) String contentType) {
     }
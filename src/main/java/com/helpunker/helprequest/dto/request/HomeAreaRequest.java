@@ -0,0 +1,19 @@
+package com.helpunker.helprequest.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+public record HomeAreaRequest(
+        @NotNull
+                @DecimalMin(value = "-90.0", message = "Latitude must be >= -90")
+                @DecimalMax(value = "90.0", message = "Latitude must be <= 90")
+                BigDecimal locationLat,
+        @NotNull
+                @DecimalMin(value = "-180.0", message = "Longitude must be >= -180")
+                @DecimalMax(value = "180.0", message = "Longitude must be <= 180")
+                BigDecimal locationLng,
+        @NotNull @Positive Double radiusKm) {
+}
@@ -0,0 +1,4 @@
+package com.helpunker.helprequest.dto.response;
+
+public record BoardRebuildResponse(int items) {
+}
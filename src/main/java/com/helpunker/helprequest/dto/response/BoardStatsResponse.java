@@ -0,0 +1,18 @@
+package com.helpunker.helprequest.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.helpunker.helprequest.entity.RequestStatus;
+import java.time.Instant;
+import java.util.Map;
+
+public record BoardStatsResponse(
+        Map<RequestStatus, Long> activeByStatus,
+        Map<String, Long> openByCategory,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long openNearby,
+        TimeToAccept timeToAccept,
+        Map<String, Double> createsPerMinute,
+        Instant reconciledAt) {
+
+    public record TimeToAccept(long samples, Long medianSeconds, Long p90Seconds) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.helpunker.helprequest.dto.response;
+
+import java.util.List;
+
+public record BulkCreateHelpRequestsResponse(int created, int rejected, List<ItemResult> items) {
+
+    /** Outcome for the item at {@code index} of the submitted batch: the created request, or why it was rejected. */
+    public record ItemResult(int index, HelpRequestResponse request, List<String> errors) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.helpunker.helprequest.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.helpunker.helprequest.entity.RequestStatus;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -18,5 +19,15 @@ public record HelpRequestResponse(
         UUID elderlyId,
         OffsetDateTime createdAt,
         OffsetDateTime updatedAt,
-        List<RequestPhotoResponse> photos) {
+        List<RequestPhotoResponse> photos,
+        @JsonInclude(JsonInclude.Include.NON_NULL) UUID duplicateOf,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY) List<String> moderationFlags,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double distanceKm) {
+
+    /** Copy carrying the distance from the search origin; only set for location searches. */
+    public HelpRequestResponse withDistanceKm(Double distanceKm) {
+        return new HelpRequestResponse(
+                id, title, details, status, category, locationLat, locationLng, address, elderlyId, createdAt,
+                updatedAt, photos, duplicateOf, moderationFlags, distanceKm);
+    }
 }
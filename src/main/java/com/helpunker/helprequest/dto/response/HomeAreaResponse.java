@@ -0,0 +1,7 @@
+package com.helpunker.helprequest.dto.response;
+
+import java.math.BigDecimal;
+
+/** A volunteer's registered home area, with the coordinates as stored (microdegree precision). */
+public record HomeAreaResponse(BigDecimal locationLat, BigDecimal locationLng, double radiusKm) {
+}
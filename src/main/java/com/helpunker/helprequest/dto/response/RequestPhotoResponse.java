@@ -1,6 +1,8 @@
 package com.helpunker.helprequest.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.UUID;
 
-public record RequestPhotoResponse(UUID id, String url, String contentType) {
+public record RequestPhotoResponse(
+        UUID id, String url, String contentType, @JsonInclude(JsonInclude.Include.NON_NULL) String thumbnailUrl) {
 }
@@ -0,0 +1,76 @@
+package com.helpunker.helprequest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+/** A finalized request moved out of {@code requests} by the archival job. Read-only. */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "requests_archive")
+public class ArchivedHelpRequest {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "elderly_id", nullable = false)
+    private UUID elderlyId;
+
+    @Column(nullable = false, length = 160)
+    private String title;
+
+    @Column(nullable = false)
+    private String details;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RequestStatus status;
+
+    private String category;
+
+    @Column(name = "location_lat", precision = 9, scale = 6)
+    private BigDecimal locationLat;
+
+    @Column(name = "location_lng", precision = 9, scale = 6)
+    private BigDecimal locationLng;
+
+    private String address;
+
+    @Column(name = "duplicate_of")
+    private UUID duplicateOf;
+
+    @Column(name = "moderation_flags")
+    private String moderationFlags;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    private long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private OffsetDateTime archivedAt;
+
+    @BatchSize(size = 100)
+    @OneToMany
+    @JoinColumn(name = "request_id", insertable = false, updatable = false)
+    private List<ArchivedRequestPhoto> photos = new ArrayList<>();
+}
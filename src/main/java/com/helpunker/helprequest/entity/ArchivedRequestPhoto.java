@@ -0,0 +1,40 @@
+package com.helpunker.helprequest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "request_photos_archive")
+public class ArchivedRequestPhoto {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "request_id", nullable = false)
+    private UUID requestId;
+
+    @Column(name = "request_created_at", nullable = false)
+    private OffsetDateTime requestCreatedAt;
+
+    @Column(nullable = false, length = 512)
+    private String url;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "thumbnail_url", length = 512)
+    private String thumbnailUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,64 @@
+package com.helpunker.helprequest.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Row of the board read model: one per OPEN or ASSIGNED request, with the fields the board filters, sorts and shows.
+ * Written only with SQL copied from {@code requests} (see {@code BoardProjection}), so it is read-only here.
+ */
+@Getter
+@NoArgsConstructor
+@Immutable
+@Entity
+@Table(name = "board_items")
+public class BoardItem {
+
+    @Id
+    @Column(name = "request_id")
+    private UUID id;
+
+    @Column(name = "elderly_id", nullable = false)
+    private UUID elderlyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RequestStatus status;
+
+    @Column(nullable = false, length = 160)
+    private String title;
+
+    private String category;
+
+    @Column(name = "lat_micro")
+    private Integer latMicro;
+
+    @Column(name = "lng_micro")
+    private Integer lngMicro;
+
+    @Column(name = "cell_key")
+    private Long cellKey;
+
+    /** First photo thumbnail of the request, once one has been generated. */
+    @Column(name = "thumbnail_url", length = 512)
+    private String thumbnailUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    /** The request's version when the row was written, so it can be matched against cached JSON. */
+    @Column(nullable = false)
+    private long version;
+}
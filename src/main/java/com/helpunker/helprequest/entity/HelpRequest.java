@@ -1,5 +1,6 @@
 package com.helpunker.helprequest.entity;
 
+import com.helpunker.common.geo.GeoCell;
 import com.helpunker.user.User;
 
 import jakarta.persistence.CascadeType;
@@ -12,6 +13,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
@@ -24,6 +27,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 @Getter
 @Setter
@@ -61,6 +65,24 @@ public class HelpRequest {
 
     private String address;
 
+    /** Microdegree copies of the coordinates and their {@link GeoCell} key, derived on write for indexed geo search. */
+    @Column(name = "lat_micro")
+    private Integer latMicro;
+
+    @Column(name = "lng_micro")
+    private Integer lngMicro;
+
+    @Column(name = "cell_key")
+    private Long cellKey;
+
+    /** Open request by the same user that this one looks like a repeat of, when detected on create. */
+    @Column(name = "duplicate_of", updatable = false)
+    private UUID duplicateOf;
+
+    /** Comma-separated ids of the moderation rules that flagged this request, inline or by a deep check. */
+    @Column(name = "moderation_flags")
+    private String moderationFlags;
+
     @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -71,9 +93,24 @@ public class HelpRequest {
     private long version;
 
     @Builder.Default
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "request", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RequestPhoto> photos = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void updateGeoColumns() {
+        if (locationLat == null || locationLng == null) {
+            latMicro = null;
+            lngMicro = null;
+            cellKey = null;
+        } else {
+            latMicro = GeoCell.toMicro(locationLat);
+            lngMicro = GeoCell.toMicro(locationLng);
+            cellKey = GeoCell.key(latMicro, lngMicro);
+        }
+    }
+
     public void addPhoto(RequestPhoto photo) {
         photos.add(photo);
         photo.setRequest(this);
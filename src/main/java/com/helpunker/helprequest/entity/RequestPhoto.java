@@ -37,6 +37,14 @@ public class RequestPhoto {
     @Column(name = "content_type", length = 100)
     private String contentType;
 
+    /** Set for photos uploaded to the blob store; client-supplied URLs have no size. */
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    /** Set by the thumbnailer once the thumbnail of an uploaded photo is stored. */
+    @Column(name = "thumbnail_url", length = 512)
+    private String thumbnailUrl;
+
     @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private OffsetDateTime createdAt;
 }
@@ -0,0 +1,139 @@
+package com.helpunker.helprequest.feed;
+
+import java.util.UUID;
+
+/**
+ * Bounded newest-first list of request ids and coordinates in primitive arrays: a ring of {@code long} id halves and
+ * {@code int} microdegree pairs, 24 bytes per entry. Starts small and doubles up to the capacity, so feeds of quiet
+ * areas stay small; once full, adding at the front drops the oldest entry. Not thread-safe.
+ */
+final class FeedBuffer {
+
+    private static final int INITIAL_LENGTH = 16;
+
+    private final int capacity;
+    private long[] ids;
+    private int[] coordinates;
+    private int head;
+    private int size;
+
+    FeedBuffer(int capacity) {
+        this.capacity = capacity;
+        int length = Math.min(capacity, INITIAL_LENGTH);
+        this.ids = new long[2 * length];
+        this.coordinates = new int[2 * length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    long bytes() {
+        return 8L * ids.length + 4L * coordinates.length;
+    }
+
+    UUID id(int index) {
+        int slot = this.slot(index);
+        return new UUID(ids[2 * slot], ids[2 * slot + 1]);
+    }
+
+    int latMicro(int index) {
+        return coordinates[2 * this.slot(index)];
+    }
+
+    int lngMicro(int index) {
+        return coordinates[2 * this.slot(index) + 1];
+    }
+
+    /** Adds the newest entry; returns how many bytes the buffer grew by. */
+    long addFirst(UUID id, int latMicro, int lngMicro) {
+        long grown = this.ensureRoom();
+        if (size == capacity) {
+            size--;
+        }
+        head = (head - 1 + this.length()) % this.length();
+        this.set(head, id, latMicro, lngMicro);
+        size++;
+        return grown;
+    }
+
+    /** Adds an entry older than all present, unless the buffer is full; returns how many bytes it grew by. */
+    long addLast(UUID id, int latMicro, int lngMicro) {
+        if (size == capacity) {
+            return 0;
+        }
+        long grown = this.ensureRoom();
+        this.set(this.slot(size), id, latMicro, lngMicro);
+        size++;
+        return grown;
+    }
+
+    int indexOf(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        for (int i = 0; i < size; i++) {
+            int slot = this.slot(i);
+            if (ids[2 * slot] == msb && ids[2 * slot + 1] == lsb) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    boolean remove(UUID id) {
+        int index = this.indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        for (int i = index; i < size - 1; i++) {
+            int to = this.slot(i);
+            int from = this.slot(i + 1);
+            ids[2 * to] = ids[2 * from];
+            ids[2 * to + 1] = ids[2 * from + 1];
+            coordinates[2 * to] = coordinates[2 * from];
+            coordinates[2 * to + 1] = coordinates[2 * from + 1];
+        }
+        size--;
+        return true;
+    }
+
+    private long ensureRoom() {
+        if (size < this.length() || this.length() == capacity) {
+            return 0;
+        }
+        long before = this.bytes();
+        int length = Math.min(capacity, 2 * this.length());
+        long[] grownIds = new long[2 * length];
+        int[] grownCoordinates = new int[2 * length];
+        for (int i = 0; i < size; i++) {
+            int slot = this.slot(i);
+            grownIds[2 * i] = ids[2 * slot];
+            grownIds[2 * i + 1] = ids[2 * slot + 1];
+            grownCoordinates[2 * i] = coordinates[2 * slot];
+            grownCoordinates[2 * i + 1] = coordinates[2 * slot + 1];
+        }
+        ids = grownIds;
+        coordinates = grownCoordinates;
+        head = 0;
+        return this.bytes() - before;
+    }
+
+    private void set(int slot, UUID id, int latMicro, int lngMicro) {
+        ids[2 * slot] = id.getMostSignificantBits();
+        ids[2 * slot + 1] = id.getLeastSignificantBits();
+        coordinates[2 * slot] = latMicro;
+        coordinates[2 * slot + 1] = lngMicro;
+    }
+
+    private int slot(int index) {
+        return (head + index) % this.length();
+    }
+
+    private int length() {
+        return coordinates.length / 2;
+    }
+}
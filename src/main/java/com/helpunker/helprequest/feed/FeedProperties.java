@@ -0,0 +1,37 @@
+package com.helpunker.helprequest.feed;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+
+    /** Requests kept per volunteer feed, newest first; pages beyond it are not served. */
+    private int capacity = 200;
+
+    /** Largest home area radius a volunteer can register. */
+    private double maxRadiusKm = 25.0d;
+
+    /** Grid level of the cells volunteers are indexed by; 12 gives cells of about 10 x 5 km. */
+    private int cellLevel = 12;
+
+    /**
+     * Push feeds per cell. A create visits at most this many feeds; volunteers registering beyond it in a dense cell get
+     * feeds that search on every read instead.
+     */
+    private int fanOutLimit = 2000;
+
+    /** Upper bound on the memory held by feed buffers; the least recently read feeds go first. */
+    private DataSize maxMemory = DataSize.ofMegabytes(64);
+
+    /** Feeds not read for this long are dropped and rebuilt on the next read. */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /** Feeds are rebuilt from the database after this long, which picks up writes made by other instances. */
+    private Duration rebuildAfter = Duration.ofMinutes(5);
+}
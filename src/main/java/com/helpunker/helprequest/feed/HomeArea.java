@@ -0,0 +1,17 @@
+package com.helpunker.helprequest.feed;
+
+/** Where a volunteer wants to help: a circle around a point, in microdegrees and metres. */
+public record HomeArea(int latMicro, int lngMicro, int radiusMetres) {
+
+    public double latitude() {
+        return latMicro / 1_000_000d;
+    }
+
+    public double longitude() {
+        return lngMicro / 1_000_000d;
+    }
+
+    public double radiusKm() {
+        return radiusMetres / 1000d;
+    }
+}
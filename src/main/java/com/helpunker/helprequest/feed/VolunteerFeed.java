@@ -0,0 +1,133 @@
+package com.helpunker.helprequest.feed;
+
+import com.helpunker.common.geo.GeoDistance;
+import com.helpunker.helprequest.repository.RequestLocation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One volunteer's feed. A push feed holds a {@link FeedBuffer} that is built once from a search and then maintained by
+ * {@link VolunteerFeeds}; a pull feed has none and is answered by searching. While a push feed is being built it
+ * already receives pushes, and removals are remembered so the search result cannot bring a cancelled request back.
+ */
+public final class VolunteerFeed {
+
+    private final UUID volunteerId;
+    private final HomeArea area;
+    private final GeoDistance origin;
+    private final double radiusSquared;
+    private final long[] cells;
+    private final FeedBuffer buffer;
+    private final long createdAt;
+    private volatile long lastReadAt;
+    private Set<UUID> removedWhileBuilding;
+
+    VolunteerFeed(UUID volunteerId, HomeArea area, long[] cells, int capacity, boolean push, long now) {
+        this.volunteerId = volunteerId;
+        this.area = area;
+        this.origin = new GeoDistance(area.latitude(), area.longitude());
+        double radiusMicro = GeoDistance.kmToMicro(area.radiusKm());
+        this.radiusSquared = radiusMicro * radiusMicro;
+        this.cells = cells;
+        this.buffer = push ? new FeedBuffer(capacity) : null;
+        this.removedWhileBuilding = push ? new HashSet<>() : null;
+        this.createdAt = now;
+        this.lastReadAt = now;
+    }
+
+    public UUID volunteerId() {
+        return volunteerId;
+    }
+
+    public HomeArea area() {
+        return area;
+    }
+
+    /** Whether reads must search: the feed is a pull feed, or a push feed whose build has not finished. */
+    public synchronized boolean searchesOnRead() {
+        return buffer == null || removedWhileBuilding != null;
+    }
+
+    public boolean isPush() {
+        return buffer != null;
+    }
+
+    public synchronized int size() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    /** Entries {@code offset} to {@code offset + limit} of a built push feed, newest first, with distances from home. */
+    public synchronized List<Entry> slice(int offset, int limit) {
+        int end = (int) Math.min(buffer.size(), (long) offset + limit);
+        List<Entry> entries = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            double km = origin.km(buffer.latMicro(i), buffer.lngMicro(i));
+            entries.add(new Entry(buffer.id(i), Math.round(km * 1000d) / 1000d));
+        }
+        return entries;
+    }
+
+    long[] cells() {
+        return cells;
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    long lastReadAt() {
+        return lastReadAt;
+    }
+
+    void touch(long now) {
+        lastReadAt = now;
+    }
+
+    boolean covers(int latMicro, int lngMicro) {
+        return origin.squaredMicro(latMicro, lngMicro) <= radiusSquared;
+    }
+
+    synchronized long bytes() {
+        return buffer == null ? 0 : buffer.bytes();
+    }
+
+    synchronized long push(UUID requestId, int latMicro, int lngMicro) {
+        if (removedWhileBuilding != null && removedWhileBuilding.contains(requestId)) {
+            return 0;
+        }
+        return buffer.addFirst(requestId, latMicro, lngMicro);
+    }
+
+    synchronized boolean remove(UUID requestId) {
+        if (removedWhileBuilding != null) {
+            removedWhileBuilding.add(requestId);
+        }
+        return buffer.remove(requestId);
+    }
+
+    /**
+     * Completes the build with the search result behind anything pushed meanwhile; returns how many bytes the buffer
+     * grew by.
+     */
+    synchronized long fill(List<RequestLocation> newestFirst) {
+        long grown = 0;
+        for (RequestLocation location : newestFirst) {
+            if (buffer.isFull()) {
+                break;
+            }
+            if (location.latMicro() != null && location.lngMicro() != null
+                    && !removedWhileBuilding.contains(location.id()) && buffer.indexOf(location.id()) < 0) {
+                grown += buffer.addLast(location.id(), location.latMicro(), location.lngMicro());
+            }
+        }
+        removedWhileBuilding = null;
+        return grown;
+    }
+
+    /** A request in the feed and its distance from the volunteer's home, in kilometres. */
+    public record Entry(UUID id, double distanceKm) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.helpunker.helprequest.feed;
+
+import com.helpunker.common.exception.BusinessRuleException;
+import com.helpunker.common.exception.ResourceNotFoundException;
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.json.JsonFragment;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.service.HelpRequestSearchCriteria;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.helprequest.service.RequestJson;
+import com.helpunker.helprequest.service.RequestJsonCache;
+import com.helpunker.user.User;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Volunteer home areas and the feeds built from them, see {@link VolunteerFeeds}. A page of a built push feed is read
+ * from memory: the ids and distances from the feed and the JSON from the {@link RequestJsonCache}, so only requests
+ * missing from the cache are loaded. Requests found to have left OPEN meanwhile are dropped from the feed.
+ */
+@Service
+public class VolunteerFeedService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final UserRepository userRepository;
+    private final HelpRequestService requestService;
+    private final RequestJsonCache jsonCache;
+    private final VolunteerFeeds feeds;
+    private final FeedProperties properties;
+
+    public VolunteerFeedService(
+            UserRepository userRepository,
+            HelpRequestService requestService,
+            RequestJsonCache jsonCache,
+            VolunteerFeeds feeds,
+            FeedProperties properties) {
+        this.userRepository = userRepository;
+        this.requestService = requestService;
+        this.jsonCache = jsonCache;
+        this.feeds = feeds;
+        this.properties = properties;
+    }
+
+    /** Stores the volunteer's home area; their feed is rebuilt for it on the next read. */
+    @Transactional
+    public HomeArea registerHomeArea(UUID volunteerId, BigDecimal latitude, BigDecimal longitude, double radiusKm) {
+        if (radiusKm <= 0 || radiusKm > properties.getMaxRadiusKm()) {
+            throw new BusinessRuleException(
+                    "radiusKm must be greater than 0 and at most " + properties.getMaxRadiusKm());
+        }
+        User volunteer = this.volunteer(volunteerId);
+        HomeArea area = new HomeArea(
+                GeoCell.toMicro(latitude), GeoCell.toMicro(longitude), (int) Math.round(radiusKm * 1000d));
+        volunteer.setHomeLatMicro(area.latMicro());
+        volunteer.setHomeLngMicro(area.lngMicro());
+        volunteer.setHomeRadiusMetres(area.radiusMetres());
+        userRepository.save(volunteer);
+        feeds.remove(volunteerId);
+        return area;
+    }
+
+    /**
+     * A page of the volunteer's feed, newest first, with each request's distance from home. Builds the feed if it is
+     * not held; pull feeds and feeds still being built are answered by a search. Push feeds end at
+     * {@code app.feed.capacity} requests.
+     */
+    public Page<RequestJson> readFeed(UUID volunteerId, Pageable pageable) {
+        VolunteerFeed feed = feeds.get(volunteerId);
+        if (feed == null) {
+            feed = feeds.activate(volunteerId, this.homeArea(volunteerId));
+            if (feed.isPush()) {
+                HomeArea area = feed.area();
+                feeds.fill(feed, requestService.newestOpenNear(
+                        area.latitude(), area.longitude(), area.radiusKm(), properties.getCapacity()));
+            }
+        }
+        if (feed.searchesOnRead()) {
+            HomeArea area = feed.area();
+            return requestService.searchRequestJson(
+                    new HelpRequestSearchCriteria(
+                            RequestStatus.OPEN, null, area.latitude(), area.longitude(), area.radiusKm(), null),
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST));
+        }
+
+        List<VolunteerFeed.Entry> entries = feed.slice((int) Math.min(Integer.MAX_VALUE, pageable.getOffset()),
+                pageable.getPageSize());
+        JsonFragment[] fragments = new JsonFragment[entries.size()];
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            fragments[i] = jsonCache.latest(entries.get(i).id());
+            if (fragments[i] == null) {
+                missing.add(entries.get(i).id());
+            }
+        }
+        Map<UUID, JsonFragment> loaded = missing.isEmpty() ? Map.of() : requestService.openRequestJson(missing);
+        List<RequestJson> content = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            VolunteerFeed.Entry entry = entries.get(i);
+            JsonFragment fragment = fragments[i] != null ? fragments[i] : loaded.get(entry.id());
+            if (fragment == null) {
+                feed.remove(entry.id());
+            } else {
+                content.add(new RequestJson(fragment, entry.distanceKm()));
+            }
+        }
+        return new PageImpl<>(content, pageable, feed.size());
+    }
+
+    private HomeArea homeArea(UUID volunteerId) {
+        User volunteer = this.volunteer(volunteerId);
+        if (volunteer.getHomeLatMicro() == null || volunteer.getHomeLngMicro() == null
+                || volunteer.getHomeRadiusMetres() == null) {
+            throw new BusinessRuleException("Register a home area before reading the feed");
+        }
+        return new HomeArea(volunteer.getHomeLatMicro(), volunteer.getHomeLngMicro(), volunteer.getHomeRadiusMetres());
+    }
+
+    private User volunteer(UUID volunteerId) {
+        User user = userRepository
+                .findById(volunteerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + volunteerId));
+        if (user.getRole() != UserRole.VOLUNTEER) {
+            throw new BusinessRuleException("Only volunteers have a feed");
+        }
+        return user;
+    }
+}
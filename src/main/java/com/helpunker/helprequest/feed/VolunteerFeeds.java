@@ -0,0 +1,275 @@
+package com.helpunker.helprequest.feed;
+
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.geo.GeoDistance;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.repository.RequestLocation;
+import com.helpunker.helprequest.service.HelpRequestLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Precomputed boards of volunteers: the OPEN requests in each volunteer's home area, newest first, kept in memory and
+ * updated on write (fan-out-on-write), so reading a page is a lookup instead of a search.
+ *
+ * <p>A feed is built by the first read after registration, eviction or a restart. From then on, once their transaction
+ * commits, requests this instance creates in the area are pushed to its front and cancelled ones are removed. Feeds are
+ * indexed by the grid cells ({@code app.feed.cell-level}) their area touches, so a write only visits the feeds of its
+ * own cell, and a cell holds at most {@code app.feed.fan-out-limit} push feeds, which bounds the cost of a write.
+ * Volunteers beyond that in a dense cell get pull feeds that search on every read (fan-out-on-read).
+ *
+ * <p>Feeds unread for {@code app.feed.idle-timeout} are dropped, and the least recently read go first when the buffers
+ * outgrow {@code app.feed.max-memory}. Writes by other instances only reach a feed when it is rebuilt, at the latest
+ * {@code app.feed.rebuild-after} after it was built.
+ */
+@Component
+public class VolunteerFeeds {
+
+    /** Rough size of a feed apart from its buffer: the object, its cell keys and its map and index entries. */
+    private static final long FEED_OVERHEAD = 256;
+    private static final VolunteerFeed[] NONE = new VolunteerFeed[0];
+
+    private final FeedProperties properties;
+    private final int cellLevel;
+    private final Map<UUID, VolunteerFeed> feeds = new ConcurrentHashMap<>();
+    private final Map<Long, VolunteerFeed[]> pushFeedsByCell = new ConcurrentHashMap<>();
+    private final Object cellLock = new Object();
+    private final AtomicLong bytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Counter pushes;
+    private final Counter idleEvictions;
+    private final Counter memoryEvictions;
+
+    public VolunteerFeeds(FeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cellLevel = Math.max(1, Math.min(GeoCell.BITS, properties.getCellLevel()));
+        Gauge.builder("helpunker.feed.volunteers", feeds, all -> all.values().stream().filter(VolunteerFeed::isPush).count())
+                .description("Volunteer feeds held in memory")
+                .tag("mode", "push")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.feed.volunteers", feeds, all -> all.values().stream().filter(f -> !f.isPush()).count())
+                .description("Volunteer feeds held in memory")
+                .tag("mode", "pull")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.feed.bytes", bytes, AtomicLong::get)
+                .description("Estimated bytes held by volunteer feeds")
+                .register(meterRegistry);
+        this.pushes = Counter.builder("helpunker.feed.pushes")
+                .description("Requests pushed into volunteer feeds on create")
+                .register(meterRegistry);
+        this.idleEvictions = evictionCounter("idle", meterRegistry);
+        this.memoryEvictions = evictionCounter("memory", meterRegistry);
+    }
+
+    /** The volunteer's feed if held and not due for a rebuild, marked as read; otherwise {@code null}. */
+    public VolunteerFeed get(UUID volunteerId) {
+        VolunteerFeed feed = feeds.get(volunteerId);
+        if (feed == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - feed.createdAt() >= properties.getRebuildAfter().toMillis()) {
+            this.drop(feed);
+            return null;
+        }
+        feed.touch(now);
+        return feed;
+    }
+
+    /**
+     * Installs a new feed for the area, replacing any current one. It is a push feed unless one of its cells already
+     * holds {@code fan-out-limit} of them; a push feed receives writes from now on and must be completed with
+     * {@link #fill}.
+     */
+    public VolunteerFeed activate(UUID volunteerId, HomeArea area) {
+        long[] cells = this.cellsOf(area);
+        VolunteerFeed feed;
+        VolunteerFeed previous;
+        synchronized (cellLock) {
+            boolean push = Arrays.stream(cells).allMatch(cell -> pushFeedsIn(cell).length < properties.getFanOutLimit());
+            feed = new VolunteerFeed(volunteerId, area, cells, properties.getCapacity(), push, System.currentTimeMillis());
+            previous = feeds.put(volunteerId, feed);
+            if (previous != null) {
+                this.unindex(previous);
+            }
+            if (push) {
+                for (long cell : cells) {
+                    VolunteerFeed[] current = pushFeedsIn(cell);
+                    VolunteerFeed[] updated = Arrays.copyOf(current, current.length + 1);
+                    updated[current.length] = feed;
+                    pushFeedsByCell.put(cell, updated);
+                }
+            }
+        }
+        bytes.addAndGet(FEED_OVERHEAD + feed.bytes() - (previous == null ? 0 : FEED_OVERHEAD + previous.bytes()));
+        return feed;
+    }
+
+    /** Completes a push feed's build with the newest open requests of its area. */
+    public void fill(VolunteerFeed feed, List<RequestLocation> newestFirst) {
+        long grown = feed.fill(newestFirst);
+        if (feeds.get(feed.volunteerId()) == feed) {
+            bytes.addAndGet(grown);
+            this.evictIfOverBudget();
+        }
+    }
+
+    /** Forgets the volunteer's feed, e.g. after they registered a new home area. */
+    public void remove(UUID volunteerId) {
+        VolunteerFeed feed = feeds.get(volunteerId);
+        if (feed != null) {
+            this.drop(feed);
+        }
+    }
+
+    /** Pushes created requests to the feeds covering them and removes cancelled ones. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLifecycle(HelpRequestLifecycleEvent event) {
+        for (HelpRequest request : event.requests()) {
+            if (request.getLocationLat() == null || request.getLocationLng() == null) {
+                continue;
+            }
+            int latMicro = GeoCell.toMicro(request.getLocationLat());
+            int lngMicro = GeoCell.toMicro(request.getLocationLng());
+            switch (event.type()) {
+                case CREATED -> this.push(new RequestLocation(request.getId(), latMicro, lngMicro));
+                case CANCELLED -> this.closed(request.getId(), latMicro, lngMicro);
+            }
+        }
+    }
+
+    private void closed(UUID id, int latMicro, int lngMicro) {
+        for (VolunteerFeed feed : pushFeedsIn(this.cellOf(latMicro, lngMicro))) {
+            if (feed.covers(latMicro, lngMicro)) {
+                feed.remove(id);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1M")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - properties.getIdleTimeout().toMillis();
+        for (VolunteerFeed feed : feeds.values()) {
+            if (feed.lastReadAt() < cutoff && this.drop(feed)) {
+                idleEvictions.increment();
+            }
+        }
+    }
+
+    private void push(RequestLocation location) {
+        int latMicro = location.latMicro();
+        int lngMicro = location.lngMicro();
+        long grown = 0;
+        for (VolunteerFeed feed : pushFeedsIn(this.cellOf(latMicro, lngMicro))) {
+            if (feed.covers(latMicro, lngMicro)) {
+                long feedGrown = feed.push(location.id(), latMicro, lngMicro);
+                if (feeds.get(feed.volunteerId()) == feed) {
+                    grown += feedGrown;
+                }
+                pushes.increment();
+            }
+        }
+        if (grown > 0) {
+            bytes.addAndGet(grown);
+            this.evictIfOverBudget();
+        }
+    }
+
+    private boolean drop(VolunteerFeed feed) {
+        synchronized (cellLock) {
+            if (!feeds.remove(feed.volunteerId(), feed)) {
+                return false;
+            }
+            this.unindex(feed);
+        }
+        bytes.addAndGet(-(FEED_OVERHEAD + feed.bytes()));
+        return true;
+    }
+
+    /** Removes a feed from the cell index; called with the cell lock held. */
+    private void unindex(VolunteerFeed feed) {
+        if (!feed.isPush()) {
+            return;
+        }
+        for (long cell : feed.cells()) {
+            VolunteerFeed[] current = pushFeedsIn(cell);
+            VolunteerFeed[] updated = Arrays.stream(current).filter(other -> other != feed).toArray(VolunteerFeed[]::new);
+            if (updated.length == 0) {
+                pushFeedsByCell.remove(cell);
+            } else {
+                pushFeedsByCell.put(cell, updated);
+            }
+        }
+    }
+
+    private void evictIfOverBudget() {
+        long maxBytes = properties.getMaxMemory().toBytes();
+        if (bytes.get() <= maxBytes || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = maxBytes - maxBytes / 10;
+            List<VolunteerFeed> byLastRead = new ArrayList<>(feeds.values());
+            byLastRead.sort(Comparator.comparingLong(VolunteerFeed::lastReadAt));
+            for (VolunteerFeed feed : byLastRead) {
+                if (bytes.get() <= target) {
+                    break;
+                }
+                if (this.drop(feed)) {
+                    memoryEvictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private VolunteerFeed[] pushFeedsIn(long cell) {
+        return pushFeedsByCell.getOrDefault(cell, NONE);
+    }
+
+    private long cellOf(int latMicro, int lngMicro) {
+        return GeoCell.cell(GeoCell.column(lngMicro, cellLevel), GeoCell.row(latMicro, cellLevel));
+    }
+
+    /** Cells of the grid that the bounding box of the area touches. */
+    private long[] cellsOf(HomeArea area) {
+        double radiusMicro = GeoDistance.kmToMicro(area.radiusKm());
+        double cosLat = new GeoDistance(area.latitude(), area.longitude()).cosLat();
+        long latDelta = (long) Math.ceil(radiusMicro);
+        long lngDelta = (long) Math.ceil(radiusMicro / cosLat);
+        int row0 = GeoCell.row(GeoCell.clampLat(area.latMicro() - latDelta), cellLevel);
+        int row1 = GeoCell.row(GeoCell.clampLat(area.latMicro() + latDelta), cellLevel);
+        int column0 = GeoCell.column(GeoCell.clampLng(area.lngMicro() - lngDelta), cellLevel);
+        int column1 = GeoCell.column(GeoCell.clampLng(area.lngMicro() + lngDelta), cellLevel);
+        long[] cells = new long[(row1 - row0 + 1) * (column1 - column0 + 1)];
+        int i = 0;
+        for (int column = column0; column <= column1; column++) {
+            for (int row = row0; row <= row1; row++) {
+                cells[i++] = GeoCell.cell(column, row);
+            }
+        }
+        return cells;
+    }
+
+    private static Counter evictionCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("helpunker.feed.evictions")
+                .description("Volunteer feeds dropped before their next read")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,319 @@
+package com.helpunker.helprequest.mapper;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.dto.response.RequestPhotoResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compact binary encoding of request pages and SSE payloads for {@code Accept: application/cbor} and
+ * {@code ?format=cbor}. The body is CBOR with positional arrays instead of named fields (schema {@value #VERSION}),
+ * inside a stringref namespace (tags 256/25), so a string or id repeated within one body, such as a category or the
+ * elderly id of a filtered page, is sent once and referenced after that.
+ *
+ * <pre>
+ * page  = [version, page, size, totalElements, totalPages, items]
+ * batch = [version, items]                       (SSE events)
+ * item  = [id, title, details, status, category, latDelta, lngDelta, address, elderlyId, createdDelta, updatedAfter,
+ *          photos, duplicateOf, moderationFlags, distanceM]
+ * photo = [id, url, contentType, thumbnailUrl]
+ * </pre>
+ *
+ * Ids are 16-byte strings. {@code status} is the position in {@link RequestStatus}, whose values are only ever
+ * appended. Coordinates are microdegrees, each the difference from the previous item that had coordinates (from 0 for
+ * the first); {@code createdDelta} is epoch milliseconds minus the previous item's, {@code updatedAfter} the
+ * milliseconds from creation to the last update and {@code distanceM} the distance in whole metres. Absent values and
+ * empty flag lists are CBOR null, as JSON omits them. Timestamps decode in UTC with millisecond precision.
+ */
+@Component
+public class CompactRequestCodec {
+
+    public static final int VERSION = 1;
+
+    private static final RequestStatus[] STATUSES = RequestStatus.values();
+
+    private final CBORFactory factory = CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build();
+
+    public byte[] encodePage(Page<HelpRequestResponse> page) {
+        return this.encode(generator -> {
+            generator.writeStartArray(null, 6);
+            generator.writeNumber(VERSION);
+            generator.writeNumber(page.getNumber());
+            generator.writeNumber(page.getSize());
+            generator.writeNumber(page.getTotalElements());
+            generator.writeNumber(page.getTotalPages());
+            this.writeItems(generator, page.getContent());
+            generator.writeEndArray();
+        });
+    }
+
+    public byte[] encodeItems(List<HelpRequestResponse> items) {
+        return this.encode(generator -> {
+            generator.writeStartArray(null, 2);
+            generator.writeNumber(VERSION);
+            this.writeItems(generator, items);
+            generator.writeEndArray();
+        });
+    }
+
+    public PagedResponse<HelpRequestResponse> decodePage(byte[] body) {
+        return this.decode(body, parser -> {
+            this.expect(parser, JsonToken.START_ARRAY);
+            this.readVersion(parser);
+            int page = this.readInt(parser);
+            int size = this.readInt(parser);
+            long totalElements = this.readLong(parser);
+            int totalPages = this.readInt(parser);
+            List<HelpRequestResponse> content = this.readItems(parser);
+            this.expect(parser, JsonToken.END_ARRAY);
+            return new PagedResponse<>(content, page, size, totalElements, totalPages);
+        });
+    }
+
+    public List<HelpRequestResponse> decodeItems(byte[] body) {
+        return this.decode(body, parser -> {
+            this.expect(parser, JsonToken.START_ARRAY);
+            this.readVersion(parser);
+            List<HelpRequestResponse> items = this.readItems(parser);
+            this.expect(parser, JsonToken.END_ARRAY);
+            return items;
+        });
+    }
+
+    private void writeItems(CBORGenerator generator, List<HelpRequestResponse> items) throws IOException {
+        generator.writeStartArray(null, items.size());
+        Deltas deltas = new Deltas();
+        for (HelpRequestResponse item : items) {
+            generator.writeStartArray(null, 15);
+            this.writeId(generator, item.id());
+            this.writeString(generator, item.title());
+            this.writeString(generator, item.details());
+            generator.writeNumber(item.status().ordinal());
+            this.writeString(generator, item.category());
+            if (item.locationLat() != null && item.locationLng() != null) {
+                int lat = GeoCell.toMicro(item.locationLat());
+                int lng = GeoCell.toMicro(item.locationLng());
+                generator.writeNumber(lat - deltas.lat);
+                generator.writeNumber(lng - deltas.lng);
+                deltas.lat = lat;
+                deltas.lng = lng;
+            } else {
+                generator.writeNull();
+                generator.writeNull();
+            }
+            this.writeString(generator, item.address());
+            this.writeId(generator, item.elderlyId());
+            if (item.createdAt() != null) {
+                long created = item.createdAt().toInstant().toEpochMilli();
+                generator.writeNumber(created - deltas.created);
+                deltas.created = created;
+                if (item.updatedAt() != null) {
+                    generator.writeNumber(item.updatedAt().toInstant().toEpochMilli() - created);
+                } else {
+                    generator.writeNull();
+                }
+            } else {
+                generator.writeNull();
+                generator.writeNull();
+            }
+            List<RequestPhotoResponse> photos = item.photos() == null ? List.of() : item.photos();
+            generator.writeStartArray(null, photos.size());
+            for (RequestPhotoResponse photo : photos) {
+                generator.writeStartArray(null, 4);
+                this.writeId(generator, photo.id());
+                this.writeString(generator, photo.url());
+                this.writeString(generator, photo.contentType());
+                this.writeString(generator, photo.thumbnailUrl());
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+            this.writeId(generator, item.duplicateOf());
+            if (item.moderationFlags() == null || item.moderationFlags().isEmpty()) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray(null, item.moderationFlags().size());
+                for (String flag : item.moderationFlags()) {
+                    generator.writeString(flag);
+                }
+                generator.writeEndArray();
+            }
+            if (item.distanceKm() != null) {
+                generator.writeNumber(Math.round(item.distanceKm() * 1000d));
+            } else {
+                generator.writeNull();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+    }
+
+    private List<HelpRequestResponse> readItems(CBORParser parser) throws IOException {
+        this.expect(parser, JsonToken.START_ARRAY);
+        List<HelpRequestResponse> items = new ArrayList<>();
+        Deltas deltas = new Deltas();
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            UUID id = this.readId(parser);
+            String title = this.readString(parser);
+            String details = this.readString(parser);
+            RequestStatus status = STATUSES[this.readInt(parser)];
+            String category = this.readString(parser);
+            Long latDelta = this.readNullableLong(parser);
+            Long lngDelta = this.readNullableLong(parser);
+            BigDecimal lat = null;
+            BigDecimal lng = null;
+            if (latDelta != null && lngDelta != null) {
+                deltas.lat += latDelta.intValue();
+                deltas.lng += lngDelta.intValue();
+                lat = BigDecimal.valueOf(deltas.lat, 6);
+                lng = BigDecimal.valueOf(deltas.lng, 6);
+            }
+            String address = this.readString(parser);
+            UUID elderlyId = this.readId(parser);
+            Long createdDelta = this.readNullableLong(parser);
+            Long updatedAfter = this.readNullableLong(parser);
+            OffsetDateTime createdAt = null;
+            OffsetDateTime updatedAt = null;
+            if (createdDelta != null) {
+                deltas.created += createdDelta;
+                createdAt = toDateTime(deltas.created);
+                updatedAt = updatedAfter == null ? null : toDateTime(deltas.created + updatedAfter);
+            }
+            this.expect(parser, JsonToken.START_ARRAY);
+            List<RequestPhotoResponse> photos = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                photos.add(new RequestPhotoResponse(
+                        this.readId(parser), this.readString(parser), this.readString(parser), this.readString(parser)));
+                this.expect(parser, JsonToken.END_ARRAY);
+            }
+            UUID duplicateOf = this.readId(parser);
+            List<String> flags = null;
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                flags = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                    flags.add(parser.getText());
+                }
+                flags = List.copyOf(flags);
+            }
+            Long distanceM = this.readNullableLong(parser);
+            this.expect(parser, JsonToken.END_ARRAY);
+            items.add(new HelpRequestResponse(
+                    id, title, details, status, category, lat, lng, address, elderlyId, createdAt, updatedAt,
+                    List.copyOf(photos), duplicateOf, flags, distanceM == null ? null : distanceM / 1000d));
+        }
+        return items;
+    }
+
+    private void writeId(CBORGenerator generator, UUID id) throws IOException {
+        if (id == null) {
+            generator.writeNull();
+            return;
+        }
+        byte[] bytes = ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+        generator.writeBinary(bytes);
+    }
+
+    private void writeString(CBORGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private UUID readId(CBORParser parser) throws IOException {
+        if (parser.nextToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(parser.getBinaryValue());
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    private String readString(CBORParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private int readInt(CBORParser parser) throws IOException {
+        this.expect(parser, JsonToken.VALUE_NUMBER_INT);
+        return parser.getIntValue();
+    }
+
+    private long readLong(CBORParser parser) throws IOException {
+        this.expect(parser, JsonToken.VALUE_NUMBER_INT);
+        return parser.getLongValue();
+    }
+
+    private Long readNullableLong(CBORParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+    }
+
+    private void readVersion(CBORParser parser) throws IOException {
+        int version = this.readInt(parser);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported compact encoding version " + version);
+        }
+    }
+
+    private void expect(CBORParser parser, JsonToken token) throws IOException {
+        JsonToken actual = parser.nextToken();
+        if (actual != token) {
+            throw new IllegalArgumentException("Malformed compact body: expected " + token + " but found " + actual);
+        }
+    }
+
+    private byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try (CBORGenerator generator = factory.createGenerator(out)) {
+            encoder.write(generator);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private <T> T decode(byte[] body, Decoder<T> decoder) {
+        try (CBORParser parser = factory.createParser(body)) {
+            return decoder.read(parser);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Malformed compact body", ex);
+        }
+    }
+
+    private static OffsetDateTime toDateTime(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC);
+    }
+
+    private static final class Deltas {
+        private int lat;
+        private int lng;
+        private long created;
+    }
+
+    private interface Encoder {
+        void write(CBORGenerator generator) throws IOException;
+    }
+
+    private interface Decoder<T> {
+        T read(CBORParser parser) throws IOException;
+    }
+}
@@ -2,6 +2,7 @@ package com.helpunker.helprequest.mapper;
 
 import com.helpunker.helprequest.dto.response.HelpRequestResponse;
 import com.helpunker.helprequest.dto.response.RequestPhotoResponse;
+import com.helpunker.helprequest.entity.ArchivedHelpRequest;
 import com.helpunker.helprequest.entity.HelpRequest;
 import com.helpunker.helprequest.entity.RequestPhoto;
 import java.util.List;
@@ -27,11 +28,37 @@ public class HelpRequestMapper {
                 request.getElderly().getId(),
                 request.getCreatedAt(),
                 request.getUpdatedAt(),
-                photos);
+                photos,
+                request.getDuplicateOf(),
+                request.getModerationFlags() == null ? List.of() : List.of(request.getModerationFlags().split(",")),
+                null);
     }
 
-    private RequestPhotoResponse toPhotoResponse(RequestPhoto photo) {
+    public HelpRequestResponse toResponse(ArchivedHelpRequest request) {
+        List<RequestPhotoResponse> photos = request.getPhotos().stream()
+                .map(photo -> new RequestPhotoResponse(
+                        photo.getId(), photo.getUrl(), photo.getContentType(), photo.getThumbnailUrl()))
+                .toList();
+        return new HelpRequestResponse(
+                request.getId(),
+                request.getTitle(),
+                request.getDetails(),
+                request.getStatus(),
+                request.getCategory(),
+                request.getLocationLat(),
+                request.getLocationLng(),
+                request.getAddress(),
+                request.getElderlyId(),
+                request.getCreatedAt(),
+                request.getUpdatedAt(),
+                photos,
+                request.getDuplicateOf(),
+                request.getModerationFlags() == null ? List.of() : List.of(request.getModerationFlags().split(",")),
+                null);
+    }
+
+    public RequestPhotoResponse toPhotoResponse(RequestPhoto photo) {
         UUID photoId = photo.getId();
-        return new RequestPhotoResponse(photoId, photo.getUrl(), photo.getContentType());
+        return new RequestPhotoResponse(photoId, photo.getUrl(), photo.getContentType(), photo.getThumbnailUrl());
     }
 }
@@ -0,0 +1,8 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.ArchivedHelpRequest;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedHelpRequestRepository extends JpaRepository<ArchivedHelpRequest, UUID> {
+}
@@ -0,0 +1,11 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.BoardItem;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BoardItemGeoOperations {
+
+    /** Like {@link HelpRequestGeoOperations#streamLocations}, over the board read model. */
+    Stream<RequestLocation> streamLocations(Specification<BoardItem> specification);
+}
@@ -0,0 +1,18 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.BoardItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
+
+class BoardItemGeoOperationsImpl implements BoardItemGeoOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<RequestLocation> streamLocations(Specification<BoardItem> specification) {
+        return HelpRequestGeoOperationsImpl.streamLocations(entityManager, BoardItem.class, specification);
+    }
+}
@@ -0,0 +1,63 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.BoardItem;
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface BoardItemRepository extends JpaRepository<BoardItem, UUID>,
+        JpaSpecificationExecutor<BoardItem>, BoardItemGeoOperations {
+
+    /** Copies the active requests, with their first generated thumbnail, from {@code requests} as committed so far. */
+    String COPY_ACTIVE = """
+            INSERT INTO board_items (request_id, elderly_id, status, title, category, lat_micro, lng_micro, cell_key,
+                                     thumbnail_url, created_at, updated_at, version)
+            SELECT r.id, r.elderly_id, r.status, r.title, r.category, r.lat_micro, r.lng_micro, r.cell_key,
+                   (SELECT p.thumbnail_url FROM request_photos p
+                    WHERE p.request_id = r.id AND p.thumbnail_url IS NOT NULL
+                    ORDER BY p.created_at, p.id
+                    FETCH FIRST 1 ROWS ONLY),
+                   r.created_at, r.updated_at, r.version
+            FROM requests r
+            WHERE r.status IN ('OPEN', 'ASSIGNED')""";
+
+    /** Flushes pending request writes first, so the copy sees the rows this transaction has just written. */
+    @Modifying(flushAutomatically = true)
+    @Query(value = COPY_ACTIVE + " AND r.id IN (:ids)", nativeQuery = true)
+    int copyActive(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM board_items WHERE request_id IN (:ids)", nativeQuery = true)
+    int deleteItems(@Param("ids") Collection<UUID> ids);
+
+    /** Rows another transaction added after the delete of a rebuild are kept rather than copied twice. */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value = COPY_ACTIVE + " AND NOT EXISTS (SELECT 1 FROM board_items b WHERE b.request_id = r.id)",
+            nativeQuery = true)
+    int copyAllActive();
+
+    @Modifying
+    @Query(value = "DELETE FROM board_items", nativeQuery = true)
+    int deleteAllItems();
+
+    /** Copies the request's current version, after a change that bumped it without leaving the board. */
+    @Modifying(flushAutomatically = true)
+    @Query(
+            value = "UPDATE board_items SET version = (SELECT r.version FROM requests r WHERE r.id = :id)"
+                    + " WHERE request_id = :id",
+            nativeQuery = true)
+    int copyVersion(@Param("id") UUID requestId);
+
+    @Transactional
+    @Modifying
+    @Query(
+            value = "UPDATE board_items SET thumbnail_url = :thumbnailUrl WHERE request_id = :id AND thumbnail_url IS NULL",
+            nativeQuery = true)
+    int setThumbnailIfAbsent(@Param("id") UUID requestId, @Param("thumbnailUrl") String thumbnailUrl);
+}
@@ -0,0 +1,20 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.BoardItem;
+import com.helpunker.helprequest.entity.RequestStatus;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class BoardItemSpecifications {
+
+    private BoardItemSpecifications() {
+    }
+
+    public static Specification<BoardItem> hasStatus(RequestStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<BoardItem> ownedBy(UUID elderlyId) {
+        return (root, query, cb) -> elderlyId == null ? null : cb.equal(root.get("elderlyId"), elderlyId);
+    }
+}
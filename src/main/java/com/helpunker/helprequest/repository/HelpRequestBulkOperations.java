@@ -0,0 +1,13 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import java.util.List;
+
+public interface HelpRequestBulkOperations {
+
+    /**
+     * Persists new requests (and their photos) without the per-entity merge {@code save} does for assigned ids, so
+     * Hibernate can send the inserts as JDBC batches. Flushes and clears the persistence context every batch.
+     */
+    void insertAll(List<HelpRequest> requests);
+}
@@ -0,0 +1,29 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+
+class HelpRequestBulkOperationsImpl implements HelpRequestBulkOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public void insertAll(List<HelpRequest> requests) {
+        for (int i = 0; i < requests.size(); i++) {
+            entityManager.persist(requests.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
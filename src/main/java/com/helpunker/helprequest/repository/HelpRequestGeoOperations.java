@@ -0,0 +1,14 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface HelpRequestGeoOperations {
+
+    /**
+     * Streams only the id and microdegree coordinates of the matching requests, without loading entities, so callers
+     * can rank a large candidate set in constant memory. Must be consumed (and closed) inside a transaction.
+     */
+    Stream<RequestLocation> streamLocations(Specification<HelpRequest> specification);
+}
@@ -0,0 +1,42 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+class HelpRequestGeoOperationsImpl implements HelpRequestGeoOperations {
+
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<RequestLocation> streamLocations(Specification<HelpRequest> specification) {
+        return streamLocations(entityManager, HelpRequest.class, specification);
+    }
+
+    /** Id and microdegree coordinates of the matching rows of an entity with {@code latMicro}/{@code lngMicro}. */
+    static <T> Stream<RequestLocation> streamLocations(
+            EntityManager entityManager, Class<T> entityType, Specification<T> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RequestLocation> query = cb.createQuery(RequestLocation.class);
+        Root<T> root = query.from(entityType);
+        query.select(cb.construct(RequestLocation.class, root.get("id"), root.get("latMicro"), root.get("lngMicro")));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -1,10 +1,35 @@
 package com.helpunker.helprequest.repository;
 
 import com.helpunker.helprequest.entity.HelpRequest;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface HelpRequestRepository extends JpaRepository<HelpRequest, UUID>,
-        JpaSpecificationExecutor<HelpRequest> {
+        JpaSpecificationExecutor<HelpRequest>, HelpRequestBulkOperations, HelpRequestGeoOperations {
+
+    @Query("select new com.helpunker.helprequest.repository.ModerationState(r.moderationFlags, r.version)"
+            + " from HelpRequest r where r.id = :id")
+    Optional<ModerationState> findModerationState(@Param("id") UUID id);
+
+    /**
+     * Sets the moderation flags and bumps {@code version}, so JSON cached for the old version is not served again,
+     * provided the request is still at {@code version}; returns 0 when a concurrent edit got there first.
+     */
+    @Transactional
+    @Modifying
+    @Query("update HelpRequest r set r.moderationFlags = :flags, r.version = r.version + 1"
+            + " where r.id = :id and r.version = :version")
+    int updateModerationFlags(@Param("id") UUID id, @Param("flags") String flags, @Param("version") long version);
+
+    /** Bumps {@code version} after a change to the request's photos, which are part of its JSON. */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update HelpRequest r set r.version = r.version + 1 where r.id = :id")
+    int incrementVersion(@Param("id") UUID id);
 }
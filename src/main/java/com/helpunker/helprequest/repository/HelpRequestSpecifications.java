@@ -1,13 +1,24 @@
 package com.helpunker.helprequest.repository;
 
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.geo.GeoDistance;
 import com.helpunker.helprequest.entity.HelpRequest;
 import com.helpunker.helprequest.entity.RequestStatus;
-import java.math.BigDecimal;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.domain.Specification;
 
 public final class HelpRequestSpecifications {
 
+    public static final double DEFAULT_RADIUS_KM = 3.0;
+
+    /** Upper bound on grid cells used to cover a search box; adjacent cells collapse into one key range. */
+    private static final int MAX_CELLS = 16;
+
     private HelpRequestSpecifications() {
     }
 
@@ -19,24 +30,57 @@ public final class HelpRequestSpecifications {
         return (root, query, cb) -> elderlyId == null ? null : cb.equal(root.get("elderly").get("id"), elderlyId);
     }
 
-    public static Specification<HelpRequest> nearLocation(Double lat, Double lng, Double radiusKm) {
+    /**
+     * Requests within {@code radiusKm} ({@value #DEFAULT_RADIUS_KM} km by default) of the point. The bounding box is
+     * turned into a few {@link GeoCell} key ranges, which the {@code (status, cell_key, created_at)} index scans
+     * directly; the candidates are then narrowed by the exact microdegree box and the {@link GeoDistance} radius check.
+     * Applies to any entity with {@code cellKey}, {@code latMicro} and {@code lngMicro}, such as the board read model.
+     */
+    public static <T> Specification<T> nearLocation(Double lat, Double lng, Double radiusKm) {
         if (lat == null || lng == null) {
             return null;
         }
-        double effectiveRadius = radiusKm == null || radiusKm <= 0 ? 3.0 : radiusKm;
-        double latDegree = effectiveRadius / 111.0d;
-        double cosLat = Math.cos(Math.toRadians(lat));
-        double lngDegree = effectiveRadius / (111.321d * Math.max(1.0e-6d, Math.abs(cosLat)));
-
-        BigDecimal latMin = BigDecimal.valueOf(lat - latDegree);
-        BigDecimal latMax = BigDecimal.valueOf(lat + latDegree);
-        BigDecimal lngMin = BigDecimal.valueOf(lng - lngDegree);
-        BigDecimal lngMax = BigDecimal.valueOf(lng + lngDegree);
-
-        return (root, query, cb) -> cb.and(
-                cb.isNotNull(root.get("locationLat")),
-                cb.isNotNull(root.get("locationLng")),
-                cb.between(root.get("locationLat"), latMin, latMax),
-                cb.between(root.get("locationLng"), lngMin, lngMax));
+        double effectiveRadius = radiusKm == null || radiusKm <= 0 ? DEFAULT_RADIUS_KM : radiusKm;
+        GeoDistance origin = new GeoDistance(lat, lng);
+        int latMicro = origin.latMicro();
+        int lngMicro = origin.lngMicro();
+        double cosLat = origin.cosLat();
+        double radiusMicro = GeoDistance.kmToMicro(effectiveRadius);
+        long latDelta = (long) Math.ceil(radiusMicro);
+        long lngDelta = (long) Math.ceil(radiusMicro / cosLat);
+
+        int latMin = GeoCell.clampLat(latMicro - latDelta);
+        int latMax = GeoCell.clampLat(latMicro + latDelta);
+        int lngMin = GeoCell.clampLng(lngMicro - lngDelta);
+        int lngMax = GeoCell.clampLng(lngMicro + lngDelta);
+        List<long[]> ranges = GeoCell.cover(latMin, latMax, lngMin, lngMax, MAX_CELLS);
+        double radiusMicroSquared = radiusMicro * radiusMicro;
+
+        return (root, query, cb) -> {
+            Path<Long> cellKey = root.get("cellKey");
+            Path<Integer> latPath = root.get("latMicro");
+            Path<Integer> lngPath = root.get("lngMicro");
+            Predicate[] cells = ranges.stream()
+                    .map(range -> cb.between(cellKey, range[0], range[1]))
+                    .toArray(Predicate[]::new);
+            // offsets are squared in double precision: as integers they overflow beyond ~46,341 microdegrees (5.15 km)
+            Expression<Double> dLat = cb.toDouble(cb.diff(latPath, latMicro));
+            Expression<Double> dLng = cb.prod(cb.toDouble(cb.diff(lngPath, lngMicro)), cosLat);
+            return cb.and(
+                    cb.or(cells),
+                    cb.between(latPath, latMin, latMax),
+                    cb.between(lngPath, lngMin, lngMax),
+                    cb.le(cb.sum(cb.prod(dLat, dLat), cb.prod(dLng, dLng)), radiusMicroSquared));
+        };
+    }
+
+    /** Keyset condition for rows ordered by {@code (createdAt, id)}: everything strictly after the given row. */
+    public static Specification<HelpRequest> after(OffsetDateTime createdAt, UUID id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id)));
     }
 }
@@ -0,0 +1,5 @@
+package com.helpunker.helprequest.repository;
+
+/** A request's moderation flags and the version they were read at. */
+public record ModerationState(String flags, long version) {
+}
@@ -0,0 +1,7 @@
+package com.helpunker.helprequest.repository;
+
+import java.util.UUID;
+
+/** An uploaded photo still waiting for its thumbnail. */
+public record PendingThumbnail(UUID id, UUID requestId, String url) {
+}
@@ -0,0 +1,6 @@
+package com.helpunker.helprequest.repository;
+
+import java.util.UUID;
+
+public record RequestLocation(UUID id, Integer latMicro, Integer lngMicro) {
+}
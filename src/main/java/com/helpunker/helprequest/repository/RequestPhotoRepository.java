@@ -0,0 +1,28 @@
+package com.helpunker.helprequest.repository;
+
+import com.helpunker.helprequest.entity.RequestPhoto;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RequestPhotoRepository extends JpaRepository<RequestPhoto, UUID> {
+
+    long countByRequestId(UUID requestId);
+
+    /** Uploaded photos created before {@code before} whose thumbnail has not been written, oldest first. */
+    @Query("select new com.helpunker.helprequest.repository.PendingThumbnail(p.id, p.request.id, p.url) from RequestPhoto p"
+            + " where p.sizeBytes is not null and p.thumbnailUrl is null and p.createdAt < :before"
+            + " order by p.createdAt")
+    List<PendingThumbnail> findPendingThumbnails(@Param("before") OffsetDateTime before, Pageable limit);
+
+    @Transactional
+    @Modifying
+    @Query("update RequestPhoto p set p.thumbnailUrl = :thumbnailUrl where p.id = :id")
+    int updateThumbnailUrl(@Param("id") UUID id, @Param("thumbnailUrl") String thumbnailUrl);
+}
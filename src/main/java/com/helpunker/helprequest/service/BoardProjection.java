@@ -0,0 +1,72 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.repository.BoardItemRepository;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains {@code board_items}, the read model board searches use instead of {@code requests}. Lifecycle changes
+ * are applied in the transaction that makes them, by copying the request rows it has written with SQL, so the
+ * database-generated timestamps and the new version come along and the model never shows a write that rolled back.
+ * Only OPEN and ASSIGNED requests have a row. {@link #rebuild} recreates the whole table from {@code requests}, for
+ * after writes that bypass the service (manual fixes, imports).
+ */
+@Component
+public class BoardProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardProjection.class);
+
+    /** Statuses listed on the board, and so kept in the read model. */
+    public static final Set<RequestStatus> ACTIVE = EnumSet.of(RequestStatus.OPEN, RequestStatus.ASSIGNED);
+
+    private final BoardItemRepository itemRepository;
+
+    public BoardProjection(BoardItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(List<HelpRequest> requests) {
+        itemRepository.copyActive(requests.stream().map(HelpRequest::getId).toList());
+    }
+
+    /** Replaces the request's row, or removes it once the request leaves the board. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(HelpRequest request) {
+        List<UUID> ids = List.of(request.getId());
+        itemRepository.deleteItems(ids);
+        if (ACTIVE.contains(request.getStatus())) {
+            itemRepository.copyActive(ids);
+        }
+    }
+
+    /** Follows a change that bumped the request's version without touching the columns copied here. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void versionChanged(UUID requestId) {
+        itemRepository.copyVersion(requestId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void thumbnailGenerated(UUID requestId, String thumbnailUrl) {
+        itemRepository.setThumbnailIfAbsent(requestId, thumbnailUrl);
+        itemRepository.copyVersion(requestId);
+    }
+
+    /** Empties the read model and copies every active request into it; returns the number of rows written. */
+    @Transactional
+    public int rebuild() {
+        int removed = itemRepository.deleteAllItems();
+        int copied = itemRepository.copyAllActive();
+        log.info("Rebuilt the board read model: {} rows removed, {} copied", removed, copied);
+        return copied;
+    }
+}
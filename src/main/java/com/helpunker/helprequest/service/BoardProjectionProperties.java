@@ -0,0 +1,17 @@
+package com.helpunker.helprequest.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.board")
+public class BoardProjectionProperties {
+
+    /**
+     * Serve searches for OPEN or ASSIGNED requests without text from {@code board_items}. The read model is maintained
+     * either way; turning this off sends every search to {@code requests}.
+     */
+    private boolean readModelEnabled = true;
+}
@@ -0,0 +1,15 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+
+/** Result of one command in a bulk create: exactly one of {@code created} and {@code error} is set. */
+public record BulkCreateOutcome(HelpRequestResponse created, String error) {
+
+    static BulkCreateOutcome created(HelpRequestResponse response) {
+        return new BulkCreateOutcome(response, null);
+    }
+
+    static BulkCreateOutcome rejected(String error) {
+        return new BulkCreateOutcome(null, error);
+    }
+}
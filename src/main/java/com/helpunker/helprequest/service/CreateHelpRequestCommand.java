@@ -12,7 +12,21 @@ public record CreateHelpRequestCommand(
         BigDecimal locationLat,
         BigDecimal locationLng,
         String address,
-        List<Photo> photos) {
+        List<Photo> photos,
+        String region) {
+
+    /** A command without an explicit region: the request goes to the shard of its location. */
+    public CreateHelpRequestCommand(
+            UUID elderlyId,
+            String title,
+            String details,
+            String category,
+            BigDecimal locationLat,
+            BigDecimal locationLng,
+            String address,
+            List<Photo> photos) {
+        this(elderlyId, title, details, category, locationLat, locationLng, address, photos, null);
+    }
 
     public record Photo(String url, String contentType) {
     }
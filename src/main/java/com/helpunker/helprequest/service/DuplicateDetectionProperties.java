@@ -0,0 +1,34 @@
+package com.helpunker.helprequest.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.dedup")
+public class DuplicateDetectionProperties {
+
+    private boolean enabled = true;
+
+    /** FLAG creates the request with {@code duplicateOf} set; MERGE returns the open original instead. */
+    private Action action = Action.FLAG;
+
+    /** Estimated Jaccard similarity of words and word pairs at or above which two requests are duplicates. */
+    private double threshold = 0.6;
+
+    /** Only requests created within this window are compared; older entries are evicted. */
+    private Duration window = Duration.ofHours(24);
+
+    /** Upper bound on indexed requests; beyond it new requests are not indexed until entries expire. */
+    private int maxEntries = 200_000;
+
+    /** Requests kept per elderly user and grid cell; the oldest is dropped first. */
+    private int maxPerBucket = 32;
+
+    public enum Action {
+        FLAG,
+        MERGE
+    }
+}
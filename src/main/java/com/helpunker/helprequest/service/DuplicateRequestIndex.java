@@ -0,0 +1,266 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory locality-sensitive index of recent OPEN requests for spotting repeat posts on the create path without
+ * touching the database. Requests are bucketed by elderly user and a grid cell of roughly 5 km (a lookup also checks
+ * the eight neighbouring cells). Inside a bucket each {@link MinHash} signature is split into {@value #BANDS} bands,
+ * and only requests sharing a band are compared, so a lookup is a few hash probes plus a 32-int comparison per
+ * candidate.
+ *
+ * <p>Memory is bounded by the time window, a per-bucket cap and a global cap. The index is rebuilt from the table at
+ * startup. A hit is only a candidate: the caller confirms it is still OPEN before acting on it, so a cancelled,
+ * archived or rolled-back request in the index cannot cause a wrong flag.
+ */
+@Component
+public class DuplicateRequestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateRequestIndex.class);
+
+    static final int BANDS = 16;
+    private static final int ROWS = MinHash.SIZE / BANDS;
+    private static final int GRID_LEVEL = 12;
+
+    private static final String SELECT_RECENT_OPEN = """
+            SELECT id, elderly_id, title, details, location_lat, location_lng, created_at
+            FROM requests
+            WHERE status = 'OPEN' AND created_at >= ?
+            ORDER BY created_at""";
+
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<UUID, BucketKey> locations = new ConcurrentHashMap<>();
+    private final DuplicateDetectionProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+
+    public DuplicateRequestIndex(
+            DuplicateDetectionProperties properties,
+            JdbcTemplate jdbcTemplate,
+            ShardRouter shards,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        Gauge.builder("helpunker.dedup.entries", locations, Map::size)
+                .description("Recent open requests held by the duplicate index")
+                .register(meterRegistry);
+    }
+
+    /** Fingerprint of a request about to be created, or {@code null} when detection is off or there is no text. */
+    public Fingerprint fingerprint(UUID elderlyId, String title, String details, BigDecimal lat, BigDecimal lng) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        int[] signature = MinHash.signature(title, details);
+        if (signature == null) {
+            return null;
+        }
+        if (lat == null || lng == null) {
+            return new Fingerprint(new BucketKey(elderlyId, -1, -1), false, signature);
+        }
+        int row = GeoCell.row(GeoCell.toMicro(lat), GRID_LEVEL);
+        int column = GeoCell.column(GeoCell.toMicro(lng), GRID_LEVEL);
+        return new Fingerprint(new BucketKey(elderlyId, row, column), true, signature);
+    }
+
+    /** Most similar indexed request at or above the threshold, if any. */
+    public Optional<UUID> findDuplicate(Fingerprint fingerprint) {
+        if (fingerprint == null) {
+            return Optional.empty();
+        }
+        Instant notBefore = Instant.now().minus(properties.getWindow());
+        long[] bandKeys = bandKeys(fingerprint.signature());
+        Match best = null;
+        BucketKey key = fingerprint.key();
+        int span = fingerprint.located() ? 1 : 0;
+        for (int dRow = -span; dRow <= span; dRow++) {
+            for (int dColumn = -span; dColumn <= span; dColumn++) {
+                Bucket bucket = buckets.get(new BucketKey(key.elderlyId(), key.row() + dRow, key.column() + dColumn));
+                Match match = bucket == null
+                        ? null
+                        : bucket.best(fingerprint.signature(), bandKeys, notBefore, properties.getThreshold());
+                if (match != null && (best == null || match.similarity() > best.similarity())) {
+                    best = match;
+                }
+            }
+        }
+        return best == null ? Optional.empty() : Optional.of(best.id());
+    }
+
+    public void add(Fingerprint fingerprint, UUID requestId, Instant createdAt) {
+        if (fingerprint == null || locations.size() >= properties.getMaxEntries()) {
+            return;
+        }
+        Entry entry = new Entry(requestId, fingerprint.signature(), bandKeys(fingerprint.signature()), createdAt);
+        buckets.compute(fingerprint.key(), (key, bucket) -> {
+            Bucket target = bucket == null ? new Bucket() : bucket;
+            target.add(entry, properties.getMaxPerBucket(), evicted -> locations.remove(evicted.id()));
+            return target;
+        });
+        locations.put(requestId, fingerprint.key());
+    }
+
+    /** Drops a request that is no longer OPEN. */
+    public void remove(UUID requestId) {
+        BucketKey key = locations.remove(requestId);
+        if (key != null) {
+            buckets.computeIfPresent(key, (ignored, bucket) -> bucket.remove(requestId) && bucket.isEmpty() ? null : bucket);
+        }
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(properties.getWindow());
+        shards.forEachShard(() -> jdbcTemplate.query(SELECT_RECENT_OPEN, rs -> {
+            Fingerprint fingerprint = this.fingerprint(
+                    rs.getObject("elderly_id", UUID.class),
+                    rs.getString("title"),
+                    rs.getString("details"),
+                    rs.getBigDecimal("location_lat"),
+                    rs.getBigDecimal("location_lng"));
+            this.add(fingerprint, rs.getObject("id", UUID.class), rs.getTimestamp("created_at").toInstant());
+        }, Timestamp.from(cutoff)));
+        log.info("Duplicate index rebuilt with {} open requests created since {}", locations.size(), cutoff);
+    }
+
+    @Scheduled(initialDelayString = "PT5M", fixedDelayString = "PT5M")
+    public void evictExpired() {
+        this.evictOlderThan(Instant.now().minus(properties.getWindow()));
+    }
+
+    void evictOlderThan(Instant cutoff) {
+        for (BucketKey key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (ignored, bucket) -> {
+                bucket.evictBefore(cutoff, evicted -> locations.remove(evicted.id()));
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+    }
+
+    /** One 64-bit key per band of {@value #ROWS} signature values; the band number is mixed in to keep bands apart. */
+    private static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long rows = 0;
+            for (int row = 0; row < ROWS; row++) {
+                rows = rows * 0x9e3779b97f4a7c15L + signature[band * ROWS + row];
+            }
+            keys[band] = MinHash.mix(rows ^ (long) band << 56);
+        }
+        return keys;
+    }
+
+    public record Fingerprint(BucketKey key, boolean located, int[] signature) {
+    }
+
+    record BucketKey(UUID elderlyId, int row, int column) {
+    }
+
+    private record Entry(UUID id, int[] signature, long[] bandKeys, Instant createdAt) {
+    }
+
+    private record Match(UUID id, double similarity) {
+    }
+
+    /** Requests of one user in one cell, oldest first, with a band table for candidate lookup. */
+    private static final class Bucket {
+
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private final Map<Long, List<Entry>> bands = new HashMap<>();
+
+        synchronized Match best(int[] signature, long[] bandKeys, Instant notBefore, double threshold) {
+            Match best = null;
+            for (long bandKey : bandKeys) {
+                for (Entry candidate : bands.getOrDefault(bandKey, List.of())) {
+                    if (candidate.createdAt().isBefore(notBefore)) {
+                        continue;
+                    }
+                    double similarity = MinHash.similarity(signature, candidate.signature());
+                    if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                        best = new Match(candidate.id(), similarity);
+                    }
+                }
+            }
+            return best;
+        }
+
+        synchronized void add(Entry entry, int maxEntries, Consumer<Entry> evicted) {
+            while (entries.size() >= Math.max(1, maxEntries)) {
+                Entry oldest = entries.pollFirst();
+                this.unlink(oldest);
+                evicted.accept(oldest);
+            }
+            entries.addLast(entry);
+            for (long bandKey : entry.bandKeys()) {
+                bands.computeIfAbsent(bandKey, key -> new ArrayList<>(2)).add(entry);
+            }
+        }
+
+        synchronized boolean remove(UUID id) {
+            for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                if (entry.id().equals(id)) {
+                    iterator.remove();
+                    this.unlink(entry);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void evictBefore(Instant cutoff, Consumer<Entry> evicted) {
+            while (!entries.isEmpty() && entries.peekFirst().createdAt().isBefore(cutoff)) {
+                Entry oldest = entries.pollFirst();
+                this.unlink(oldest);
+                evicted.accept(oldest);
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        private void unlink(Entry entry) {
+            for (long bandKey : entry.bandKeys()) {
+                List<Entry> band = bands.get(bandKey);
+                if (band != null) {
+                    band.remove(entry);
+                    if (band.isEmpty()) {
+                        bands.remove(bandKey);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.sharding.ShardRouter;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code lat_micro}, {@code lng_micro} and {@code cell_key} for requests written before those columns existed,
+ * in small batches on the scheduler so startup is not delayed, and copies them to the request's board read model row.
+ * New rows get them from the entity on write, so once a run finds nothing left the job stops querying.
+ */
+@Component
+public class GeoColumnsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(GeoColumnsBackfill.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+    private volatile boolean done;
+
+    public GeoColumnsBackfill(JdbcTemplate jdbcTemplate, ShardRouter shards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+    }
+
+    @Scheduled(initialDelayString = "PT10S", fixedDelayString = "PT5S")
+    public void scheduledRun() {
+        if (!done) {
+            backfill();
+        }
+    }
+
+    /** Backfills every pending row on every shard; returns how many were updated. */
+    public int backfill() {
+        int[] total = {0};
+        shards.forEachShard(() -> {
+            int updated;
+            do {
+                updated = backfillBatch();
+                total[0] += updated;
+            } while (updated == BATCH_SIZE);
+        });
+        done = true;
+        if (total[0] > 0) {
+            log.info("Backfilled geo cell columns for {} requests", total[0]);
+        }
+        return total[0];
+    }
+
+    private int backfillBatch() {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, location_lat, location_lng FROM requests"
+                        + " WHERE cell_key IS NULL AND location_lat IS NOT NULL AND location_lng IS NOT NULL"
+                        + " FETCH FIRST " + BATCH_SIZE + " ROWS ONLY",
+                (rs, rowNum) -> {
+                    int latMicro = GeoCell.toMicro(rs.getObject("location_lat", BigDecimal.class));
+                    int lngMicro = GeoCell.toMicro(rs.getObject("location_lng", BigDecimal.class));
+                    return new Object[] {latMicro, lngMicro, GeoCell.key(latMicro, lngMicro), rs.getObject("id", UUID.class)};
+                });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE requests SET lat_micro = ?, lng_micro = ?, cell_key = ? WHERE id = ? AND cell_key IS NULL", rows);
+            jdbcTemplate.batchUpdate(
+                    "UPDATE board_items SET lat_micro = ?, lng_micro = ?, cell_key = ? WHERE request_id = ? AND cell_key IS NULL",
+                    rows);
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.helpunker.helprequest.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.archive")
+public class HelpRequestArchiveProperties {
+
+    private boolean enabled = true;
+
+    /** COMPLETED/CANCELLED requests last updated longer ago than this are moved to the archive tables. */
+    private Duration retention = Duration.ofDays(30);
+
+    /** Requests moved per transaction; keeps row locks and WAL bursts small. */
+    private int batchSize = 500;
+
+    /** Upper bound on batches per scheduled run, so a large backlog is drained over several runs. */
+    private int maxBatchesPerRun = 20;
+}
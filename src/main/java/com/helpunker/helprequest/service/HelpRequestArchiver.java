@@ -0,0 +1,177 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves finalized requests, with their photos and assignments, from the live tables into the {@code *_archive}
+ * tables so that {@code requests} only grows with active volume. Works in small batches, each in its own transaction:
+ * lock a batch of old COMPLETED/CANCELLED rows ({@code SKIP LOCKED}, so several instances can run it), copy them and
+ * their children, then delete them. On PostgreSQL the yearly archive partitions a batch needs are created first.
+ * With sharding each shard archives into its own archive tables, so lookups by id still find the row on its shard.
+ */
+@Component
+public class HelpRequestArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(HelpRequestArchiver.class);
+
+    private static final String[] ARCHIVE_TABLES = {"requests_archive", "request_photos_archive", "assignments_archive"};
+
+    private static final String SELECT_BATCH = """
+            SELECT id, created_at FROM requests
+            WHERE status IN ('COMPLETED', 'CANCELLED') AND updated_at < :cutoff
+            ORDER BY updated_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String COPY_REQUESTS = """
+            INSERT INTO requests_archive (id, elderly_id, title, details, status, category, location_lat, location_lng,
+                                          address, duplicate_of, moderation_flags, created_at, updated_at, version,
+                                          archived_at)
+            SELECT id, elderly_id, title, details, status, category, location_lat, location_lng,
+                   address, duplicate_of, moderation_flags, created_at, updated_at, version, CURRENT_TIMESTAMP
+            FROM requests WHERE id IN (:ids)""";
+
+    private static final String COPY_PHOTOS = """
+            INSERT INTO request_photos_archive (id, request_id, request_created_at, url, content_type, thumbnail_url,
+                                                created_at)
+            SELECT p.id, p.request_id, r.created_at, p.url, p.content_type, p.thumbnail_url, p.created_at
+            FROM request_photos p JOIN requests r ON r.id = p.request_id
+            WHERE p.request_id IN (:ids)""";
+
+    private static final String COPY_ASSIGNMENTS = """
+            INSERT INTO assignments_archive (id, request_id, request_created_at, volunteer_id, accepted_at, arrived_at,
+                                             completed_at, cancelled_at, created_at, version)
+            SELECT a.id, a.request_id, r.created_at, a.volunteer_id, a.accepted_at, a.arrived_at,
+                   a.completed_at, a.cancelled_at, a.created_at, a.version
+            FROM assignments a JOIN requests r ON r.id = a.request_id
+            WHERE a.request_id IN (:ids)""";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final HelpRequestArchiveProperties properties;
+    private final DataSource dataSource;
+    private final ShardRouter shards;
+    private final Counter archived;
+    private volatile Boolean partitioned;
+
+    public HelpRequestArchiver(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            HelpRequestArchiveProperties properties,
+            ShardRouter shards,
+            MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.shards = shards;
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.archived = Counter.builder("helpunker.archive.requests")
+                .description("Finalized requests moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.archive.initial-delay:PT1M}",
+            fixedDelayString = "${app.archive.interval:PT10M}")
+    public void scheduledRun() {
+        if (properties.isEnabled()) {
+            archiveFinalized();
+        }
+    }
+
+    /** Archives eligible requests, at most {@code maxBatchesPerRun} batches per shard; returns how many were moved. */
+    public int archiveFinalized() {
+        if (partitioned == null) {
+            partitioned = isPostgres(dataSource);
+        }
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(properties.getRetention());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int[] total = {0};
+        shards.forEachShard(() -> {
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                Integer moved = transactionTemplate.execute(status -> moveBatch(cutoff, batchSize));
+                total[0] += moved == null ? 0 : moved;
+                if (moved == null || moved < batchSize) {
+                    break;
+                }
+            }
+        });
+        if (total[0] > 0) {
+            archived.increment(total[0]);
+            log.info("Archived {} finalized requests last updated before {}", total[0], cutoff);
+        }
+        return total[0];
+    }
+
+    private int moveBatch(OffsetDateTime cutoff, int batchSize) {
+        List<Map<String, Object>> rows = jdbc.queryForList(SELECT_BATCH, Map.of("cutoff", cutoff, "limit", batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = rows.stream().map(row -> (UUID) row.get("id")).toList();
+        if (partitioned) {
+            Set<Integer> years = new TreeSet<>();
+            rows.forEach(row -> years.add(yearOf(row.get("created_at"))));
+            years.forEach(this::ensurePartitions);
+        }
+
+        Map<String, Object> params = Map.of("ids", ids);
+        jdbc.update(COPY_REQUESTS, params);
+        jdbc.update(COPY_PHOTOS, params);
+        jdbc.update(COPY_ASSIGNMENTS, params);
+        jdbc.update("DELETE FROM request_photos WHERE request_id IN (:ids)", params);
+        jdbc.update("DELETE FROM assignments WHERE request_id IN (:ids)", params);
+        jdbc.update("DELETE FROM requests WHERE id IN (:ids)", params);
+        return ids.size();
+    }
+
+    private void ensurePartitions(int year) {
+        JdbcTemplate ddl = jdbc.getJdbcTemplate();
+        for (String table : ARCHIVE_TABLES) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS %s_y%d PARTITION OF %s FOR VALUES FROM ('%d-01-01 00:00:00+00') TO ('%d-01-01 00:00:00+00')"
+                    .formatted(table, year, table, year, year + 1));
+        }
+    }
+
+    private static int yearOf(Object createdAt) {
+        if (createdAt instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.withOffsetSameInstant(ZoneOffset.UTC).getYear();
+        }
+        if (createdAt instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC).getYear();
+        }
+        throw new IllegalStateException("Unexpected created_at value: " + createdAt);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException ex) {
+            log.warn("Could not determine database product; archive partitions will not be created", ex);
+            return false;
+        }
+    }
+}
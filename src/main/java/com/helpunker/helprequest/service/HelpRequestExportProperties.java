@@ -0,0 +1,14 @@
+package com.helpunker.helprequest.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.export")
+public class HelpRequestExportProperties {
+
+    /** Rows loaded per read-only transaction; each chunk gets a fresh persistence context. */
+    private int chunkSize = 500;
+}
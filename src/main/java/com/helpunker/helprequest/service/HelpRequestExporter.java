@@ -0,0 +1,67 @@
+package com.helpunker.helprequest.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every request matching the criteria as newline-delimited JSON. Rows are read in keyset order
+ * ({@code created_at, id}) one chunk at a time, each chunk in its own short read-only transaction, so neither the
+ * connection nor the persistence context is held while the client reads and memory does not grow with the export.
+ */
+@Component
+public class HelpRequestExporter {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final HelpRequestService requestService;
+    private final ObjectWriter writer;
+    private final int chunkSize;
+
+    public HelpRequestExporter(
+            HelpRequestService requestService, ObjectMapper objectMapper, HelpRequestExportProperties properties) {
+        this.requestService = requestService;
+        this.writer = objectMapper.writerFor(HelpRequestResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        this.chunkSize = Math.max(1, properties.getChunkSize());
+    }
+
+    /** Streams the export to {@code output}, gzip-compressed when {@code gzip} is set; returns the row count. */
+    public long export(HelpRequestSearchCriteria criteria, OutputStream output, boolean gzip) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : null;
+        OutputStream target = compressed != null ? compressed : output;
+        long rows = 0;
+        try (SequenceWriter sequence = writer.writeValues(target)) {
+            HelpRequestResponse last = null;
+            List<HelpRequestResponse> chunk;
+            do {
+                chunk = requestService.exportChunk(criteria, last, chunkSize);
+                for (HelpRequestResponse response : chunk) {
+                    sequence.write(response);
+                }
+                rows += chunk.size();
+                if (!chunk.isEmpty()) {
+                    last = chunk.get(chunk.size() - 1);
+                    sequence.flush();
+                }
+            } while (chunk.size() == chunkSize);
+            sequence.flush();
+            if (rows > 0) {
+                target.write('\n');
+            }
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        output.flush();
+        return rows;
+    }
+}
@@ -0,0 +1,26 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.entity.RequestStatus;
+import java.util.List;
+
+/**
+ * Published by {@link HelpRequestService} inside the transaction that creates or cancels requests, for in-memory
+ * views of this instance to pick up with {@code @TransactionalEventListener} once it commits. {@code previousStatus}
+ * is the status a cancelled request left; it is {@code null} for creates.
+ */
+public record HelpRequestLifecycleEvent(Type type, List<HelpRequest> requests, RequestStatus previousStatus) {
+
+    public enum Type {
+        CREATED,
+        CANCELLED
+    }
+
+    static HelpRequestLifecycleEvent created(List<HelpRequest> requests) {
+        return new HelpRequestLifecycleEvent(Type.CREATED, List.copyOf(requests), null);
+    }
+
+    static HelpRequestLifecycleEvent cancelled(HelpRequest request, RequestStatus previousStatus) {
+        return new HelpRequestLifecycleEvent(Type.CANCELLED, List.of(request), previousStatus);
+    }
+}
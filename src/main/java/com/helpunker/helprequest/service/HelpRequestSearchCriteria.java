@@ -4,5 +4,5 @@ import com.helpunker.helprequest.entity.RequestStatus;
 import java.util.UUID;
 
 public record HelpRequestSearchCriteria(
-        RequestStatus status, UUID elderlyId, Double latitude, Double longitude, Double radiusKm) {
+        RequestStatus status, UUID elderlyId, Double latitude, Double longitude, Double radiusKm, String text) {
 }
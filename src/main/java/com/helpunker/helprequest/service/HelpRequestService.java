@@ -2,87 +2,268 @@ package com.helpunker.helprequest.service;
 
 import com.helpunker.common.exception.BusinessRuleException;
 import com.helpunker.common.exception.ResourceNotFoundException;
+import com.helpunker.common.geo.GeoDistance;
+import com.helpunker.common.json.JsonFragment;
+import com.helpunker.common.sharding.ShardRouter;
 import com.helpunker.helprequest.dto.response.HelpRequestResponse;
 import com.helpunker.helprequest.mapper.HelpRequestMapper;
+import com.helpunker.helprequest.entity.BoardItem;
 import com.helpunker.helprequest.entity.HelpRequest;
 import com.helpunker.helprequest.entity.RequestPhoto;
 import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.repository.ArchivedHelpRequestRepository;
+import com.helpunker.helprequest.repository.BoardItemRepository;
+import com.helpunker.helprequest.repository.BoardItemSpecifications;
 import com.helpunker.helprequest.repository.HelpRequestRepository;
 import com.helpunker.helprequest.repository.HelpRequestSpecifications;
+import com.helpunker.helprequest.repository.RequestLocation;
 import com.helpunker.helprequest.sse.BoardEventPublisher;
+import com.helpunker.helprequest.sse.RequestBatchEvent;
 import com.helpunker.helprequest.sse.RequestEvent;
 import com.helpunker.helprequest.sse.RequestEventType;
 import com.helpunker.user.User;
 import com.helpunker.user.UserRole;
 import com.helpunker.user.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 @Service
+@Observed(name = "helpunker.requests.service")
 public class HelpRequestService {
 
+    public static final String DISTANCE_SORT = "distance";
+
     private final HelpRequestRepository requestRepository;
+    private final ArchivedHelpRequestRepository archivedRequestRepository;
     private final UserRepository userRepository;
     private final HelpRequestMapper mapper;
     private final BoardEventPublisher eventPublisher;
+    private final RequestTextSearch textSearch;
+    private final DuplicateRequestIndex duplicates;
+    private final DuplicateDetectionProperties duplicateProperties;
+    private final RequestModeration moderation;
+    private final RequestJsonCache jsonCache;
+    private final BoardItemRepository boardItemRepository;
+    private final BoardProjection boardProjection;
+    private final BoardProjectionProperties boardProperties;
+    private final ApplicationEventPublisher lifecycleEvents;
+    private final ShardRouter shards;
+    private final TransactionTemplate transactions;
+    private final TransactionTemplate readOnlyTransactions;
+    private final TransactionTemplate referenceReads;
 
     public HelpRequestService(
             HelpRequestRepository requestRepository,
+            ArchivedHelpRequestRepository archivedRequestRepository,
             UserRepository userRepository,
             HelpRequestMapper mapper,
-            BoardEventPublisher eventPublisher) {
+            BoardEventPublisher eventPublisher,
+            RequestTextSearch textSearch,
+            DuplicateRequestIndex duplicates,
+            DuplicateDetectionProperties duplicateProperties,
+            RequestModeration moderation,
+            RequestJsonCache jsonCache,
+            BoardItemRepository boardItemRepository,
+            BoardProjection boardProjection,
+            BoardProjectionProperties boardProperties,
+            ApplicationEventPublisher lifecycleEvents,
+            ShardRouter shards,
+            PlatformTransactionManager transactionManager) {
         this.requestRepository = requestRepository;
+        this.archivedRequestRepository = archivedRequestRepository;
         this.userRepository = userRepository;
         this.mapper = mapper;
         this.eventPublisher = eventPublisher;
+        this.textSearch = textSearch;
+        this.duplicates = duplicates;
+        this.duplicateProperties = duplicateProperties;
+        this.moderation = moderation;
+        this.jsonCache = jsonCache;
+        this.boardItemRepository = boardItemRepository;
+        this.boardProjection = boardProjection;
+        this.boardProperties = boardProperties;
+        this.lifecycleEvents = lifecycleEvents;
+        this.shards = shards;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactions = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactions.setReadOnly(true);
+        this.referenceReads = new TransactionTemplate(transactionManager);
+        this.referenceReads.setReadOnly(true);
+        this.referenceReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
+    /**
+     * Creates a request. Text matching a BLOCK moderation rule is rejected; FLAG rules are recorded on the request and
+     * deep checks run after commit (see {@link RequestModeration}). A repeat of one of the user's recent open requests nearby, found by {@link DuplicateRequestIndex},
+     * is created with {@code duplicateOf} set or, with {@code app.dedup.action=MERGE}, answered with the original.
+     * The request is written to the shard of its explicit region or its location, see {@link ShardRouter}, with a
+     * copy of its owner's user row when that shard does not have one yet.
+     */
     @Transactional
     public HelpRequestResponse createRequest(CreateHelpRequestCommand command) {
-        User elderly = userRepository
-                .findById(command.elderlyId())
+        int shard = this.homeShard(command);
+        shards.bind(shard);
+        User elderly = this.findUser(command.elderlyId())
                 .orElseThrow(() -> new ResourceNotFoundException("Elderly user not found: " + command.elderlyId()));
         if (elderly.getRole() != UserRole.ELDERLY) {
             throw new BusinessRuleException("Only elderly users can create help requests");
         }
 
-        HelpRequest request = HelpRequest.builder()
-                .id(UUID.randomUUID())
-                .elderly(elderly)
-                .title(command.title())
-                .details(command.details())
-                .status(RequestStatus.OPEN)
-                .category(command.category())
-                .locationLat(command.locationLat())
-                .locationLng(command.locationLng())
-                .address(command.address())
-                .build();
-
-        List<CreateHelpRequestCommand.Photo> photos = command.photos();
-        if (photos != null) {
-            photos.forEach(photo -> request.addPhoto(RequestPhoto.builder()
-                    .id(UUID.randomUUID())
-                    .url(photo.url())
-                    .contentType(photo.contentType())
-                    .build()));
+        HelpRequest request = this.toEntity(command, this.localCopies(List.of(elderly)).get(elderly.getId()), shard);
+        String rejection = moderation.apply(command, request);
+        if (rejection != null) {
+            throw new BusinessRuleException(rejection);
+        }
+        DuplicateRequestIndex.Fingerprint fingerprint = this.fingerprint(command);
+        Optional<HelpRequest> original = duplicates.findDuplicate(fingerprint)
+                .flatMap(requestRepository::findById)
+                .filter(candidate -> candidate.getStatus() == RequestStatus.OPEN);
+        if (original.isPresent()) {
+            if (duplicateProperties.getAction() == DuplicateDetectionProperties.Action.MERGE) {
+                return mapper.toResponse(original.get());
+            }
+            request.setDuplicateOf(original.get().getId());
         }
 
         HelpRequest saved = requestRepository.save(request);
+        textSearch.indexed(List.of(saved));
+        duplicates.add(fingerprint, saved.getId(), Instant.now());
+        moderation.afterCreate(List.of(saved));
+        boardProjection.created(List.of(saved));
+        lifecycleEvents.publishEvent(HelpRequestLifecycleEvent.created(List.of(saved)));
         HelpRequestResponse response = mapper.toResponse(saved);
         RequestEvent event = new RequestEvent(RequestEventType.REQUEST_CREATED, response);
-        eventPublisher.publishBoardEvent(event);
-        eventPublisher.publishRequestEvent(saved.getId(), event);
+        eventPublisher.publish(event);
         return response;
     }
 
+    /**
+     * Creates a batch of requests in one transaction: the elderly users are resolved with a single query, the rows are
+     * inserted as JDBC batches and board subscribers get one {@link RequestEventType#REQUESTS_CREATED} event. Commands
+     * naming an unknown or non-elderly user or an unknown region, or blocked by moderation, are rejected individually; the outcomes are in command order. Repeats of
+     * open requests are always flagged with {@code duplicateOf}, never merged, so every accepted command yields a row.
+     * With sharding the commands are grouped by shard and each group is written in its own transaction.
+     */
+    public List<BulkCreateOutcome> createRequests(List<CreateHelpRequestCommand> commands) {
+        Map<Integer, List<Integer>> byShard = new TreeMap<>();
+        BulkCreateOutcome[] outcomes = new BulkCreateOutcome[commands.size()];
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                byShard.computeIfAbsent(this.homeShard(commands.get(i)), key -> new ArrayList<>()).add(i);
+            } catch (BusinessRuleException ex) {
+                outcomes[i] = BulkCreateOutcome.rejected(ex.getMessage());
+            }
+        }
+        byShard.forEach((shard, indexes) -> {
+            List<CreateHelpRequestCommand> group = indexes.stream().map(commands::get).toList();
+            List<BulkCreateOutcome> created = transactions.execute(status -> {
+                shards.bind(shard);
+                return this.createOnShard(group, shard);
+            });
+            for (int i = 0; i < indexes.size(); i++) {
+                outcomes[indexes.get(i)] = created.get(i);
+            }
+        });
+        return Arrays.asList(outcomes);
+    }
+
+    private List<BulkCreateOutcome> createOnShard(List<CreateHelpRequestCommand> commands, int shard) {
+        Set<UUID> elderlyIds = commands.stream().map(CreateHelpRequestCommand::elderlyId).collect(Collectors.toSet());
+        Map<UUID, User> users = this.findUsers(elderlyIds);
+        List<DuplicateRequestIndex.Fingerprint> fingerprints = commands.stream().map(this::fingerprint).toList();
+        List<UUID> candidates = fingerprints.stream()
+                .map(fingerprint -> duplicates.findDuplicate(fingerprint).orElse(null))
+                .toList();
+        Set<UUID> openOriginals = requestRepository
+                .findAllById(candidates.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .filter(candidate -> candidate.getStatus() == RequestStatus.OPEN)
+                .map(HelpRequest::getId)
+                .collect(Collectors.toSet());
+
+        List<BulkCreateOutcome> outcomes = new ArrayList<>(commands.size());
+        List<HelpRequest> requests = new ArrayList<>(commands.size());
+        List<DuplicateRequestIndex.Fingerprint> createdFingerprints = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            CreateHelpRequestCommand command = commands.get(i);
+            User elderly = users.get(command.elderlyId());
+            if (elderly == null) {
+                outcomes.add(BulkCreateOutcome.rejected("Elderly user not found: " + command.elderlyId()));
+            } else if (elderly.getRole() != UserRole.ELDERLY) {
+                outcomes.add(BulkCreateOutcome.rejected("Only elderly users can create help requests"));
+            } else {
+                HelpRequest request = this.toEntity(command, elderly, shard);
+                String rejection = moderation.apply(command, request);
+                if (rejection != null) {
+                    outcomes.add(BulkCreateOutcome.rejected(rejection));
+                    continue;
+                }
+                if (openOriginals.contains(candidates.get(i))) {
+                    request.setDuplicateOf(candidates.get(i));
+                }
+                requests.add(request);
+                createdFingerprints.add(fingerprints.get(i));
+                outcomes.add(BulkCreateOutcome.created(mapper.toResponse(request)));
+            }
+        }
+        if (requests.isEmpty()) {
+            return outcomes;
+        }
+
+        Map<UUID, User> owners = this.localCopies(requests.stream().map(HelpRequest::getElderly).distinct().toList());
+        requests.forEach(request -> request.setElderly(owners.get(request.getElderly().getId())));
+        requestRepository.insertAll(requests);
+        textSearch.indexed(requests);
+        moderation.afterCreate(requests);
+        boardProjection.created(requests);
+        lifecycleEvents.publishEvent(HelpRequestLifecycleEvent.created(requests));
+        Instant now = Instant.now();
+        for (int i = 0; i < requests.size(); i++) {
+            duplicates.add(createdFingerprints.get(i), requests.get(i).getId(), now);
+        }
+        List<HelpRequestResponse> created = outcomes.stream()
+                .map(BulkCreateOutcome::created)
+                .filter(Objects::nonNull)
+                .toList();
+        eventPublisher.publishBoardEvent(new RequestBatchEvent(RequestEventType.REQUESTS_CREATED, created));
+        return outcomes;
+    }
+
     @Transactional
     public HelpRequestResponse cancelRequest(UUID requestId, UUID actorId) {
+        shards.bind(shards.shardOf(requestId));
         HelpRequest request = requestRepository
                 .findById(requestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found: " + requestId));
@@ -91,8 +272,7 @@ public class HelpRequestService {
             throw new BusinessRuleException("Request is already finalized");
         }
 
-        User actor = userRepository
-                .findById(actorId)
+        User actor = this.findUser(actorId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + actorId));
 
         boolean isOwner = Objects.equals(request.getElderly().getId(), actorId);
@@ -101,28 +281,493 @@ public class HelpRequestService {
             throw new BusinessRuleException("Only the owner or an admin can cancel this request");
         }
 
+        RequestStatus previous = request.getStatus();
         request.setStatus(RequestStatus.CANCELLED);
         HelpRequest saved = requestRepository.save(request);
+        duplicates.remove(saved.getId());
+        boardProjection.statusChanged(saved);
+        lifecycleEvents.publishEvent(HelpRequestLifecycleEvent.cancelled(saved, previous));
         HelpRequestResponse response = mapper.toResponse(saved);
         RequestEvent event = new RequestEvent(RequestEventType.REQUEST_CANCELLED, response);
-        eventPublisher.publishBoardEvent(event);
-        eventPublisher.publishRequestEvent(saved.getId(), event);
+        eventPublisher.publish(event);
         return response;
     }
 
+    /** Looks the request up in the live table first and falls back to the archive of finalized requests. */
     @Transactional(readOnly = true)
     public HelpRequestResponse getRequest(UUID requestId) {
-        HelpRequest request = requestRepository
+        shards.bind(shards.shardOf(requestId));
+        return requestRepository
                 .findById(requestId)
+                .map(mapper::toResponse)
+                .or(() -> archivedRequestRepository.findById(requestId).map(mapper::toResponse))
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found: " + requestId));
-        return mapper.toResponse(request);
     }
 
+    /** {@link #getRequest} as serialized JSON, from the {@link RequestJsonCache} for live requests. */
     @Transactional(readOnly = true)
+    public JsonFragment getRequestJson(UUID requestId) {
+        shards.bind(shards.shardOf(requestId));
+        return requestRepository
+                .findById(requestId)
+                .map(jsonCache::fragment)
+                .or(() -> archivedRequestRepository.findById(requestId)
+                        .map(archived -> jsonCache.serialize(mapper.toResponse(archived))))
+                .orElseThrow(() -> new ResourceNotFoundException("Request not found: " + requestId));
+    }
+
+    /**
+     * Searches live requests. With a {@code near} point every result carries its distance, and sorting by
+     * {@value #DISTANCE_SORT} ranks the candidates in memory with a heap bounded by the end of the requested page. With
+     * text and no explicit sort, results come best match first. Searches for OPEN or ASSIGNED requests without text
+     * filter, sort and count on the {@code board_items} read model and only load the requests of the page. With
+     * sharding the search runs on every shard the criteria can match, in parallel, and the pages are merged.
+     */
     public Page<HelpRequestResponse> searchRequests(HelpRequestSearchCriteria criteria, Pageable pageable) {
-        Specification<HelpRequest> specification = Specification.where(HelpRequestSpecifications.hasStatus(criteria.status()))
-                .and(HelpRequestSpecifications.ownedBy(criteria.elderlyId()))
+        return this.search(
+                criteria,
+                pageable,
+                (request, distanceKm) -> mapper.toResponse(request).withDistanceKm(distanceKm),
+                (item, distanceKm) -> null);
+    }
+
+    /**
+     * {@link #searchRequests} as cached JSON fragments, each with the distance the caller appends to it. Items found
+     * through the board read model are looked up in the cache by version, so cached ones are not loaded at all.
+     */
+    public Page<RequestJson> searchRequestJson(HelpRequestSearchCriteria criteria, Pageable pageable) {
+        return this.search(
+                criteria,
+                pageable,
+                (request, distanceKm) -> new RequestJson(jsonCache.fragment(request), distanceKm),
+                (item, distanceKm) -> {
+                    JsonFragment fragment = jsonCache.cached(item.getId(), item.getVersion());
+                    return fragment == null ? null : new RequestJson(fragment, distanceKm);
+                });
+    }
+
+    /** Ids and coordinates of the newest OPEN requests within {@code radiusKm} of the point; builds volunteer feeds. */
+    public List<RequestLocation> newestOpenNear(double latitude, double longitude, double radiusKm, int limit) {
+        return this.search(
+                        new HelpRequestSearchCriteria(RequestStatus.OPEN, null, latitude, longitude, radiusKm, null),
+                        PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt")),
+                        (request, distanceKm) -> new RequestLocation(
+                                request.getId(), request.getLatMicro(), request.getLngMicro()),
+                        (item, distanceKm) -> new RequestLocation(item.getId(), item.getLatMicro(), item.getLngMicro()))
+                .getContent();
+    }
+
+    /** JSON of those of the given live requests that are still OPEN, by id, loaded with one query per shard. */
+    public Map<UUID, JsonFragment> openRequestJson(Collection<UUID> ids) {
+        Map<Integer, List<UUID>> byShard = ids.stream().collect(Collectors.groupingBy(shards::shardOf, TreeMap::new,
+                Collectors.toList()));
+        Map<UUID, JsonFragment> json = new HashMap<>();
+        byShard.forEach((shard, group) -> json.putAll(shards.call(shard, () -> readOnlyTransactions.execute(
+                status -> requestRepository.findAllById(group).stream()
+                        .filter(request -> request.getStatus() == RequestStatus.OPEN)
+                        .collect(Collectors.toMap(HelpRequest::getId, jsonCache::fragment))))));
+        return json;
+    }
+
+    /** Rebuilds the board read model from {@code requests} on every shard; returns the number of items. */
+    public int rebuildBoard(UUID actorId) {
+        this.assertAdmin(actorId);
+        return shards.fanOut(shards.allShards(), shard -> boardProjection.rebuild()).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    /**
+     * @param toItem builds a result from the loaded request and its distance
+     * @param fromBoard builds a result from a board item without loading the request, or returns {@code null}
+     */
+    private <T> Page<T> search(
+            HelpRequestSearchCriteria criteria,
+            Pageable pageable,
+            BiFunction<HelpRequest, Double, T> toItem,
+            BiFunction<BoardItem, Double, T> fromBoard) {
+        GeoDistance origin = criteria.latitude() == null || criteria.longitude() == null
+                ? null
+                : new GeoDistance(criteria.latitude(), criteria.longitude());
+        Sort.Order byDistance = pageable.getSort().getOrderFor(DISTANCE_SORT);
+        if (byDistance != null && origin == null) {
+            throw new BusinessRuleException("Sorting by distance requires the near parameter");
+        }
+        List<Integer> targets = this.targetShards(criteria);
+        if (targets.size() == 1) {
+            return shards.call(targets.get(0), () -> readOnlyTransactions.execute(
+                    status -> this.searchShard(criteria, origin, byDistance, pageable, toItem, fromBoard)));
+        }
+
+        // without an explicit sort, text results are merged by relevance and the rest newest first, so that every
+        // shard contributes its best rows and consecutive pages line up
+        String text = StringUtils.hasText(criteria.text()) ? criteria.text().strip() : null;
+        boolean byRelevance = text != null && pageable.getSort().isUnsorted();
+        Sort sort = pageable.getSort().isSorted() || byRelevance
+                ? pageable.getSort()
+                : Sort.by(Sort.Direction.DESC, "createdAt");
+        int end = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        Pageable top = PageRequest.of(0, end, sort);
+        BiFunction<HelpRequest, Double, ShardHit<T>> requestHit = (request, distanceKm) -> new ShardHit<>(
+                toItem.apply(request, distanceKm), request.getId(), request.getCreatedAt(), request.getUpdatedAt(),
+                request.getStatus(), distanceKm, null);
+        BiFunction<BoardItem, Double, ShardHit<T>> boardHit = (item, distanceKm) -> {
+            T result = fromBoard.apply(item, distanceKm);
+            return result == null ? null : new ShardHit<>(
+                    result, item.getId(), item.getCreatedAt(), item.getUpdatedAt(), item.getStatus(), distanceKm, null);
+        };
+        List<Page<ShardHit<T>>> pages = shards.fanOut(targets, shard -> readOnlyTransactions.execute(status -> {
+            Page<ShardHit<T>> page = this.searchShard(criteria, origin, byDistance, top, requestHit, boardHit);
+            if (!byRelevance) {
+                return page;
+            }
+            Map<UUID, Double> scores = textSearch.scores(text, page.map(ShardHit::id).getContent());
+            return page.map(hit -> hit.withScore(scores.getOrDefault(hit.id(), 0.0d)));
+        }));
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<T> content = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(byRelevance ? relevanceOrder() : mergeOrder(sort))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(ShardHit::item)
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /** Every shard, or only those a radius search can reach. */
+    private List<Integer> targetShards(HelpRequestSearchCriteria criteria) {
+        if (criteria.latitude() == null || criteria.longitude() == null) {
+            return shards.allShards();
+        }
+        double radiusKm = criteria.radiusKm() == null || criteria.radiusKm() <= 0
+                ? HelpRequestSpecifications.DEFAULT_RADIUS_KM
+                : criteria.radiusKm();
+        return shards.shardsNear(criteria.latitude(), criteria.longitude(), radiusKm);
+    }
+
+    /** The search on the current shard; {@code pageable} is the caller's page, or the top of it for a fan-out. */
+    private <T> Page<T> searchShard(
+            HelpRequestSearchCriteria criteria,
+            GeoDistance origin,
+            Sort.Order byDistance,
+            Pageable pageable,
+            BiFunction<HelpRequest, Double, T> toItem,
+            BiFunction<BoardItem, Double, T> fromBoard) {
+        if (this.servedByBoard(criteria)) {
+            return this.searchBoard(criteria, origin, byDistance, pageable, toItem, fromBoard);
+        }
+
+        Specification<HelpRequest> specification = this.toSpecification(criteria);
+        if (byDistance != null) {
+            RankedPage ranked;
+            try (Stream<RequestLocation> locations = requestRepository.streamLocations(specification)) {
+                ranked = rankByDistance(locations, origin, byDistance.isDescending(), pageable);
+            }
+            List<T> content = inOrder(ranked.ids(), requestRepository.findAllById(ranked.ids()), HelpRequest::getId)
+                    .stream()
+                    .map(request -> toItem.apply(request, distanceKm(request.getLatMicro(), request.getLngMicro(), origin)))
+                    .toList();
+            return new PageImpl<>(content, pageable, ranked.total());
+        }
+        return requestRepository.findAll(specification, pageable)
+                .map(request -> toItem.apply(request, distanceKm(request.getLatMicro(), request.getLngMicro(), origin)));
+    }
+
+    private boolean servedByBoard(HelpRequestSearchCriteria criteria) {
+        return boardProperties.isReadModelEnabled()
+                && BoardProjection.ACTIVE.contains(criteria.status())
+                && !StringUtils.hasText(criteria.text());
+    }
+
+    /**
+     * Finds the page in {@code board_items}, then takes each item from {@code fromBoard} where it can and loads the
+     * remaining requests with one query. Requests that left {@code requests} since the page was read are skipped.
+     */
+    private <T> Page<T> searchBoard(
+            HelpRequestSearchCriteria criteria,
+            GeoDistance origin,
+            Sort.Order byDistance,
+            Pageable pageable,
+            BiFunction<HelpRequest, Double, T> toItem,
+            BiFunction<BoardItem, Double, T> fromBoard) {
+        Specification<BoardItem> specification = Specification.where(BoardItemSpecifications.hasStatus(criteria.status()))
+                .and(BoardItemSpecifications.ownedBy(criteria.elderlyId()))
                 .and(HelpRequestSpecifications.nearLocation(criteria.latitude(), criteria.longitude(), criteria.radiusKm()));
-        return requestRepository.findAll(specification, pageable).map(mapper::toResponse);
+        Page<BoardItem> items;
+        if (byDistance != null) {
+            RankedPage ranked;
+            try (Stream<RequestLocation> locations = boardItemRepository.streamLocations(specification)) {
+                ranked = rankByDistance(locations, origin, byDistance.isDescending(), pageable);
+            }
+            List<BoardItem> content = inOrder(ranked.ids(), boardItemRepository.findAllById(ranked.ids()), BoardItem::getId);
+            items = new PageImpl<>(content, pageable, ranked.total());
+        } else {
+            items = boardItemRepository.findAll(specification, pageable);
+        }
+
+        List<T> content = new ArrayList<>(items.getNumberOfElements());
+        List<UUID> missing = new ArrayList<>();
+        for (BoardItem item : items) {
+            T result = fromBoard.apply(item, distanceKm(item.getLatMicro(), item.getLngMicro(), origin));
+            content.add(result);
+            if (result == null) {
+                missing.add(item.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<UUID, HelpRequest> requests = requestRepository.findAllById(missing).stream()
+                    .collect(Collectors.toMap(HelpRequest::getId, Function.identity()));
+            List<BoardItem> page = items.getContent();
+            for (int i = 0; i < content.size(); i++) {
+                HelpRequest request = content.get(i) == null ? requests.get(page.get(i).getId()) : null;
+                if (request != null) {
+                    content.set(i, toItem.apply(request, distanceKm(request.getLatMicro(), request.getLngMicro(), origin)));
+                }
+            }
+            content.removeIf(Objects::isNull);
+        }
+        return new PageImpl<>(content, pageable, items.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public void assertAdmin(UUID actorId) {
+        User actor = userRepository
+                .findById(actorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + actorId));
+        if (actor.getRole() != UserRole.ADMIN) {
+            throw new BusinessRuleException("Only admins can perform this operation");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void assertPartnerOrAdmin(UUID actorId) {
+        User actor = userRepository
+                .findById(actorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + actorId));
+        if (actor.getRole() != UserRole.PARTNER && actor.getRole() != UserRole.ADMIN) {
+            throw new BusinessRuleException("Only partner organizations and admins can perform this operation");
+        }
+    }
+
+    /**
+     * Next chunk of an export in {@code (createdAt, id)} order, starting after {@code after} (or from the beginning).
+     * Runs in its own transaction so that callers streaming many chunks never keep a persistence context open. With
+     * sharding each shard returns its next chunk in parallel and the first {@code limit} rows of the merge are kept.
+     */
+    public List<HelpRequestResponse> exportChunk(HelpRequestSearchCriteria criteria, HelpRequestResponse after, int limit) {
+        List<List<HelpRequestResponse>> chunks = shards.fanOut(this.targetShards(criteria),
+                shard -> readOnlyTransactions.execute(status -> this.exportShardChunk(criteria, after, limit)));
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        return chunks.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(HelpRequestResponse::createdAt)
+                        .thenComparing(HelpRequestResponse::id, HelpRequestService::compareUuids))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<HelpRequestResponse> exportShardChunk(
+            HelpRequestSearchCriteria criteria, HelpRequestResponse after, int limit) {
+        Specification<HelpRequest> specification = this.toSpecification(criteria);
+        if (after != null) {
+            specification = specification.and(HelpRequestSpecifications.after(after.createdAt(), after.id()));
+        }
+        List<HelpRequest> chunk = requestRepository.findBy(specification, query -> query
+                .sortBy(Sort.by("createdAt", "id"))
+                .limit(limit)
+                .all());
+        return chunk.stream().map(mapper::toResponse).toList();
+    }
+
+    private int homeShard(CreateHelpRequestCommand command) {
+        try {
+            return shards.shardFor(command.region(), command.locationLat(), command.locationLng());
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessRuleException(ex.getMessage());
+        }
+    }
+
+    private Optional<User> findUser(UUID id) {
+        return Optional.ofNullable(this.findUsers(List.of(id)).get(id));
+    }
+
+    /**
+     * Users by id from shard 0, which holds them. From a transaction bound to another shard they are read in one of
+     * their own, so they come back detached: good for checks, and for {@link #localCopies} to reference.
+     */
+    private Map<UUID, User> findUsers(Collection<UUID> ids) {
+        List<User> users = shards.isOnReferenceShard()
+                ? userRepository.findAllById(ids)
+                : shards.call(0, () -> referenceReads.execute(status -> userRepository.findAllById(ids)));
+        return users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    /**
+     * The users' rows on the current shard, for requests to reference. Shards other than 0 get a copy of each user on
+     * their first request there; later changes on shard 0 are not copied, since only the id is read from it.
+     */
+    private Map<UUID, User> localCopies(Collection<User> users) {
+        if (shards.isOnReferenceShard()) {
+            return users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        }
+        Map<UUID, User> local = userRepository.findAllById(users.stream().map(User::getId).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (User user : users) {
+            local.computeIfAbsent(user.getId(), id -> userRepository.save(User.builder()
+                    .id(id)
+                    .phone(user.getPhone())
+                    .email(user.getEmail())
+                    .displayName(user.getDisplayName())
+                    .role(user.getRole())
+                    .volunteerVerified(user.isVolunteerVerified())
+                    .passwordHash(user.getPasswordHash())
+                    .build()));
+        }
+        return local;
+    }
+
+    private DuplicateRequestIndex.Fingerprint fingerprint(CreateHelpRequestCommand command) {
+        return duplicates.fingerprint(
+                command.elderlyId(), command.title(), command.details(), command.locationLat(), command.locationLng());
+    }
+
+    private HelpRequest toEntity(CreateHelpRequestCommand command, User elderly, int shard) {
+        HelpRequest request = HelpRequest.builder()
+                .id(shards.newId(shard))
+                .elderly(elderly)
+                .title(command.title())
+                .details(command.details())
+                .status(RequestStatus.OPEN)
+                .category(command.category())
+                .locationLat(command.locationLat())
+                .locationLng(command.locationLng())
+                .address(command.address())
+                .build();
+
+        List<CreateHelpRequestCommand.Photo> photos = command.photos();
+        if (photos != null) {
+            photos.forEach(photo -> request.addPhoto(RequestPhoto.builder()
+                    .id(UUID.randomUUID())
+                    .url(photo.url())
+                    .contentType(photo.contentType())
+                    .build()));
+        }
+        return request;
+    }
+
+    /**
+     * Keeps the best {@code offset + size} of the streamed candidates in a heap whose head is the worst one kept, so the
+     * work is O(n log k) and memory O(k) however many requests match the radius; returns the ids of the requested page
+     * and the candidate count. Only that page is then loaded.
+     */
+    private static RankedPage rankByDistance(
+            Stream<RequestLocation> locations, GeoDistance origin, boolean descending, Pageable pageable) {
+        int limit = (int) Math.min(Integer.MAX_VALUE - 1L, pageable.getOffset() + pageable.getPageSize());
+        Comparator<RankedLocation> nearestFirst =
+                Comparator.comparingDouble(RankedLocation::squaredDistance).thenComparing(RankedLocation::id);
+        Comparator<RankedLocation> order = descending ? nearestFirst.reversed() : nearestFirst;
+        PriorityQueue<RankedLocation> kept = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+        long total = 0;
+        Iterator<RequestLocation> iterator = locations.iterator();
+        while (iterator.hasNext()) {
+            RequestLocation location = iterator.next();
+            RankedLocation candidate = new RankedLocation(
+                    location.id(), origin.squaredMicro(location.latMicro(), location.lngMicro()));
+            total++;
+            if (kept.size() < limit) {
+                kept.add(candidate);
+            } else if (order.compare(candidate, kept.peek()) < 0) {
+                kept.poll();
+                kept.add(candidate);
+            }
+        }
+
+        List<RankedLocation> ranked = new ArrayList<>(kept);
+        ranked.sort(order);
+        List<UUID> pageIds = ranked.subList((int) Math.min(pageable.getOffset(), ranked.size()), ranked.size())
+                .stream()
+                .map(RankedLocation::id)
+                .toList();
+        return new RankedPage(pageIds, total);
+    }
+
+    /** The loaded rows in the order of {@code ids}, skipping ids that were not found. */
+    private static <E> List<E> inOrder(List<UUID> ids, List<E> loaded, Function<E, UUID> idOf) {
+        Map<UUID, E> byId = loaded.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Order of merged shard pages: the page's sort on the properties the API sorts by, then id. Statuses compare by
+     * name and ids as unsigned bytes, as the database compares them.
+     */
+    private static <T> Comparator<ShardHit<T>> mergeOrder(Sort sort) {
+        Comparator<ShardHit<T>> order = (a, b) -> 0;
+        for (Sort.Order property : sort) {
+            Comparator<ShardHit<T>> key = switch (property.getProperty()) {
+                case "createdAt" -> Comparator.comparing(ShardHit::createdAt, nullsLast());
+                case "updatedAt" -> Comparator.comparing(ShardHit::updatedAt, nullsLast());
+                case "status" -> Comparator.comparing((ShardHit<T> hit) -> hit.status().name());
+                case DISTANCE_SORT -> Comparator.comparing(ShardHit::distanceKm, nullsLast());
+                default -> (a, b) -> 0;
+            };
+            order = order.thenComparing(property.isDescending() ? key.reversed() : key);
+        }
+        return order.thenComparing(ShardHit::id, HelpRequestService::compareUuids);
+    }
+
+    /** Order of merged text search pages: best match first, then newest, as {@link RequestTextSearch} ranks them. */
+    private static <T> Comparator<ShardHit<T>> relevanceOrder() {
+        Comparator<ShardHit<T>> score = Comparator.comparing(ShardHit::score, nullsLast());
+        Comparator<ShardHit<T>> createdAt = Comparator.comparing(ShardHit::createdAt, nullsLast());
+        return score.reversed().thenComparing(createdAt.reversed()).thenComparing(ShardHit::id, HelpRequestService::compareUuids);
+    }
+
+    private static <K extends Comparable<? super K>> Comparator<K> nullsLast() {
+        return Comparator.nullsLast(Comparator.naturalOrder());
+    }
+
+    private static int compareUuids(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static Double distanceKm(Integer latMicro, Integer lngMicro, GeoDistance origin) {
+        if (origin == null || latMicro == null || lngMicro == null) {
+            return null;
+        }
+        double km = origin.km(latMicro, lngMicro);
+        return Math.round(km * 1000d) / 1000d;
+    }
+
+    private Specification<HelpRequest> toSpecification(HelpRequestSearchCriteria criteria) {
+        return Specification.where(HelpRequestSpecifications.hasStatus(criteria.status()))
+                .and(HelpRequestSpecifications.ownedBy(criteria.elderlyId()))
+                .and(HelpRequestSpecifications.nearLocation(criteria.latitude(), criteria.longitude(), criteria.radiusKm()))
+                .and(StringUtils.hasText(criteria.text()) ? textSearch.matching(criteria.text().strip()) : null);
+    }
+
+    private record RankedLocation(UUID id, double squaredDistance) {
+    }
+
+    private record RankedPage(List<UUID> ids, long total) {
+    }
+
+    /** A search result with the keys its shard page was sorted by, for merging pages of several shards. */
+    private record ShardHit<T>(
+            T item,
+            UUID id,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt,
+            RequestStatus status,
+            Double distanceKm,
+            Double score) {
+
+        ShardHit<T> withScore(double score) {
+            return new ShardHit<>(item, id, createdAt, updatedAt, status, distanceKm, score);
+        }
     }
 }
@@ -0,0 +1,119 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.helprequest.entity.HelpRequest;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.query.criteria.JpaExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inverted index kept in memory for databases without PostgreSQL full-text search (the H2 test profile). Terms come
+ * from {@link RequestTerms}; a request matches when it contains every query term and is scored by tf-idf, title
+ * terms counting double as with the title/details weights of {@code search_vector}. The index is
+ * built from the table at startup and updated as requests are written; ids of rows deleted since are harmless because
+ * the specification still goes through the database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "in-memory")
+public class InMemoryRequestTextSearch implements RequestTextSearch {
+
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float DETAILS_WEIGHT = 1.0f;
+
+    private final Map<String, Map<UUID, Float>> postings = new ConcurrentHashMap<>();
+    private final Set<UUID> documents = ConcurrentHashMap.newKeySet();
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+
+    public InMemoryRequestTextSearch(JdbcTemplate jdbcTemplate, ShardRouter shards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        shards.forEachShard(() -> jdbcTemplate.query("SELECT id, title, details FROM requests", rs -> {
+            this.index(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("details"));
+        }));
+    }
+
+    @Override
+    public void indexed(Collection<HelpRequest> requests) {
+        requests.forEach(request -> this.index(request.getId(), request.getTitle(), request.getDetails()));
+    }
+
+    @Override
+    public Specification<HelpRequest> matching(String text) {
+        Map<UUID, Double> scores = this.search(text);
+        return (root, query, cb) -> {
+            if (scores.isEmpty()) {
+                return cb.disjunction();
+            }
+            if (HelpRequest.class.equals(query.getResultType())) {
+                CriteriaBuilder.SimpleCase<UUID, Double> score = cb.selectCase(root.get("id"));
+                scores.forEach(score::when);
+                // H2 types a CASE built only from bind parameters as VARCHAR and would sort the scores as text; an explicit
+                // SQL cast (to a different type, or Hibernate elides it) makes the ordering numeric
+                JpaExpression<Float> typed = ((JpaExpression<Double>) score.otherwise(0.0d)).cast(Float.class);
+                query.orderBy(cb.desc(typed), cb.desc(root.get("createdAt")));
+            }
+            return root.get("id").in(scores.keySet());
+        };
+    }
+
+    @Override
+    public Map<UUID, Double> scores(String text, Collection<UUID> ids) {
+        Map<UUID, Double> scores = this.search(text);
+        Map<UUID, Double> result = new HashMap<>();
+        ids.forEach(id -> result.put(id, scores.getOrDefault(id, 0.0d)));
+        return result;
+    }
+
+    /** Scores of the requests containing every term of {@code text}. */
+    Map<UUID, Double> search(String text) {
+        List<String> terms = RequestTerms.of(text);
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Double> scores = null;
+        for (String term : terms) {
+            Map<UUID, Float> posting = postings.getOrDefault(term, Map.of());
+            double idf = Math.log(1.0d + (double) documents.size() / Math.max(1, posting.size()));
+            Map<UUID, Double> next = new HashMap<>();
+            for (Map.Entry<UUID, Float> entry : posting.entrySet()) {
+                if (scores == null || scores.containsKey(entry.getKey())) {
+                    double previous = scores == null ? 0.0d : scores.get(entry.getKey());
+                    next.put(entry.getKey(), previous + entry.getValue() * idf);
+                }
+            }
+            scores = next;
+            if (scores.isEmpty()) {
+                return Map.of();
+            }
+        }
+        return scores;
+    }
+
+    private void index(UUID id, String title, String details) {
+        if (!documents.add(id)) {
+            return;
+        }
+        Map<String, Float> frequencies = new HashMap<>();
+        RequestTerms.of(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Float::sum));
+        RequestTerms.of(details).forEach(term -> frequencies.merge(term, DETAILS_WEIGHT, Float::sum));
+        frequencies.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(id, weight));
+    }
+}
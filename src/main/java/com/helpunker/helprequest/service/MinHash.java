@@ -0,0 +1,92 @@
+package com.helpunker.helprequest.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signature of request text, taken over its words and word pairs. The share of equal positions in two
+ * signatures estimates the Jaccard similarity of their feature sets, which separates short near-duplicates (a word
+ * added or swapped) from different requests far better than bit-distance fingerprints do on a dozen words.
+ */
+final class MinHash {
+
+    static final int SIZE = 32;
+
+    private static final long[] MULTIPLIERS = new long[SIZE];
+    private static final long[] INCREMENTS = new long[SIZE];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eed_2024L);
+        for (int i = 0; i < SIZE; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1L;
+            INCREMENTS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /** Signature of the text, or {@code null} when it has no words to compare. */
+    static int[] signature(String title, String details) {
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        boolean any = add(signature, RequestTerms.of(title));
+        any |= add(signature, RequestTerms.of(details));
+        return any ? signature : null;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    private static boolean add(int[] signature, List<String> terms) {
+        for (int i = 0; i < terms.size(); i++) {
+            add(signature, hash(terms.get(i), null));
+            if (i > 0) {
+                add(signature, hash(terms.get(i - 1), terms.get(i)));
+            }
+        }
+        return !terms.isEmpty();
+    }
+
+    /** One multiply-shift hash per position over the 64-bit feature hash. */
+    private static void add(int[] signature, long feature) {
+        for (int i = 0; i < SIZE; i++) {
+            int value = (int) ((feature * MULTIPLIERS[i] + INCREMENTS[i]) >>> 33);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+
+    /** FNV-1a over the characters, then the SplitMix64 finalizer so every input bit affects every output bit. */
+    static long hash(String first, String second) {
+        long h = 0xcbf29ce484222325L;
+        h = fnv(h, first);
+        if (second != null) {
+            h = (h ^ ' ') * 0x100000001b3L;
+            h = fnv(h, second);
+        }
+        return mix(h);
+    }
+
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private static long fnv(long h, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            h = (h ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
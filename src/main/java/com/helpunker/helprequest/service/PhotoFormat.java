@@ -0,0 +1,48 @@
+package com.helpunker.helprequest.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+/** Image formats accepted for upload, recognised by their leading bytes rather than the client's content type. */
+public enum PhotoFormat {
+    JPEG("image/jpeg", "jpg", new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("image/png", "png", new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    GIF("image/gif", "gif", new byte[] {'G', 'I', 'F', '8'});
+
+    static final int SIGNATURE_LENGTH = 8;
+
+    private final String contentType;
+    private final String extension;
+    private final byte[] signature;
+
+    PhotoFormat(String contentType, String extension, byte[] signature) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static Optional<PhotoFormat> fromExtension(String extension) {
+        return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst();
+    }
+
+    /** Peeks at the start of a stream that supports {@code mark}, leaving it where it was. */
+    static Optional<PhotoFormat> sniff(InputStream content) throws IOException {
+        content.mark(SIGNATURE_LENGTH);
+        byte[] header = content.readNBytes(SIGNATURE_LENGTH);
+        content.reset();
+        return Arrays.stream(values())
+                .filter(format -> header.length >= format.signature.length
+                        && Arrays.equals(header, 0, format.signature.length, format.signature, 0, format.signature.length))
+                .findFirst();
+    }
+}
@@ -0,0 +1,59 @@
+package com.helpunker.helprequest.service;
+
+import java.util.UUID;
+
+/**
+ * Names of uploaded photos. The file name is the photo id plus the extension of its format, or {@code -thumb.jpg}
+ * for the thumbnail; the same name is used for the blob key ({@code photos/<name>}) and the public URL
+ * ({@code /photos/<name>}), so photos can be served straight from the store without a database lookup.
+ */
+public final class PhotoPaths {
+
+    public static final String URL_PREFIX = "/photos/";
+
+    private static final String KEY_PREFIX = "photos/";
+    private static final String THUMBNAIL_SUFFIX = "-thumb.jpg";
+
+    private PhotoPaths() {
+    }
+
+    public static String fileName(UUID photoId, PhotoFormat format) {
+        return photoId + "." + format.extension();
+    }
+
+    public static String thumbnailFileName(UUID photoId) {
+        return photoId + THUMBNAIL_SUFFIX;
+    }
+
+    public static String url(String fileName) {
+        return URL_PREFIX + fileName;
+    }
+
+    public static String key(String fileName) {
+        return KEY_PREFIX + fileName;
+    }
+
+    /** Blob key of an uploaded photo's URL. */
+    public static String keyOfUrl(String url) {
+        return key(url.substring(URL_PREFIX.length()));
+    }
+
+    /** Format of a file name this class produced, or {@code null} for anything else. */
+    public static PhotoFormat formatOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String id = fileName.endsWith(THUMBNAIL_SUFFIX)
+                ? fileName.substring(0, fileName.length() - THUMBNAIL_SUFFIX.length())
+                : fileName.substring(0, dot);
+        try {
+            if (!UUID.fromString(id).toString().equals(id)) {
+                return null;
+            }
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        return PhotoFormat.fromExtension(fileName.substring(dot + 1)).orElse(null);
+    }
+}
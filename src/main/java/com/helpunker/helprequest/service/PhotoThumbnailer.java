@@ -0,0 +1,236 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.common.storage.BlobStore;
+import com.helpunker.common.storage.StoredBlob;
+import com.helpunker.helprequest.repository.HelpRequestRepository;
+import com.helpunker.helprequest.repository.PendingThumbnail;
+import com.helpunker.helprequest.repository.RequestPhotoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes a JPEG thumbnail for each uploaded photo on a small bounded pool, off the upload request. The source is
+ * decoded with subsampling, so only about twice the thumbnail's pixels are ever held in memory however large the
+ * camera image. When the queue is full the photo is skipped and counted; a periodic sweep picks up photos still
+ * without a thumbnail, including those lost to a restart. Images that cannot be decoded, or are too large to try,
+ * get their original URL as the thumbnail so clients always have something to show.
+ */
+@Component
+public class PhotoThumbnailer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoThumbnailer.class);
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final BlobStore store;
+    private final HelpRequestRepository requestRepository;
+    private final RequestPhotoRepository photoRepository;
+    private final RequestPhotoProperties properties;
+    private final RequestJsonCache jsonCache;
+    private final BoardProjection boardProjection;
+    private final ShardRouter shards;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public PhotoThumbnailer(
+            BlobStore store,
+            HelpRequestRepository requestRepository,
+            RequestPhotoRepository photoRepository,
+            RequestPhotoProperties properties,
+            RequestJsonCache jsonCache,
+            BoardProjection boardProjection,
+            ShardRouter shards,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.store = store;
+        this.requestRepository = requestRepository;
+        this.photoRepository = photoRepository;
+        this.properties = properties;
+        this.jsonCache = jsonCache;
+        this.boardProjection = boardProjection;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int threads = Math.max(1, properties.getThumbnailThreads());
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, properties.getThumbnailQueueCapacity()));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "photo-thumbnail-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.dropped = Counter.builder("helpunker.photos.thumbnails.dropped")
+                .description("Thumbnails deferred to the sweep because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("helpunker.photos.thumbnails.failed")
+                .description("Thumbnails that could not be generated or stored")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.photos.thumbnails.queued", queue, BlockingQueue::size)
+                .description("Thumbnails waiting to be generated")
+                .register(meterRegistry);
+    }
+
+    public void submit(UUID photoId, UUID requestId, String url) {
+        try {
+            executor.execute(() -> this.generate(photoId, requestId, url));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "PT1M")
+    public void sweepPending() {
+        OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(1);
+        int limit = Math.max(1, properties.getThumbnailQueueCapacity() / 2);
+        shards.forEachShard(() -> {
+            for (PendingThumbnail pending : photoRepository.findPendingThumbnails(before, PageRequest.of(0, limit))) {
+                this.submit(pending.id(), pending.requestId(), pending.url());
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.SECONDS);
+    }
+
+    void generate(UUID photoId, UUID requestId, String url) {
+        try {
+            Optional<StoredBlob> source = store.find(PhotoPaths.keyOfUrl(url));
+            if (source.isEmpty()) {
+                log.warn("Photo {} is missing from the blob store; using its URL as thumbnail", photoId);
+                this.complete(photoId, requestId, url);
+                return;
+            }
+            BufferedImage thumbnail;
+            try (InputStream in = Channels.newInputStream(source.get().open())) {
+                thumbnail = thumbnail(in, properties.getThumbnailSize(), properties.getThumbnailMaxSourcePixels());
+            }
+            if (thumbnail == null) {
+                this.complete(photoId, requestId, url);
+                return;
+            }
+            String fileName = PhotoPaths.thumbnailFileName(photoId);
+            store.write(PhotoPaths.key(fileName), new ByteArrayInputStream(toJpeg(thumbnail)), Long.MAX_VALUE);
+            this.complete(photoId, requestId, PhotoPaths.url(fileName));
+        } catch (IOException | RuntimeException ex) {
+            failed.increment();
+            log.warn("Could not generate the thumbnail of photo {}", photoId, ex);
+        }
+    }
+
+    /** Stores the thumbnail URL and bumps the request's version, so no instance keeps serving the JSON without it. */
+    private void complete(UUID photoId, UUID requestId, String thumbnailUrl) {
+        int shard = shards.shardOf(requestId);
+        transactionTemplate.executeWithoutResult(status -> {
+            shards.bind(shard);
+            photoRepository.updateThumbnailUrl(photoId, thumbnailUrl);
+            requestRepository.incrementVersion(requestId);
+            boardProjection.thumbnailGenerated(requestId, thumbnailUrl);
+        });
+        jsonCache.evict(requestId);
+    }
+
+    /**
+     * Decodes {@code source} subsampled to roughly twice {@code size} and scales it to fit a {@code size} square.
+     * Returns {@code null} when no reader recognises the image, it cannot be decoded or it has more than
+     * {@code maxSourcePixels} pixels.
+     */
+    static BufferedImage thumbnail(InputStream source, int size, long maxSourcePixels) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(source)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (2 * size));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                double scale = Math.min(1d, (double) size / Math.max(decoded.getWidth(), decoded.getHeight()));
+                int targetWidth = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+                int targetHeight = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+                BufferedImage thumbnail = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = thumbnail.createGraphics();
+                try {
+                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    graphics.drawImage(decoded, 0, 0, targetWidth, targetHeight, Color.WHITE, null);
+                } finally {
+                    graphics.dispose();
+                }
+                return thumbnail;
+            } catch (IOException ex) {
+                log.debug("Could not decode image", ex);
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * 1024);
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.persistence.FullTextFunctionContributor;
+import com.helpunker.helprequest.entity.HelpRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Expression;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches against the generated {@code requests.search_vector} column (title weighted above details) through its GIN
+ * index, using {@code websearch_to_tsquery} so users can type plain words, quoted phrases and {@code -exclusions}.
+ * Results are ranked by {@code ts_rank}, newest first among equal ranks.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresRequestTextSearch implements RequestTextSearch {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Specification<HelpRequest> matching(String text) {
+        return (root, query, cb) -> {
+            Expression<String> terms = cb.literal(text);
+            if (HelpRequest.class.equals(query.getResultType())) {
+                query.orderBy(
+                        cb.desc(cb.function(FullTextFunctionContributor.RANK, Double.class, root.get("id"), terms)),
+                        cb.desc(root.get("createdAt")));
+            }
+            return cb.isTrue(cb.function(FullTextFunctionContributor.MATCH, Boolean.class, root.get("id"), terms));
+        };
+    }
+
+    @Override
+    public Map<UUID, Double> scores(String text, Collection<UUID> ids) {
+        Map<UUID, Double> scores = new HashMap<>();
+        if (ids.isEmpty()) {
+            return scores;
+        }
+        entityManager.createQuery(
+                        "select r.id, " + FullTextFunctionContributor.RANK + "(r.id, :text) from HelpRequest r"
+                                + " where r.id in :ids", Object[].class)
+                .setParameter("text", text)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> scores.put((UUID) row[0], ((Number) row[1]).doubleValue()));
+        return scores;
+    }
+}
@@ -0,0 +1,7 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.json.JsonFragment;
+
+/** A search result as cached JSON plus its distance from the search origin, which is not part of the cached form. */
+public record RequestJson(JsonFragment fragment, Double distanceKm) {
+}
@@ -0,0 +1,184 @@
+package com.helpunker.helprequest.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.helpunker.common.json.JsonFragment;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.mapper.HelpRequestMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized {@link HelpRequestResponse} JSON per request, keyed by id and {@code @Version}: a request's JSON only
+ * changes when its version does, so a hit skips the mapper, the lazy photo load and Jackson. Entries are filled by the
+ * first read of each version rather than on write, because the entity a write holds lacks the database-generated
+ * {@code createdAt}/{@code updatedAt}. Every change to what the JSON shows bumps the version, including moderation
+ * flags from deep checks, uploaded photos and their thumbnails, so no instance keeps matching an old entry; those
+ * background writers also {@link #evict} the entry here to free it at once. A miss only serializes; the compressed
+ * copy is made by the first gzip response that uses the entry. Memory is bounded by
+ * {@code app.response-cache.max-size}, reclaimed by a second-chance sweep over the entries.
+ */
+@Component
+public class RequestJsonCache {
+
+    private final HelpRequestMapper mapper;
+    private final ObjectWriter writer;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    public RequestJsonCache(
+            HelpRequestMapper mapper,
+            ObjectMapper objectMapper,
+            ResponseCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.mapper = mapper;
+        this.writer = objectMapper.writerFor(HelpRequestResponse.class);
+        this.enabled = properties.isEnabled();
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.hits = Counter.builder("helpunker.response.cache.requests")
+                .description("Request JSON lookups in the serialized response cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("helpunker.response.cache.requests")
+                .description("Request JSON lookups in the serialized response cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.response.cache.bytes", bytes, AtomicLong::get)
+                .description("Bytes of serialized request JSON held, including room for its compressed copy")
+                .register(meterRegistry);
+    }
+
+    /** JSON of the request as loaded; must be called while its photos can still be loaded if not cached. */
+    public JsonFragment fragment(HelpRequest request) {
+        if (!enabled) {
+            return this.serialize(mapper.toResponse(request));
+        }
+        Entry entry = entries.get(request.getId());
+        if (entry != null && entry.version == request.getVersion()) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.fragment;
+        }
+        misses.increment();
+        JsonFragment fragment = this.serialize(mapper.toResponse(request));
+        Entry created = new Entry(request.getVersion(), fragment);
+        long[] added = new long[1];
+        entries.compute(request.getId(), (id, current) -> {
+            if (current != null && current.version > created.version) {
+                return current;
+            }
+            added[0] = fragment.size() - (current == null ? 0 : current.fragment.size());
+            return created;
+        });
+        if (added[0] != 0) {
+            bytes.addAndGet(added[0]);
+            this.evictIfOverBudget();
+        }
+        return fragment;
+    }
+
+    /**
+     * Cached JSON of the given version of a request, or {@code null}; lets readers that know the version, such as the
+     * board read model, skip loading the request. A miss is counted when the caller falls back to {@link #fragment}.
+     */
+    public JsonFragment cached(UUID requestId, long version) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(requestId);
+        if (entry == null || entry.version != version) {
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.fragment;
+    }
+
+    /**
+     * Cached JSON of whichever version of the request this instance read last, or {@code null}; for readers that track
+     * requests by id and accept that staleness, such as volunteer feeds.
+     */
+    public JsonFragment latest(UUID requestId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(requestId);
+        if (entry == null) {
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.fragment;
+    }
+
+    /** JSON of a response that is not cached, such as an archived request or the result of a write. */
+    public JsonFragment serialize(HelpRequestResponse response) {
+        try {
+            return JsonFragment.of(writer.writeValueAsBytes(response));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize request " + response.id(), ex);
+        }
+    }
+
+    public void evict(UUID requestId) {
+        Entry removed = entries.remove(requestId);
+        if (removed != null) {
+            bytes.addAndGet(-removed.fragment.size());
+        }
+    }
+
+    long size() {
+        return bytes.get();
+    }
+
+    private void evictIfOverBudget() {
+        if (bytes.get() <= maxBytes || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = maxBytes - maxBytes / 10;
+            Iterator<Map.Entry<UUID, Entry>> sweep = entries.entrySet().iterator();
+            for (int pass = 0; pass < 2 && bytes.get() > target; pass++) {
+                while (sweep.hasNext() && bytes.get() > target) {
+                    Map.Entry<UUID, Entry> candidate = sweep.next();
+                    Entry entry = candidate.getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else if (entries.remove(candidate.getKey(), entry)) {
+                        bytes.addAndGet(-entry.fragment.size());
+                    }
+                }
+                sweep = entries.entrySet().iterator();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final JsonFragment fragment;
+        private volatile boolean referenced;
+
+        private Entry(long version, JsonFragment fragment) {
+            this.version = version;
+            this.fragment = fragment;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.moderation.DeepModerationExecutor;
+import com.helpunker.common.moderation.ModerationEngine;
+import com.helpunker.common.moderation.ModerationResult;
+import com.helpunker.common.moderation.ModerationRule;
+import com.helpunker.common.persistence.AfterCommit;
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.repository.HelpRequestRepository;
+import com.helpunker.helprequest.repository.ModerationState;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moderation on the create path. The inline rules run before the request is saved: a BLOCK rule rejects it, FLAG
+ * rules are recorded in {@code moderation_flags}. Once the creating transaction has committed, the text goes to the
+ * deep checks, whose findings are added to the flags later without holding up the response. That update bumps the
+ * request's version like any edit, and is retried on the new version when an edit lands in between.
+ */
+@Component
+public class RequestModeration {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestModeration.class);
+    private static final int MAX_FLAG_ATTEMPTS = 3;
+
+    private final ModerationEngine engine;
+    private final DeepModerationExecutor deepChecks;
+    private final HelpRequestRepository requestRepository;
+    private final RequestJsonCache jsonCache;
+    private final BoardProjection boardProjection;
+    private final ShardRouter shards;
+    private final TransactionTemplate transactionTemplate;
+
+    public RequestModeration(
+            ModerationEngine engine,
+            DeepModerationExecutor deepChecks,
+            HelpRequestRepository requestRepository,
+            RequestJsonCache jsonCache,
+            BoardProjection boardProjection,
+            ShardRouter shards,
+            PlatformTransactionManager transactionManager) {
+        this.engine = engine;
+        this.deepChecks = deepChecks;
+        this.requestRepository = requestRepository;
+        this.jsonCache = jsonCache;
+        this.boardProjection = boardProjection;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Runs the inline rules; returns the rejection reason for a blocked request, otherwise {@code null}. */
+    public String apply(CreateHelpRequestCommand command, HelpRequest request) {
+        ModerationResult result = engine.check(command.title(), command.details());
+        if (result.isClean()) {
+            return null;
+        }
+        if (result.blocked()) {
+            List<String> blocking = result.fired().stream()
+                    .filter(rule -> rule.action() == ModerationRule.Action.BLOCK)
+                    .map(ModerationRule::id)
+                    .toList();
+            return "Request rejected by moderation rules: " + String.join(", ", blocking);
+        }
+        request.setModerationFlags(String.join(",", result.ruleIds()));
+        return null;
+    }
+
+    /** Queues the deep checks for the created requests once the current transaction commits. */
+    public void afterCreate(List<HelpRequest> requests) {
+        List<Pending> pending = requests.stream()
+                .map(request -> new Pending(request.getId(), request.getTitle(), request.getDetails()))
+                .toList();
+        AfterCommit.run(() -> pending.forEach(this::submit));
+    }
+
+    private void submit(Pending request) {
+        deepChecks.submit(request.title(), request.details(), result -> {
+            if (!result.ruleIds().isEmpty()) {
+                this.addFlags(request.id(), result.ruleIds());
+            }
+        });
+    }
+
+    /** Adds the rule ids to the request's current flags at its current version, retrying past concurrent edits. */
+    private void addFlags(UUID requestId, Collection<String> ruleIds) {
+        int shard = shards.shardOf(requestId);
+        for (int attempt = 0; attempt < MAX_FLAG_ATTEMPTS; attempt++) {
+            Boolean done = transactionTemplate.execute(status -> {
+                shards.bind(shard);
+                ModerationState state = requestRepository.findModerationState(requestId).orElse(null);
+                if (state == null) {
+                    return true;
+                }
+                Set<String> flags = new LinkedHashSet<>();
+                if (state.flags() != null) {
+                    flags.addAll(List.of(state.flags().split(",")));
+                }
+                if (!flags.addAll(ruleIds)) {
+                    return true;
+                }
+                if (requestRepository.updateModerationFlags(requestId, String.join(",", flags), state.version()) == 0) {
+                    return false;
+                }
+                boardProjection.versionChanged(requestId);
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                jsonCache.evict(requestId);
+                return;
+            }
+        }
+        log.warn("Gave up flagging request {} with {} after {} concurrent edits", requestId, ruleIds, MAX_FLAG_ATTEMPTS);
+    }
+
+    private record Pending(UUID id, String title, String details) {
+    }
+}
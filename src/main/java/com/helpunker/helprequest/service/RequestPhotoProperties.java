@@ -0,0 +1,28 @@
+package com.helpunker.helprequest.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.photos")
+public class RequestPhotoProperties {
+
+    /** Largest accepted upload; the store aborts the write as soon as it is exceeded. */
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+
+    private int maxPerRequest = 10;
+
+    /** Longest side of a thumbnail in pixels. */
+    private int thumbnailSize = 320;
+
+    /** Images with more pixels than this are not decoded for a thumbnail; the original is used instead. */
+    private long thumbnailMaxSourcePixels = 60_000_000L;
+
+    private int thumbnailThreads = 2;
+
+    /** Pending thumbnails; when full, further photos wait for the periodic sweep instead of blocking the upload. */
+    private int thumbnailQueueCapacity = 200;
+}
@@ -0,0 +1,120 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.common.exception.BusinessRuleException;
+import com.helpunker.common.exception.ResourceNotFoundException;
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.common.storage.BlobStore;
+import com.helpunker.helprequest.dto.response.RequestPhotoResponse;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.entity.RequestPhoto;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.mapper.HelpRequestMapper;
+import com.helpunker.helprequest.repository.HelpRequestRepository;
+import com.helpunker.helprequest.repository.RequestPhotoRepository;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Photo uploads. The body is streamed into the {@link BlobStore} as it arrives, so neither the heap nor a database
+ * connection is held for the length of the upload: the request is checked in one short transaction, the bytes are
+ * written, and the photo row is inserted in a second. The thumbnail follows on the {@link PhotoThumbnailer}.
+ */
+@Service
+public class RequestPhotoService {
+
+    private final HelpRequestRepository requestRepository;
+    private final RequestPhotoRepository photoRepository;
+    private final BlobStore store;
+    private final PhotoThumbnailer thumbnailer;
+    private final HelpRequestMapper mapper;
+    private final RequestPhotoProperties properties;
+    private final RequestJsonCache jsonCache;
+    private final BoardProjection boardProjection;
+    private final ShardRouter shards;
+    private final TransactionTemplate transactionTemplate;
+
+    public RequestPhotoService(
+            HelpRequestRepository requestRepository,
+            RequestPhotoRepository photoRepository,
+            BlobStore store,
+            PhotoThumbnailer thumbnailer,
+            HelpRequestMapper mapper,
+            RequestPhotoProperties properties,
+            RequestJsonCache jsonCache,
+            BoardProjection boardProjection,
+            ShardRouter shards,
+            PlatformTransactionManager transactionManager) {
+        this.requestRepository = requestRepository;
+        this.photoRepository = photoRepository;
+        this.store = store;
+        this.thumbnailer = thumbnailer;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.jsonCache = jsonCache;
+        this.boardProjection = boardProjection;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Adds a photo to a request; only its owner can, and only while it is not finalized. */
+    public RequestPhotoResponse upload(UUID requestId, UUID uploaderId, InputStream body) throws IOException {
+        int shard = shards.shardOf(requestId);
+        transactionTemplate.executeWithoutResult(status -> {
+            shards.bind(shard);
+            this.assertCanAddPhoto(requestId, uploaderId);
+        });
+
+        InputStream content = new BufferedInputStream(body);
+        PhotoFormat format = PhotoFormat.sniff(content)
+                .orElseThrow(() -> new BusinessRuleException("Photos must be JPEG, PNG or GIF images"));
+        UUID photoId = UUID.randomUUID();
+        String fileName = PhotoPaths.fileName(photoId, format);
+        String key = PhotoPaths.key(fileName);
+        long size = store.write(key, content, properties.getMaxSize().toBytes());
+
+        RequestPhoto photo;
+        try {
+            photo = transactionTemplate.execute(status -> {
+                shards.bind(shard);
+                RequestPhoto created = RequestPhoto.builder()
+                        .id(photoId)
+                        .request(requestRepository.getReferenceById(requestId))
+                        .url(PhotoPaths.url(fileName))
+                        .contentType(format.contentType())
+                        .sizeBytes(size)
+                        .build();
+                RequestPhoto saved = photoRepository.save(created);
+                requestRepository.incrementVersion(requestId);
+                boardProjection.versionChanged(requestId);
+                return saved;
+            });
+        } catch (RuntimeException ex) {
+            store.delete(key);
+            throw ex;
+        }
+        jsonCache.evict(requestId);
+        thumbnailer.submit(photoId, requestId, photo.getUrl());
+        return mapper.toPhotoResponse(photo);
+    }
+
+    private void assertCanAddPhoto(UUID requestId, UUID uploaderId) {
+        HelpRequest request = requestRepository
+                .findById(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Request not found: " + requestId));
+        if (!Objects.equals(request.getElderly().getId(), uploaderId)) {
+            throw new BusinessRuleException("Only the owner can add photos to this request");
+        }
+        if (request.getStatus() == RequestStatus.COMPLETED || request.getStatus() == RequestStatus.CANCELLED) {
+            throw new BusinessRuleException("Request is already finalized");
+        }
+        if (photoRepository.countByRequestId(requestId) >= properties.getMaxPerRequest()) {
+            throw new BusinessRuleException("A request can have at most " + properties.getMaxPerRequest() + " photos");
+        }
+    }
+}
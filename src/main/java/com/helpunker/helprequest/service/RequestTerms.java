@@ -0,0 +1,35 @@
+package com.helpunker.helprequest.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/** Lower-cased words of request text with plural endings stripped; shared by the in-memory text indexes. */
+final class RequestTerms {
+
+    private RequestTerms() {
+    }
+
+    static List<String> of(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 1) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
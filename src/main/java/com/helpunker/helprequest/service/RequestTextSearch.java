@@ -0,0 +1,26 @@
+package com.helpunker.helprequest.service;
+
+import com.helpunker.helprequest.entity.HelpRequest;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Full-text matching over request title and details. The specification also orders by relevance, which applies
+ * whenever the caller does not pass an explicit sort.
+ */
+public interface RequestTextSearch {
+
+    Specification<HelpRequest> matching(String text);
+
+    /**
+     * Relevance of each of the given requests on the current shard to {@code text}, on the scale {@link #matching}
+     * orders by; used to merge the results of several shards in the same order.
+     */
+    Map<UUID, Double> scores(String text, Collection<UUID> ids);
+
+    /** Called after requests are written, for engines that maintain their own index. */
+    default void indexed(Collection<HelpRequest> requests) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.helpunker.helprequest.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on the serialized and compressed bytes held; the least recently read entries go first. */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+}
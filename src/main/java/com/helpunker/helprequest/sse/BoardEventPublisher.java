@@ -1,18 +1,39 @@
 package com.helpunker.helprequest.sse;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.mapper.CompactRequestCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+/**
+ * Fans request events out to SSE subscribers. Each event is serialized once and the same bytes are written to every
+ * subscriber of the board and of the request, so the cost of a publish grows with the number of connections, not the
+ * number of serializations.
+ *
+ * <p>Subscribers that asked for {@link StreamFormat#CBOR} get the {@link CompactRequestCodec} encoding of the event's
+ * requests as base64 text instead, since SSE data lines cannot carry raw bytes. That encoding is also done at most once
+ * per event, and only when such a subscriber is listening.
+ */
 @Component
 public class BoardEventPublisher {
 
@@ -21,28 +42,114 @@ public class BoardEventPublisher {
 
     private final List<SseEmitter> boardEmitters = new CopyOnWriteArrayList<>();
     private final Map<UUID, List<SseEmitter>> requestEmitters = new ConcurrentHashMap<>();
+    private final Set<SseEmitter> cborEmitters = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requestEmitterCount = new AtomicInteger();
 
-    public SseEmitter registerBoardEmitter() {
+    private final Timer boardFanOut;
+    private final Timer requestFanOut;
+    private final Counter boardSendFailures;
+    private final Counter requestSendFailures;
+    private final ObjectMapper objectMapper;
+    private final CompactRequestCodec codec;
+
+    public BoardEventPublisher(ObjectMapper objectMapper, CompactRequestCodec codec, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.codec = codec;
+        Gauge.builder("helpunker.sse.emitters.active", boardEmitters, List::size)
+                .description("Open SSE subscriptions")
+                .tag("stream", "board")
+                .register(meterRegistry);
+        Gauge.builder("helpunker.sse.emitters.active", requestEmitterCount, AtomicInteger::get)
+                .description("Open SSE subscriptions")
+                .tag("stream", "request")
+                .register(meterRegistry);
+        this.boardFanOut = fanOutTimer("board", meterRegistry);
+        this.requestFanOut = fanOutTimer("request", meterRegistry);
+        this.boardSendFailures = sendFailureCounter("board", meterRegistry);
+        this.requestSendFailures = sendFailureCounter("request", meterRegistry);
+    }
+
+    public SseEmitter registerBoardEmitter(StreamFormat format) {
         SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
+        this.useFormat(emitter, format);
+        return registerBoardEmitter(emitter);
+    }
+
+    SseEmitter registerBoardEmitter(SseEmitter emitter) {
         configureEmitter(emitter, boardEmitters);
         return emitter;
     }
 
-    public SseEmitter registerRequestEmitter(UUID requestId) {
+    public SseEmitter registerRequestEmitter(UUID requestId, StreamFormat format) {
         SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
+        this.useFormat(emitter, format);
         requestEmitters.computeIfAbsent(requestId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        requestEmitterCount.incrementAndGet();
         emitter.onCompletion(() -> removeEmitter(requestId, emitter));
         emitter.onTimeout(() -> removeEmitter(requestId, emitter));
         emitter.onError(throwable -> removeEmitter(requestId, emitter));
         return emitter;
     }
 
+    /** Sends the event to board subscribers and to subscribers of its request. */
+    public void publish(RequestEvent event) {
+        if (boardEmitters.isEmpty() && !requestEmitters.containsKey(event.payload().id())) {
+            return;
+        }
+        Payload data = new Payload(event, List.of(event.payload()));
+        this.publishBoardEvent(event.type(), data);
+        this.publishRequestEvent(event.payload().id(), event.type(), data);
+    }
+
     public void publishBoardEvent(RequestEvent event) {
-        boardEmitters.forEach(emitter -> send(emitter, event));
+        if (!boardEmitters.isEmpty()) {
+            publishBoardEvent(event.type(), new Payload(event, List.of(event.payload())));
+        }
+    }
+
+    public void publishBoardEvent(RequestBatchEvent event) {
+        if (!boardEmitters.isEmpty()) {
+            publishBoardEvent(event.type(), new Payload(event, event.payload()));
+        }
+    }
+
+    private void publishBoardEvent(RequestEventType type, Payload data) {
+        long start = System.nanoTime();
+        boardEmitters.forEach(emitter -> send(emitter, type, data, boardSendFailures));
+        boardFanOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 
     public void publishRequestEvent(UUID requestId, RequestEvent event) {
-        requestEmitters.getOrDefault(requestId, List.of()).forEach(emitter -> send(emitter, event));
+        if (requestEmitters.containsKey(requestId)) {
+            this.publishRequestEvent(requestId, event.type(), new Payload(event, List.of(event.payload())));
+        }
+    }
+
+    private void publishRequestEvent(UUID requestId, RequestEventType type, Payload data) {
+        List<SseEmitter> emitters = requestEmitters.get(requestId);
+        if (emitters == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        emitters.forEach(emitter -> send(emitter, type, data, requestSendFailures));
+        requestFanOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private byte[] serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize SSE event", ex);
+        }
+    }
+
+    private void useFormat(SseEmitter emitter, StreamFormat format) {
+        if (format == StreamFormat.CBOR) {
+            cborEmitters.add(emitter);
+            emitter.onCompletion(() -> cborEmitters.remove(emitter));
+            emitter.onTimeout(() -> cborEmitters.remove(emitter));
+            emitter.onError(throwable -> cborEmitters.remove(emitter));
+        }
     }
 
     private void configureEmitter(SseEmitter emitter, List<SseEmitter> registry) {
@@ -52,12 +159,17 @@ public class BoardEventPublisher {
         emitter.onError(throwable -> registry.remove(emitter));
     }
 
-    private void send(SseEmitter emitter, RequestEvent event) {
+    private void send(SseEmitter emitter, RequestEventType type, Payload data, Counter failures) {
         try {
-            emitter.send(SseEmitter.event()
-                    .name(event.type().name())
-                    .data(event, MediaType.APPLICATION_JSON));
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(type.name());
+            if (!cborEmitters.isEmpty() && cborEmitters.contains(emitter)) {
+                event.data(data.cbor(), MediaType.TEXT_PLAIN);
+            } else {
+                event.data(data.json(), MediaType.APPLICATION_JSON);
+            }
+            emitter.send(event);
         } catch (IOException ex) {
+            failures.increment();
             log.debug("Removing closed SSE emitter", ex);
             emitter.completeWithError(ex);
         }
@@ -66,10 +178,55 @@ public class BoardEventPublisher {
     private void removeEmitter(UUID requestId, SseEmitter emitter) {
         List<SseEmitter> emitters = requestEmitters.get(requestId);
         if (emitters != null) {
-            emitters.remove(emitter);
+            if (emitters.remove(emitter)) {
+                requestEmitterCount.decrementAndGet();
+            }
             if (emitters.isEmpty()) {
                 requestEmitters.remove(requestId);
             }
         }
     }
+
+    /** One event's data, serialized per format on first use and then shared by every subscriber of that format. */
+    private final class Payload {
+
+        private final Object event;
+        private final List<HelpRequestResponse> requests;
+        private byte[] json;
+        private String cbor;
+
+        private Payload(Object event, List<HelpRequestResponse> requests) {
+            this.event = event;
+            this.requests = requests;
+        }
+
+        private byte[] json() {
+            if (json == null) {
+                json = serialize(event);
+            }
+            return json;
+        }
+
+        private String cbor() {
+            if (cbor == null) {
+                cbor = Base64.getEncoder().encodeToString(codec.encodeItems(requests));
+            }
+            return cbor;
+        }
+    }
+
+    private static Timer fanOutTimer(String stream, MeterRegistry meterRegistry) {
+        return Timer.builder("helpunker.sse.fanout")
+                .description("Time to deliver one event to every subscriber of a stream")
+                .tag("stream", stream)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter sendFailureCounter(String stream, MeterRegistry meterRegistry) {
+        return Counter.builder("helpunker.sse.send.failures")
+                .description("SSE sends that failed and closed the subscription")
+                .tag("stream", stream)
+                .register(meterRegistry);
+    }
 }
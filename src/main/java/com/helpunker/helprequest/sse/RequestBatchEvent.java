@@ -0,0 +1,8 @@
+package com.helpunker.helprequest.sse;
+
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import java.util.List;
+
+/** Several requests changed together (e.g. a bulk create), sent to board subscribers as one SSE event. */
+public record RequestBatchEvent(RequestEventType type, List<HelpRequestResponse> payload) {
+}
@@ -3,5 +3,6 @@ package com.helpunker.helprequest.sse;
 public enum RequestEventType {
     REQUEST_CREATED,
     REQUEST_UPDATED,
-    REQUEST_CANCELLED
+    REQUEST_CANCELLED,
+    REQUESTS_CREATED
 }
@@ -0,0 +1,19 @@
+package com.helpunker.helprequest.sse;
+
+import com.helpunker.common.exception.BusinessRuleException;
+
+/** Encoding of the data line of SSE events, chosen per subscription with the {@code format} query parameter. */
+public enum StreamFormat {
+    JSON,
+    CBOR;
+
+    public static StreamFormat parse(String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("json")) {
+            return JSON;
+        }
+        if (value.equalsIgnoreCase("cbor")) {
+            return CBOR;
+        }
+        throw new BusinessRuleException("format parameter must be json or cbor");
+    }
+}
@@ -0,0 +1,306 @@
+package com.helpunker.helprequest.stats;
+
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.helprequest.dto.response.BoardStatsResponse;
+import com.helpunker.helprequest.entity.HelpRequest;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.service.HelpRequestLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Live board statistics kept in memory so that reading them never queries the database: active requests per status,
+ * open requests per category and geo cell in {@link LongAdder}s, creates in a {@link SlidingWindowCounter} and
+ * time-to-accept in a {@link LogLinearHistogram}. Creates and status changes made by this instance are applied after
+ * their transaction commits. A periodic reconcile replaces the counters with the database's, which picks up writes of
+ * other instances and any drift, and reads accepts since the previous run from {@code assignments}, the only place
+ * they are recorded.
+ */
+@Component
+public class BoardStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardStatistics.class);
+
+    static final String UNCATEGORIZED = "uncategorized";
+
+    private static final Set<RequestStatus> ACTIVE = Set.of(RequestStatus.OPEN, RequestStatus.ASSIGNED, RequestStatus.ONGOING);
+    private static final Duration BUCKET_WIDTH = Duration.ofSeconds(5);
+    private static final Duration CREATE_SPAN = Duration.ofHours(1);
+    private static final Map<String, Duration> RATE_WINDOWS = rateWindows();
+
+    private static final String SELECT_ACTIVE = """
+            SELECT status, category, cell_key / %d AS cell, COUNT(*) AS n FROM requests
+            WHERE status IN ('OPEN', 'ASSIGNED', 'ONGOING')
+            GROUP BY status, category, cell_key / %d""";
+
+    private static final String SELECT_CREATED = "SELECT created_at FROM requests WHERE created_at >= ?";
+
+    private static final String SELECT_ACCEPTED = """
+            SELECT r.created_at, a.accepted_at FROM assignments a JOIN requests r ON r.id = a.request_id
+            WHERE a.accepted_at > ? AND a.accepted_at <= ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+    private final BoardStatsProperties properties;
+    private final int cellLevel;
+    private final long cellDivisor;
+    private final String selectActive;
+    private final Map<RequestStatus, LongAdder> byStatus = new EnumMap<>(RequestStatus.class);
+    private final Map<String, LongAdder> byCategory = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> byCell = new ConcurrentHashMap<>();
+    private final SlidingWindowCounter creates = new SlidingWindowCounter(BUCKET_WIDTH, CREATE_SPAN);
+    private final Counter corrections;
+    private volatile LogLinearHistogram acceptCurrent = new LogLinearHistogram();
+    private volatile LogLinearHistogram acceptPrevious = new LogLinearHistogram();
+    private volatile Instant acceptRotatedAt;
+    private volatile Instant acceptWatermark;
+    private volatile Instant reconciledAt;
+
+    public BoardStatistics(
+            JdbcTemplate jdbcTemplate, ShardRouter shards, BoardStatsProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        this.properties = properties;
+        this.cellLevel = Math.max(1, Math.min(GeoCell.BITS, properties.getCellLevel()));
+        this.cellDivisor = 1L << 2 * (GeoCell.BITS - cellLevel);
+        this.selectActive = SELECT_ACTIVE.formatted(cellDivisor, cellDivisor);
+        ACTIVE.forEach(status -> byStatus.put(status, new LongAdder()));
+        this.corrections = Counter.builder("helpunker.stats.reconcile.corrections")
+                .description("Total absolute difference between the live counters and the database found by reconciles")
+                .register(meterRegistry);
+    }
+
+    /** Counts created requests as OPEN and moves cancelled ones out of their previous status. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLifecycle(HelpRequestLifecycleEvent event) {
+        switch (event.type()) {
+            case CREATED -> this.created(event.requests());
+            case CANCELLED -> event.requests().forEach(request -> this.statusChanged(request, event.previousStatus()));
+        }
+    }
+
+    private void created(List<HelpRequest> requests) {
+        requests.forEach(request -> this.apply(this.entry(request), 1));
+        creates.add(Instant.now(), requests.size());
+    }
+
+    private void statusChanged(HelpRequest request, RequestStatus previous) {
+        this.apply(new Entry(previous, request.getCategory(), this.cellOf(request)), -1);
+        this.apply(this.entry(request), 1);
+    }
+
+    /** Current statistics, plus the open requests in the 3 x 3 cells around the point when one is given. */
+    public BoardStatsResponse snapshot(Double latitude, Double longitude) {
+        Map<RequestStatus, Long> statuses = new EnumMap<>(RequestStatus.class);
+        byStatus.forEach((status, count) -> statuses.put(status, Math.max(0, count.sum())));
+        Map<String, Long> categories = new TreeMap<>();
+        byCategory.forEach((category, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                categories.put(category, sum);
+            }
+        });
+
+        Long nearby = null;
+        if (latitude != null && longitude != null) {
+            int row = GeoCell.row(GeoCell.toMicro(latitude), cellLevel);
+            int column = GeoCell.column(GeoCell.toMicro(longitude), cellLevel);
+            long total = 0;
+            int last = (1 << cellLevel) - 1;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int x = column + dx;
+                    int y = row + dy;
+                    LongAdder count = x < 0 || y < 0 || x > last || y > last ? null : byCell.get(GeoCell.cell(x, y));
+                    total += count == null ? 0 : count.sum();
+                }
+            }
+            nearby = Math.max(0, total);
+        }
+
+        LogLinearHistogram current = acceptCurrent;
+        LogLinearHistogram previous = acceptPrevious;
+        long samples = current.count() + previous.count();
+        BoardStatsResponse.TimeToAccept timeToAccept = new BoardStatsResponse.TimeToAccept(
+                samples,
+                samples == 0 ? null : LogLinearHistogram.quantile(0.5, current, previous),
+                samples == 0 ? null : LogLinearHistogram.quantile(0.9, current, previous));
+
+        Instant now = Instant.now();
+        Map<String, Double> rates = new LinkedHashMap<>();
+        RATE_WINDOWS.forEach((name, window) ->
+                rates.put(name, Math.round(creates.sum(now, window) * 600d / window.toSeconds()) / 10d));
+        return new BoardStatsResponse(statuses, categories, nearby, timeToAccept, rates, reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            this.reconcile();
+        } catch (DataAccessException ex) {
+            log.warn("Could not load board statistics; they start from zero until the next reconcile", ex);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.stats.reconcile-interval:PT1M}",
+            fixedDelayString = "${app.stats.reconcile-interval:PT1M}")
+    public void scheduledReconcile() {
+        this.reconcile();
+    }
+
+    /**
+     * Replaces the counters with the database's and records accepts since the previous run. Events committed while
+     * the queries run may be counted twice or not at all; the next reconcile corrects them.
+     */
+    public synchronized void reconcile() {
+        Instant now = Instant.now();
+        this.reconcileCounters();
+        this.reconcileCreates(now);
+        this.recordAccepts(now);
+        reconciledAt = now;
+    }
+
+    private void reconcileCounters() {
+        Map<RequestStatus, Long> statuses = new EnumMap<>(RequestStatus.class);
+        Map<String, Long> categories = new HashMap<>();
+        Map<Long, Long> cells = new HashMap<>();
+        shards.forEachShard(() -> jdbcTemplate.query(selectActive, rs -> {
+            RequestStatus status = RequestStatus.valueOf(rs.getString("status"));
+            long count = rs.getLong("n");
+            statuses.merge(status, count, Long::sum);
+            if (status == RequestStatus.OPEN) {
+                categories.merge(categoryKey(rs.getString("category")), count, Long::sum);
+                long cell = rs.getLong("cell");
+                if (!rs.wasNull()) {
+                    cells.merge(cell, count, Long::sum);
+                }
+            }
+        }));
+
+        long drift = correct(byStatus, statuses) + correct(byCategory, categories) + correct(byCell, cells);
+        byCell.entrySet().removeIf(entry -> entry.getValue().sum() == 0 && !cells.containsKey(entry.getKey()));
+        if (drift > 0) {
+            corrections.increment(drift);
+            log.debug("Board statistics corrected by {}", drift);
+        }
+    }
+
+    /** Overwrites the completed create buckets of the last hour; the current one is left to live events. */
+    private void reconcileCreates(Instant now) {
+        Instant current = creates.bucketStart(now);
+        Instant from = current.minus(creates.span()).plus(BUCKET_WIDTH);
+        Map<Instant, Long> buckets = new HashMap<>();
+        shards.forEachShard(() -> jdbcTemplate.query(SELECT_CREATED, rs -> {
+            Instant bucket = creates.bucketStart(rs.getTimestamp("created_at").toInstant());
+            if (bucket.isBefore(current)) {
+                buckets.merge(bucket, 1L, Long::sum);
+            }
+        }, Timestamp.from(from)));
+        for (Instant bucket = from; bucket.isBefore(current); bucket = bucket.plus(BUCKET_WIDTH)) {
+            creates.set(bucket, buckets.getOrDefault(bucket, 0L));
+        }
+    }
+
+    private void recordAccepts(Instant now) {
+        Duration half = properties.getAcceptWindow().dividedBy(2);
+        if (acceptWatermark == null) {
+            acceptWatermark = now.minus(half);
+            acceptRotatedAt = now;
+        } else if (!now.isBefore(acceptRotatedAt.plus(half))) {
+            acceptPrevious = acceptCurrent;
+            acceptCurrent = new LogLinearHistogram();
+            acceptRotatedAt = now;
+        }
+        LogLinearHistogram histogram = acceptCurrent;
+        Instant watermark = acceptWatermark;
+        shards.forEachShard(() -> jdbcTemplate.query(SELECT_ACCEPTED, rs -> {
+            Instant createdAt = rs.getTimestamp("created_at").toInstant();
+            Instant acceptedAt = rs.getTimestamp("accepted_at").toInstant();
+            histogram.record(Duration.between(createdAt, acceptedAt).toSeconds());
+        }, Timestamp.from(watermark), Timestamp.from(now)));
+        acceptWatermark = now;
+    }
+
+    private void apply(Entry entry, int delta) {
+        if (entry.status() == null || !ACTIVE.contains(entry.status())) {
+            return;
+        }
+        byStatus.get(entry.status()).add(delta);
+        if (entry.status() == RequestStatus.OPEN) {
+            byCategory.computeIfAbsent(categoryKey(entry.category()), key -> new LongAdder()).add(delta);
+            if (entry.cell() != null) {
+                byCell.computeIfAbsent(entry.cell(), key -> new LongAdder()).add(delta);
+            }
+        }
+    }
+
+    private Entry entry(HelpRequest request) {
+        return new Entry(request.getStatus(), request.getCategory(), this.cellOf(request));
+    }
+
+    private Long cellOf(HelpRequest request) {
+        if (request.getLocationLat() == null || request.getLocationLng() == null) {
+            return null;
+        }
+        return GeoCell.key(GeoCell.toMicro(request.getLocationLat()), GeoCell.toMicro(request.getLocationLng()))
+                / cellDivisor;
+    }
+
+    private static <K> long correct(Map<K, LongAdder> counters, Map<K, Long> actual) {
+        long drift = 0;
+        for (Map.Entry<K, Long> entry : actual.entrySet()) {
+            LongAdder counter = counters.computeIfAbsent(entry.getKey(), key -> new LongAdder());
+            long difference = entry.getValue() - counter.sum();
+            counter.add(difference);
+            drift += Math.abs(difference);
+        }
+        for (Map.Entry<K, LongAdder> entry : counters.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                long stale = entry.getValue().sum();
+                entry.getValue().add(-stale);
+                drift += Math.abs(stale);
+            }
+        }
+        return drift;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null || category.isBlank() ? UNCATEGORIZED : category;
+    }
+
+    private static Map<String, Duration> rateWindows() {
+        Map<String, Duration> windows = new LinkedHashMap<>();
+        windows.put("1m", Duration.ofMinutes(1));
+        windows.put("5m", Duration.ofMinutes(5));
+        windows.put("15m", Duration.ofMinutes(15));
+        windows.put("60m", Duration.ofMinutes(60));
+        return windows;
+    }
+
+    private record Entry(RequestStatus status, String category, Long cell) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.helpunker.helprequest.stats;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.stats")
+public class BoardStatsProperties {
+
+    /** Grid level of the geo cells open requests are counted in; 12 gives cells of about 10 x 5 km. */
+    private int cellLevel = 12;
+
+    /** How often the counters are corrected from the database and accepts are read from assignments. */
+    private Duration reconcileInterval = Duration.ofMinutes(1);
+
+    /** Time-to-accept quantiles cover accepts from between half this window and this window ago. */
+    private Duration acceptWindow = Duration.ofDays(1);
+}
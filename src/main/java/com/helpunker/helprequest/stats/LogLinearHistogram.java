@@ -0,0 +1,76 @@
+package com.helpunker.helprequest.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values with HDR-style log-linear buckets: values below {@value #SUB_BUCKETS}
+ * are exact, above that each power of two is split into {@value #HALF} equal buckets, so a quantile is within about
+ * 3% of the true value over the whole {@code long} range. Recording is one atomic increment; a quantile walks the
+ * fixed bucket array, so neither depends on how many values were recorded.
+ */
+public final class LogLinearHistogram {
+
+    private static final int SUB_BUCKETS = 32;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int BUCKETS = HALF * (64 - SUB_BUCKET_BITS + 2);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long value) {
+        counts.incrementAndGet(index(Math.max(0, value)));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Value at {@code quantile} (0..1) of the values recorded in all of {@code histograms} together, as the midpoint of
+     * its bucket; {@code -1} when they are empty.
+     */
+    public static long quantile(double quantile, LogLinearHistogram... histograms) {
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        for (LogLinearHistogram histogram : histograms) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = histogram.counts.get(i);
+                merged[i] += count;
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                long low = lowerBound(i);
+                return low + (lowerBound(i + 1) - low - 1) / 2;
+            }
+        }
+        return lowerBound(BUCKETS - 1);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return HALF * shift + (int) (value >>> shift);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        return (long) (index % HALF + HALF) << shift;
+    }
+}
@@ -0,0 +1,74 @@
+package com.helpunker.helprequest.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event counts over the last hour or so in a ring of fixed-width time buckets. Each slot packs the number of the
+ * bucket it currently holds with that bucket's count into one {@code long}, so an increment that lands in a stale slot
+ * resets and counts it in a single compare-and-set, without locks. Sums over a window read at most one slot per
+ * bucket, independent of the event rate.
+ */
+public final class SlidingWindowCounter {
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    public SlidingWindowCounter(Duration bucketWidth, Duration span) {
+        this.bucketMillis = Math.max(1, bucketWidth.toMillis());
+        this.slots = new AtomicLongArray((int) Math.max(1, span.toMillis() / bucketMillis));
+    }
+
+    public void add(Instant at, long count) {
+        long bucket = this.bucketOf(at);
+        int slot = this.slotOf(bucket);
+        long current;
+        long next;
+        do {
+            current = slots.get(slot);
+            next = (current >>> 32) == (bucket & COUNT_MASK)
+                    ? current + count
+                    : (bucket & COUNT_MASK) << 32 | count;
+        } while (!slots.compareAndSet(slot, current, next));
+    }
+
+    /** Replaces the count of the bucket containing {@code at}, as found by a reconcile. */
+    public void set(Instant at, long count) {
+        long bucket = this.bucketOf(at);
+        slots.set(this.slotOf(bucket), (bucket & COUNT_MASK) << 32 | count);
+    }
+
+    /** Events in the buckets covering {@code window} up to and including the bucket of {@code now}. */
+    public long sum(Instant now, Duration window) {
+        long last = this.bucketOf(now);
+        long buckets = Math.min(slots.length(), Math.max(1, window.toMillis() / bucketMillis));
+        long total = 0;
+        for (long bucket = last - buckets + 1; bucket <= last; bucket++) {
+            long value = slots.get(this.slotOf(bucket));
+            if ((value >>> 32) == (bucket & COUNT_MASK)) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    /** Start of the bucket containing {@code at}. */
+    public Instant bucketStart(Instant at) {
+        return Instant.ofEpochMilli(this.bucketOf(at) * bucketMillis);
+    }
+
+    public Duration span() {
+        return Duration.ofMillis(bucketMillis * slots.length());
+    }
+
+    private long bucketOf(Instant at) {
+        return Math.floorDiv(at.toEpochMilli(), bucketMillis);
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) slots.length());
+    }
+}
@@ -43,6 +43,16 @@ public class User {
     @Column(name = "password_hash")
     private String passwordHash;
 
+    /** Centre and radius of the area a volunteer's feed covers, if they registered one. */
+    @Column(name = "home_lat_micro")
+    private Integer homeLatMicro;
+
+    @Column(name = "home_lng_micro")
+    private Integer homeLngMicro;
+
+    @Column(name = "home_radius_m")
+    private Integer homeRadiusMetres;
+
     @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -3,5 +3,6 @@ package com.helpunker.user;
 public enum UserRole {
     ELDERLY,
     VOLUNTEER,
-    ADMIN
+    ADMIN,
+    PARTNER
 }
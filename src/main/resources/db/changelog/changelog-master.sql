@@ -189,6 +189,219 @@ CREATE INDEX IF NOT EXISTS ix_outbox_created
   ON outbox_events(created_at);
 
 
+-- =====================================================================
+-- 008 - Changelog fingerprint (lets instances skip Liquibase when unchanged)
+-- =====================================================================
+-- changeset unker:008-schema-fingerprint
+CREATE TABLE IF NOT EXISTS schema_fingerprint (
+  fingerprint     VARCHAR(64)  PRIMARY KEY,
+  applied_at      TIMESTAMPTZ  NOT NULL DEFAULT NOW()
+);
+
+
+-- =====================================================================
+-- 009 - Export cursor (keyset order used by the NDJSON export)
+-- =====================================================================
+-- changeset unker:009-requests-created-id-index
+CREATE INDEX IF NOT EXISTS ix_requests_created_id
+  ON requests(created_at, id);
+
+
+-- =====================================================================
+-- 010 - Archive of finalized requests (hot/cold split)
+-- =====================================================================
+-- COMPLETED/CANCELLED requests are moved here by the archival job together with their photos and assignments.
+-- All three tables are range-partitioned by the request's created_at, one partition per year, so a whole year of
+-- history can be detached or dropped at once; the job creates missing yearly partitions before moving rows.
+-- changeset unker:010-requests-archive
+CREATE TABLE IF NOT EXISTS requests_archive (
+  id             UUID NOT NULL,
+  elderly_id     UUID NOT NULL,
+  title          VARCHAR(160) NOT NULL,
+  details        TEXT NOT NULL,
+  status         request_status NOT NULL,
+  category       VARCHAR(64),
+  location_lat   NUMERIC(9,6),
+  location_lng   NUMERIC(9,6),
+  address        VARCHAR(255),
+  created_at     TIMESTAMPTZ NOT NULL,
+  updated_at     TIMESTAMPTZ NOT NULL,
+  version        BIGINT NOT NULL DEFAULT 0,
+  archived_at    TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS request_photos_archive (
+  id                  UUID NOT NULL,
+  request_id          UUID NOT NULL,
+  request_created_at  TIMESTAMPTZ NOT NULL,
+  url                 VARCHAR(512) NOT NULL,
+  content_type        VARCHAR(100),
+  created_at          TIMESTAMPTZ NOT NULL,
+  PRIMARY KEY (id, request_created_at)
+) PARTITION BY RANGE (request_created_at);
+
+CREATE TABLE IF NOT EXISTS assignments_archive (
+  id                  UUID NOT NULL,
+  request_id          UUID NOT NULL,
+  request_created_at  TIMESTAMPTZ NOT NULL,
+  volunteer_id        UUID NOT NULL,
+  accepted_at         TIMESTAMPTZ,
+  arrived_at          TIMESTAMPTZ,
+  completed_at        TIMESTAMPTZ,
+  cancelled_at        TIMESTAMPTZ,
+  created_at          TIMESTAMPTZ NOT NULL,
+  version             BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (id, request_created_at)
+) PARTITION BY RANGE (request_created_at);
+
+-- changeset unker:010a-requests-archive-indexes
+CREATE INDEX IF NOT EXISTS ix_requests_archive_id
+  ON requests_archive(id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_archive_elderly
+  ON requests_archive(elderly_id);
+
+CREATE INDEX IF NOT EXISTS ix_request_photos_archive_req
+  ON request_photos_archive(request_id);
+
+CREATE INDEX IF NOT EXISTS ix_assignments_archive_req
+  ON assignments_archive(request_id);
+
+-- changeset unker:010b-requests-finalized-index
+CREATE INDEX IF NOT EXISTS ix_requests_finalized_updated
+  ON requests(updated_at)
+  WHERE status IN ('COMPLETED', 'CANCELLED');
+
+
+-- =====================================================================
+-- 011 - Fixed-point coordinates and cell key for indexed radius search
+-- =====================================================================
+-- lat_micro/lng_micro hold the coordinates in microdegrees and cell_key their bit-interleaved (binary geohash) cell,
+-- all derived by the application on write. Existing rows are backfilled in batches by the application at startup.
+-- changeset unker:011-requests-geo-columns
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS lat_micro INT;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS lng_micro INT;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS cell_key BIGINT;
+
+-- changeset unker:011a-requests-status-cell-index
+CREATE INDEX IF NOT EXISTS ix_requests_status_cell_created
+  ON requests(status, cell_key, created_at);
+
+
+-- =====================================================================
+-- 012 - Full-text search over title and details
+-- =====================================================================
+-- Generated, so PostgreSQL keeps it in step with every insert/update; title matches rank above details matches.
+-- changeset unker:012-requests-search-vector
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(details, '')), 'B')
+  ) STORED;
+
+-- changeset unker:012a-requests-search-index
+CREATE INDEX IF NOT EXISTS ix_requests_search_vector ON requests USING GIN (search_vector);
+
+-- =====================================================================
+-- 013 - Near-duplicate flag
+-- =====================================================================
+-- No foreign key: the original may be archived while the repeat stays live.
+-- changeset unker:013-requests-duplicate-of
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS duplicate_of UUID;
+
+-- =====================================================================
+-- 014 - Moderation flags
+-- =====================================================================
+-- Rule ids, comma-separated. Not in fn_touch_requests' column list: a deep check flagging a request after creation
+-- is not an edit and must not bump updated_at (see 020 for its version bump).
+-- changeset unker:014-requests-moderation-flags
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS moderation_flags TEXT;
+
+-- changeset unker:014a-requests-flagged-idx
+CREATE INDEX IF NOT EXISTS idx_requests_flagged ON requests(created_at DESC) WHERE moderation_flags IS NOT NULL;
+
+-- =====================================================================
+-- 015 - Uploaded photos
+-- =====================================================================
+-- size_bytes is only set for photos stored in the blob store; thumbnail_url follows once the thumbnail is written.
+-- changeset unker:015-request-photos-upload
+ALTER TABLE request_photos ADD COLUMN IF NOT EXISTS size_bytes BIGINT;
+ALTER TABLE request_photos ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(512);
+ALTER TABLE request_photos_archive ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(512);
+
+-- changeset unker:015a-request-photos-pending-thumbnails-idx
+CREATE INDEX IF NOT EXISTS ix_request_photos_pending_thumbnail
+  ON request_photos(created_at)
+  WHERE size_bytes IS NOT NULL AND thumbnail_url IS NULL;
+
+-- =====================================================================
+-- 016 - Board read model
+-- =====================================================================
+-- One row per OPEN/ASSIGNED request with what board searches filter, sort and show. Written by the application in the
+-- transaction that changes the request (BoardProjection); POST /admin/board/rebuild recreates it from requests.
+-- changeset unker:016-board-items
+CREATE TABLE IF NOT EXISTS board_items (
+  request_id     UUID PRIMARY KEY,
+  elderly_id     UUID NOT NULL,
+  status         request_status NOT NULL,
+  title          VARCHAR(160) NOT NULL,
+  category       VARCHAR(64),
+  lat_micro      INT,
+  lng_micro      INT,
+  cell_key       BIGINT,
+  thumbnail_url  VARCHAR(512),
+  created_at     TIMESTAMPTZ NOT NULL,
+  updated_at     TIMESTAMPTZ NOT NULL,
+  version        BIGINT NOT NULL
+);
+
+-- Each index carries the id and version (and coordinates for radius search), so counting a search and ranking it by
+-- distance are index-only scans, and the page itself is a few heap fetches of a narrow table.
+-- changeset unker:016a-board-items-indexes
+CREATE INDEX IF NOT EXISTS ix_board_items_status_created
+  ON board_items(status, created_at DESC) INCLUDE (request_id, version);
+CREATE INDEX IF NOT EXISTS ix_board_items_status_cell
+  ON board_items(status, cell_key) INCLUDE (lat_micro, lng_micro, created_at, request_id, version);
+CREATE INDEX IF NOT EXISTS ix_board_items_elderly_status_created
+  ON board_items(elderly_id, status, created_at DESC) INCLUDE (request_id, version);
+
+-- changeset unker:016b-board-items-fill
+INSERT INTO board_items (request_id, elderly_id, status, title, category, lat_micro, lng_micro, cell_key,
+                         thumbnail_url, created_at, updated_at, version)
+SELECT r.id, r.elderly_id, r.status, r.title, r.category, r.lat_micro, r.lng_micro, r.cell_key,
+       (SELECT p.thumbnail_url FROM request_photos p
+        WHERE p.request_id = r.id AND p.thumbnail_url IS NOT NULL
+        ORDER BY p.created_at, p.id
+        LIMIT 1),
+       r.created_at, r.updated_at, r.version
+FROM requests r
+WHERE r.status IN ('OPEN', 'ASSIGNED')
+ON CONFLICT (request_id) DO NOTHING;
+
+-- =====================================================================
+-- 017 - Volunteer home areas
+-- =====================================================================
+-- The area a volunteer's feed covers; the feeds themselves live in memory and are rebuilt from requests on demand.
+-- changeset unker:017-users-home-area
+ALTER TABLE users ADD COLUMN IF NOT EXISTS home_lat_micro INT;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS home_lng_micro INT;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS home_radius_m INT;
+
+-- =====================================================================
+-- 018 - Partner role
+-- =====================================================================
+-- Partner organizations submit requests in bulk on behalf of elderly users.
+-- changeset unker:018-user-role-partner runInTransaction:false
+ALTER TYPE user_role ADD VALUE IF NOT EXISTS 'PARTNER';
+
+-- =====================================================================
+-- 019 - Archived duplicate and moderation flags
+-- =====================================================================
+-- changeset unker:019-requests-archive-flags
+ALTER TABLE requests_archive ADD COLUMN IF NOT EXISTS duplicate_of UUID;
+ALTER TABLE requests_archive ADD COLUMN IF NOT EXISTS moderation_flags TEXT;
+
 -- =====================================================================
 -- Triggers / housekeeping
 -- =====================================================================
@@ -227,6 +440,38 @@ BEGIN
 END
 $$;
 
+-- Updates that only fill in derived geo columns (the cell key backfill) must not look like a change to the request.
+-- changeset unker:011b-requests-touch-skip-derived splitStatements:false
+CREATE OR REPLACE FUNCTION fn_touch_requests() RETURNS TRIGGER AS $BODY$
+BEGIN
+  IF (NEW.elderly_id, NEW.title, NEW.details, NEW.status, NEW.category, NEW.location_lat, NEW.location_lng,
+      NEW.address, NEW.version)
+     IS NOT DISTINCT FROM
+     (OLD.elderly_id, OLD.title, OLD.details, OLD.status, OLD.category, OLD.location_lat, OLD.location_lng,
+      OLD.address, OLD.version) THEN
+    RETURN NEW;
+  END IF;
+  NEW.updated_at := NOW();
+  RETURN NEW;
+END;
+$BODY$ LANGUAGE plpgsql;
+
+-- Deep-check flags and photo changes bump version so cached JSON is superseded; only real edits touch updated_at.
+-- changeset unker:020-requests-touch-skip-version splitStatements:false
+CREATE OR REPLACE FUNCTION fn_touch_requests() RETURNS TRIGGER AS $BODY$
+BEGIN
+  IF (NEW.elderly_id, NEW.title, NEW.details, NEW.status, NEW.category, NEW.location_lat, NEW.location_lng,
+      NEW.address)
+     IS NOT DISTINCT FROM
+     (OLD.elderly_id, OLD.title, OLD.details, OLD.status, OLD.category, OLD.location_lat, OLD.location_lng,
+      OLD.address) THEN
+    RETURN NEW;
+  END IF;
+  NEW.updated_at := NOW();
+  RETURN NEW;
+END;
+$BODY$ LANGUAGE plpgsql;
+
 -- =====================================================================
 -- Notes:
 -- - For PostGIS later, replace location_lat/lng with GEOGRAPHY(POINT,4326),
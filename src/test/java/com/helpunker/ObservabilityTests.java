@@ -0,0 +1,50 @@
+package com.helpunker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.helpunker.common.exception.ResourceNotFoundException;
+import com.helpunker.helprequest.service.HelpRequestService;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class ObservabilityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Test
+    void exposesHotPathMetricsOnPrometheusEndpoint() throws Exception {
+        assertThatThrownBy(() -> requestService.getRequest(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(scrape)
+                .contains("helpunker_requests_service_seconds_bucket{")
+                .contains("method=\"getRequest\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hikaricp_connections_active{")
+                .contains("helpunker_sse_emitters_active{")
+                .contains("helpunker_sse_fanout_seconds_count{");
+    }
+}
@@ -0,0 +1,122 @@
+package com.helpunker.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AnalyticsSegmentTests {
+
+    private static final Instant START = Instant.parse("2025-06-01T00:00:00Z");
+    private static final String[] CATEGORIES = {"GROCERIES", "TRANSPORT", "COMPANIONSHIP", null};
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void queriesAggregateSealedAndActiveSegmentsByWindow() throws IOException {
+        List<AnalyticsEvent> events = events(2000);
+        try (SegmentStore store = new SegmentStore(directory, 16 * 1024)) {
+            for (AnalyticsEvent event : events) {
+                store.append(event);
+            }
+            SegmentManifest manifest = SegmentManifest.read(directory);
+            assertThat(manifest.segments()).hasSizeGreaterThan(1);
+            long sealedRows = manifest.segments().stream().mapToLong(SegmentManifest.Segment::rows).sum();
+            long sealedBytes = manifest.segments().stream().mapToLong(SegmentManifest.Segment::bytes).sum();
+            assertThat(sealedRows).isLessThan(events.size());
+            assertThat(sealedBytes).isLessThan(sealedRows * 25);
+
+            AnalyticsQueries queries = new AnalyticsQueries(directory);
+            List<AnalyticsEvent> scanned = new ArrayList<>();
+            queries.scan(START, START.plus(Duration.ofDays(1)), scanned::add);
+            assertThat(scanned).containsExactlyElementsOf(events);
+
+            Instant from = START.plus(Duration.ofMinutes(20));
+            Instant to = START.plus(Duration.ofMinutes(40));
+            List<AnalyticsEvent> window = events.stream()
+                    .filter(event -> event.atMillis() >= from.toEpochMilli() && event.atMillis() < to.toEpochMilli())
+                    .toList();
+            Map<String, Long> created = new TreeMap<>();
+            Map<AnalyticsEventType, Long> byType = new EnumMap<>(AnalyticsEventType.class);
+            for (AnalyticsEvent event : window) {
+                byType.merge(event.type(), 1L, Long::sum);
+                if (event.type() == AnalyticsEventType.CREATED) {
+                    created.merge(event.category() == null ? "uncategorized" : event.category(), 1L, Long::sum);
+                }
+            }
+            assertThat(queries.countsByCategory(AnalyticsEventType.CREATED, from, to)).isEqualTo(created);
+            assertThat(queries.countsByType(from, to)).isEqualTo(byType);
+
+            long[] completed = window.stream()
+                    .filter(event -> event.type() == AnalyticsEventType.COMPLETED)
+                    .mapToLong(AnalyticsEvent::elapsedMillis)
+                    .sorted()
+                    .toArray();
+            long median = completed[(completed.length - 1) / 2];
+            Duration estimate = queries.timeToComplete(from, to, 0.5).get(0.5);
+            assertThat((double) estimate.toMillis()).isBetween(median * 0.96, median * 1.04);
+            assertThat(queries.timeToComplete(START.minus(Duration.ofDays(1)), START, 0.5)).isEmpty();
+        }
+    }
+
+    @Test
+    void eventsAndCursorSurviveARestart() throws IOException {
+        List<AnalyticsEvent> events = events(10);
+        try (SegmentStore store = new SegmentStore(directory, 64 * 1024)) {
+            events.forEach(event -> append(store, event));
+            store.cursor(1234L);
+            assertThatThrownBy(() -> new SegmentStore(directory, 64 * 1024)).isInstanceOf(IllegalStateException.class);
+        }
+        AnalyticsQueries queries = new AnalyticsQueries(directory);
+        Map<AnalyticsEventType, Long> beforeRestart = queries.countsByType(START, START.plus(Duration.ofDays(1)));
+        assertThat(beforeRestart.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(10);
+
+        try (SegmentStore store = new SegmentStore(directory, 64 * 1024)) {
+            assertThat(store.cursor()).isEqualTo(1234L);
+            assertThat(SegmentManifest.read(directory).segments()).hasSize(1);
+            List<AnalyticsEvent> scanned = new ArrayList<>();
+            queries.scan(START, START.plus(Duration.ofDays(1)), scanned::add);
+            assertThat(scanned).containsExactlyElementsOf(events);
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files.filter(ActiveSegment::isSegmentFile)).hasSize(1);
+        }
+    }
+
+    /** Events spread over an hour, not strictly in time order, as commits interleave. */
+    private static List<AnalyticsEvent> events(int count) {
+        Random random = new Random(42);
+        AnalyticsEventType[] types = AnalyticsEventType.values();
+        List<AnalyticsEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long at = START.toEpochMilli() + i * 1800L + random.nextInt(2000);
+            AnalyticsEventType type = types[random.nextInt(types.length)];
+            long elapsed = type == AnalyticsEventType.CREATED ? 0 : 60_000L + random.nextInt(3_600_000);
+            events.add(new AnalyticsEvent(at, type, UUID.randomUUID(), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    elapsed));
+        }
+        return events;
+    }
+
+    private static void append(SegmentStore store, AnalyticsEvent event) {
+        try {
+            store.append(event);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.helpunker.common.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacityThenThrottles() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(4, 16, 3, 1.0d);
+        long now = SECOND;
+
+        assertThat(buckets.tryAcquire("user", now)).isZero();
+        assertThat(buckets.tryAcquire("user", now)).isZero();
+        assertThat(buckets.tryAcquire("user", now)).isZero();
+        assertThat(buckets.tryAcquire("user", now)).isEqualTo(SECOND);
+
+        assertThat(buckets.tryAcquire("user", now + SECOND)).isZero();
+        assertThat(buckets.tryAcquire("other", now)).isZero();
+    }
+
+    @Test
+    void evictsIdleKeysWhenStripeIsFull() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 2, 1, 10.0d);
+
+        buckets.tryAcquire("a", 0L);
+        buckets.tryAcquire("b", 0L);
+        buckets.tryAcquire("c", SECOND);
+
+        assertThat(buckets.trackedKeys()).isLessThanOrEqualTo(4);
+        assertThat(buckets.tryAcquire("a", SECOND)).isZero();
+    }
+
+    @Test
+    void concurrencyLimitBacksOffWhenLatencyRises() {
+        AdmissionProperties.Concurrency properties = new AdmissionProperties.Concurrency();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.release(i == 0 ? 1_000_000L : 50_000_000L);
+        }
+        assertThat(limiter.getLimit()).isLessThan(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
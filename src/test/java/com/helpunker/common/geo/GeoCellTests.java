@@ -0,0 +1,43 @@
+package com.helpunker.common.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class GeoCellTests {
+
+    @Test
+    void convertsDecimalDegreesToMicrodegrees() {
+        assertThat(GeoCell.toMicro(new BigDecimal("1.352100"))).isEqualTo(1_352_100);
+        assertThat(GeoCell.toMicro(new BigDecimal("-180.000000"))).isEqualTo(-180_000_000);
+        assertThat(GeoCell.toMicro(103.819836d)).isEqualTo(103_819_836);
+    }
+
+    @Test
+    void keysAreNonNegativeAndOrderedWithinAnAxis() {
+        assertThat(GeoCell.key(-90_000_000, -180_000_000)).isZero();
+        assertThat(GeoCell.key(90_000_000, 180_000_000)).isPositive().isLessThan(1L << 62);
+        assertThat(GeoCell.key(0, 10)).isGreaterThan(GeoCell.key(0, 0));
+    }
+
+    @Test
+    void coverContainsEveryPointOfTheBox() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int box = 0; box < 200; box++) {
+            int latMin = random.nextInt(-89_000_000, 89_000_000);
+            int lngMin = random.nextInt(-179_000_000, 179_000_000);
+            int latMax = latMin + random.nextInt(1, 500_000);
+            int lngMax = lngMin + random.nextInt(1, 500_000);
+            List<long[]> ranges = GeoCell.cover(latMin, latMax, lngMin, lngMax, 16);
+
+            assertThat(ranges).hasSizeLessThanOrEqualTo(16);
+            for (int point = 0; point < 50; point++) {
+                long key = GeoCell.key(random.nextInt(latMin, latMax + 1), random.nextInt(lngMin, lngMax + 1));
+                assertThat(ranges).anyMatch(range -> range[0] <= key && key <= range[1]);
+            }
+        }
+    }
+}
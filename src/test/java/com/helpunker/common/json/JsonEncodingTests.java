@@ -0,0 +1,44 @@
+package com.helpunker.common.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class JsonEncodingTests {
+
+    @Test
+    void fragmentsAreDeflatedOnlyWhenAGzipBodyNeedsThem() throws Exception {
+        byte[] object = "{\"title\":\"Groceries for Mrs Tan\"}".getBytes(StandardCharsets.UTF_8);
+        JsonFragment fragment = JsonFragment.of(object);
+        int size = fragment.size();
+
+        assertThat(SplicedJson.object(fragment).toByteArray(false)).isEqualTo(object);
+        assertThat(fragment.isDeflated()).isFalse();
+
+        byte[] gzip = SplicedJson.object(fragment).toByteArray(true);
+        assertThat(fragment.isDeflated()).isTrue();
+        assertThat(fragment.size()).isEqualTo(size);
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(input.readAllBytes()).isEqualTo(object);
+        }
+    }
+
+    @Test
+    void acceptsGzipOnlyWithANonZeroWeight() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br, *")).isTrue();
+
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0, identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip ; Q=0.000")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=1, gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzipped")).isFalse();
+    }
+}
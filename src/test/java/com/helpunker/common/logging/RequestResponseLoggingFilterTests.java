@@ -0,0 +1,116 @@
+package com.helpunker.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestResponseLoggingFilterTests {
+
+    private static final String BODY = "x".repeat(3000);
+
+    private final HttpLoggingProperties properties = new HttpLoggingProperties();
+    private final List<HttpExchange> submitted = new ArrayList<>();
+
+    @Test
+    void teeKeepsABoundedPrefixOfWriterOutputAndCountsTheWholeBody() throws Exception {
+        MockHttpServletResponse response = this.exchange("GET", "/requests", writing(BODY, -1));
+
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+        assertThat(submitted).singleElement().satisfies(exchange -> {
+            assertThat(exchange.bodiesLogged()).isTrue();
+            assertThat(exchange.responseBody()).hasSize(1000);
+            assertThat(exchange.responseBodyLength()).isEqualTo(BODY.length());
+        });
+    }
+
+    @Test
+    void largeAnnouncedBodiesAreCountedButNotCaptured() throws Exception {
+        properties.setMaxBodyCaptureSize(1024);
+
+        this.exchange("GET", "/requests", writing(BODY, BODY.length()));
+
+        assertThat(submitted).singleElement().satisfies(exchange -> {
+            assertThat(exchange.responseBody()).isNull();
+            assertThat(exchange.responseBodyLength()).isEqualTo(BODY.length());
+        });
+    }
+
+    @Test
+    void sampleRateAndPathRulesDecideWhatIsLogged() throws Exception {
+        properties.setSampleRate(0.0d);
+        properties.setRules(List.of(
+                rule("/requests/**", "POST", 1.0d, false),
+                rule("/stats", null, 1.0d, null)));
+
+        this.exchange("GET", "/requests/abc", writing("{}", -1));
+        assertThat(submitted).isEmpty();
+
+        this.exchange("POST", "/requests/abc", writing("{}", -1));
+        assertThat(submitted).singleElement().satisfies(exchange -> {
+            assertThat(exchange.bodiesLogged()).isFalse();
+            assertThat(exchange.responseBody()).isNull();
+        });
+
+        this.exchange("GET", "/stats", writing("{}", -1));
+        assertThat(submitted).hasSize(2);
+        assertThat(submitted.get(1).bodiesLogged()).isTrue();
+        assertThat(submitted.get(1).responseBody()).asString().isEqualTo("{}");
+    }
+
+    private MockHttpServletResponse exchange(String method, String path, HttpServlet servlet) throws Exception {
+        HttpExchangeLogWriter writer = new HttpExchangeLogWriter(properties, new SimpleMeterRegistry()) {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            void submit(HttpExchange exchange) {
+                submitted.add(exchange);
+            }
+        };
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(properties, writer);
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain(servlet));
+        } finally {
+            writer.destroy();
+        }
+        return response;
+    }
+
+    /** A servlet that writes the body through {@code getWriter()} and never flushes it itself. */
+    private static HttpServlet writing(String body, long contentLength) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType("application/json");
+                response.setCharacterEncoding("UTF-8");
+                if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+                response.getWriter().write(body);
+            }
+        };
+    }
+
+    private static HttpLoggingProperties.PathRule rule(String pattern, String method, Double sampleRate, Boolean logBodies) {
+        HttpLoggingProperties.PathRule rule = new HttpLoggingProperties.PathRule();
+        rule.setPattern(pattern);
+        rule.setMethod(method);
+        rule.setSampleRate(sampleRate);
+        rule.setLogBodies(logBodies);
+        return rule;
+    }
+}
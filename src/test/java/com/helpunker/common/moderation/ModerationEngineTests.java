@@ -0,0 +1,121 @@
+package com.helpunker.common.moderation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class ModerationEngineTests {
+
+    private static final String RULES = """
+            # comment
+            scam.gift-card   scam   FLAG   keyword  gift card*
+            scam.otp         scam   FLAG   keyword  OTP
+            spam.bitly       spam   BLOCK  keyword  bit.ly
+            abuse.idiot      abuse  FLAG   keyword  idiot*
+            pii.nric         pii    FLAG   regex    \\d [STFGM]\\d{7}[A-Z]\\b
+            pii.email        pii    FLAG   regex    @ [\\w.+-]+@[\\w-]+(?:\\.[\\w-]+)+
+            """;
+
+    @Test
+    void matchesWholeWordsCaseInsensitively() throws IOException {
+        CompiledRuleset ruleset = CompiledRuleset.compile(ModerationRules.parse(new StringReader(RULES)));
+
+        assertThat(ruleset.evaluate("Please buy a GIFT CARDS for me").ruleIds()).containsExactly("scam.gift-card");
+        assertThat(ruleset.evaluate("Share the otp, then the idiots").ruleIds())
+                .containsExactly("scam.otp", "abuse.idiot");
+        assertThat(ruleset.evaluate("Hotpot for dinner, gift cart").isClean()).isTrue();
+        assertThat(ruleset.evaluate("NRIC S1234567D").ruleIds()).containsExactly("pii.nric");
+        assertThat(ruleset.evaluate("Block 5, unit 12-345 (S1234567D), mail: a.tan+help@example.com.sg").ruleIds())
+                .containsExactly("pii.nric", "pii.email");
+        assertThat(ruleset.evaluate("Block S12345678 at tan@home").isClean()).isTrue();
+        assertThat(ruleset.evaluate("see bit.ly/x").blocked()).isTrue();
+    }
+
+    @Test
+    void agreesWithRegexScanOnManyOverlappingKeywords() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<ModerationRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rules.add(new ModerationRule("r" + i, "test", ModerationRule.Action.FLAG, ModerationRule.Kind.KEYWORD,
+                    word(random, 1 + random.nextInt(3)) + (random.nextInt(4) == 0 ? " " + word(random, 2) : "")));
+        }
+        CompiledRuleset ruleset = CompiledRuleset.compile(rules);
+
+        for (int text = 0; text < 500; text++) {
+            StringBuilder builder = new StringBuilder();
+            for (int w = 0; w < 20; w++) {
+                builder.append(word(random, 1 + random.nextInt(4))).append(random.nextInt(5) == 0 ? ", " : " ");
+            }
+            String sample = builder.toString();
+            List<String> expected = rules.stream()
+                    .filter(rule -> Pattern.compile("(?<![\\p{L}\\p{N}])" + Pattern.quote(rule.pattern())
+                            + "(?![\\p{L}\\p{N}])").matcher(sample).find())
+                    .map(ModerationRule::id)
+                    .toList();
+            assertThat(ruleset.evaluate(sample).ruleIds()).as(sample).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void deepCheckSeesThroughObfuscation() throws IOException {
+        CompiledRuleset ruleset = CompiledRuleset.compile(ModerationRules.parse(new StringReader(RULES)));
+        ObfuscationCheck check = new ObfuscationCheck();
+
+        assertThat(ObfuscationCheck.normalize("a g.i.f.t  c4rd at block 5")).isEqualTo("a gift card at block 5");
+        assertThat(check.check("send me the 0.T.P", ruleset).ruleIds()).containsExactly("scam.otp");
+        assertThat(check.check("1d10t", ruleset).ruleIds()).containsExactly("abuse.idiot");
+        assertThat(check.check("I need a lift to block 5", ruleset).isClean()).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThatThrownBy(() -> ModerationRules.parse(new StringReader("a scam FLAG keyword")))
+                .hasMessageContaining("Line 1");
+        assertThatThrownBy(() -> ModerationRules.parse(new StringReader("a scam WARN keyword x")))
+                .hasMessageContaining("Line 1");
+        assertThatThrownBy(() -> CompiledRuleset.compile(List.of(new ModerationRule(
+                "bad", "x", ModerationRule.Action.FLAG, ModerationRule.Kind.REGEX, "(unclosed"))))
+                .hasMessageContaining("bad");
+    }
+
+    @Test
+    void reloadsChangedRulesAndKeepsOldOnError(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rules.txt");
+        Files.writeString(file, RULES);
+        ModerationProperties properties = new ModerationProperties();
+        properties.setRulesLocation(file.toUri().toString());
+        ModerationEngine engine = new ModerationEngine(properties, new DefaultResourceLoader(), new SimpleMeterRegistry());
+        assertThat(engine.check("lottery", null).isClean()).isTrue();
+
+        Files.writeString(file, RULES + "scam.lottery scam FLAG keyword lottery\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        engine.reloadIfModified();
+        assertThat(engine.check("Won the lottery", "").ruleIds()).containsExactly("scam.lottery");
+
+        Files.writeString(file, "broken");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        engine.reloadIfModified();
+        assertThat(engine.ruleset().size()).isEqualTo(7);
+    }
+
+    private static String word(SplittableRandom random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.helpunker.common.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class BlobResponderTests {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final BlobResponder responder = new BlobResponder(Duration.ofDays(365));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void handsLocalFilesToTheContainerSendfile() throws Exception {
+        StoredBlob blob = this.store();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/photos/a.jpg");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        responder.send(blob, "image/jpeg", "\"a\"", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(directory.resolve("a.jpg").toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(6L);
+    }
+
+    @Test
+    void copiesThroughTheResponseWithoutSendfile() throws Exception {
+        StoredBlob blob = this.store();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/photos/a.jpg");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        responder.send(blob, "image/jpeg", "\"a\"", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+    }
+
+    private StoredBlob store() throws Exception {
+        LocalBlobStore store = new LocalBlobStore(directory);
+        store.write("a.jpg", new ByteArrayInputStream(CONTENT), CONTENT.length);
+        return store.find("a.jpg").orElseThrow();
+    }
+}
@@ -0,0 +1,111 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.distinctCommand;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.helpunker.analytics.AnalyticsEvent;
+import com.helpunker.analytics.AnalyticsEventType;
+import com.helpunker.analytics.AnalyticsQueries;
+import com.helpunker.analytics.AnalyticsSink;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestAnalyticsTests {
+
+    private static final String CATEGORY = "ANALYTICS_TEST";
+
+    @DynamicPropertySource
+    static void analyticsDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("helpunker-analytics").toString();
+        registry.add("app.analytics.enabled", () -> "true");
+        registry.add("app.analytics.directory", () -> directory);
+        registry.add("app.analytics.poll-lag", () -> "200ms");
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private AnalyticsSink sink;
+
+    @Autowired
+    private AnalyticsQueries queries;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        sink.pollAssignments();
+    }
+
+    @Test
+    void lifecycleEventsAreRecordedAndQueryableAcrossARollover() throws Exception {
+        Instant from = Instant.now();
+        UUID cancelled = this.create();
+        UUID completed = this.create();
+        requestService.cancelRequest(cancelled, elderlyId);
+        sink.rollover();
+
+        UUID volunteerId = userRepository.save(user(UserRole.VOLUNTEER)).getId();
+        Instant completedAt = Instant.now();
+        jdbcTemplate.update("UPDATE requests SET status = 'COMPLETED', created_at = ? WHERE id = ?",
+                Timestamp.from(completedAt.minus(Duration.ofMinutes(90))), completed);
+        jdbcTemplate.update("""
+                INSERT INTO assignments (id, request_id, volunteer_id, accepted_at, completed_at, created_at, version)
+                VALUES (?, ?, ?, ?, ?, ?, 0)""",
+                UUID.randomUUID(), completed, volunteerId, Timestamp.from(completedAt.minus(Duration.ofMinutes(80))),
+                Timestamp.from(completedAt), Timestamp.from(completedAt));
+        assertThat(sink.pollAssignments()).isZero();
+        Thread.sleep(300);
+        assertThat(sink.pollAssignments()).isEqualTo(1);
+        assertThat(sink.pollAssignments()).isZero();
+
+        Instant to = Instant.now().plusSeconds(1);
+        assertThat(queries.countsByCategory(AnalyticsEventType.CREATED, from, to)).containsEntry(CATEGORY, 2L);
+        assertThat(queries.countsByCategory(AnalyticsEventType.CANCELLED, from, to)).containsEntry(CATEGORY, 1L);
+        Duration median = queries.timeToComplete(from, to, 0.5).get(0.5);
+        assertThat(median).isBetween(Duration.ofMinutes(87), Duration.ofMinutes(93));
+
+        List<AnalyticsEvent> events = new ArrayList<>();
+        queries.scan(from, to, events::add);
+        assertThat(events).filteredOn(event -> event.requestId().equals(completed))
+                .extracting(AnalyticsEvent::type)
+                .containsExactly(AnalyticsEventType.CREATED, AnalyticsEventType.COMPLETED);
+    }
+
+    private UUID create() {
+        return requestService.createRequest(distinctCommand(
+                        elderlyId, "analytics", CATEGORY, new BigDecimal("-12.046374"), new BigDecimal("-77.042793")))
+                .id();
+    }
+}
@@ -0,0 +1,81 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.repository.HelpRequestRepository;
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.helprequest.service.HelpRequestArchiver;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestArchiveTests {
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private HelpRequestArchiver archiver;
+
+    @Autowired
+    private HelpRequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesOldFinalizedRequestsAndKeepsThemReadable() {
+        UUID elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        UUID old = create(elderlyId, "old");
+        UUID recent = create(elderlyId, "recent");
+        UUID open = create(elderlyId, "open");
+        requestService.cancelRequest(old, elderlyId);
+        requestService.cancelRequest(recent, elderlyId);
+        jdbcTemplate.update("UPDATE requests SET updated_at = ? WHERE id IN (?, ?)",
+                OffsetDateTime.now().minusDays(90), old, open);
+        jdbcTemplate.update("UPDATE requests SET duplicate_of = ?, moderation_flags = ? WHERE id = ?",
+                recent, "phone-number,link", old);
+
+        assertThat(archiver.archiveFinalized()).isEqualTo(1);
+
+        assertThat(requestRepository.existsById(old)).isFalse();
+        assertThat(requestRepository.existsById(recent)).isTrue();
+        assertThat(requestRepository.existsById(open)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM request_photos WHERE request_id = ?", Integer.class, old))
+                .isZero();
+
+        HelpRequestResponse archived = requestService.getRequest(old);
+        assertThat(archived.title()).isEqualTo("old");
+        assertThat(archived.status()).isEqualTo(RequestStatus.CANCELLED);
+        assertThat(archived.elderlyId()).isEqualTo(elderlyId);
+        assertThat(archived.photos()).hasSize(1);
+        assertThat(archived.duplicateOf()).isEqualTo(recent);
+        assertThat(archived.moderationFlags()).containsExactly("phone-number", "link");
+    }
+
+    private UUID create(UUID elderlyId, String title) {
+        return requestService.createRequest(new CreateHelpRequestCommand(
+                        elderlyId, title, "details", null, null, null, null,
+                        List.of(new CreateHelpRequestCommand.Photo("https://cdn.example/" + title + ".jpg", "image/jpeg"))))
+                .id();
+    }
+}
@@ -0,0 +1,159 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.command;
+import static com.helpunker.helprequest.HelpRequestFixtures.degrees;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.helprequest.service.HelpRequestSearchCriteria;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestBoardTests {
+
+    private static final double CENTER_LAT = -33.868820d;
+    private static final double CENTER_LNG = 151.209296d;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID adminId;
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        adminId = userRepository.save(user(UserRole.ADMIN)).getId();
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void followsCreatesAndCancelsAndServesOpenSearches() throws Exception {
+        UUID single = create("single", CENTER_LAT, CENTER_LNG);
+        List<UUID> bulk = requestService.createRequests(List.of(command(elderlyId, "bulk 1", CENTER_LAT, CENTER_LNG),
+                        command(elderlyId, "bulk 2", CENTER_LAT, CENTER_LNG)))
+                .stream()
+                .map(outcome -> outcome.created().id())
+                .toList();
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM board_items b JOIN requests r ON r.id = b.request_id
+                WHERE b.elderly_id = ? AND b.created_at = r.created_at AND b.version = r.version
+                  AND b.cell_key = r.cell_key AND b.title = r.title""", Integer.class, elderlyId))
+                .isEqualTo(3);
+
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/requests")
+                        .param("status", "OPEN")
+                        .param("elderlyId", elderlyId.toString())
+                        .param("sort", "createdAt,ASC"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray());
+        assertThat(page.get("totalElements").asInt()).isEqualTo(3);
+        List<UUID> listed = new ArrayList<>();
+        for (JsonNode item : page.get("content")) {
+            UUID id = UUID.fromString(item.get("id").asText());
+            assertThat(item).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(requestService.getRequest(id))));
+            listed.add(id);
+        }
+        assertThat(listed).containsExactlyInAnyOrder(single, bulk.get(0), bulk.get(1));
+
+        requestService.cancelRequest(single, elderlyId);
+
+        assertThat(ids(RequestStatus.OPEN)).containsExactlyInAnyOrderElementsOf(bulk);
+        assertThat(ids(RequestStatus.CANCELLED)).containsExactly(single);
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM board_items WHERE request_id = ?", Integer.class, single))
+                .isZero();
+    }
+
+    @Test
+    void distanceSearchMatchesTheRequestsTable() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 40; i++) {
+            create("near " + i, CENTER_LAT + random.nextDouble(-0.03d, 0.03d), CENTER_LNG + random.nextDouble(-0.03d, 0.03d));
+        }
+        PageRequest second = PageRequest.of(1, 10, Sort.by(HelpRequestService.DISTANCE_SORT));
+
+        Page<HelpRequestResponse> fromBoard = requestService.searchRequests(
+                new HelpRequestSearchCriteria(RequestStatus.OPEN, elderlyId, CENTER_LAT, CENTER_LNG, 3.0d, null), second);
+        Page<HelpRequestResponse> fromRequests = requestService.searchRequests(
+                new HelpRequestSearchCriteria(null, elderlyId, CENTER_LAT, CENTER_LNG, 3.0d, null), second);
+
+        assertThat(fromBoard.getTotalElements()).isEqualTo(fromRequests.getTotalElements()).isPositive();
+        assertThat(fromBoard.getContent()).isEqualTo(fromRequests.getContent());
+    }
+
+    @Test
+    void rebuildRestoresRowsWrittenOutsideTheService() throws Exception {
+        UUID id = requestService.createRequest(new CreateHelpRequestCommand(elderlyId, "with photo", "details", null,
+                        degrees(CENTER_LAT), degrees(CENTER_LNG), null,
+                        List.of(new CreateHelpRequestCommand.Photo("https://example.org/p.jpg", "image/jpeg"))))
+                .id();
+        jdbcTemplate.update("UPDATE request_photos SET thumbnail_url = 'https://example.org/t.jpg' WHERE request_id = ?", id);
+        jdbcTemplate.update("DELETE FROM board_items WHERE elderly_id = ?", elderlyId);
+        assertThat(ids(RequestStatus.OPEN)).isEmpty();
+
+        mockMvc.perform(post("/admin/board/rebuild").header("X-User-Id", elderlyId))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/admin/board/rebuild").header("X-User-Id", adminId))
+                .andExpect(status().isOk());
+
+        assertThat(ids(RequestStatus.OPEN)).containsExactly(id);
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT thumbnail_url FROM board_items WHERE request_id = ?", String.class, id))
+                .isEqualTo("https://example.org/t.jpg");
+    }
+
+    private List<UUID> ids(RequestStatus status) {
+        return requestService.searchRequests(
+                        new HelpRequestSearchCriteria(status, elderlyId, null, null, null, null), PageRequest.of(0, 50))
+                .map(HelpRequestResponse::id)
+                .getContent();
+    }
+
+    private UUID create(String title, double lat, double lng) {
+        return requestService.createRequest(command(elderlyId, title, lat, lng)).id();
+    }
+}
@@ -0,0 +1,80 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestBulkCreateTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void createsValidItemsAndReportsRejectedOnes() throws Exception {
+        UUID partnerId = userRepository.save(user(UserRole.PARTNER)).getId();
+        UUID elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        String body = """
+                {"items": [
+                  {"elderlyId": "%1$s", "request": {"title": "Groceries", "details": "Milk", "photos": [{"url": "https://cdn.example/1.jpg"}]}},
+                  {"elderlyId": "%1$s", "request": {"title": "", "details": "Bread"}},
+                  {"elderlyId": "%2$s", "request": {"title": "Pharmacy", "details": "Prescription"}},
+                  {"elderlyId": "%1$s", "request": {"title": "Walk", "details": "Park"}}
+                ]}
+                """.formatted(elderlyId, UUID.randomUUID());
+
+        mockMvc.perform(post("/requests/bulk")
+                        .header("X-User-Id", partnerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.items[0].request.title").value("Groceries"))
+                .andExpect(jsonPath("$.items[0].request.photos.length()").value(1))
+                .andExpect(jsonPath("$.items[1].errors[0]").value("title: must not be blank"))
+                .andExpect(jsonPath("$.items[2].errors[0]").value(startsWith("Elderly user not found")))
+                .andExpect(jsonPath("$.items[3].index").value(3))
+                .andExpect(jsonPath("$.items[3].request.title").value("Walk"));
+    }
+
+    @Test
+    void rejectsActorsOtherThanPartnersAndAdmins() throws Exception {
+        UUID elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        String body = """
+                {"items": [{"elderlyId": "%s", "request": {"title": "Groceries", "details": "Milk"}}]}
+                """.formatted(elderlyId);
+
+        mockMvc.perform(post("/requests/bulk")
+                        .header("X-User-Id", elderlyId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/requests/bulk")
+                        .header("X-User-Id", userRepository.save(user(UserRole.ADMIN)).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+    }
+}
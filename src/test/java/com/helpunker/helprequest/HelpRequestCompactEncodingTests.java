@@ -0,0 +1,127 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.distinctCommand;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.mapper.CompactRequestCodec;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestCompactEncodingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private CompactRequestCodec codec;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void cborPageCarriesTheSameRequestsAsJson() throws Exception {
+        this.create("near", "1.300000", "103.800000", "GROCERIES");
+        this.create("nearer", "1.300500", "103.800250", "GROCERIES");
+        this.create("south", "1.299000", "103.799000", "TRANSPORT");
+        this.create("nowhere", null, null, null);
+
+        for (String near : new String[] {null, "1.3,103.8"}) {
+            MockHttpServletRequestBuilder request = get("/requests").param("elderlyId", elderlyId.toString());
+            if (near != null) {
+                request.param("near", near).param("radiusKm", "5").param("sort", "distance,ASC");
+            }
+            PagedResponse<HelpRequestResponse> json = objectMapper.readValue(
+                    mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray(),
+                    new TypeReference<>() { });
+            byte[] body = mockMvc.perform(request.header("Accept", "application/json;q=0.5, application/cbor"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+            PagedResponse<HelpRequestResponse> cbor = codec.decodePage(body);
+
+            assertThat(cbor.totalElements()).isEqualTo(json.totalElements());
+            assertThat(cbor.totalPages()).isEqualTo(json.totalPages());
+            assertThat(cbor.content()).hasSize(near == null ? 4 : 3);
+            assertThat(cbor.content().stream().map(this::comparable).toList())
+                    .isEqualTo(json.content().stream().map(this::comparable).toList());
+        }
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        for (String accept : new String[] {null, "*/*", "application/json, application/cbor", "application/*"}) {
+            MockHttpServletRequestBuilder request = get("/requests");
+            if (accept != null) {
+                request.header("Accept", accept);
+            }
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        }
+        mockMvc.perform(get("/stream/board").param("format", "xml")).andExpect(status().isConflict());
+    }
+
+    private List<Object> comparable(HelpRequestResponse item) {
+        return Arrays.asList(
+                item.id(), item.title(), item.details(), item.status(), item.category(),
+                item.locationLat() == null ? null : item.locationLat().stripTrailingZeros(),
+                item.locationLng() == null ? null : item.locationLng().stripTrailingZeros(),
+                item.address(), item.elderlyId(), millis(item.createdAt()), millis(item.updatedAt()),
+                item.photos(), item.duplicateOf(), item.moderationFlags(), item.distanceKm());
+    }
+
+    private static Object millis(OffsetDateTime value) {
+        return value == null ? null : value.toInstant().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private void create(String title, String lat, String lng, String category) {
+        requestService.createRequest(distinctCommand(
+                elderlyId, title, category, lat == null ? null : new BigDecimal(lat), lng == null ? null : new BigDecimal(lng)));
+    }
+}
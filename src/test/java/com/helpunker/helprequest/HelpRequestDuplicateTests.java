@@ -0,0 +1,49 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.command;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestDuplicateTests {
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void flagsRepeatOfAnOpenRequestUntilItIsCancelled() {
+        UUID elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+
+        HelpRequestResponse original = create(elderlyId, "Please buy milk, bread and eggs from the market");
+        HelpRequestResponse repeat = create(elderlyId, "please buy milk and bread and eggs at the market!");
+        assertThat(original.duplicateOf()).isNull();
+        assertThat(repeat.duplicateOf()).isEqualTo(original.id());
+        assertThat(requestService.getRequest(repeat.id()).duplicateOf()).isEqualTo(original.id());
+
+        requestService.cancelRequest(original.id(), elderlyId);
+        requestService.cancelRequest(repeat.id(), elderlyId);
+        assertThat(create(elderlyId, "Please buy milk, bread and eggs from the market").duplicateOf()).isNull();
+    }
+
+    private HelpRequestResponse create(UUID elderlyId, String details) {
+        return requestService.createRequest(
+                command(elderlyId, "Need groceries", details, new BigDecimal("1.352100"), new BigDecimal("103.819800")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "app.export.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    private UUID adminId;
+    private UUID elderlyId;
+    private final List<UUID> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        adminId = userRepository.save(user(UserRole.ADMIN)).getId();
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        for (int i = 0; i < 5; i++) {
+            created.add(requestService.createRequest(new CreateHelpRequestCommand(
+                    elderlyId, "export " + i, "details", null, BigDecimal.ONE, BigDecimal.ONE, null, List.of())).id());
+        }
+    }
+
+    @Test
+    void streamsEveryMatchingRequestAcrossChunks() throws Exception {
+        MvcResult started = mockMvc.perform(get("/admin/requests/export")
+                        .header("X-User-Id", adminId)
+                        .param("elderlyId", elderlyId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        assertThat(ids(result.getResponse().getContentAsByteArray())).containsExactlyInAnyOrderElementsOf(created);
+    }
+
+    @Test
+    void compressesWhenClientAcceptsGzip() throws Exception {
+        MvcResult started = mockMvc.perform(get("/admin/requests/export")
+                        .header("X-User-Id", adminId)
+                        .header("Accept-Encoding", "gzip, deflate")
+                        .param("elderlyId", elderlyId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] body;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = input.readAllBytes();
+        }
+        assertThat(ids(body)).containsExactlyInAnyOrderElementsOf(created);
+    }
+
+    @Test
+    void rejectsNonAdmins() throws Exception {
+        mockMvc.perform(get("/admin/requests/export").header("X-User-Id", elderlyId))
+                .andExpect(status().isConflict());
+    }
+
+    private List<UUID> ids(byte[] ndjson) throws IOException {
+        List<UUID> ids = new ArrayList<>();
+        for (String line : new String(ndjson, StandardCharsets.UTF_8).split("\n")) {
+            ids.add(objectMapper.readValue(line, HelpRequestResponse.class).id());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,139 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.distinctCommand;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "app.feed.fan-out-limit=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestFeedTests {
+
+    private static final String HOME_AREA = """
+            {"locationLat": 47.376900, "locationLng": 8.541700, "radiusKm": 5}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void feedsFollowCreatesAndCancelsAndDenseCellsSearchOnRead() throws Exception {
+        UUID pushed = userRepository.save(user(UserRole.VOLUNTEER)).getId();
+        UUID pulled = userRepository.save(user(UserRole.VOLUNTEER)).getId();
+        UUID older = this.create("older", "47.380000", "8.540000");
+        UUID newer = this.create("newer", "47.370000", "8.550000");
+        this.create("far away", "47.500000", "8.700000");
+
+        mockMvc.perform(get("/feed").header("X-User-Id", pushed)).andExpect(status().isConflict());
+        for (UUID volunteer : List.of(pushed, pulled)) {
+            mockMvc.perform(put("/feed/home-area")
+                            .header("X-User-Id", volunteer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(HOME_AREA))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.radiusKm").value(5.0));
+        }
+        assertThat(this.feed(pushed)).extracting(HelpRequestResponse::id).containsExactly(newer, older);
+        assertThat(this.feed(pulled)).extracting(HelpRequestResponse::id).containsExactly(newer, older);
+        assertThat(this.volunteers("push")).isEqualTo(1);
+        assertThat(this.volunteers("pull")).isEqualTo(1);
+        assertThat(this.feed(pushed).get(0).distanceKm()).isBetween(0.5d, 1.0d);
+
+        double pushesBefore = meterRegistry.get("helpunker.feed.pushes").counter().count();
+        UUID newest = this.create("newest", "47.377000", "8.542000");
+        assertThat(meterRegistry.get("helpunker.feed.pushes").counter().count()).isEqualTo(pushesBefore + 1);
+        requestService.cancelRequest(older, elderlyId);
+        for (UUID volunteer : List.of(pushed, pulled)) {
+            assertThat(this.feed(volunteer)).extracting(HelpRequestResponse::id).containsExactly(newest, newer);
+        }
+
+        mockMvc.perform(get("/feed").header("X-User-Id", elderlyId)).andExpect(status().isConflict());
+        mockMvc.perform(put("/feed/home-area")
+                        .header("X-User-Id", pushed)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"locationLat\": 47.3769, \"locationLng\": 8.5417, \"radiusKm\": 500}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void wideHomeAreasIncludeRequestsMoreThanFiveKilometresAway() throws Exception {
+        UUID volunteer = userRepository.save(user(UserRole.VOLUNTEER)).getId();
+        UUID near = this.create("near", "59.913900", "10.752200");
+        UUID north = this.create("north", "60.021900", "10.752200");
+        UUID south = this.create("south", "59.805900", "10.752200");
+        UUID outside = this.create("outside", "60.183900", "10.752200");
+
+        mockMvc.perform(put("/feed/home-area")
+                        .header("X-User-Id", volunteer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"locationLat\": 59.9139, \"locationLng\": 10.7522, \"radiusKm\": 20}"))
+                .andExpect(status().isOk());
+        assertThat(this.feed(volunteer)).extracting(HelpRequestResponse::id)
+                .contains(near, north, south)
+                .doesNotContain(outside);
+    }
+
+    private List<HelpRequestResponse> feed(UUID volunteerId) throws Exception {
+        byte[] body = mockMvc.perform(get("/feed").header("X-User-Id", volunteerId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        PagedResponse<HelpRequestResponse> page = objectMapper.readValue(body, new TypeReference<>() { });
+        return page.content();
+    }
+
+    private double volunteers(String mode) {
+        return meterRegistry.get("helpunker.feed.volunteers").tag("mode", mode).gauge().value();
+    }
+
+    private UUID create(String title, String lat, String lng) {
+        return requestService.createRequest(
+                        distinctCommand(elderlyId, title, "GROCERIES", new BigDecimal(lat), new BigDecimal(lng)))
+                .id();
+    }
+}
@@ -0,0 +1,47 @@
+package com.helpunker.helprequest;
+
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.user.User;
+import com.helpunker.user.UserRole;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.UUID;
+
+/** Users and create commands for the request tests. */
+final class HelpRequestFixtures {
+
+    private HelpRequestFixtures() {
+    }
+
+    /** A new user with the role, named after it; save it with the {@code UserRepository}. */
+    static User user(UserRole role) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .displayName(role.name().toLowerCase())
+                .role(role)
+                .build();
+    }
+
+    static CreateHelpRequestCommand command(UUID elderlyId, String title, double lat, double lng) {
+        return command(elderlyId, title, "details", degrees(lat), degrees(lng));
+    }
+
+    static CreateHelpRequestCommand command(
+            UUID elderlyId, String title, String details, BigDecimal lat, BigDecimal lng) {
+        return new CreateHelpRequestCommand(elderlyId, title, details, null, lat, lng, null, List.of());
+    }
+
+    /** A command whose title and details get a random suffix, so the duplicate detection never matches it. */
+    static CreateHelpRequestCommand distinctCommand(
+            UUID elderlyId, String title, String category, BigDecimal lat, BigDecimal lng) {
+        return new CreateHelpRequestCommand(
+                elderlyId, title + " " + UUID.randomUUID(), "details " + UUID.randomUUID(), category, lat, lng, null,
+                List.of());
+    }
+
+    /** Degrees at the six decimal places of the location columns. */
+    static BigDecimal degrees(double value) {
+        return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,91 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.helpunker.common.exception.BusinessRuleException;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.service.BulkCreateOutcome;
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestModerationTests {
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void flagsOrBlocksOnCreate() {
+        HelpRequestResponse flagged = create("Help me buy a gift card, call 9123 4567");
+        assertThat(flagged.moderationFlags()).containsExactly("scam.gift-card", "pii.phone");
+        assertThat(requestService.getRequest(flagged.id()).moderationFlags())
+                .containsExactly("scam.gift-card", "pii.phone");
+        assertThat(create("Need a ride to the clinic").moderationFlags()).isEmpty();
+
+        assertThatThrownBy(() -> create("Details at bit.ly/abc"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("spam.shortener-bitly");
+        List<BulkCreateOutcome> outcomes = requestService.createRequests(List.of(
+                command("Details at tinyurl dot com"), command("Need a ride to the market")));
+        assertThat(outcomes.get(0).created()).isNull();
+        assertThat(outcomes.get(1).created()).isNotNull();
+    }
+
+    @Test
+    void deepCheckFlagsAfterCreation() throws InterruptedException {
+        HelpRequestResponse created = create("Please buy me a g.i.f.t c4rd");
+        assertThat(created.moderationFlags()).isEmpty();
+
+        List<String> flags = List.of();
+        for (int attempt = 0; attempt < 50 && flags.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            flags = requestService.getRequest(created.id()).moderationFlags();
+        }
+        assertThat(flags).containsExactly("scam.gift-card");
+        assertThat(this.version("requests", "id", created.id())).isEqualTo(1);
+        assertThat(this.version("board_items", "request_id", created.id())).isEqualTo(1);
+    }
+
+    private long version(String table, String idColumn, UUID id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT version FROM " + table + " WHERE " + idColumn + " = ?", Long.class, id);
+    }
+
+    private HelpRequestResponse create(String details) {
+        return requestService.createRequest(command(details));
+    }
+
+    private CreateHelpRequestCommand command(String details) {
+        return HelpRequestFixtures.command(
+                elderlyId, "Errand", details, new BigDecimal("1.352100"), new BigDecimal("103.819800"));
+    }
+}
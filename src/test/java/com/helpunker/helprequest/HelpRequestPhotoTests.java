@@ -0,0 +1,185 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.RequestPhotoResponse;
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {"app.photos.max-size=64KB", "app.photos.thumbnail-size=32"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestPhotoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID elderlyId;
+    private UUID requestId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        requestId = requestService.createRequest(new CreateHelpRequestCommand(
+                        elderlyId, "photo request", "details", null, BigDecimal.ONE, BigDecimal.ONE, null, List.of()))
+                .id();
+    }
+
+    @Test
+    void uploadsPhotoAndServesItWithThumbnail() throws Exception {
+        byte[] png = png(200, 100);
+        RequestPhotoResponse photo = this.upload(png);
+        assertThat(photo.url()).startsWith("/photos/").endsWith(".png");
+        assertThat(photo.contentType()).isEqualTo(MediaType.IMAGE_PNG_VALUE);
+
+        MvcResult served = mockMvc.perform(get(photo.url()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.IMAGE_PNG_VALUE))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andReturn();
+        assertThat(served.getResponse().getContentAsByteArray()).isEqualTo(png);
+
+        String thumbnailUrl = this.awaitThumbnail();
+        assertThat(thumbnailUrl).endsWith("-thumb.jpg");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM requests WHERE id = ?", Long.class, requestId))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                        "SELECT version FROM board_items WHERE request_id = ?", Long.class, requestId))
+                .isEqualTo(2);
+        byte[] thumbnail = mockMvc.perform(get(thumbnailUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.IMAGE_JPEG_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(image.getWidth()).isEqualTo(32);
+        assertThat(image.getHeight()).isEqualTo(16);
+    }
+
+    @Test
+    void servesRangesAndConditionalRequests() throws Exception {
+        byte[] png = png(64, 64);
+        RequestPhotoResponse photo = this.upload(png);
+        String etag = mockMvc.perform(get(photo.url())).andReturn().getResponse().getHeader("ETag");
+
+        MvcResult partial = mockMvc.perform(get(photo.url()).header("Range", "bytes=2-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-9/" + png.length))
+                .andReturn();
+        assertThat(partial.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(png, 2, 10));
+
+        mockMvc.perform(get(photo.url()).header("Range", "bytes=" + png.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+        mockMvc.perform(get(photo.url()).header("If-None-Match", etag)).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void acceptsMultipartUploads() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, png(10, 10));
+        mockMvc.perform(multipart("/requests/{id}/photos", requestId).file(file).header("X-User-Id", elderlyId))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void rejectsOversizedNonImageAndForeignUploads() throws Exception {
+        byte[] oversized = new byte[100 * 1024];
+        System.arraycopy(png(1, 1), 0, oversized, 0, 8);
+        mockMvc.perform(post("/requests/{id}/photos", requestId)
+                        .header("X-User-Id", elderlyId)
+                        .contentType(MediaType.IMAGE_PNG_VALUE)
+                        .content(oversized))
+                .andExpect(status().isPayloadTooLarge());
+        mockMvc.perform(post("/requests/{id}/photos", requestId)
+                        .header("X-User-Id", elderlyId)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("not an image".getBytes()))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/requests/{id}/photos", requestId)
+                        .header("X-User-Id", UUID.randomUUID())
+                        .contentType(MediaType.IMAGE_PNG_VALUE)
+                        .content(png(1, 1)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/photos/{name}", UUID.randomUUID() + ".png")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/photos/{name}", "..%2Fsecret.png")).andExpect(status().isNotFound());
+    }
+
+    private RequestPhotoResponse upload(byte[] content) throws Exception {
+        MvcResult result = mockMvc.perform(post("/requests/{id}/photos", requestId)
+                        .header("X-User-Id", elderlyId)
+                        .contentType(MediaType.IMAGE_PNG_VALUE)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), RequestPhotoResponse.class);
+    }
+
+    private String awaitThumbnail() throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            HelpRequestResponse request = requestService.getRequest(requestId);
+            String thumbnailUrl = request.photos().get(0).thumbnailUrl();
+            if (thumbnailUrl != null) {
+                return thumbnailUrl;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Thumbnail was not generated");
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
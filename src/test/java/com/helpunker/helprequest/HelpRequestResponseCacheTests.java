@@ -0,0 +1,154 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.distinctCommand;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.dto.response.PagedResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.service.HelpRequestSearchCriteria;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestResponseCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void servesDetailFromCacheUntilTheVersionChanges() throws Exception {
+        UUID id = this.create("cached detail", "1.300000", "103.800000");
+        byte[] first = this.body(get("/requests/{id}", id));
+        double hits = this.hits();
+        byte[] second = this.body(get("/requests/{id}", id));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(this.hits()).isEqualTo(hits + 1);
+        assertThat(first).isEqualTo(objectMapper.writeValueAsBytes(requestService.getRequest(id)));
+        assertThat(this.gunzip(this.body(get("/requests/{id}", id).header("Accept-Encoding", "gzip")))).isEqualTo(first);
+
+        requestService.cancelRequest(id, elderlyId);
+        HelpRequestResponse cancelled = objectMapper.readValue(this.body(get("/requests/{id}", id)), HelpRequestResponse.class);
+        assertThat(cancelled.status()).isEqualTo(RequestStatus.CANCELLED);
+    }
+
+    @Test
+    void splicesListPagesByteForByteLikeJackson() throws Exception {
+        this.create("first nearby", "1.300000", "103.800000");
+        this.create("second nearby", "1.310000", "103.810000");
+        this.create("third nearby", "1.320000", "103.820000");
+        HelpRequestSearchCriteria criteria =
+                new HelpRequestSearchCriteria(null, elderlyId, 1.3, 103.8, 10d, null);
+
+        for (String sort : List.of("createdAt,DESC", "distance,ASC")) {
+            Page<HelpRequestResponse> expected = requestService.searchRequests(
+                    criteria, PageRequest.of(0, 2, sort.startsWith("distance")
+                            ? Sort.by(Sort.Direction.ASC, "distance")
+                            : Sort.by(Sort.Direction.DESC, "createdAt")));
+            byte[] jackson = objectMapper.writeValueAsBytes(new PagedResponse<>(
+                    expected.getContent(), 0, 2, expected.getTotalElements(), expected.getTotalPages()));
+
+            MockHttpServletRequestBuilder request = get("/requests")
+                    .param("elderlyId", elderlyId.toString())
+                    .param("near", "1.3,103.8")
+                    .param("radiusKm", "10")
+                    .param("size", "2")
+                    .param("sort", sort);
+            assertThat(new String(this.body(request, "Accept, Accept-Encoding"))).isEqualTo(new String(jackson));
+            assertThat(this.gunzip(this.body(request.header("Accept-Encoding", "gzip"), "Accept, Accept-Encoding")))
+                    .isEqualTo(jackson);
+        }
+    }
+
+    @Test
+    void servesPlainJsonWhenGzipIsRefused() throws Exception {
+        UUID id = this.create("refused gzip", "1.300000", "103.800000");
+        byte[] plain = this.body(get("/requests/{id}", id));
+
+        mockMvc.perform(get("/requests/{id}", id).header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(plain));
+        mockMvc.perform(get("/requests/{id}", id).header("Accept-Encoding", "GZIP;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(result -> assertThat(this.gunzip(result.getResponse().getContentAsByteArray()))
+                        .isEqualTo(plain));
+    }
+
+    private UUID create(String title, String lat, String lng) {
+        return requestService.createRequest(
+                        distinctCommand(elderlyId, title, "GROCERIES", new BigDecimal(lat), new BigDecimal(lng)))
+                .id();
+    }
+
+    private byte[] body(MockHttpServletRequestBuilder request) throws Exception {
+        return this.body(request, "Accept-Encoding");
+    }
+
+    private byte[] body(MockHttpServletRequestBuilder request, String vary) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", vary))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    private byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return input.readAllBytes();
+        }
+    }
+
+    private double hits() {
+        return meterRegistry.get("helpunker.response.cache.requests").tag("result", "hit").counter().count();
+    }
+}
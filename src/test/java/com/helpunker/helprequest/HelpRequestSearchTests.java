@@ -0,0 +1,200 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.command;
+import static com.helpunker.helprequest.HelpRequestFixtures.degrees;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.helpunker.common.exception.BusinessRuleException;
+import com.helpunker.common.geo.GeoCell;
+import com.helpunker.common.geo.GeoDistance;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.service.GeoColumnsBackfill;
+import com.helpunker.helprequest.service.HelpRequestSearchCriteria;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestSearchTests {
+
+    private static final double CENTER_LAT = 1.3521d;
+    private static final double CENTER_LNG = 103.8198d;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private GeoColumnsBackfill backfill;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void nearLocationMatchesBruteForceDistance() {
+        SplittableRandom random = new SplittableRandom(7);
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            BigDecimal lat = degrees(CENTER_LAT + random.nextDouble(-0.1d, 0.1d));
+            BigDecimal lng = degrees(CENTER_LNG + random.nextDouble(-0.1d, 0.1d));
+            double km = distanceKm(lat.doubleValue(), lng.doubleValue());
+            if (Math.abs(km - 5.0d) < 0.01d) {
+                continue;
+            }
+            UUID id = create(lat, lng);
+            if (km < 5.0d) {
+                expected.add(id);
+            }
+        }
+
+        assertThat(near(5.0d)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void nearLocationHandlesRadiiBeyondTheIntegerRangeOfSquaredOffsets() {
+        // rows more than ~46,341 microdegrees (5.15 km) away square past Integer.MAX_VALUE
+        SplittableRandom random = new SplittableRandom(13);
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            BigDecimal lat = degrees(CENTER_LAT + random.nextDouble(-0.15d, 0.15d));
+            BigDecimal lng = degrees(CENTER_LNG + random.nextDouble(-0.15d, 0.15d));
+            double km = distanceKm(lat.doubleValue(), lng.doubleValue());
+            if (Math.abs(km - 12.0d) < 0.01d) {
+                continue;
+            }
+            UUID id = create(lat, lng);
+            if (km < 12.0d) {
+                expected.add(id);
+            }
+        }
+        UUID north = create(degrees(CENTER_LAT + 0.09d), degrees(CENTER_LNG));
+        expected.add(north);
+
+        assertThat(near(12.0d)).contains(north).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void backfilledRowsAreFoundByNearLocation() {
+        UUID id = create(degrees(CENTER_LAT), degrees(CENTER_LNG));
+        jdbcTemplate.update("UPDATE requests SET lat_micro = NULL, lng_micro = NULL, cell_key = NULL WHERE id = ?", id);
+        assertThat(near(1.0d)).doesNotContain(id);
+
+        assertThat(backfill.backfill()).isGreaterThanOrEqualTo(1);
+
+        assertThat(near(1.0d)).contains(id);
+    }
+
+    @Test
+    void sortByDistancePagesThroughNearestFirst() {
+        SplittableRandom random = new SplittableRandom(11);
+        Map<UUID, Double> distances = new HashMap<>();
+        for (int i = 0; i < 60; i++) {
+            BigDecimal lat = degrees(CENTER_LAT + random.nextDouble(-0.02d, 0.02d));
+            BigDecimal lng = degrees(CENTER_LNG + random.nextDouble(-0.02d, 0.02d));
+            distances.put(create(lat, lng), distanceKm(lat.doubleValue(), lng.doubleValue()));
+        }
+        List<UUID> expected = distances.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        Page<HelpRequestResponse> first = nearest(PageRequest.of(0, 10, Sort.by(HelpRequestService.DISTANCE_SORT)));
+        Page<HelpRequestResponse> third = nearest(PageRequest.of(2, 10, Sort.by(HelpRequestService.DISTANCE_SORT)));
+
+        assertThat(first.getTotalElements()).isEqualTo(60);
+        assertThat(first.map(HelpRequestResponse::id).getContent()).containsExactlyElementsOf(expected.subList(0, 10));
+        assertThat(third.map(HelpRequestResponse::id).getContent()).containsExactlyElementsOf(expected.subList(20, 30));
+        assertThat(first.getContent()).allSatisfy(response ->
+                assertThat(response.distanceKm()).isCloseTo(distances.get(response.id()), within(0.001d)));
+    }
+
+    @Test
+    void sortByDistanceRequiresNear() {
+        HelpRequestSearchCriteria criteria = new HelpRequestSearchCriteria(null, elderlyId, null, null, null, null);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(HelpRequestService.DISTANCE_SORT));
+
+        assertThatThrownBy(() -> requestService.searchRequests(criteria, pageable))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    void textSearchRanksTitleMatchesFirstAndCombinesWithFilters() {
+        UUID inDetails = create("Weekly shopping", "Fresh groceries and milk", degrees(CENTER_LAT), degrees(CENTER_LNG));
+        UUID inTitle = create("Groceries needed", "Bread, eggs", degrees(CENTER_LAT), degrees(CENTER_LNG));
+        UUID farAway = create("Groceries needed", "Groceries and rice", degrees(CENTER_LAT + 1.0d), degrees(CENTER_LNG));
+        create("Pick up medicine", "Prescription at the pharmacy", degrees(CENTER_LAT), degrees(CENTER_LNG));
+
+        assertThat(text("grocery", null, PageRequest.of(0, 10))).containsExactly(farAway, inTitle, inDetails);
+        assertThat(text("groceries milk", null, PageRequest.of(0, 10))).containsExactly(inDetails);
+        assertThat(text("grocery", 5.0d, PageRequest.of(0, 10))).containsExactly(inTitle, inDetails);
+        assertThat(text("grocery", null, PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "createdAt"))))
+                .containsExactly(inDetails, inTitle, farAway);
+        assertThat(text("plumbing", null, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private List<UUID> text(String text, Double radiusKm, PageRequest pageable) {
+        Double lat = radiusKm == null ? null : CENTER_LAT;
+        Double lng = radiusKm == null ? null : CENTER_LNG;
+        return requestService.searchRequests(
+                        new HelpRequestSearchCriteria(null, elderlyId, lat, lng, radiusKm, text), pageable)
+                .map(HelpRequestResponse::id)
+                .getContent();
+    }
+
+    private Page<HelpRequestResponse> nearest(PageRequest pageable) {
+        return requestService.searchRequests(
+                new HelpRequestSearchCriteria(null, elderlyId, CENTER_LAT, CENTER_LNG, 10.0d, null), pageable);
+    }
+
+    private List<UUID> near(double radiusKm) {
+        return requestService.searchRequests(
+                        new HelpRequestSearchCriteria(null, elderlyId, CENTER_LAT, CENTER_LNG, radiusKm, null),
+                        PageRequest.of(0, 1000))
+                .map(HelpRequestResponse::id)
+                .getContent();
+    }
+
+    private UUID create(BigDecimal lat, BigDecimal lng) {
+        return create("near", "details", lat, lng);
+    }
+
+    private UUID create(String title, String details, BigDecimal lat, BigDecimal lng) {
+        return requestService.createRequest(command(elderlyId, title, details, lat, lng)).id();
+    }
+
+    private static double distanceKm(double lat, double lng) {
+        return new GeoDistance(CENTER_LAT, CENTER_LNG).km(GeoCell.toMicro(lat), GeoCell.toMicro(lng));
+    }
+}
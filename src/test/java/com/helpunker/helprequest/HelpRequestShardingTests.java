@@ -0,0 +1,232 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.command;
+import static com.helpunker.helprequest.HelpRequestFixtures.degrees;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.helpunker.common.exception.BusinessRuleException;
+import com.helpunker.common.sharding.ShardRouter;
+import com.helpunker.helprequest.dto.response.HelpRequestResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.service.BulkCreateOutcome;
+import com.helpunker.helprequest.service.CreateHelpRequestCommand;
+import com.helpunker.helprequest.service.HelpRequestSearchCriteria;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].name=sydney",
+        "app.sharding.shards[0].url=jdbc:h2:mem:helpunker_sydney;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].password=",
+        "app.sharding.shards[0].regions[0]=-34.2,150.5,-33.5,151.4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestShardingTests {
+
+    private static final double SYDNEY_LAT = -33.868820d;
+    private static final double SYDNEY_LNG = 151.209296d;
+    private static final double MELBOURNE_LAT = -37.813629d;
+    private static final double MELBOURNE_LNG = 144.963058d;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private ShardRouter shards;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID adminId;
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        shards.run(1, () -> new ResourceDatabasePopulator(new ClassPathResource("h2-defaults.sql")).execute(dataSource));
+        adminId = userRepository.save(user(UserRole.ADMIN)).getId();
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+    }
+
+    @Test
+    void writesGoToTheShardOfTheLocationAndIdsRouteBack() throws Exception {
+        UUID sydney = create("sydney", SYDNEY_LAT, SYDNEY_LNG);
+        UUID melbourne = create("melbourne", MELBOURNE_LAT, MELBOURNE_LNG);
+
+        assertThat(shards.shardOf(sydney)).isEqualTo(1);
+        assertThat(shards.shardOf(melbourne)).isZero();
+        assertThat(rows(1, sydney)).isEqualTo(1);
+        assertThat(rows(0, sydney)).isZero();
+        assertThat(rows(0, melbourne)).isEqualTo(1);
+        assertThat(rows(1, melbourne)).isZero();
+
+        mockMvc.perform(get("/requests/{id}", sydney))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("sydney"));
+        requestService.cancelRequest(sydney, elderlyId);
+        assertThat(requestService.getRequest(sydney).status()).isEqualTo(RequestStatus.CANCELLED);
+        assertThat(requestService.getRequest(melbourne).status()).isEqualTo(RequestStatus.OPEN);
+        UUID cancelledByAdmin = create("sydney again", SYDNEY_LAT, SYDNEY_LNG);
+        requestService.cancelRequest(cancelledByAdmin, adminId);
+        assertThat(requestService.getRequest(cancelledByAdmin).status()).isEqualTo(RequestStatus.CANCELLED);
+        assertThat(shards.call(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, adminId))).isZero();
+
+        List<BulkCreateOutcome> outcomes = requestService.createRequests(List.of(
+                command(elderlyId, "bulk sydney 1", SYDNEY_LAT, SYDNEY_LNG),
+                command(elderlyId, "bulk melbourne", MELBOURNE_LAT, MELBOURNE_LNG),
+                command(elderlyId, "bulk sydney 2", SYDNEY_LAT, SYDNEY_LNG)));
+        assertThat(outcomes).extracting(outcome -> outcome.created().title())
+                .containsExactly("bulk sydney 1", "bulk melbourne", "bulk sydney 2");
+        assertThat(outcomes).extracting(outcome -> shards.shardOf(outcome.created().id()))
+                .containsExactly(1, 0, 1);
+        assertThat(rows(1, outcomes.get(2).created().id())).isEqualTo(1);
+    }
+
+    @Test
+    void explicitRegionsPickTheShard() throws Exception {
+        UUID withoutLocation = requestService.createRequest(new CreateHelpRequestCommand(
+                elderlyId, "by region", "details", null, null, null, null, List.of(), "sydney")).id();
+        assertThat(shards.shardOf(withoutLocation)).isEqualTo(1);
+        assertThat(rows(1, withoutLocation)).isEqualTo(1);
+
+        mockMvc.perform(post("/requests")
+                        .header("X-User-Id", elderlyId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"mismatch","details":"details","locationLat":%s,"locationLng":%s,"region":"sydney"}
+                                """.formatted(MELBOURNE_LAT, MELBOURNE_LNG)))
+                .andExpect(status().isConflict());
+        assertThatThrownBy(() -> requestService.createRequest(new CreateHelpRequestCommand(
+                elderlyId, "nowhere", "details", null, null, null, null, List.of(), "perth")))
+                .isInstanceOf(BusinessRuleException.class);
+
+        List<BulkCreateOutcome> outcomes = requestService.createRequests(List.of(
+                new CreateHelpRequestCommand(elderlyId, "bulk", "details", null, null, null, null, List.of(), "default"),
+                new CreateHelpRequestCommand(elderlyId, "bulk", "details", null, null, null, null, List.of(), "perth")));
+        assertThat(shards.shardOf(outcomes.get(0).created().id())).isZero();
+        assertThat(outcomes.get(1).created()).isNull();
+    }
+
+    @Test
+    void textSearchMergesTheShardsByRelevance() {
+        create("garden help", "weeding the garden beds", MELBOURNE_LAT, MELBOURNE_LNG);
+        create("garden garden", "garden hose and garden gate", SYDNEY_LAT, SYDNEY_LNG);
+        create("groceries", "garden produce from the market", SYDNEY_LAT, SYDNEY_LNG);
+        create("garden", "garden tools in the garden shed", MELBOURNE_LAT, MELBOURNE_LNG);
+
+        HelpRequestSearchCriteria garden = new HelpRequestSearchCriteria(null, elderlyId, null, null, null, "garden");
+        List<String> ranked = requestService.searchRequests(garden, PageRequest.of(0, 4)).getContent().stream()
+                .map(HelpRequestResponse::title)
+                .toList();
+        assertThat(ranked).containsExactly("garden garden", "garden", "garden help", "groceries");
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page < 2; page++) {
+            requestService.searchRequests(garden, PageRequest.of(page, 2)).forEach(item -> paged.add(item.title()));
+        }
+        assertThat(paged).containsExactlyElementsOf(ranked);
+    }
+
+    @Test
+    void searchesAndExportsMergeTheShards() {
+        List<UUID> all = List.of(
+                create("sydney 1", SYDNEY_LAT, SYDNEY_LNG),
+                create("melbourne 1", MELBOURNE_LAT, MELBOURNE_LNG),
+                create("sydney 2", SYDNEY_LAT + 0.01d, SYDNEY_LNG),
+                create("melbourne 2", MELBOURNE_LAT, MELBOURNE_LNG + 0.01d));
+
+        HelpRequestSearchCriteria everywhere = new HelpRequestSearchCriteria(null, elderlyId, null, null, null, null);
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt");
+        Page<HelpRequestResponse> whole = requestService.searchRequests(everywhere, PageRequest.of(0, 4, newestFirst));
+        assertThat(whole.getTotalElements()).isEqualTo(4);
+        assertThat(whole.getContent()).extracting(HelpRequestResponse::id).containsExactlyInAnyOrderElementsOf(all);
+        assertThat(whole.getContent()).isSortedAccordingTo(
+                Comparator.comparing(HelpRequestResponse::createdAt).reversed());
+        List<HelpRequestResponse> paged = new ArrayList<>();
+        paged.addAll(requestService.searchRequests(everywhere, PageRequest.of(0, 2, newestFirst)).getContent());
+        paged.addAll(requestService.searchRequests(everywhere, PageRequest.of(1, 2, newestFirst)).getContent());
+        assertThat(paged).extracting(HelpRequestResponse::id)
+                .containsExactlyElementsOf(whole.getContent().stream().map(HelpRequestResponse::id).toList());
+
+        assertThat(shards.shardsNear(SYDNEY_LAT, SYDNEY_LNG, 5.0d)).containsExactly(1);
+        Page<HelpRequestResponse> nearSydney = requestService.searchRequests(
+                new HelpRequestSearchCriteria(RequestStatus.OPEN, elderlyId, SYDNEY_LAT, SYDNEY_LNG, 5.0d, null),
+                PageRequest.of(0, 10, Sort.by(HelpRequestService.DISTANCE_SORT)));
+        assertThat(nearSydney.getContent()).extracting(HelpRequestResponse::title).containsExactly("sydney 1", "sydney 2");
+
+        List<HelpRequestResponse> first = requestService.exportChunk(everywhere, null, 3);
+        List<HelpRequestResponse> second = requestService.exportChunk(everywhere, first.get(2), 3);
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(1);
+        List<HelpRequestResponse> exported = new ArrayList<>(first);
+        exported.addAll(second);
+        assertThat(exported).extracting(HelpRequestResponse::id).containsExactlyInAnyOrderElementsOf(all);
+        assertThat(exported).isSortedAccordingTo(Comparator.comparing(HelpRequestResponse::createdAt));
+    }
+
+    @Test
+    void boardRebuildCoversEveryShard() throws Exception {
+        create("sydney", SYDNEY_LAT, SYDNEY_LNG);
+        create("melbourne", MELBOURNE_LAT, MELBOURNE_LNG);
+        String count = "SELECT COUNT(*) FROM board_items";
+
+        mockMvc.perform(post("/admin/board/rebuild").header("X-User-Id", adminId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").value(
+                        shards.call(0, () -> jdbcTemplate.queryForObject(count, Integer.class))
+                                + shards.call(1, () -> jdbcTemplate.queryForObject(count, Integer.class))));
+        assertThat(shards.call(1, () -> jdbcTemplate.queryForObject(count, Integer.class))).isPositive();
+    }
+
+    private int rows(int shard, UUID id) {
+        return shards.call(shard, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM requests WHERE id = ?", Integer.class, id));
+    }
+
+    private UUID create(String title, double lat, double lng) {
+        return requestService.createRequest(command(elderlyId, title, lat, lng)).id();
+    }
+
+    private UUID create(String title, String details, double lat, double lng) {
+        return requestService.createRequest(command(elderlyId, title, details, degrees(lat), degrees(lng))).id();
+    }
+}
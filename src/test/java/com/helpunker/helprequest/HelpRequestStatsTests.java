@@ -0,0 +1,124 @@
+package com.helpunker.helprequest;
+
+import static com.helpunker.helprequest.HelpRequestFixtures.distinctCommand;
+import static com.helpunker.helprequest.HelpRequestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpunker.helprequest.dto.response.BoardStatsResponse;
+import com.helpunker.helprequest.entity.RequestStatus;
+import com.helpunker.helprequest.service.HelpRequestService;
+import com.helpunker.helprequest.stats.BoardStatistics;
+import com.helpunker.user.UserRole;
+import com.helpunker.user.repository.UserRepository;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/h2-defaults.sql")
+class HelpRequestStatsTests {
+
+    private static final String CATEGORY = "STATS_TEST";
+    private static final BigDecimal LAT = new BigDecimal("47.123456");
+    private static final BigDecimal LNG = new BigDecimal("-122.654321");
+    private static final String NEAR = "47.12,-122.65";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpRequestService requestService;
+
+    @Autowired
+    private BoardStatistics statistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID elderlyId;
+
+    @BeforeEach
+    void setUp() {
+        elderlyId = userRepository.save(user(UserRole.ELDERLY)).getId();
+        statistics.reconcile();
+    }
+
+    @Test
+    void countsLifecycleEventsWithoutWaitingForReconcile() throws Exception {
+        BoardStatsResponse before = this.stats();
+        List<UUID> created = this.create(3);
+        requestService.cancelRequest(created.get(0), elderlyId);
+
+        BoardStatsResponse after = this.stats();
+        assertThat(after.openNearby()).isEqualTo(before.openNearby() + 2);
+        assertThat(after.openByCategory()).containsEntry(CATEGORY, before.openByCategory().getOrDefault(CATEGORY, 0L) + 2);
+        assertThat(after.activeByStatus().get(RequestStatus.OPEN))
+                .isEqualTo(before.activeByStatus().get(RequestStatus.OPEN) + 2);
+        assertThat(after.createsPerMinute().get("1m")).isGreaterThanOrEqualTo(3d);
+    }
+
+    @Test
+    void reconcilePicksUpChangesMadeDirectlyInTheDatabase() throws Exception {
+        UUID requestId = this.create(1).get(0);
+        BoardStatsResponse before = this.stats();
+        UUID volunteerId = userRepository.save(user(UserRole.VOLUNTEER)).getId();
+        Instant acceptedAt = Instant.now();
+        jdbcTemplate.update("UPDATE requests SET status = 'ASSIGNED', created_at = ? WHERE id = ?",
+                Timestamp.from(acceptedAt.minus(Duration.ofMinutes(10))), requestId);
+        jdbcTemplate.update("""
+                INSERT INTO assignments (id, request_id, volunteer_id, accepted_at, created_at, version)
+                VALUES (?, ?, ?, ?, ?, 0)""",
+                UUID.randomUUID(), requestId, volunteerId, Timestamp.from(acceptedAt), Timestamp.from(acceptedAt));
+
+        statistics.reconcile();
+
+        BoardStatsResponse after = this.stats();
+        assertThat(after.openNearby()).isEqualTo(before.openNearby() - 1);
+        assertThat(after.activeByStatus().get(RequestStatus.ASSIGNED))
+                .isEqualTo(before.activeByStatus().get(RequestStatus.ASSIGNED) + 1);
+        assertThat(after.timeToAccept().samples()).isGreaterThanOrEqualTo(1);
+        assertThat(after.timeToAccept().medianSeconds()).isBetween(580L, 620L);
+        assertThat(after.reconciledAt()).isAfter(before.reconciledAt());
+    }
+
+    private List<UUID> create(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(requestService.createRequest(distinctCommand(elderlyId, "stats " + i, CATEGORY, LAT, LNG)).id());
+        }
+        return ids;
+    }
+
+    private BoardStatsResponse stats() throws Exception {
+        byte[] body = mockMvc.perform(get("/stats").param("near", NEAR))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        return objectMapper.readValue(body, BoardStatsResponse.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.helpunker.helprequest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.helpunker.common.geo.GeoCell;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DuplicateRequestIndexTests {
+
+    private static final String TITLE = "Need groceries";
+    private static final String DETAILS = "Please buy milk, bread and eggs from the market";
+    private static final BigDecimal LAT = new BigDecimal("1.352100");
+    private static final BigDecimal LNG = new BigDecimal("103.819800");
+
+    private DuplicateDetectionProperties properties;
+    private DuplicateRequestIndex index;
+    private UUID elderlyId;
+    private UUID original;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DuplicateDetectionProperties();
+        properties.setMaxPerBucket(4);
+        index = new DuplicateRequestIndex(properties, null, null, new SimpleMeterRegistry());
+        elderlyId = UUID.randomUUID();
+        original = UUID.randomUUID();
+        index.add(index.fingerprint(elderlyId, TITLE, DETAILS, LAT, LNG), original, Instant.now());
+    }
+
+    @Test
+    void findsRewordedRepeatOfTheSameUserNearby() {
+        assertThat(find(elderlyId, "Need groceries!", "please buy milk bread and eggs from the supermarket", LAT, LNG))
+                .contains(original);
+        assertThat(find(elderlyId, "Need groceries please", DETAILS + " today", LAT, LNG)).contains(original);
+    }
+
+    @Test
+    void ignoresDifferentTextUsersAndPlaces() {
+        assertThat(find(elderlyId, "Pick up medicine", "Prescription ready at the pharmacy", LAT, LNG)).isEmpty();
+        assertThat(find(elderlyId, TITLE, "Please buy rice, oil and fish from the market", LAT, LNG)).isEmpty();
+        assertThat(find(UUID.randomUUID(), TITLE, DETAILS, LAT, LNG)).isEmpty();
+        assertThat(find(elderlyId, TITLE, DETAILS, LAT.add(BigDecimal.ONE), LNG)).isEmpty();
+        assertThat(find(elderlyId, TITLE, DETAILS, null, null)).isEmpty();
+    }
+
+    @Test
+    void checksNeighbouringCells() {
+        int latMicro = GeoCell.toMicro(LAT);
+        int row = GeoCell.row(latMicro, 12);
+        while (GeoCell.row(latMicro, 12) == row) {
+            latMicro += 100;
+        }
+        BigDecimal acrossBoundary = BigDecimal.valueOf(latMicro, 6);
+
+        assertThat(find(elderlyId, TITLE, DETAILS, acrossBoundary, LNG)).contains(original);
+    }
+
+    @Test
+    void evictsExpiredRemovedAndOverflowingEntries() {
+        UUID old = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        index.add(index.fingerprint(otherUser, TITLE, DETAILS, LAT, LNG), old, Instant.now().minus(Duration.ofDays(2)));
+        assertThat(find(otherUser, TITLE, DETAILS, LAT, LNG)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+
+        index.evictOlderThan(Instant.now().minus(properties.getWindow()));
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(original);
+        assertThat(index.size()).isZero();
+        assertThat(find(elderlyId, TITLE, DETAILS, LAT, LNG)).isEmpty();
+
+        for (int i = 0; i < 6; i++) {
+            index.add(index.fingerprint(elderlyId, "Request " + i, DETAILS, LAT, LNG), UUID.randomUUID(), Instant.now());
+        }
+        assertThat(index.size()).isEqualTo(properties.getMaxPerBucket());
+    }
+
+    private Optional<UUID> find(UUID elderly, String title, String details, BigDecimal lat, BigDecimal lng) {
+        return index.findDuplicate(index.fingerprint(elderly, title, details, lat, lng));
+    }
+}
@@ -0,0 +1,44 @@
+package com.helpunker.helprequest.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class LogLinearHistogramTests {
+
+    @Test
+    void bucketsAreContiguousAndQuantilesStayWithinPrecision() {
+        for (long value = 0; value < 1 << 16; value++) {
+            int index = LogLinearHistogram.index(value);
+            assertThat(LogLinearHistogram.lowerBound(index)).isLessThanOrEqualTo(value);
+            assertThat(LogLinearHistogram.lowerBound(index + 1)).isGreaterThan(value);
+        }
+
+        LogLinearHistogram first = new LogLinearHistogram();
+        LogLinearHistogram second = new LogLinearHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            (value % 2 == 0 ? first : second).record(value * 60);
+        }
+        assertThat(LogLinearHistogram.quantile(0.5, first, second)).isCloseTo(300_000L, within(10_000L));
+        assertThat(LogLinearHistogram.quantile(0.9, first, second)).isCloseTo(540_000L, within(18_000L));
+        assertThat(LogLinearHistogram.quantile(0.5, new LogLinearHistogram())).isEqualTo(-1);
+    }
+
+    @Test
+    void slidingWindowForgetsBucketsThatFellOutOfTheSpan() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(5), Duration.ofMinutes(1));
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        counter.add(start, 4);
+        counter.add(start.plusSeconds(30), 2);
+
+        assertThat(counter.sum(start.plusSeconds(30), Duration.ofMinutes(1))).isEqualTo(6);
+        assertThat(counter.sum(start.plusSeconds(30), Duration.ofSeconds(10))).isEqualTo(2);
+        assertThat(counter.sum(start.plusSeconds(70), Duration.ofMinutes(1))).isEqualTo(2);
+
+        counter.add(start.plusSeconds(60), 1);
+        assertThat(counter.sum(start.plusSeconds(60), Duration.ofMinutes(1))).isEqualTo(3);
+    }
+}
@@ -0,0 +1,6 @@
+-- Column defaults the Liquibase changelog provides on PostgreSQL but Hibernate's generated H2 schema lacks.
+ALTER TABLE users ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE users ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE requests ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE requests ALTER COLUMN updated_at SET DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE request_photos ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;